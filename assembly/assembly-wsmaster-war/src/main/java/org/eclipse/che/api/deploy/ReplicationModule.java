@@ -14,7 +14,11 @@ import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import java.util.Map;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.api.workspace.server.WorkspaceLockService;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
 import org.eclipse.che.multiuser.api.subscription.DistributedRemoteSubscriptionStorage;
+import org.eclipse.che.multiuser.api.workspace.cluster.JGroupsWorkspaceLockService;
+import org.eclipse.che.multiuser.api.workspace.cluster.JGroupsWorkspaceStatusCache;
 import org.eclipse.persistence.config.CacheCoordinationProtocol;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 
@@ -38,5 +42,7 @@ public class ReplicationModule extends AbstractModule {
         PersistenceUnitProperties.COORDINATION_JGROUPS_CONFIG, JGROUPS_CONF_FILE);
     bindConstant().annotatedWith(Names.named("jgroups.config.file")).to(JGROUPS_CONF_FILE);
     bind(RemoteSubscriptionStorage.class).to(DistributedRemoteSubscriptionStorage.class);
+    bind(WorkspaceLockService.class).to(JGroupsWorkspaceLockService.class);
+    bind(WorkspaceStatusCache.class).to(JGroupsWorkspaceStatusCache.class);
   }
 }
@@ -149,8 +149,6 @@ public class WsMasterModule extends AbstractModule {
     bind(org.eclipse.che.api.workspace.server.stack.StackService.class);
     bind(org.eclipse.che.api.workspace.server.TemporaryWorkspaceRemover.class);
     bind(org.eclipse.che.api.workspace.server.WorkspaceService.class);
-    bind(WorkspaceLockService.class).to(DefaultWorkspaceLockService.class);
-    bind(WorkspaceStatusCache.class).to(DefaultWorkspaceStatusCache.class);
     install(new FactoryModuleBuilder().build(ServersCheckerFactory.class));
     install(new FactoryModuleBuilder().build(ExecAgentClientFactory.class));
 
@@ -194,6 +192,8 @@ public class WsMasterModule extends AbstractModule {
         .asEagerSingleton();
     bind(org.eclipse.che.api.workspace.server.event.MachineLogJsonRpcMessenger.class)
         .asEagerSingleton();
+    bind(org.eclipse.che.api.workspace.server.event.WorkspaceEventsPartitioner.class)
+        .asEagerSingleton();
 
     bind(org.eclipse.che.security.oauth.OAuthAuthenticatorProvider.class)
         .to(org.eclipse.che.security.oauth.OAuthAuthenticatorProviderImpl.class);
@@ -283,6 +283,8 @@ public class WsMasterModule extends AbstractModule {
         .to(org.eclipse.che.security.oauth.OAuthAuthenticatorTokenProvider.class);
     bind(OAuthAPI.class).to(EmbeddedOAuthAPI.class);
     bind(RemoteSubscriptionStorage.class).to(InmemoryRemoteSubscriptionStorage.class);
+    bind(WorkspaceLockService.class).to(DefaultWorkspaceLockService.class);
+    bind(WorkspaceStatusCache.class).to(DefaultWorkspaceStatusCache.class);
 
     install(new org.eclipse.che.api.workspace.activity.inject.WorkspaceActivityModule());
   }
@@ -294,8 +296,12 @@ public class WsMasterModule extends AbstractModule {
       // Replication is disabled until closing JPA JChannel issue won't be fixed
       // install(new ReplicationModule(persistenceProperties));
       bind(RemoteSubscriptionStorage.class).to(InmemoryRemoteSubscriptionStorage.class);
+      bind(WorkspaceLockService.class).to(DefaultWorkspaceLockService.class);
+      bind(WorkspaceStatusCache.class).to(DefaultWorkspaceStatusCache.class);
     } else {
       bind(RemoteSubscriptionStorage.class).to(InmemoryRemoteSubscriptionStorage.class);
+      bind(WorkspaceLockService.class).to(DefaultWorkspaceLockService.class);
+      bind(WorkspaceStatusCache.class).to(DefaultWorkspaceStatusCache.class);
     }
     persistenceProperties.put(
         PersistenceUnitProperties.EXCEPTION_HANDLER_CLASS,
@@ -13,15 +13,24 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.inject.Inject;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.annotation.PreDestroy;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +49,15 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Events are delivered to subscribers on the publisher's thread. Subscribers which are {@link
+ * #subscribeAsync(EventSubscriber, Class) subscribed asynchronously} get events on the threads of
+ * the event service when {@link #enableAsyncDispatch(int, int, BackPressurePolicy) asynchronous
+ * dispatch} is enabled, so slow subscribers don't delay publishers. Asynchronous deliveries are
+ * queued to partitions by the key of the event, which is extracted by the function {@link
+ * #setPartitionKey(Class, Function) set for the event type}, e.g. by workspace id of the event, or
+ * by event class when the event has no key. The order of deliveries is preserved within a
+ * partition.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -51,11 +69,22 @@ public class EventService {
   private static final int SEG_SIZE = 32;
 
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
-  private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<Class<?>, Set<Subscription>> subscribersByEventType;
+  /** Subscriptions resolved for the classes of published events. */
+  private final ConcurrentMap<Class<?>, ResolvedSubscriptions> resolvedByEventClass;
+  /** Functions extracting the keys which partition asynchronous deliveries, by event type. */
+  private final ConcurrentMap<Class<?>, Function<Object, ?>> partitionKeysByEventType;
+  /** Incremented on each change of subscriptions, invalidates the resolved subscriptions. */
+  private final AtomicLong subscriptionsVersion;
+
+  private volatile PartitionedEventDispatcher asyncDispatcher;
 
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
+    resolvedByEventClass = new ConcurrentHashMap<>();
+    partitionKeysByEventType = new ConcurrentHashMap<>();
+    subscriptionsVersion = new AtomicLong();
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -86,34 +115,117 @@ public class EventService {
     }
   }
 
+  @Inject(optional = true)
+  void configureAsyncDispatch(
+      @Named("che.core.event_service.async.partitions") int partitions,
+      @Named("che.core.event_service.async.queue_capacity") int queueCapacity,
+      @Named("che.core.event_service.async.back_pressure_policy") String backPressurePolicy) {
+    if (partitions > 0) {
+      enableAsyncDispatch(
+          partitions,
+          queueCapacity,
+          BackPressurePolicy.valueOf(backPressurePolicy.toUpperCase(Locale.ENGLISH)));
+    }
+  }
+
+  /**
+   * Enables asynchronous delivery of events to the asynchronous subscribers, until it is enabled
+   * they get events synchronously.
+   *
+   * @param partitions number of threads delivering events
+   * @param queueCapacity max number of events queued for delivery per thread
+   * @param backPressurePolicy what to do with an event when the queue of its partition is full
+   */
+  public synchronized void enableAsyncDispatch(
+      int partitions, int queueCapacity, BackPressurePolicy backPressurePolicy) {
+    if (partitions <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException(
+          "Number of partitions and queue capacity must be greater than 0");
+    }
+    if (asyncDispatcher != null) {
+      throw new IllegalStateException("Asynchronous dispatch is already enabled");
+    }
+    asyncDispatcher = new PartitionedEventDispatcher(partitions, queueCapacity, backPressurePolicy);
+  }
+
+  /**
+   * Stops asynchronous delivery of events, events which are already queued are delivered. The
+   * following events are delivered to the asynchronous subscribers synchronously.
+   */
+  @PreDestroy
+  public synchronized void shutdown() {
+    final PartitionedEventDispatcher dispatcher = asyncDispatcher;
+    if (dispatcher != null) {
+      asyncDispatcher = null;
+      dispatcher.shutdown();
+    }
+  }
+
   /**
    * Publish event {@code event}.
    *
    * @param event event
    * @return published event
    */
-  @SuppressWarnings("unchecked")
   public <T> T publish(T event) {
     if (event == null) {
       throw new IllegalArgumentException("Null event.");
     }
-    final Class<?> eventClass = event.getClass();
-    for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
-      final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
-      if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
-        for (EventSubscriber eventSubscriber : eventSubscribers) {
-          try {
-            LOG.debug("Publish event {} for {}", event, eventSubscriber);
-            eventSubscriber.onEvent(event);
-          } catch (RuntimeException e) {
-            LOG.error(e.getMessage(), e);
-          }
+    final ResolvedSubscriptions resolved = resolve(event.getClass());
+    for (Subscription subscription : resolved.sync) {
+      subscription.deliver(event);
+    }
+    if (!resolved.async.isEmpty()) {
+      final PartitionedEventDispatcher dispatcher = asyncDispatcher;
+      if (dispatcher == null) {
+        resolved.deliverAsync(event);
+      } else {
+        try {
+          dispatcher.dispatch(resolved.partitionKey(event), () -> resolved.deliverAsync(event));
+        } catch (RejectedExecutionException e) {
+          LOG.warn("Event {} is delivered synchronously, cause: {}", event, e.getMessage());
+          resolved.deliverAsync(event);
         }
       }
     }
     return event;
   }
 
+  /** Returns metrics of all the current subscribers. */
+  public List<SubscriberMetrics> getSubscriberMetrics() {
+    final List<SubscriberMetrics> metrics = new ArrayList<>();
+    for (Set<Subscription> subscriptions : subscribersByEventType.values()) {
+      for (Subscription subscription : subscriptions) {
+        metrics.add(subscription.metrics);
+      }
+    }
+    return metrics;
+  }
+
+  /**
+   * Returns number of events discarded because the asynchronous delivery queue was full, see {@link
+   * BackPressurePolicy#DISCARD}.
+   */
+  public long getDiscardedEvents() {
+    final PartitionedEventDispatcher dispatcher = asyncDispatcher;
+    return dispatcher == null ? 0 : dispatcher.getDiscarded();
+  }
+
+  /**
+   * Sets the function extracting the key of the events of the given type, or its subtypes, which
+   * partitions their asynchronous deliveries. Events with the same key are delivered in the order
+   * they are published. Events without a key, i.e. the function returns null or no function is set
+   * for their types, are partitioned by their classes. When functions are set for several types of
+   * an event, the function of the most specific one is used.
+   *
+   * @param eventType type of the events
+   * @param keyExtractor function extracting the key of an event, e.g. its workspace id
+   */
+  public <T> void setPartitionKey(Class<T> eventType, Function<? super T, ?> keyExtractor) {
+    partitionKeysByEventType.put(eventType, event -> keyExtractor.apply(eventType.cast(event)));
+    subscriptionsVersion.incrementAndGet();
+  }
+
   /**
    * Subscribe event listener. The event to subscribe to is inferred by checking the generic type
    * arguments of the given subscriber.
@@ -122,7 +234,7 @@ public class EventService {
    */
   public void subscribe(EventSubscriber<?> subscriber) {
     final Class<?> eventType = getEventType(subscriber);
-    doSubscribe(subscriber, eventType);
+    doSubscribe(subscriber, eventType, false);
   }
 
   /**
@@ -133,19 +245,45 @@ public class EventService {
    * @param eventType The event to subscribe to.
    */
   public <T> void subscribe(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
-    doSubscribe(subscriber, eventType);
+    doSubscribe(subscriber, eventType, false);
+  }
+
+  /**
+   * Subscribe event listener to be notified asynchronously. The event to subscribe to is inferred
+   * by checking the generic type arguments of the given subscriber.
+   *
+   * @param subscriber event subscriber
+   * @see #subscribeAsync(EventSubscriber, Class)
+   */
+  public void subscribeAsync(EventSubscriber<?> subscriber) {
+    doSubscribe(subscriber, getEventType(subscriber), true);
   }
 
-  private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-    Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
+  /**
+   * Subscribe to an event to be notified asynchronously. The given subscriber will be called on a
+   * thread of the event service whenever an instance of the specified event is published, events
+   * with the same {@link #setPartitionKey(Class, Function) partition key} are delivered in the
+   * order they are published. Events are delivered synchronously until asynchronous dispatch is
+   * enabled.
+   *
+   * @param subscriber The subscriber to call when an event is published.
+   * @param eventType The event to subscribe to.
+   */
+  public <T> void subscribeAsync(EventSubscriber<? extends T> subscriber, Class<T> eventType) {
+    doSubscribe(subscriber, eventType, true);
+  }
+
+  private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType, boolean async) {
+    Set<Subscription> entries = subscribersByEventType.get(eventType);
     if (entries == null) {
-      Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
+      Set<Subscription> newEntries = new CopyOnWriteArraySet<>();
       entries = subscribersByEventType.putIfAbsent(eventType, newEntries);
       if (entries == null) {
         entries = newEntries;
       }
     }
-    entries.add(subscriber);
+    entries.add(new Subscription(subscriber, eventType, async));
+    subscriptionsVersion.incrementAndGet();
   }
 
   /**
@@ -163,15 +301,46 @@ public class EventService {
   }
 
   private void doUnsubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
-    final Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
+    final Set<Subscription> entries = subscribersByEventType.get(eventType);
     if (entries != null && !entries.isEmpty()) {
-      boolean changed = entries.remove(subscriber);
+      boolean changed = entries.remove(new Subscription(subscriber, eventType, false));
       if (changed) {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
+        subscriptionsVersion.incrementAndGet();
+      }
+    }
+  }
+
+  /** Returns subscriptions to the given event class and its super types. */
+  private ResolvedSubscriptions resolve(Class<?> eventClass) {
+    final long version = subscriptionsVersion.get();
+    ResolvedSubscriptions resolved = resolvedByEventClass.get(eventClass);
+    if (resolved != null && resolved.version == version) {
+      return resolved;
+    }
+    final List<Subscription> sync = new ArrayList<>();
+    final List<Subscription> async = new ArrayList<>();
+    // the key of the most specific type is used
+    Class<?> partitionKeyType = null;
+    Function<Object, ?> partitionKey = null;
+    for (Class<?> clazz : typeCache[eventClass.hashCode() & CACHE_MASK].getUnchecked(eventClass)) {
+      final Set<Subscription> subscriptions = subscribersByEventType.get(clazz);
+      if (subscriptions != null) {
+        for (Subscription subscription : subscriptions) {
+          (subscription.async ? async : sync).add(subscription);
+        }
+      }
+      final Function<Object, ?> key = partitionKeysByEventType.get(clazz);
+      if (key != null && (partitionKeyType == null || partitionKeyType.isAssignableFrom(clazz))) {
+        partitionKeyType = clazz;
+        partitionKey = key;
       }
     }
+    resolved = new ResolvedSubscriptions(version, sync, async, partitionKey);
+    resolvedByEventClass.put(eventClass, resolved);
+    return resolved;
   }
 
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
@@ -200,4 +369,95 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** What to do with an event when the asynchronous delivery queue of its partition is full. */
+  public enum BackPressurePolicy {
+    /** Publisher waits until there is space in the queue. */
+    BLOCK,
+    /**
+     * Event is delivered on the publisher's thread, so it may be delivered before the events queued
+     * earlier.
+     */
+    CALLER_RUNS,
+    /** Event is not delivered to the asynchronous subscribers. */
+    DISCARD
+  }
+
+  /** Subscriber of the events of a certain type. */
+  private static class Subscription {
+    private final EventSubscriber subscriber;
+    private final boolean async;
+    private final SubscriberMetrics metrics;
+
+    private Subscription(EventSubscriber<?> subscriber, Class<?> eventType, boolean async) {
+      this.subscriber = subscriber;
+      this.async = async;
+      this.metrics = new SubscriberMetrics(subscriber.toString(), eventType.getName(), async);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deliver(Object event) {
+      final long start = System.nanoTime();
+      boolean failed = false;
+      try {
+        LOG.debug("Publish event {} for {}", event, subscriber);
+        subscriber.onEvent(event);
+      } catch (RuntimeException e) {
+        failed = true;
+        LOG.error(e.getMessage(), e);
+      } finally {
+        metrics.record(System.nanoTime() - start, failed);
+      }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Subscription && subscriber.equals(((Subscription) obj).subscriber);
+    }
+
+    @Override
+    public int hashCode() {
+      return subscriber.hashCode();
+    }
+  }
+
+  /** Subscriptions to the events of a certain class, resolved for a version of subscriptions. */
+  private static class ResolvedSubscriptions {
+    private final long version;
+    private final List<Subscription> sync;
+    private final List<Subscription> async;
+    private final Function<Object, ?> partitionKey;
+
+    private ResolvedSubscriptions(
+        long version,
+        List<Subscription> sync,
+        List<Subscription> async,
+        Function<Object, ?> partitionKey) {
+      this.version = version;
+      this.sync = sync;
+      this.async = async;
+      this.partitionKey = partitionKey;
+    }
+
+    private void deliverAsync(Object event) {
+      for (Subscription subscription : async) {
+        subscription.deliver(event);
+      }
+    }
+
+    /** Returns the partition key of the event, or the event class if the event has no key. */
+    private Object partitionKey(Object event) {
+      if (partitionKey != null) {
+        try {
+          final Object key = partitionKey.apply(event);
+          if (key != null) {
+            return key;
+          }
+        } catch (RuntimeException e) {
+          LOG.debug("Unable to get partition key of event {}", event, e);
+        }
+      }
+      return event.getClass();
+    }
+  }
 }
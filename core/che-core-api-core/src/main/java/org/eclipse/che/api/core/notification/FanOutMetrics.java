@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how many remote subscriptions the events of a single method are evaluated against and
+ * delivered to.
+ */
+public class FanOutMetrics {
+  private final String method;
+  private final LongAdder events = new LongAdder();
+  private final LongAdder evaluated = new LongAdder();
+  private final LongAdder delivered = new LongAdder();
+  private final AtomicLong maxFanOut = new AtomicLong();
+
+  FanOutMetrics(String method) {
+    this.method = method;
+  }
+
+  void record(int evaluatedCount, int deliveredCount) {
+    events.increment();
+    evaluated.add(evaluatedCount);
+    delivered.add(deliveredCount);
+    maxFanOut.accumulateAndGet(deliveredCount, Math::max);
+  }
+
+  /** Name of the method. */
+  public String getMethod() {
+    return method;
+  }
+
+  /** Number of published events. */
+  public long getEvents() {
+    return events.sum();
+  }
+
+  /** Number of subscriptions the events were evaluated against. */
+  public long getEvaluated() {
+    return evaluated.sum();
+  }
+
+  /** Number of notifications sent to the subscribers. */
+  public long getDelivered() {
+    return delivered.sum();
+  }
+
+  /** Maximum number of notifications sent for a single event. */
+  public long getMaxFanOut() {
+    return maxFanOut.get();
+  }
+
+  @Override
+  public String toString() {
+    return "FanOutMetrics{"
+        + "method='"
+        + method
+        + '\''
+        + ", events="
+        + getEvents()
+        + ", evaluated="
+        + getEvaluated()
+        + ", delivered="
+        + getDelivered()
+        + ", maxFanOut="
+        + getMaxFanOut()
+        + '}';
+  }
+}
@@ -10,15 +10,19 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Singleton;
 
 /**
- * Imnemory implementation of {@link RemoteSubscriptionStorage}
+ * Imnemory implementation of {@link RemoteSubscriptionStorage}. Subscriptions are additionally
+ * indexed by their scope entries, so scoped lookups do not depend on the number of subscriptions to
+ * the method.
  *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
@@ -28,24 +32,79 @@ public class InmemoryRemoteSubscriptionStorage implements RemoteSubscriptionStor
   private final Map<String, Set<RemoteSubscriptionContext>> subscriptions =
       new ConcurrentHashMap<>();
 
+  /** Subscriptions of each method indexed by the entries of their scopes. */
+  private final Map<String, Map<Entry<String, String>, Set<RemoteSubscriptionContext>>> scopeIndex =
+      new ConcurrentHashMap<>();
+
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
     return subscriptions.getOrDefault(method, Collections.emptySet());
   }
 
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return scopeIndex
+        .getOrDefault(method, Collections.emptyMap())
+        .getOrDefault(new SimpleImmutableEntry<>(scopeKey, scopeValue), Collections.emptySet());
+  }
+
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
     subscriptions
         .computeIfAbsent(method, k -> ConcurrentHashMap.newKeySet(1))
         .add(remoteSubscriptionContext);
+
+    if (remoteSubscriptionContext.getScope() != null) {
+      Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex =
+          scopeIndex.computeIfAbsent(method, k -> new ConcurrentHashMap<>());
+      for (Entry<String, String> scopeEntry : remoteSubscriptionContext.getScope().entrySet()) {
+        methodIndex
+            .computeIfAbsent(
+                new SimpleImmutableEntry<>(scopeEntry), k -> ConcurrentHashMap.newKeySet(1))
+            .add(remoteSubscriptionContext);
+      }
+    }
   }
 
   @Override
   public void removeSubscription(String method, String endpointId) {
-    subscriptions
-        .getOrDefault(method, Collections.emptySet())
-        .removeIf(
-            remoteSubscriptionContext ->
-                Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
+    Set<RemoteSubscriptionContext> methodSubscriptions =
+        subscriptions.getOrDefault(method, Collections.emptySet());
+    for (RemoteSubscriptionContext context : methodSubscriptions) {
+      if (Objects.equals(context.getEndpointId(), endpointId)) {
+        methodSubscriptions.remove(context);
+        removeFromIndex(method, context);
+      }
+    }
+  }
+
+  @Override
+  public void removeSubscription(String method, String endpointId, Map<String, String> scope) {
+    Set<RemoteSubscriptionContext> methodSubscriptions =
+        subscriptions.getOrDefault(method, Collections.emptySet());
+    for (RemoteSubscriptionContext context : methodSubscriptions) {
+      if (Objects.equals(context.getEndpointId(), endpointId)
+          && Objects.equals(context.getScope(), scope)) {
+        methodSubscriptions.remove(context);
+        removeFromIndex(method, context);
+      }
+    }
+  }
+
+  private void removeFromIndex(String method, RemoteSubscriptionContext context) {
+    Map<Entry<String, String>, Set<RemoteSubscriptionContext>> methodIndex = scopeIndex.get(method);
+    if (methodIndex == null || context.getScope() == null) {
+      return;
+    }
+
+    for (Entry<String, String> scopeEntry : context.getScope().entrySet()) {
+      methodIndex.computeIfPresent(
+          new SimpleImmutableEntry<>(scopeEntry),
+          (k, contexts) -> {
+            contexts.remove(context);
+            return contexts.isEmpty() ? null : contexts;
+          });
+    }
   }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.api.core.notification.EventService.BackPressurePolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers events in a fixed number of partitions, each partition is served by a single thread from
+ * a bounded queue. Deliveries with equal keys get to the same partition, so they are performed in
+ * the order they are dispatched.
+ */
+class PartitionedEventDispatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+
+  private final ThreadPoolExecutor[] partitions;
+  private final AtomicLong discarded = new AtomicLong();
+
+  PartitionedEventDispatcher(int partitionsNum, int queueCapacity, BackPressurePolicy policy) {
+    this.partitions = new ThreadPoolExecutor[partitionsNum];
+    for (int i = 0; i < partitionsNum; i++) {
+      partitions[i] =
+          new ThreadPoolExecutor(
+              1,
+              1,
+              0L,
+              MILLISECONDS,
+              new ArrayBlockingQueue<>(queueCapacity),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("EventService-" + i)
+                  .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                  .setDaemon(true)
+                  .build(),
+              rejectedExecutionHandler(policy));
+    }
+  }
+
+  /**
+   * Queues the delivery to the partition of the given key.
+   *
+   * @throws RejectedExecutionException when the dispatcher is shut down
+   */
+  void dispatch(Object key, Runnable delivery) {
+    int hash = key.hashCode();
+    partitions[Math.floorMod(hash ^ (hash >>> 16), partitions.length)].execute(
+        ThreadLocalPropagateContext.wrap(delivery));
+  }
+
+  /** Number of deliveries discarded because of the full queues. */
+  long getDiscarded() {
+    return discarded.get();
+  }
+
+  /** Stops accepting deliveries and waits until the queued ones are performed. */
+  void shutdown() {
+    for (ThreadPoolExecutor partition : partitions) {
+      partition.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor partition : partitions) {
+        if (!partition.awaitTermination(30, SECONDS)) {
+          partition.shutdownNow();
+          if (!partition.awaitTermination(60, SECONDS)) {
+            LOG.error("Couldn't shutdown EventService thread pool");
+          }
+        }
+      }
+    } catch (InterruptedException ignored) {
+      for (ThreadPoolExecutor partition : partitions) {
+        partition.shutdownNow();
+      }
+      Thread.currentThread().interrupt();
+    }
+    LOG.info("EventService thread pool is terminated");
+  }
+
+  private RejectedExecutionHandler rejectedExecutionHandler(BackPressurePolicy policy) {
+    switch (policy) {
+      case CALLER_RUNS:
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+      case DISCARD:
+        return (delivery, executor) -> {
+          if (!executor.isShutdown() && discarded.getAndIncrement() % 1000 == 0) {
+            LOG.warn("Events queue is full, {} events are discarded so far", discarded.get());
+          }
+        };
+      default:
+        return (delivery, executor) -> {
+          if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Events dispatcher is shut down");
+          }
+          try {
+            executor.getQueue().put(delivery);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for events queue");
+          }
+        };
+    }
+  }
+}
@@ -10,10 +10,18 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Collections.emptySet;
+
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.dto.EventSubscription;
@@ -24,6 +32,7 @@ public class RemoteSubscriptionManager {
   private final EventService eventService;
   private final RequestTransmitter requestTransmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final Map<String, FanOutMetrics> fanOutMetrics = new ConcurrentHashMap<>();
 
   @Inject
   public RemoteSubscriptionManager(
@@ -52,18 +61,109 @@ public class RemoteSubscriptionManager {
         .withBiConsumer(this::consumeUnSubscriptionRequest);
   }
 
+  /**
+   * Registers the method whose subscribers receive events of the given type. Each event is tested
+   * against the scope of every subscription to the method, so this kind of registration should be
+   * used only for scopes which can't be indexed.
+   *
+   * @see #register(String, Class, String, Function)
+   */
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
-    eventService.subscribe(
-        event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
+    FanOutMetrics metrics = getFanOutMetrics(method);
+    eventService.subscribeAsync(
+        event -> {
+          Set<RemoteSubscriptionContext> contexts = remoteSubscriptionStorage.getByMethod(method);
+          int delivered = 0;
+          for (RemoteSubscriptionContext context : contexts) {
+            if (biPredicate.test(event, context.getScope())) {
+              transmit(context.getEndpointId(), method, event);
+              delivered++;
+            }
+          }
+          metrics.record(contexts.size(), delivered);
+        },
         eventType);
   }
 
+  /**
+   * Registers the method whose subscribers receive events of the given type. Events are routed by
+   * direct lookup of the subscriptions whose scope contains the given key with the value extracted
+   * from the event, e.g. {@code workspaceId}.
+   *
+   * @param method method name
+   * @param eventType type of the events to transmit
+   * @param scopeKey key of the subscription scope entry
+   * @param scopeValueExtractor extracts the value of the scope entry from the event, if it returns
+   *     {@code null} the event is not transmitted
+   */
+  public <T> void register(
+      String method, Class<T> eventType, String scopeKey, Function<T, String> scopeValueExtractor) {
+    FanOutMetrics metrics = getFanOutMetrics(method);
+    eventService.subscribeAsync(
+        event -> {
+          String scopeValue = scopeValueExtractor.apply(event);
+          Set<RemoteSubscriptionContext> contexts =
+              scopeValue == null
+                  ? emptySet()
+                  : remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue);
+          for (RemoteSubscriptionContext context : contexts) {
+            transmit(context.getEndpointId(), method, event);
+          }
+          metrics.record(contexts.size(), contexts.size());
+        },
+        eventType);
+  }
+
+  /**
+   * Registers the method whose subscribers receive parts of the events of the given type, each part
+   * is transmitted as a separate notification. It is useful to keep the method which transmits
+   * single items when the items are published in batches.
+   *
+   * @param method method name
+   * @param eventType type of the events to transmit
+   * @param scopeKey key of the subscription scope entry
+   * @param scopeValueExtractor extracts the value of the scope entry from the event, if it returns
+   *     {@code null} the event is not transmitted
+   * @param splitter splits the event into the parts to transmit, in order
+   * @see #register(String, Class, String, Function)
+   */
+  public <T> void register(
+      String method,
+      Class<T> eventType,
+      String scopeKey,
+      Function<T, String> scopeValueExtractor,
+      Function<T, ? extends Collection<?>> splitter) {
+    FanOutMetrics metrics = getFanOutMetrics(method);
+    eventService.subscribeAsync(
+        event -> {
+          String scopeValue = scopeValueExtractor.apply(event);
+          Set<RemoteSubscriptionContext> contexts =
+              scopeValue == null
+                  ? emptySet()
+                  : remoteSubscriptionStorage.getByScope(method, scopeKey, scopeValue);
+          if (!contexts.isEmpty()) {
+            Collection<?> parts = splitter.apply(event);
+            for (RemoteSubscriptionContext context : contexts) {
+              for (Object part : parts) {
+                transmit(context.getEndpointId(), method, part);
+              }
+            }
+          }
+          metrics.record(contexts.size(), contexts.size());
+        },
+        eventType);
+  }
+
+  /** Returns fan-out metrics of all the registered methods. */
+  public List<FanOutMetrics> getFanOutMetrics() {
+    return new ArrayList<>(fanOutMetrics.values());
+  }
+
+  private FanOutMetrics getFanOutMetrics(String method) {
+    return fanOutMetrics.computeIfAbsent(method, FanOutMetrics::new);
+  }
+
   private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
     remoteSubscriptionStorage.addSubscription(
         eventSubscription.getMethod(),
@@ -72,7 +172,13 @@ public class RemoteSubscriptionManager {
 
   private void consumeUnSubscriptionRequest(
       String endpointId, EventSubscription eventSubscription) {
-    remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
+    Map<String, String> scope = eventSubscription.getScope();
+    if (scope == null || scope.isEmpty()) {
+      remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
+    } else {
+      remoteSubscriptionStorage.removeSubscription(
+          eventSubscription.getMethod(), endpointId, scope);
+    }
   }
 
   private <T> void transmit(String endpointId, String method, T event) {
@@ -10,6 +10,9 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.stream.Collectors.toSet;
+
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -28,6 +31,25 @@ public interface RemoteSubscriptionStorage {
    */
   Set<RemoteSubscriptionContext> getByMethod(String method);
 
+  /**
+   * Returns active subscriptions for the given method whose scope contains the given key with the
+   * given value. Default implementation filters the result of {@link #getByMethod(String)},
+   * implementations are encouraged to index subscriptions by their scope entries.
+   *
+   * @param method Method name
+   * @param scopeKey key of the scope entry, e.g. {@code workspaceId}
+   * @param scopeValue value of the scope entry
+   * @return active subscriptions to this method limited to the given scope entry
+   */
+  default Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return getByMethod(method)
+        .stream()
+        .filter(context -> context.getScope() != null)
+        .filter(context -> scopeValue.equals(context.getScope().get(scopeKey)))
+        .collect(toSet());
+  }
+
   /**
    * Adds new subscription to the given method subscriptions list
    *
@@ -43,4 +65,17 @@ public interface RemoteSubscriptionStorage {
    * @param endpointId id of endpoint to remove
    */
   void removeSubscription(String method, String endpointId);
+
+  /**
+   * Removes subscriptions of the endpoint to the given method which have the given scope, so the
+   * endpoint keeps its subscriptions to the same method with other scopes. Default implementation
+   * removes all the subscriptions of the endpoint to the method.
+   *
+   * @param method Method name
+   * @param endpointId id of endpoint to remove
+   * @param scope scope of the subscription to remove
+   */
+  default void removeSubscription(String method, String endpointId, Map<String, String> scope) {
+    removeSubscription(method, endpointId);
+  }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts events delivered to a single subscriber of {@link EventService} and time it took. */
+public class SubscriberMetrics {
+  private final String subscriber;
+  private final String eventType;
+  private final boolean async;
+  private final LongAdder events = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  SubscriberMetrics(String subscriber, String eventType, boolean async) {
+    this.subscriber = subscriber;
+    this.eventType = eventType;
+    this.async = async;
+  }
+
+  void record(long nanos, boolean failed) {
+    events.increment();
+    if (failed) {
+      failures.increment();
+    }
+    totalNanos.add(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  /** Description of the subscriber. */
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  /** Name of the type of the events the subscriber is subscribed to. */
+  public String getEventType() {
+    return eventType;
+  }
+
+  /** Whether events are delivered to the subscriber asynchronously. */
+  public boolean isAsync() {
+    return async;
+  }
+
+  /** Number of events delivered to the subscriber. */
+  public long getEvents() {
+    return events.sum();
+  }
+
+  /** Number of events the subscriber failed to process. */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /** Total time the subscriber spent processing events, in nanoseconds. */
+  public long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  /** Maximum time the subscriber spent processing a single event, in nanoseconds. */
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  @Override
+  public String toString() {
+    return "SubscriberMetrics{"
+        + "subscriber='"
+        + subscriber
+        + '\''
+        + ", eventType='"
+        + eventType
+        + '\''
+        + ", async="
+        + async
+        + ", events="
+        + getEvents()
+        + ", failures="
+        + getFailures()
+        + ", totalNanos="
+        + getTotalNanos()
+        + ", maxNanos="
+        + getMaxNanos()
+        + '}';
+  }
+}
@@ -169,7 +169,8 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
    * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
    * <br>
    * uses {@link HttpHeaders#ACCEPT} header with "application/json" value. <br>
-   * Encodes query parameters in "UTF-8".
+   * Encodes query parameters in "UTF-8". <br>
+   * Response with "304 Not Modified" code to a conditional request is returned with empty body.
    *
    * @param timeout request timeout, used only if it is greater than 0
    * @param url request url
@@ -223,6 +224,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       }
     }
 
+    boolean consumed = false;
     try {
       conn.setRequestMethod(method);
       // drop a hint for server side that we want to receive application/json
@@ -247,7 +249,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         }
       }
       final int responseCode = conn.getResponseCode();
-      if ((responseCode / 100) != 2) {
+      if ((responseCode / 100) != 2 && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED) {
         InputStream in = conn.getErrorStream();
         if (in == null) {
           in = conn.getInputStream();
@@ -256,6 +258,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         try (Reader reader = new InputStreamReader(in)) {
           str = CharStreams.toString(reader);
         }
+        consumed = true;
         final String contentType = conn.getContentType();
         if (contentType != null
             && (contentType.startsWith(MediaType.APPLICATION_JSON)
@@ -287,18 +290,45 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       }
       final String contentType = conn.getContentType();
       if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
+          && responseCode != HttpURLConnection.HTTP_NOT_MODIFIED
           && contentType != null
           && !(contentType.startsWith(MediaType.APPLICATION_JSON)
               || contentType.startsWith("application/vnd.api+json"))) {
         throw new IOException(conn.getResponseMessage());
       }
 
-      try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(
-            CharStreams.toString(reader), responseCode, conn.getHeaderFields());
-      }
+      final DefaultHttpJsonResponse response = readResponse(conn, responseCode);
+      consumed = true;
+      return response;
     } finally {
-      conn.disconnect();
+      releaseConnection(conn, consumed);
+    }
+  }
+
+  /**
+   * Releases the given connection once the request is performed.
+   *
+   * <p>The default implementation disconnects, so the underlying socket is closed.
+   *
+   * @param conn connection to release
+   * @param consumed true when the body of the response was read to the end and its stream was
+   *     closed, false when the request failed before that
+   */
+  protected void releaseConnection(HttpURLConnection conn, boolean consumed) {
+    conn.disconnect();
+  }
+
+  /**
+   * Reads successful response from the given connection.
+   *
+   * @param conn connection to read response from
+   * @param responseCode code of the response
+   */
+  protected DefaultHttpJsonResponse readResponse(HttpURLConnection conn, int responseCode)
+      throws IOException {
+    try (Reader reader = new InputStreamReader(conn.getInputStream())) {
+      return new DefaultHttpJsonResponse(
+          CharStreams.toString(reader), responseCode, conn.getHeaderFields());
     }
   }
 
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Connection and latency metrics of requests performed by {@link PooledHttpJsonRequestFactory} to a
+ * single host.
+ *
+ * <p>Values are updated concurrently, so the getters return the recent values which are not
+ * necessarily consistent with each other.
+ */
+public class HttpHostMetrics {
+
+  private final String host;
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private final AtomicInteger maxActiveConnections = new AtomicInteger();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder totalLatencyNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  HttpHostMetrics(String host) {
+    this.host = host;
+  }
+
+  /** Returns host and port the metrics are collected for, e.g. 'che-host:8080'. */
+  public String getHost() {
+    return host;
+  }
+
+  /** Returns number of connections currently used by requests to the host. */
+  public int getActiveConnections() {
+    return activeConnections.get();
+  }
+
+  /** Returns the maximum number of connections simultaneously used by requests to the host. */
+  public int getMaxActiveConnections() {
+    return maxActiveConnections.get();
+  }
+
+  /** Returns number of completed requests, including the failed ones. */
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  /**
+   * Returns number of requests which failed either with an error response code or with an I/O
+   * error.
+   */
+  public long getFailures() {
+    return failures.sum();
+  }
+
+  /** Returns average latency of the completed requests in milliseconds. */
+  public long getAverageLatencyMillis() {
+    long count = requests.sum();
+    return count == 0 ? 0 : NANOSECONDS.toMillis(totalLatencyNanos.sum() / count);
+  }
+
+  /** Returns the maximum latency of the completed requests in milliseconds. */
+  public long getMaxLatencyMillis() {
+    return NANOSECONDS.toMillis(maxLatencyNanos.get());
+  }
+
+  /** Records the start of a request, returns the start time to be passed to {@link #completed}. */
+  long started() {
+    maxActiveConnections.accumulateAndGet(activeConnections.incrementAndGet(), Math::max);
+    return System.nanoTime();
+  }
+
+  /** Records completion of a request started at the given time. */
+  void completed(long startNanos, boolean failed) {
+    long latency = System.nanoTime() - startNanos;
+    activeConnections.decrementAndGet();
+    requests.increment();
+    if (failed) {
+      failures.increment();
+    }
+    totalLatencyNanos.add(latency);
+    maxLatencyNanos.accumulateAndGet(latency, Math::max);
+  }
+
+  @Override
+  public String toString() {
+    return "HttpHostMetrics{"
+        + "host='"
+        + host
+        + '\''
+        + ", activeConnections="
+        + getActiveConnections()
+        + ", maxActiveConnections="
+        + getMaxActiveConnections()
+        + ", requests="
+        + getRequests()
+        + ", failures="
+        + getFailures()
+        + ", averageLatencyMillis="
+        + getAverageLatencyMillis()
+        + ", maxLatencyMillis="
+        + getMaxLatencyMillis()
+        + '}';
+  }
+}
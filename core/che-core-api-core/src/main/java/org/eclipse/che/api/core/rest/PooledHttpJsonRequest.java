@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.io.ByteStreams;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import javax.ws.rs.core.MediaType;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.Pair;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which reuses keep-alive connections.
+ *
+ * <p>JSON response bodies are parsed straight from the response stream, without reading them to a
+ * string first, and the stream is then read to the end and closed without disconnecting, so the
+ * connection returns to the JDK keep-alive cache and is reused by the next request to the same
+ * host. DTOs are then deserialized from the parsed body by {@link PooledHttpJsonResponse}.
+ *
+ * <p>Each request is accounted in the {@link HttpHostMetrics metrics} of the requested host.
+ *
+ * @see PooledHttpJsonRequestFactory
+ */
+public class PooledHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private final PooledHttpJsonRequestFactory factory;
+
+  protected PooledHttpJsonRequest(String url, PooledHttpJsonRequestFactory factory) {
+    super(url);
+    this.factory = requireNonNull(factory, "Required non-null factory");
+  }
+
+  protected PooledHttpJsonRequest(Link link, PooledHttpJsonRequestFactory factory) {
+    super(link);
+    this.factory = requireNonNull(factory, "Required non-null factory");
+  }
+
+  /**
+   * Performs this request asynchronously.
+   *
+   * @see PooledHttpJsonRequestFactory#requestAsync(HttpJsonRequest)
+   */
+  public CompletableFuture<HttpJsonResponse> requestAsync() {
+    return factory.requestAsync(this);
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse doRequest(
+      int timeout,
+      String url,
+      String method,
+      Object body,
+      List<Pair<String, ?>> parameters,
+      String authorizationHeaderValue,
+      List<Pair<String, String>> headers)
+      throws IOException, ServerException, ForbiddenException, NotFoundException,
+          UnauthorizedException, ConflictException, BadRequestException {
+    final URL target = new URL(url);
+    final int port = target.getPort() == -1 ? target.getDefaultPort() : target.getPort();
+    final HttpHostMetrics hostMetrics = factory.getMetrics(target.getHost() + ':' + port);
+    final long start = hostMetrics.started();
+    boolean failed = true;
+    try {
+      DefaultHttpJsonResponse response =
+          super.doRequest(
+              timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+      failed = false;
+      return response;
+    } finally {
+      hostMetrics.completed(start, failed);
+    }
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse readResponse(HttpURLConnection conn, int responseCode)
+      throws IOException {
+    final String contentType = conn.getContentType();
+    if (contentType == null
+        || !(contentType.startsWith(MediaType.APPLICATION_JSON)
+            || contentType.startsWith("application/vnd.api+json"))) {
+      return super.readResponse(conn, responseCode);
+    }
+    final JsonElement responseBody;
+    try (InputStream in = conn.getInputStream()) {
+      try {
+        responseBody = new JsonParser().parse(new InputStreamReader(in, UTF_8));
+      } catch (JsonParseException x) {
+        throw new IOException(x.getLocalizedMessage(), x);
+      }
+      // whatever follows the parsed value must be read too, otherwise the connection is not reused
+      ByteStreams.exhaust(in);
+    }
+    return new PooledHttpJsonResponse(responseBody, responseCode, conn.getHeaderFields());
+  }
+
+  /** Disconnects only when the response was not read to the end, keeping the connection alive. */
+  @Override
+  protected void releaseConnection(HttpURLConnection conn, boolean consumed) {
+    if (!consumed) {
+      conn.disconnect();
+    }
+  }
+}
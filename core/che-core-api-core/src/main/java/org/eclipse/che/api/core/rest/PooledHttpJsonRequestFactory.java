@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+/**
+ * Alternative to {@link DefaultHttpJsonRequestFactory} which creates {@link PooledHttpJsonRequest}
+ * instances. Bind it instead of the default factory to use these requests:
+ *
+ * <pre>
+ *   bind(HttpJsonRequestFactory.class).to(PooledHttpJsonRequestFactory.class);
+ * </pre>
+ *
+ * <p>Connections are reused through the JDK keep-alive cache, the number of idle connections kept
+ * per host is limited by the 'http.maxConnections' system property (5 by default), so it should be
+ * raised when many concurrent requests go to the same host.
+ *
+ * <p>The factory collects {@link HttpHostMetrics connection and latency metrics} of the requests
+ * per host and performs requests {@link #requestAsync(HttpJsonRequest) asynchronously}, at most 16
+ * of them at the same time, the rest wait in a queue.
+ *
+ * @see PooledHttpJsonRequest
+ */
+@Singleton
+public class PooledHttpJsonRequestFactory implements HttpJsonRequestFactory {
+
+  /** Maximum number of requests performed asynchronously at the same time. */
+  private static final int MAX_ASYNC_REQUESTS = 16;
+
+  private final Map<String, HttpHostMetrics> metrics = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor executor;
+
+  @Inject
+  public PooledHttpJsonRequestFactory() {
+    this(MAX_ASYNC_REQUESTS);
+  }
+
+  @VisibleForTesting
+  PooledHttpJsonRequestFactory(int maxAsyncRequests) {
+    executor =
+        new ThreadPoolExecutor(
+            maxAsyncRequests,
+            maxAsyncRequests,
+            60,
+            SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat(PooledHttpJsonRequestFactory.class.getSimpleName() + "-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new PooledHttpJsonRequest(url, this);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new PooledHttpJsonRequest(link, this);
+  }
+
+  /**
+   * Performs the given request in a separate thread, the environment context of the calling thread
+   * is propagated to the request.
+   *
+   * @param request request to perform, may be created by any factory
+   * @return future completed with the response of the request, or completed exceptionally with the
+   *     exception thrown by {@link HttpJsonRequest#request()}
+   */
+  public CompletableFuture<HttpJsonResponse> requestAsync(HttpJsonRequest request) {
+    CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    executor.execute(
+        ThreadLocalPropagateContext.wrap(
+            () -> {
+              try {
+                future.complete(request.request());
+              } catch (Exception x) {
+                future.completeExceptionally(x);
+              }
+            }));
+    return future;
+  }
+
+  /** Returns metrics of the requests to the given host, e.g. 'che-host:8080'. */
+  public HttpHostMetrics getMetrics(String host) {
+    return metrics.computeIfAbsent(host, HttpHostMetrics::new);
+  }
+
+  /** Returns metrics of all the hosts requested by this factory. */
+  public List<HttpHostMetrics> getMetrics() {
+    return new ArrayList<>(metrics.values());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(5, SECONDS)) {
+        executor.shutdownNow();
+        executor.awaitTermination(5, SECONDS);
+      }
+    } catch (InterruptedException ie) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
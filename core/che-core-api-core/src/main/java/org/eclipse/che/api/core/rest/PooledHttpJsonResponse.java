@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.che.commons.json.JsonHelper;
+import org.eclipse.che.commons.json.JsonParseException;
+import org.eclipse.che.dto.server.DtoFactory;
+
+/**
+ * Response of {@link PooledHttpJsonRequest} which keeps the JSON body parsed from the response
+ * stream and deserializes DTOs straight from it, without building an intermediate string of the
+ * whole body.
+ */
+public class PooledHttpJsonResponse extends DefaultHttpJsonResponse {
+
+  private final JsonElement responseBody;
+
+  protected PooledHttpJsonResponse(
+      JsonElement responseBody, int responseCode, Map<String, List<String>> headers) {
+    super(null, responseCode, headers);
+    this.responseBody = requireNonNull(responseBody, "Required non-null response body");
+  }
+
+  @Override
+  public String asString() {
+    return responseBody.isJsonNull() ? "" : responseBody.toString();
+  }
+
+  @Override
+  public <T> T asDto(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+  }
+
+  @Override
+  public <T> List<T> asList(Class<T> dtoInterface) {
+    requireNonNull(dtoInterface, "Required non-null dto interface");
+    final JsonArray elements = responseBody.getAsJsonArray();
+    final List<T> list = new ArrayList<>(elements.size());
+    for (JsonElement element : elements) {
+      list.add(DtoFactory.getInstance().createDtoFromJson(element, dtoInterface));
+    }
+    return list;
+  }
+
+  @Override
+  public <T> T as(Class<T> clazz, Type genericType) throws IOException {
+    requireNonNull(clazz, "Required non-null class");
+    try {
+      return JsonHelper.fromJson(asString(), clazz, genericType);
+    } catch (JsonParseException jsonEx) {
+      throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
+    }
+  }
+}
@@ -10,14 +10,19 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.stream.Collectors.toList;
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 
 /**
@@ -25,6 +30,9 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Each session has its own bounded outbound queue drained by asynchronous sends, so a slow
+ * client does not delay delivery of messages to other clients.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,16 +41,25 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final int queueSize;
+  private final SlowConsumerPolicy slowConsumerPolicy;
+
+  private final Map<Session, SessionMessageQueue> queues = new ConcurrentHashMap<>();
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      @Named("che.websocket.outbound.queue_size") int queueSize,
+      @Named("che.websocket.outbound.slow_consumer_policy") String slowConsumerPolicy) {
     this.registry = registry;
     this.reSender = reSender;
+    this.queueSize = queueSize;
+    this.slowConsumerPolicy = SlowConsumerPolicy.valueOf(slowConsumerPolicy.toUpperCase());
   }
 
   @Override
-  public synchronized void transmit(String endpointId, String message) {
+  public void transmit(String endpointId, String message) {
     Optional<Session> sessionOptional = registry.get(endpointId);
 
     if (!sessionOptional.isPresent()) {
@@ -54,13 +71,29 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
       reSender.add(endpointId, message);
     } else {
-      LOG.debug("Session registered and open, sending message");
+      LOG.debug("Session registered and open, queueing message");
+
+      queues
+          .computeIfAbsent(
+              sessionOptional.get(),
+              session ->
+                  new SessionMessageQueue(
+                      endpointId, session, queueSize, slowConsumerPolicy, reSender))
+          .offer(message);
+    }
+  }
+
+  /** Returns metrics of the outbound queues of all the sessions messages were transmitted to. */
+  public List<OutboundQueueMetrics> getQueueMetrics() {
+    return queues.values().stream().map(SessionMessageQueue::getMetrics).collect(toList());
+  }
+
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void cleanClosedSessionQueues() {
+    queues.values().removeIf(SessionMessageQueue::isClosed);
 
-      try {
-        sessionOptional.get().getBasicRemote().sendText(message);
-      } catch (IOException e) {
-        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-      }
+    if (LOG.isDebugEnabled()) {
+      getQueueMetrics().forEach(metrics -> LOG.debug("{}", metrics));
     }
   }
 }
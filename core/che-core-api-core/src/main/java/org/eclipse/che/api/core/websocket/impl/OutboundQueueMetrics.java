@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+/** Snapshot of the outbound message queue metrics of a single WEB SOCKET session. */
+public class OutboundQueueMetrics {
+  private final String endpointId;
+  private final int depth;
+  private final long sent;
+  private final long dropped;
+  private final long averageSendLatencyMillis;
+  private final long maxSendLatencyMillis;
+
+  public OutboundQueueMetrics(
+      String endpointId,
+      int depth,
+      long sent,
+      long dropped,
+      long averageSendLatencyMillis,
+      long maxSendLatencyMillis) {
+    this.endpointId = endpointId;
+    this.depth = depth;
+    this.sent = sent;
+    this.dropped = dropped;
+    this.averageSendLatencyMillis = averageSendLatencyMillis;
+    this.maxSendLatencyMillis = maxSendLatencyMillis;
+  }
+
+  /** Combined identifier of the endpoint the session belongs to. */
+  public String getEndpointId() {
+    return endpointId;
+  }
+
+  /** Number of messages waiting to be sent. */
+  public int getDepth() {
+    return depth;
+  }
+
+  /** Number of completed sends, including failed ones. */
+  public long getSent() {
+    return sent;
+  }
+
+  /** Number of messages dropped because of the queue overflow. */
+  public long getDropped() {
+    return dropped;
+  }
+
+  /** Average time between starting and completing a send. */
+  public long getAverageSendLatencyMillis() {
+    return averageSendLatencyMillis;
+  }
+
+  /** Maximum time between starting and completing a send. */
+  public long getMaxSendLatencyMillis() {
+    return maxSendLatencyMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "OutboundQueueMetrics{"
+        + "endpointId='"
+        + endpointId
+        + '\''
+        + ", depth="
+        + depth
+        + ", sent="
+        + sent
+        + ", dropped="
+        + dropped
+        + ", averageSendLatencyMillis="
+        + averageSendLatencyMillis
+        + ", maxSendLatencyMillis="
+        + maxSendLatencyMillis
+        + '}';
+  }
+}
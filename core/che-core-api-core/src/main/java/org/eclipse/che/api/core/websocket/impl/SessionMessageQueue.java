@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.websocket.CloseReason;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.slf4j.Logger;
+
+/**
+ * Bounded queue of outbound messages of a single WEB SOCKET session. Messages are sent with the
+ * asynchronous remote endpoint one at a time, the next message is sent when the previous send is
+ * completed, so a slow client never blocks the thread which transmits the message. When the queue
+ * is full the configured {@link SlowConsumerPolicy} is applied.
+ */
+class SessionMessageQueue {
+  private static final Logger LOG = getLogger(SessionMessageQueue.class);
+
+  private final String endpointId;
+  private final Session session;
+  private final int capacity;
+  private final SlowConsumerPolicy policy;
+  private final MessagesReSender reSender;
+
+  private final Deque<String> messages = new ArrayDeque<>();
+
+  /** Whether there is a message being sent, only one send may be in progress at a time. */
+  private boolean sending;
+
+  private boolean closed;
+
+  private long sent;
+  private long dropped;
+  private long totalLatencyNanos;
+  private long maxLatencyNanos;
+
+  SessionMessageQueue(
+      String endpointId,
+      Session session,
+      int capacity,
+      SlowConsumerPolicy policy,
+      MessagesReSender reSender) {
+    this.endpointId = endpointId;
+    this.session = session;
+    this.capacity = capacity;
+    this.policy = policy;
+    this.reSender = reSender;
+  }
+
+  /** Queues the message and starts sending if there is no send in progress. */
+  void offer(String message) {
+    boolean disconnect = false;
+    boolean startSending = false;
+
+    synchronized (this) {
+      if (closed) {
+        reSender.add(endpointId, message);
+        return;
+      }
+
+      if (messages.size() >= capacity) {
+        switch (policy) {
+          case DISCONNECT:
+            disconnect = true;
+            break;
+          case COALESCE:
+            if (!messages.removeIf(message::equals)) {
+              messages.pollFirst();
+            }
+            dropped++;
+            break;
+          default:
+            messages.pollFirst();
+            dropped++;
+        }
+      }
+
+      messages.addLast(message);
+      if (!disconnect && !sending) {
+        sending = true;
+        startSending = true;
+      }
+    }
+
+    if (disconnect) {
+      LOG.warn("Outbound queue of endpoint {} is full, closing the session", endpointId);
+      close();
+    } else if (startSending) {
+      sendQueued();
+    }
+  }
+
+  /** Returns the current metrics of the queue. */
+  synchronized OutboundQueueMetrics getMetrics() {
+    return new OutboundQueueMetrics(
+        endpointId,
+        messages.size(),
+        sent,
+        dropped,
+        sent == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / sent),
+        TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos));
+  }
+
+  /** Whether the queue doesn't accept messages anymore or its session is closed. */
+  synchronized boolean isClosed() {
+    return closed || !session.isOpen();
+  }
+
+  /**
+   * Sends queued messages one by one. The loop continues in the current thread while the sends
+   * complete inline, otherwise sending is resumed by the completion handler.
+   */
+  private void sendQueued() {
+    String message;
+    while ((message = nextMessage()) != null) {
+      long start = System.nanoTime();
+      AtomicBoolean returned = new AtomicBoolean();
+
+      try {
+        session
+            .getAsyncRemote()
+            .sendText(
+                message,
+                result -> {
+                  onSent(result, start);
+                  if (!returned.compareAndSet(false, true)) {
+                    sendQueued();
+                  }
+                });
+      } catch (RuntimeException x) {
+        onSent(new SendResult(x), start);
+        continue;
+      }
+
+      if (returned.compareAndSet(false, true)) {
+        return;
+      }
+    }
+  }
+
+  private synchronized String nextMessage() {
+    String message = closed ? null : messages.pollFirst();
+    if (message == null) {
+      sending = false;
+    }
+    return message;
+  }
+
+  private void onSent(SendResult result, long start) {
+    long latency = System.nanoTime() - start;
+    synchronized (this) {
+      sent++;
+      totalLatencyNanos += latency;
+      maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+    }
+
+    if (!result.isOK()) {
+      LOG.error(
+          "Error while trying to send a message to a websocket remote endpoint",
+          result.getException());
+      if (!session.isOpen()) {
+        close();
+      }
+    }
+  }
+
+  /** Closes the session, messages which were not sent are passed to the re-sender. */
+  private void close() {
+    synchronized (this) {
+      closed = true;
+      while (!messages.isEmpty()) {
+        reSender.add(endpointId, messages.pollFirst());
+      }
+    }
+
+    if (session.isOpen()) {
+      try {
+        session.close(
+            new CloseReason(
+                CloseReason.CloseCodes.TRY_AGAIN_LATER, "Outbound message queue overflow"));
+      } catch (IOException e) {
+        LOG.error("Error while trying to close a websocket session", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+/**
+ * Defines what happens when the outbound queue of a WEB SOCKET session is full because the client
+ * consumes messages slower than they are produced.
+ */
+public enum SlowConsumerPolicy {
+  /** The oldest queued message is dropped to free space for the new one. */
+  DROP_OLDEST,
+
+  /**
+   * Queued messages equal to the new one are replaced by it, if there are no such messages the
+   * oldest queued message is dropped.
+   */
+  COALESCE,
+
+  /**
+   * The session is closed, queued messages are passed to {@link MessagesReSender} so they could be
+   * delivered when the client reconnects.
+   */
+  DISCONNECT
+}
@@ -10,11 +10,13 @@
  */
 package org.eclipse.che.api.core.websocket.impl;
 
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toSet;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,33 +35,56 @@ public class WebSocketSessionRegistry {
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
 
+  /** Combined endpoint identifiers indexed by their client and endpoint identifier parts. */
+  private final Map<String, Set<String>> idsByPart = new ConcurrentHashMap<>();
+
   public void add(String endpointId, Session session) {
     LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
 
-    sessionsMap.put(endpointId, session);
+    if (sessionsMap.put(endpointId, session) == null) {
+      for (String part : splitId(endpointId)) {
+        idsByPart.computeIfAbsent(part, k -> ConcurrentHashMap.newKeySet()).add(endpointId);
+      }
+    }
   }
 
   public Optional<Session> remove(String endpointId) {
     LOG.debug("Cancelling registration for session with endpoint {}", endpointId);
 
-    return Optional.ofNullable(sessionsMap.remove(endpointId));
+    Session session = sessionsMap.remove(endpointId);
+    if (session != null) {
+      for (String part : splitId(endpointId)) {
+        idsByPart.computeIfPresent(
+            part,
+            (k, ids) -> {
+              ids.remove(endpointId);
+              return ids.isEmpty() ? null : ids;
+            });
+      }
+    }
+    return Optional.ofNullable(session);
   }
 
   public Optional<Session> remove(Session session) {
-    return get(session).flatMap(id -> Optional.ofNullable(sessionsMap.remove(id)));
+    return get(session).flatMap(this::remove);
   }
 
   public Optional<Session> get(String endpointId) {
     return Optional.ofNullable(sessionsMap.get(endpointId));
   }
 
+  /**
+   * Returns sessions whose combined endpoint identifier contains the given client or endpoint
+   * identifier as one of its parts. Sessions are looked up in the index, so the cost does not
+   * depend on the number of registered sessions.
+   */
   public Set<Session> getByPartialMatch(String partialEndpointId) {
-    return sessionsMap
-        .entrySet()
-        .stream()
-        .filter(it -> it.getKey().contains(partialEndpointId))
-        .map(Map.Entry::getValue)
-        .collect(toSet());
+    Set<String> ids = idsByPart.get(partialEndpointId);
+    if (ids == null) {
+      return emptySet();
+    }
+
+    return ids.stream().map(sessionsMap::get).filter(Objects::nonNull).collect(toSet());
   }
 
   public Optional<String> get(Session session) {
@@ -74,4 +99,8 @@ public class WebSocketSessionRegistry {
   public Set<Session> getSessions() {
     return new HashSet<>(sessionsMap.values());
   }
+
+  private static String[] splitId(String combinedId) {
+    return combinedId.split(WebsocketIdService.SEPARATOR);
+  }
 }
@@ -10,10 +10,19 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.notification.EventService.BackPressurePolicy;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +35,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() {
+    bus.shutdown();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -192,6 +206,180 @@ public class EventServiceTest {
     bus.unsubscribe(sb, CustomEventImpl.class);
   }
 
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberSynchronouslyWhenAsyncDispatchIsDisabled() {
+    final List<String> events = new ArrayList<>();
+    bus.subscribeAsync(events::add, String.class);
+
+    bus.publish("hello");
+
+    Assert.assertEquals(events, Collections.singletonList("hello"));
+  }
+
+  @Test
+  public void shouldDeliverEventsOfTheSameWorkspaceToAsyncSubscriberInOrder() throws Exception {
+    bus.enableAsyncDispatch(4, 100, BackPressurePolicy.BLOCK);
+    bus.setPartitionKey(WorkspaceEvent.class, WorkspaceEvent::getWorkspaceId);
+    final Map<String, List<Integer>> events = new HashMap<>();
+    final CountDownLatch delivered = new CountDownLatch(300);
+    final Thread publisher = Thread.currentThread();
+    bus.subscribeAsync(
+        event -> {
+          Assert.assertNotSame(Thread.currentThread(), publisher);
+          synchronized (events) {
+            events.computeIfAbsent(event.getWorkspaceId(), id -> new ArrayList<>()).add(event.seq);
+          }
+          delivered.countDown();
+        },
+        WorkspaceEvent.class);
+
+    for (int i = 0; i < 100; i++) {
+      bus.publish(new WorkspaceEvent("ws1", i));
+      bus.publish(new WorkspaceEvent("ws2", i));
+      bus.publish(new WorkspaceEvent("ws3", i));
+    }
+
+    Assert.assertTrue(delivered.await(10, SECONDS));
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    synchronized (events) {
+      Assert.assertEquals(events.get("ws1"), expected);
+      Assert.assertEquals(events.get("ws2"), expected);
+      Assert.assertEquals(events.get("ws3"), expected);
+    }
+  }
+
+  @Test
+  public void shouldPartitionEventsByKeyOfTheirSuperType() throws Exception {
+    bus.enableAsyncDispatch(2, 10, BackPressurePolicy.BLOCK);
+    final List<Object> keyed = Collections.synchronizedList(new ArrayList<>());
+    bus.setPartitionKey(
+        Object.class,
+        event -> {
+          keyed.add(event);
+          return null;
+        });
+    bus.setPartitionKey(
+        WorkspaceEvent.class,
+        event -> {
+          keyed.add(event);
+          return event.getWorkspaceId();
+        });
+    final CountDownLatch delivered = new CountDownLatch(1);
+    bus.subscribeAsync(event -> delivered.countDown(), WorkspaceEvent.class);
+
+    final WorkspaceEvent event = new WorkspaceEvent("ws1", 0) {};
+    bus.publish(event);
+
+    Assert.assertTrue(delivered.await(10, SECONDS));
+    Assert.assertEquals(keyed, Collections.singletonList(event));
+  }
+
+  @Test
+  public void shouldDeliverEventsToSyncSubscribersOnPublisherThread() {
+    bus.enableAsyncDispatch(1, 10, BackPressurePolicy.BLOCK);
+    final List<Thread> threads = new ArrayList<>();
+    bus.subscribe(event -> threads.add(Thread.currentThread()), String.class);
+
+    bus.publish("hello");
+
+    Assert.assertEquals(threads, Collections.singletonList(Thread.currentThread()));
+  }
+
+  @Test
+  public void shouldDiscardEventsWhenQueueIsFull() throws Exception {
+    bus.enableAsyncDispatch(1, 1, BackPressurePolicy.DISCARD);
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> events = Collections.synchronizedList(new ArrayList<>());
+    bus.subscribeAsync(
+        event -> {
+          started.countDown();
+          try {
+            release.await(10, SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          events.add(event);
+        },
+        String.class);
+
+    bus.publish("first");
+    Assert.assertTrue(started.await(10, SECONDS));
+    bus.publish("queued");
+    bus.publish("discarded");
+    Assert.assertEquals(bus.getDiscardedEvents(), 1);
+    release.countDown();
+    bus.shutdown();
+
+    Assert.assertEquals(events, asList("first", "queued"));
+  }
+
+  @Test
+  public void shouldDeliverEventsToNewSubscriberAfterEventClassIsResolved() {
+    final List<String> first = new ArrayList<>();
+    final List<String> second = new ArrayList<>();
+    bus.subscribe(first::add, String.class);
+    bus.publish("a");
+
+    bus.subscribe(second::add, String.class);
+    bus.publish("b");
+
+    Assert.assertEquals(first, asList("a", "b"));
+    Assert.assertEquals(second, Collections.singletonList("b"));
+  }
+
+  @Test
+  public void shouldNotDeliverEventsToUnsubscribedSubscriberAfterEventClassIsResolved() {
+    final List<String> events = new ArrayList<>();
+    final EventSubscriber<String> subscriber = events::add;
+    bus.subscribeAsync(subscriber, String.class);
+    bus.publish("a");
+
+    bus.unsubscribe(subscriber, String.class);
+    bus.publish("b");
+
+    Assert.assertEquals(events, Collections.singletonList("a"));
+  }
+
+  @Test
+  public void shouldRecordSubscriberMetrics() {
+    bus.subscribe(
+        event -> {
+          if (event.isEmpty()) {
+            throw new IllegalStateException("empty event");
+          }
+        },
+        String.class);
+
+    bus.publish("a");
+    bus.publish("");
+
+    final List<SubscriberMetrics> metrics = bus.getSubscriberMetrics();
+    Assert.assertEquals(metrics.size(), 1);
+    Assert.assertEquals(metrics.get(0).getEventType(), String.class.getName());
+    Assert.assertFalse(metrics.get(0).isAsync());
+    Assert.assertEquals(metrics.get(0).getEvents(), 2);
+    Assert.assertEquals(metrics.get(0).getFailures(), 1);
+    Assert.assertTrue(metrics.get(0).getTotalNanos() >= metrics.get(0).getMaxNanos());
+  }
+
+  static class WorkspaceEvent {
+    private final String workspaceId;
+    private final int seq;
+
+    WorkspaceEvent(String workspaceId, int seq) {
+      this.workspaceId = workspaceId;
+      this.seq = seq;
+    }
+
+    public String getWorkspaceId() {
+      return workspaceId;
+    }
+  }
+
   static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
     final List<String> events = new ArrayList<>();
 
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Set;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link InmemoryRemoteSubscriptionStorage} */
+public class InmemoryRemoteSubscriptionStorageTest {
+  private static final String METHOD = "method";
+
+  private InmemoryRemoteSubscriptionStorage storage;
+
+  @BeforeMethod
+  public void setUp() {
+    storage = new InmemoryRemoteSubscriptionStorage();
+  }
+
+  @Test
+  public void shouldReturnSubscriptionsByScopeEntry() {
+    RemoteSubscriptionContext ws1 =
+        new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1"));
+    RemoteSubscriptionContext ws2 =
+        new RemoteSubscriptionContext(
+            "endpoint2", ImmutableMap.of("workspaceId", "ws2", "userId", "user1"));
+    storage.addSubscription(METHOD, ws1);
+    storage.addSubscription(METHOD, ws2);
+
+    Set<RemoteSubscriptionContext> byWorkspace = storage.getByScope(METHOD, "workspaceId", "ws2");
+    Set<RemoteSubscriptionContext> byUser = storage.getByScope(METHOD, "userId", "user1");
+
+    assertEquals(byWorkspace.size(), 1);
+    assertTrue(byWorkspace.contains(ws2));
+    assertEquals(byUser.size(), 1);
+    assertTrue(byUser.contains(ws2));
+    assertTrue(storage.getByScope("other", "workspaceId", "ws1").isEmpty());
+    assertEquals(storage.getByMethod(METHOD).size(), 2);
+  }
+
+  @Test
+  public void shouldRemoveSubscriptionFromScopeIndex() {
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint2", singletonMap("workspaceId", "ws1")));
+
+    storage.removeSubscription(METHOD, "endpoint1");
+
+    Set<RemoteSubscriptionContext> contexts = storage.getByScope(METHOD, "workspaceId", "ws1");
+    assertEquals(contexts.size(), 1);
+    assertEquals(contexts.iterator().next().getEndpointId(), "endpoint2");
+    assertEquals(storage.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldRemoveOnlySubscriptionWithTheGivenScope() {
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws2")));
+
+    storage.removeSubscription(METHOD, "endpoint1", singletonMap("workspaceId", "ws1"));
+
+    assertTrue(storage.getByScope(METHOD, "workspaceId", "ws1").isEmpty());
+    assertEquals(storage.getByScope(METHOD, "workspaceId", "ws2").size(), 1);
+    assertEquals(storage.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldStoreSubscriptionsWithoutScope() {
+    storage.addSubscription(METHOD, new RemoteSubscriptionContext("endpoint1", null));
+
+    assertEquals(storage.getByMethod(METHOD).size(), 1);
+    assertTrue(storage.getByScope(METHOD, "workspaceId", "ws1").isEmpty());
+
+    storage.removeSubscription(METHOD, "endpoint1");
+
+    assertTrue(storage.getByMethod(METHOD).isEmpty());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromOne;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link RemoteSubscriptionManager} */
+@Listeners(MockitoTestNGListener.class)
+public class RemoteSubscriptionManagerTest {
+  private static final String METHOD = "method";
+
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private EndpointIdConfigurator endpointIdConfigurator;
+  @Mock private MethodNameConfigurator methodNameConfigurator;
+  @Mock private ParamsConfigurator paramsConfigurator;
+  @Mock private SendConfiguratorFromOne sendConfigurator;
+
+  private EventService eventService;
+  private InmemoryRemoteSubscriptionStorage storage;
+  private RemoteSubscriptionManager manager;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    storage = new InmemoryRemoteSubscriptionStorage();
+    manager = new RemoteSubscriptionManager(eventService, requestTransmitter, storage);
+
+    when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+    when(endpointIdConfigurator.endpointId(anyString())).thenReturn(methodNameConfigurator);
+    when(methodNameConfigurator.methodName(anyString())).thenReturn(paramsConfigurator);
+    when(paramsConfigurator.paramsAsDto(any())).thenReturn(sendConfigurator);
+
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint1", singletonMap("workspaceId", "ws1")));
+    storage.addSubscription(
+        METHOD, new RemoteSubscriptionContext("endpoint2", singletonMap("workspaceId", "ws2")));
+  }
+
+  @Test
+  public void shouldRouteEventsByScopeValue() {
+    manager.register(METHOD, String.class, "workspaceId", event -> event);
+
+    eventService.publish("ws1");
+
+    verify(endpointIdConfigurator).endpointId("endpoint1");
+    verify(endpointIdConfigurator, never()).endpointId("endpoint2");
+    verify(sendConfigurator).sendAndSkipResult();
+  }
+
+  @Test
+  public void shouldRouteEventsByPredicate() {
+    manager.register(
+        METHOD, String.class, (event, scope) -> event.equals(scope.get("workspaceId")));
+
+    eventService.publish("ws2");
+
+    verify(endpointIdConfigurator).endpointId("endpoint2");
+    verify(endpointIdConfigurator, never()).endpointId("endpoint1");
+  }
+
+  @Test
+  public void shouldTransmitEachPartOfEvent() {
+    manager.register(
+        METHOD, String.class, "workspaceId", event -> "ws1", event -> asList(event.split(",")));
+
+    eventService.publish("a,b,c");
+
+    verify(paramsConfigurator).paramsAsDto("a");
+    verify(paramsConfigurator).paramsAsDto("b");
+    verify(paramsConfigurator).paramsAsDto("c");
+    verify(sendConfigurator, times(3)).sendAndSkipResult();
+    verify(endpointIdConfigurator, never()).endpointId("endpoint2");
+  }
+
+  @Test
+  public void shouldCollectFanOutMetrics() {
+    manager.register(
+        METHOD, String.class, (event, scope) -> event.equals(scope.get("workspaceId")));
+
+    eventService.publish("ws1");
+    eventService.publish("ws3");
+
+    FanOutMetrics metrics = manager.getFanOutMetrics().get(0);
+    assertEquals(metrics.getMethod(), METHOD);
+    assertEquals(metrics.getEvents(), 2);
+    assertEquals(metrics.getEvaluated(), 4);
+    assertEquals(metrics.getDelivered(), 1);
+    assertEquals(metrics.getMaxFanOut(), 1);
+  }
+}
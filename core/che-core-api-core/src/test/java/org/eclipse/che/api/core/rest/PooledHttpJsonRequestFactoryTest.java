@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonRequestFactory}. */
+public class PooledHttpJsonRequestFactoryTest {
+
+  private PooledHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() {
+    factory = new PooledHttpJsonRequestFactory(2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    factory.shutdown();
+  }
+
+  @Test
+  public void shouldPerformNotMoreAsyncRequestsAtTheSameTimeThanAllowed() throws Exception {
+    final HttpJsonResponse response = mock(HttpJsonResponse.class);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final HttpJsonRequest request = mock(HttpJsonRequest.class);
+    when(request.request())
+        .thenAnswer(
+            inv -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              release.await(10, SECONDS);
+              running.decrementAndGet();
+              return response;
+            });
+
+    final List<CompletableFuture<HttpJsonResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(factory.requestAsync(request));
+    }
+    while (running.get() < 2) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100);
+    release.countDown();
+
+    for (CompletableFuture<HttpJsonResponse> future : futures) {
+      assertEquals(future.get(10, SECONDS), response);
+    }
+    assertEquals(maxRunning.get(), 2);
+  }
+
+  @Test
+  public void shouldCompleteFutureExceptionallyWhenRequestFails() throws Exception {
+    final HttpJsonRequest request = mock(HttpJsonRequest.class);
+    when(request.request()).thenThrow(new IOException("failed"));
+
+    final CompletableFuture<HttpJsonResponse> future = factory.requestAsync(request);
+
+    try {
+      future.get(10, SECONDS);
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof IOException);
+      return;
+    }
+    throw new AssertionError("Future must be completed exceptionally");
+  }
+}
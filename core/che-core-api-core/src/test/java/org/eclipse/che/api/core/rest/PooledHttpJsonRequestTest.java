@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.reflect.TypeToken;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.everrest.assured.EverrestJetty;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonRequest} and {@link PooledHttpJsonRequestFactory}. */
+@Listeners(EverrestJetty.class)
+public class PooledHttpJsonRequestTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private PooledHttpJsonRequestFactory factory;
+
+  @BeforeMethod
+  public void setUp() {
+    factory = new PooledHttpJsonRequestFactory();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    factory.shutdown();
+  }
+
+  @Test
+  public void shouldReadJsonBody(ITestContext ctx) throws Exception {
+    HttpJsonResponse response =
+        factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+    assertEquals(
+        response.as(List.class, new TypeToken<List<String>>() {}.getType()),
+        singletonList("element"));
+  }
+
+  @Test
+  public void shouldCollectMetricsOfRequestedHost(ITestContext ctx) throws Exception {
+    factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+    factory.fromUrl(getUrl(ctx) + "/application-json").useGetMethod().request();
+    try {
+      factory.fromUrl(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+      fail("Expected NotFoundException");
+    } catch (NotFoundException ignored) {
+    }
+
+    HttpHostMetrics metrics = factory.getMetrics("localhost:" + getPort(ctx));
+    assertEquals(metrics.getRequests(), 3);
+    assertEquals(metrics.getFailures(), 1);
+    assertEquals(metrics.getActiveConnections(), 0);
+    assertEquals(metrics.getMaxActiveConnections(), 1);
+    assertEquals(factory.getMetrics(), singletonList(metrics));
+  }
+
+  @Test
+  public void shouldPerformRequestAsynchronously(ITestContext ctx) throws Exception {
+    PooledHttpJsonRequest request =
+        (PooledHttpJsonRequest) factory.fromUrl(getUrl(ctx) + "/application-json");
+
+    assertEquals(request.requestAsync().get().asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldCompleteAsynchronousRequestExceptionallyWhenRequestFails(ITestContext ctx)
+      throws Exception {
+    try {
+      factory.requestAsync(factory.fromUrl(getUrl(ctx) + "/404/response-code-test")).get();
+      fail("Expected ExecutionException");
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof NotFoundException);
+    }
+  }
+
+  private Object getPort(ITestContext ctx) {
+    return ctx.getAttribute(EverrestJetty.JETTY_PORT);
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://localhost:" + getPort(ctx) + "/rest/test";
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.core.util.LinksHelper.createLink;
+import static org.testng.Assert.assertEquals;
+
+import com.google.gson.JsonParser;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.dto.server.JsonStringMapImpl;
+import org.testng.annotations.Test;
+
+/** Tests of {@link PooledHttpJsonResponse}. */
+public class PooledHttpJsonResponseTest {
+
+  @Test
+  public void shouldReturnBodyAsString() throws Exception {
+    final PooledHttpJsonResponse response = response("\"значение\"");
+
+    assertEquals(response.asString(), "\"значение\"");
+  }
+
+  @Test
+  public void shouldDeserializeDtoFromBody() throws Exception {
+    final Link link = createLink("POST", "http://localhost:8080/значение", "rel");
+    final PooledHttpJsonResponse response = response(DtoFactory.getInstance().toJson(link));
+
+    assertEquals(response.asDto(Link.class), link);
+  }
+
+  @Test
+  public void shouldDeserializeDtoListFromBody() throws Exception {
+    final Link link = createLink("POST", "http://localhost:8080", "rel");
+    final PooledHttpJsonResponse response =
+        response(new JsonArrayImpl<>(singletonList(link)).toJson());
+
+    assertEquals(response.asList(Link.class), singletonList(link));
+  }
+
+  @Test
+  public void shouldDeserializeBodyAsPropertiesMoreThanOnce() throws Exception {
+    final PooledHttpJsonResponse response =
+        response(new JsonStringMapImpl<>(singletonMap("key", "value")).toJson());
+
+    assertEquals(response.asProperties(), singletonMap("key", "value"));
+    assertEquals(response.asProperties(), singletonMap("key", "value"));
+  }
+
+  @Test
+  public void shouldReturnEmptyStringWhenBodyIsEmpty() throws Exception {
+    final PooledHttpJsonResponse response = response("");
+
+    assertEquals(response.asString(), "");
+  }
+
+  private static PooledHttpJsonResponse response(String body) {
+    return new PooledHttpJsonResponse(new JsonParser().parse(body), 200, emptyMap());
+  }
+}
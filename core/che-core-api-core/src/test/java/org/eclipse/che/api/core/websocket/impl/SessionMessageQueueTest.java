@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.websocket.CloseReason;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link SessionMessageQueue} */
+@Listeners(MockitoTestNGListener.class)
+public class SessionMessageQueueTest {
+  private static final String ENDPOINT_ID = "id";
+
+  @Mock private Session session;
+  @Mock private RemoteEndpoint.Async remote;
+  @Mock private MessagesReSender reSender;
+
+  private List<SendHandler> pendingHandlers;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    pendingHandlers = new ArrayList<>();
+
+    when(session.getAsyncRemote()).thenReturn(remote);
+    when(session.isOpen()).thenReturn(true);
+    doAnswer(
+            invocation -> {
+              pendingHandlers.add(invocation.getArgument(1));
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldSendNextMessageWhenPreviousSendIsCompleted() throws Exception {
+    SessionMessageQueue queue = newQueue(10, SlowConsumerPolicy.DROP_OLDEST);
+
+    queue.offer("first");
+    queue.offer("second");
+
+    verify(remote).sendText(eq("first"), any(SendHandler.class));
+    verify(remote, never()).sendText(eq("second"), any(SendHandler.class));
+
+    completePendingSend();
+
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(queue.getMetrics().getSent(), 1);
+    assertEquals(queue.getMetrics().getDepth(), 0);
+  }
+
+  @Test
+  public void shouldSendAllMessagesWhenSendsAreCompletedInline() throws Exception {
+    doAnswer(
+            invocation -> {
+              ((SendHandler) invocation.getArgument(1)).onResult(new SendResult());
+              return null;
+            })
+        .when(remote)
+        .sendText(anyString(), any(SendHandler.class));
+    SessionMessageQueue queue = newQueue(10, SlowConsumerPolicy.DROP_OLDEST);
+
+    queue.offer("first");
+    queue.offer("second");
+
+    InOrder inOrder = inOrder(remote);
+    inOrder.verify(remote).sendText(eq("first"), any(SendHandler.class));
+    inOrder.verify(remote).sendText(eq("second"), any(SendHandler.class));
+    assertEquals(queue.getMetrics().getSent(), 2);
+  }
+
+  @Test
+  public void shouldDropOldestMessageWhenQueueIsFull() throws Exception {
+    SessionMessageQueue queue = newQueue(2, SlowConsumerPolicy.DROP_OLDEST);
+
+    queue.offer("in-flight");
+    queue.offer("first");
+    queue.offer("second");
+    queue.offer("third");
+
+    assertEquals(queue.getMetrics().getDropped(), 1);
+    assertEquals(queue.getMetrics().getDepth(), 2);
+
+    completePendingSend();
+    completePendingSend();
+
+    verify(remote, never()).sendText(eq("first"), any(SendHandler.class));
+    verify(remote).sendText(eq("second"), any(SendHandler.class));
+    verify(remote).sendText(eq("third"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldReplaceEqualMessagesWhenCoalescing() throws Exception {
+    SessionMessageQueue queue = newQueue(2, SlowConsumerPolicy.COALESCE);
+
+    queue.offer("in-flight");
+    queue.offer("first");
+    queue.offer("second");
+    queue.offer("first");
+
+    assertEquals(queue.getMetrics().getDropped(), 1);
+
+    completePendingSend();
+    completePendingSend();
+
+    InOrder inOrder = inOrder(remote);
+    inOrder.verify(remote).sendText(eq("second"), any(SendHandler.class));
+    inOrder.verify(remote).sendText(eq("first"), any(SendHandler.class));
+  }
+
+  @Test
+  public void shouldCloseSessionAndPassMessagesToReSenderWhenDisconnecting() throws Exception {
+    SessionMessageQueue queue = newQueue(1, SlowConsumerPolicy.DISCONNECT);
+
+    queue.offer("in-flight");
+    queue.offer("first");
+    queue.offer("second");
+
+    verify(session).close(any(CloseReason.class));
+    verify(reSender).add(ENDPOINT_ID, "first");
+    verify(reSender).add(ENDPOINT_ID, "second");
+    assertTrue(queue.isClosed());
+
+    queue.offer("third");
+
+    verify(reSender).add(ENDPOINT_ID, "third");
+  }
+
+  private SessionMessageQueue newQueue(int capacity, SlowConsumerPolicy policy) {
+    return new SessionMessageQueue(ENDPOINT_ID, session, capacity, policy, reSender);
+  }
+
+  private void completePendingSend() {
+    pendingHandlers.remove(0).onResult(new SendResult());
+  }
+}
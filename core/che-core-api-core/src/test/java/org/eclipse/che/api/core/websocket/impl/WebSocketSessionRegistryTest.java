@@ -82,4 +82,25 @@ public class WebSocketSessionRegistryTest {
     assertFalse(registry.getSessions().isEmpty());
     assertEquals(2, registry.getSessions().size());
   }
+
+  @Test
+  public void shouldGetSessionsByClientOrEndpointIdPart() {
+    registry.add("client1<-:->endpoint", session);
+    registry.add("client2<-:->endpoint", mock(Session.class));
+
+    assertEquals(registry.getByPartialMatch("client1").size(), 1);
+    assertTrue(registry.getByPartialMatch("client1").contains(session));
+    assertEquals(registry.getByPartialMatch("endpoint").size(), 2);
+    assertTrue(registry.getByPartialMatch("unknown").isEmpty());
+  }
+
+  @Test
+  public void shouldNotGetRemovedSessionsByPartialMatch() {
+    registry.add("client1<-:->endpoint", session);
+
+    registry.remove(session);
+
+    assertTrue(registry.getByPartialMatch("client1").isEmpty());
+    assertTrue(registry.getByPartialMatch("endpoint").isEmpty());
+  }
 }
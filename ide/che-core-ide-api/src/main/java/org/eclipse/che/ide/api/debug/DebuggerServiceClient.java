@@ -121,6 +121,26 @@ public interface DebuggerServiceClient {
    */
   Promise<List<ThreadStateDto>> getThreadDump(String id);
 
+  /**
+   * Gets a range of threads of the thread dump with a limited number of their top frames.
+   *
+   * @param id debug session id
+   * @param start the index of the first thread
+   * @param count the maximum number of threads, negative for all of them
+   * @param maxFrames the maximum number of frames of each thread, negative for all of them
+   */
+  Promise<List<ThreadStateDto>> getThreadDump(String id, int start, int count, int maxFrames);
+
+  /**
+   * Gets a range of frames of the thread, without values of their variables.
+   *
+   * @param id debug session id
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param start the index of the first frame
+   * @param count the maximum number of frames, negative for all of them
+   */
+  Promise<List<StackFrameDumpDto>> getStackFrames(String id, long threadId, int start, int count);
+
   /**
    * Resumes application.
    *
@@ -139,6 +159,19 @@ public interface DebuggerServiceClient {
   Promise<SimpleValueDto> getValue(
       String id, VariableDto variableDto, long threadId, int frameIndex);
 
+  /**
+   * Returns a value of the variable inside the specific frame with a range of its nested variables.
+   *
+   * @param id debug session id
+   * @param variableDto the variable to get value from
+   * @param threadId the unique thread id {@link ThreadState#getId()}
+   * @param frameIndex the frame index inside the thread
+   * @param start the index of the first nested variable
+   * @param count the maximum number of nested variables, negative for all of them
+   */
+  Promise<SimpleValueDto> getValue(
+      String id, VariableDto variableDto, long threadId, int frameIndex, int start, int count);
+
   /**
    * Sets the new value of the variable inside the specific frame.
    *
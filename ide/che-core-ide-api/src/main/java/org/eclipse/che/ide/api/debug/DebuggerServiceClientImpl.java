@@ -152,6 +152,32 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
         .send(dtoUnmarshallerFactory.newListUnmarshaller(ThreadStateDto.class));
   }
 
+  @Override
+  public Promise<List<ThreadStateDto>> getThreadDump(
+      String id, int start, int count, int maxFrames) {
+    final String requestUrl =
+        getBaseUrl(id)
+            + "/threaddump?start="
+            + start
+            + "&count="
+            + count
+            + "&maxFrames="
+            + maxFrames;
+    return asyncRequestFactory
+        .createGetRequest(requestUrl)
+        .send(dtoUnmarshallerFactory.newListUnmarshaller(ThreadStateDto.class));
+  }
+
+  @Override
+  public Promise<List<StackFrameDumpDto>> getStackFrames(
+      String id, long threadId, int start, int count) {
+    final String requestUrl =
+        getBaseUrl(id) + "/stackframes?thread=" + threadId + "&start=" + start + "&count=" + count;
+    return asyncRequestFactory
+        .createGetRequest(requestUrl)
+        .send(dtoUnmarshallerFactory.newListUnmarshaller(StackFrameDumpDto.class));
+  }
+
   @Override
   public Promise<Void> resume(String id, ResumeActionDto action) {
     return performAction(id, action);
@@ -161,6 +187,26 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
   public Promise<SimpleValueDto> getValue(
       String id, VariableDto variableDto, long threadId, int frameIndex) {
     final String requestUrl = getBaseUrl(id) + "/value?thread=" + threadId + "&frame=" + frameIndex;
+    return getValue(requestUrl, variableDto);
+  }
+
+  @Override
+  public Promise<SimpleValueDto> getValue(
+      String id, VariableDto variableDto, long threadId, int frameIndex, int start, int count) {
+    final String requestUrl =
+        getBaseUrl(id)
+            + "/value?thread="
+            + threadId
+            + "&frame="
+            + frameIndex
+            + "&start="
+            + start
+            + "&count="
+            + count;
+    return getValue(requestUrl, variableDto);
+  }
+
+  private Promise<SimpleValueDto> getValue(String requestUrl, VariableDto variableDto) {
     List<String> path = variableDto.getVariablePath().getPath();
 
     StringBuilder params = new StringBuilder();
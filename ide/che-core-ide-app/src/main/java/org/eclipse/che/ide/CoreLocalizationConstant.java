@@ -1277,6 +1277,9 @@ public interface CoreLocalizationConstant extends Messages {
   @Key("consoles.autoScrollButton.tooltip")
   String consolesAutoScrollButtonTooltip();
 
+  @Key("consoles.linesDropped")
+  String consolesLinesDropped(String count);
+
   @Key("view.processes.command.title")
   String viewProcessesCommandTitle();
 
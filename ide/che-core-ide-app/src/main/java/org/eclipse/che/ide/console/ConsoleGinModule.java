@@ -20,6 +20,9 @@ public class ConsoleGinModule extends AbstractGinModule {
   @Override
   protected void configure() {
     bind(OutputConsoleView.class).to(OutputConsoleViewImpl.class);
+    bindConstant()
+        .annotatedWith(Names.named(OutputConsoleViewImpl.MAX_LINES))
+        .to(OutputConsoleViewImpl.DEFAULT_MAX_LINES);
     install(
         new GinFactoryModuleBuilder()
             .implement(
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Bounded ring buffer of the console output lines.
+ *
+ * <p>When the buffer is full the oldest line is overwritten and the number of dropped lines is
+ * increased. The line printed with a carriage return is replaced by the next printed line.
+ */
+public class ConsoleLineBuffer {
+
+  /** Single line of the console output. */
+  public static class Line {
+    private final String text;
+    private final String color;
+
+    /** Lazily rendered HTML of the line. */
+    private String html;
+
+    Line(String text, String color) {
+      this.text = text;
+      this.color = color;
+    }
+
+    /** Returns the raw text of the line. */
+    public String getText() {
+      return text;
+    }
+
+    /** Returns the color of the line or {@code null} if default color should be used. */
+    public String getColor() {
+      return color;
+    }
+
+    /** Returns the rendered HTML of the line or {@code null} if the line is not rendered yet. */
+    public String getHtml() {
+      return html;
+    }
+
+    /** Caches the rendered HTML of the line. */
+    public void setHtml(String html) {
+      this.html = html;
+    }
+  }
+
+  private final Line[] lines;
+
+  /** Index of the oldest line in the {@link #lines} array. */
+  private int head;
+
+  private int size;
+
+  private long dropped;
+
+  /** If true - next appended line should replace the last one. */
+  private boolean carriageReturn;
+
+  public ConsoleLineBuffer(int capacity) {
+    checkArgument(capacity > 0, "Console buffer capacity must be positive");
+    this.lines = new Line[capacity];
+  }
+
+  /**
+   * Appends the line to the buffer.
+   *
+   * @param text text of the line
+   * @param carriageReturn if {@code true} - next line should replace this one
+   * @param color color of the text or {@code null}
+   */
+  public void append(String text, boolean carriageReturn, String color) {
+    Line line = new Line(text, color);
+
+    if (this.carriageReturn && size > 0) {
+      lines[index(size - 1)] = line;
+    } else if (size == lines.length) {
+      lines[head] = line;
+      head = (head + 1) % lines.length;
+      dropped++;
+    } else {
+      lines[index(size)] = line;
+      size++;
+    }
+
+    this.carriageReturn = carriageReturn;
+  }
+
+  /**
+   * Returns the line by its position in the buffer.
+   *
+   * @param position position of the line, 0 is the oldest retained line
+   */
+  public Line get(int position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Position: " + position + ", size: " + size);
+    }
+    return lines[index(position)];
+  }
+
+  /** Returns the number of retained lines. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the maximum number of retained lines. */
+  public int capacity() {
+    return lines.length;
+  }
+
+  /** Returns the number of lines dropped since the buffer was created or cleared. */
+  public long getDroppedCount() {
+    return dropped;
+  }
+
+  /** Removes all the lines and resets the dropped lines counter. */
+  public void clear() {
+    for (int i = 0; i < lines.length; i++) {
+      lines[i] = null;
+    }
+    head = 0;
+    size = 0;
+    dropped = 0;
+    carriageReturn = false;
+  }
+
+  private int index(int position) {
+    return (head + position) % lines.length;
+  }
+}
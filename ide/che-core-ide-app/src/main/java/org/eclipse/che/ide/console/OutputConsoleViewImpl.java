@@ -16,23 +16,22 @@ import static org.eclipse.che.ide.ui.menu.PositionController.HorizontalAlign.MID
 import static org.eclipse.che.ide.ui.menu.PositionController.VerticalAlign.BOTTOM;
 
 import com.google.common.base.Strings;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
-import com.google.gwt.dom.client.Node;
-import com.google.gwt.dom.client.NodeList;
-import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style.Display;
+import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.event.dom.client.ScrollEvent;
 import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.regexp.shared.MatchResult;
 import com.google.gwt.regexp.shared.RegExp;
-import com.google.gwt.safehtml.shared.SafeHtml;
 import com.google.gwt.safehtml.shared.SafeHtmlUtils;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
-import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.ui.Anchor;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.DockLayoutPanel;
@@ -41,6 +40,7 @@ import com.google.gwt.user.client.ui.Label;
 import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import java.util.List;
 import org.eclipse.che.ide.CoreLocalizationConstant;
 import org.eclipse.che.ide.FontAwesome;
@@ -57,6 +57,18 @@ import org.vectomatic.dom.svg.ui.SVGImage;
  */
 public class OutputConsoleViewImpl extends Composite implements OutputConsoleView, ScrollHandler {
 
+  /** Name of the constant holding the maximum number of lines kept by the console. */
+  public static final String MAX_LINES = "console.output.max_lines";
+
+  /** Default maximum number of lines kept by the console. */
+  public static final int DEFAULT_MAX_LINES = 10_000;
+
+  /** Number of extra lines rendered above and below the visible area. */
+  private static final int OVERSCAN_LINES = 20;
+
+  /** Line height in pixels used until the real one is measured. */
+  private static final int DEFAULT_LINE_HEIGHT = 14;
+
   private final List<Pair<RegExp, String>> output2Color =
       newArrayList(
           new Pair<>(compile("\\[\\s*(DOCKER)\\s*\\]"), "#4EABFF"),
@@ -100,8 +112,23 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @UiField FlowPanel scrollToBottomButton;
 
-  /** If true - next printed line should replace the previous one. */
-  private boolean carriageReturn;
+  private final CoreLocalizationConstant localization;
+
+  /** Printed lines. Only the lines in the visible area are rendered. */
+  private final ConsoleLineBuffer buffer;
+
+  private final Element droppedMarker;
+  private final Element topSpacer;
+  private final Element visibleLines;
+  private final Element bottomSpacer;
+
+  private int lineHeight = DEFAULT_LINE_HEIGHT;
+
+  /** Lines have variable height when wrapped, so all of them are rendered. */
+  private boolean wrapped;
+
+  /** Rendering is postponed to the next animation frame to coalesce printed chunks. */
+  private boolean renderScheduled;
 
   /** Follow the output. Scroll to the bottom automatically when <b>true</b>. */
   private boolean followOutput = true;
@@ -110,9 +137,27 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
   private boolean followScheduled = false;
 
   @Inject
-  public OutputConsoleViewImpl(MachineResources resources, CoreLocalizationConstant localization) {
+  public OutputConsoleViewImpl(
+      MachineResources resources,
+      CoreLocalizationConstant localization,
+      @Named(MAX_LINES) int maxLines) {
+    this.localization = localization;
+    this.buffer = new ConsoleLineBuffer(maxLines);
+
     initWidget(UI_BINDER.createAndBindUi(this));
 
+    Document document = Document.get();
+    droppedMarker = document.createPreElement();
+    droppedMarker.getStyle().setColor("#F5A623");
+    droppedMarker.getStyle().setDisplay(Display.NONE);
+    topSpacer = document.createDivElement();
+    visibleLines = document.createDivElement();
+    bottomSpacer = document.createDivElement();
+    consoleLines.getElement().appendChild(droppedMarker);
+    consoleLines.getElement().appendChild(topSpacer);
+    consoleLines.getElement().appendChild(visibleLines);
+    consoleLines.getElement().appendChild(bottomSpacer);
+
     reRunProcessButton.add(new SVGImage(resources.reRunIcon()));
     stopProcessButton.add(new SVGImage(resources.stopIcon()));
     clearOutputsButton.add(new SVGImage(resources.clearOutputsIcon()));
@@ -239,11 +284,13 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @Override
   public void wrapText(boolean wrap) {
+    wrapped = wrap;
     if (wrap) {
       consoleLines.getElement().setAttribute("wrap", "");
     } else {
       consoleLines.getElement().removeAttribute("wrap");
     }
+    scheduleRender();
   }
 
   @Override
@@ -254,7 +301,8 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
 
   @Override
   public void clearConsole() {
-    consoleLines.getElement().setInnerHTML("");
+    buffer.clear();
+    scheduleRender();
   }
 
   @Override
@@ -318,79 +366,130 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
   }
 
   @Override
-  public void print(final String text, boolean carriageReturn, String color) {
+  public void print(String text, boolean carriageReturn, String color) {
+    buffer.append(text, carriageReturn, color);
+    scheduleRender();
+  }
 
-    if (consoleLines.getElement().getChildCount() > 500) {
-      consoleLines.getElement().getFirstChild().removeFromParent();
+  @Override
+  public String getText() {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < buffer.size(); i++) {
+      text.append(buffer.get(i).getText()).append("\r\n");
     }
+    return text.toString();
+  }
 
-    if (this.carriageReturn) {
-      Node lastChild = consoleLines.getElement().getLastChild();
-      if (lastChild != null) {
-        lastChild.removeFromParent();
-      }
+  /** Renders the printed lines on the next animation frame unless already scheduled. */
+  private void scheduleRender() {
+    if (renderScheduled) {
+      return;
     }
 
-    this.carriageReturn = carriageReturn;
+    renderScheduled = true;
+    AnimationScheduler.get()
+        .requestAnimationFrame(
+            timestamp -> {
+              renderScheduled = false;
+              render();
+            },
+            scrollPanel.getElement());
+  }
 
-    final SafeHtml colorOutput =
-        new SafeHtml() {
-          @Override
-          public String asString() {
+  /**
+   * Renders the lines falling into the visible area of the console. The lines outside are replaced
+   * by spacers of the corresponding height to keep the scroll bar consistent.
+   */
+  private void render() {
+    long dropped = buffer.getDroppedCount();
+    if (dropped > 0) {
+      droppedMarker.setInnerText(localization.consolesLinesDropped(String.valueOf(dropped)));
+      droppedMarker.getStyle().clearDisplay();
+    } else {
+      droppedMarker.getStyle().setDisplay(Display.NONE);
+    }
 
-            if (Strings.isNullOrEmpty(text)) {
-              return " ";
-            }
+    int total = buffer.size();
+    int first = 0;
+    int last = total;
 
-            String encoded = SafeHtmlUtils.htmlEscape(text);
-            if (delegate != null) {
-              if (delegate.getCustomizer() != null) {
-                if (delegate.getCustomizer().canCustomize(encoded)) {
-                  encoded = delegate.getCustomizer().customize(encoded);
-                }
-              }
-            }
+    if (!wrapped) {
+      Element scroll = scrollPanel.getElement();
+      int visibleCount = scroll.getClientHeight() / lineHeight + 1 + 2 * OVERSCAN_LINES;
 
-            for (final Pair<RegExp, String> pair : output2Color) {
-              final MatchResult matcher = pair.first.exec(encoded);
-
-              if (matcher != null) {
-                return encoded.replaceAll(
-                    matcher.getGroup(1),
-                    "<span style=\"color: "
-                        + pair.second
-                        + "\">"
-                        + matcher.getGroup(1)
-                        + "</span>");
-              }
-            }
+      if (followOutput) {
+        first = Math.max(0, total - visibleCount);
+      } else {
+        int offset = scroll.getScrollTop() - droppedMarker.getOffsetHeight();
+        first = Math.max(0, Math.min(total - visibleCount, offset / lineHeight - OVERSCAN_LINES));
+      }
+      last = Math.min(total, first + visibleCount);
+    }
 
-            return encoded;
-          }
-        };
+    StringBuilder html = new StringBuilder();
+    for (int i = first; i < last; i++) {
+      ConsoleLineBuffer.Line line = buffer.get(i);
+      html.append("<pre");
+      if (line.getColor() != null) {
+        html.append(" style=\"color: ")
+            .append(SafeHtmlUtils.htmlEscape(line.getColor()))
+            .append("\"");
+      }
+      html.append('>').append(getLineHtml(line)).append("</pre>");
+    }
+    visibleLines.setInnerHTML(html.toString());
 
-    PreElement pre = DOM.createElement("pre").cast();
-    pre.setInnerSafeHtml(colorOutput);
-    if (color != null) {
-      pre.getStyle().setColor(color);
+    if (!wrapped && visibleLines.getFirstChildElement() != null) {
+      int measured = visibleLines.getFirstChildElement().getOffsetHeight();
+      if (measured > 0) {
+        lineHeight = measured;
+      }
     }
-    consoleLines.getElement().appendChild(pre);
+
+    topSpacer.getStyle().setHeight(first * lineHeight, Unit.PX);
+    bottomSpacer.getStyle().setHeight((total - last) * lineHeight, Unit.PX);
 
     followOutput();
   }
 
-  @Override
-  public String getText() {
-    String text = "";
-    NodeList<Node> nodes = consoleLines.getElement().getChildNodes();
+  /**
+   * Returns HTML of the line applying the output customizer and highlighting. The result is cached
+   * in the line, so links are detected only once and only for the lines which were visible.
+   */
+  private String getLineHtml(ConsoleLineBuffer.Line line) {
+    if (line.getHtml() != null) {
+      return line.getHtml();
+    }
+
+    String text = line.getText();
+    if (Strings.isNullOrEmpty(text)) {
+      line.setHtml(" ");
+      return line.getHtml();
+    }
 
-    for (int i = 0; i < nodes.getLength(); i++) {
-      Node node = nodes.getItem(i);
-      Element element = node.cast();
-      text += element.getInnerText() + "\r\n";
+    String encoded = SafeHtmlUtils.htmlEscape(text);
+    if (delegate != null) {
+      if (delegate.getCustomizer() != null) {
+        if (delegate.getCustomizer().canCustomize(encoded)) {
+          encoded = delegate.getCustomizer().customize(encoded);
+        }
+      }
     }
 
-    return text;
+    for (final Pair<RegExp, String> pair : output2Color) {
+      final MatchResult matcher = pair.first.exec(encoded);
+
+      if (matcher != null) {
+        encoded =
+            encoded.replaceAll(
+                matcher.getGroup(1),
+                "<span style=\"color: " + pair.second + "\">" + matcher.getGroup(1) + "</span>");
+        break;
+      }
+    }
+
+    line.setHtml(encoded);
+    return encoded;
   }
 
   @Override
@@ -415,6 +514,10 @@ public class OutputConsoleViewImpl extends Composite implements OutputConsoleVie
     if (delegate != null) {
       delegate.onOutputScrolled(followOutput);
     }
+
+    if (!followOutput && !wrapped) {
+      scheduleRender();
+    }
   }
 
   /** Scrolls to the bottom if following the output is enabled. */
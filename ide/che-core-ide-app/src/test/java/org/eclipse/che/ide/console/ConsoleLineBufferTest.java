@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.ide.console;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests for {@link ConsoleLineBuffer}. */
+public class ConsoleLineBufferTest {
+
+  private ConsoleLineBuffer buffer;
+
+  @Before
+  public void setUp() throws Exception {
+    buffer = new ConsoleLineBuffer(3);
+  }
+
+  @Test
+  public void shouldAppendLines() throws Exception {
+    buffer.append("first", false, null);
+    buffer.append("second", false, "red");
+
+    assertEquals(buffer.size(), 2);
+    assertEquals(buffer.getDroppedCount(), 0);
+    assertEquals(buffer.get(0).getText(), "first");
+    assertNull(buffer.get(0).getColor());
+    assertEquals(buffer.get(1).getText(), "second");
+    assertEquals(buffer.get(1).getColor(), "red");
+  }
+
+  @Test
+  public void shouldDropOldestLinesWhenFull() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      buffer.append("line" + i, false, null);
+    }
+
+    assertEquals(buffer.size(), 3);
+    assertEquals(buffer.getDroppedCount(), 2);
+    assertEquals(buffer.get(0).getText(), "line2");
+    assertEquals(buffer.get(1).getText(), "line3");
+    assertEquals(buffer.get(2).getText(), "line4");
+  }
+
+  @Test
+  public void shouldReplaceLinePrintedWithCarriageReturn() throws Exception {
+    buffer.append("first", false, null);
+    buffer.append("progress 10%\r", true, null);
+    buffer.append("progress 50%\r", true, null);
+    buffer.append("done", false, null);
+    buffer.append("last", false, null);
+
+    assertEquals(buffer.size(), 3);
+    assertEquals(buffer.getDroppedCount(), 0);
+    assertEquals(buffer.get(0).getText(), "first");
+    assertEquals(buffer.get(1).getText(), "done");
+    assertEquals(buffer.get(2).getText(), "last");
+  }
+
+  @Test
+  public void shouldResetOnClear() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      buffer.append("line" + i, false, null);
+    }
+
+    buffer.clear();
+    buffer.append("new", false, null);
+
+    assertEquals(buffer.size(), 1);
+    assertEquals(buffer.getDroppedCount(), 0);
+    assertEquals(buffer.get(0).getText(), "new");
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void shouldThrowExceptionOnInvalidPosition() throws Exception {
+    buffer.append("first", false, null);
+
+    buffer.get(1);
+  }
+}
@@ -60,8 +60,6 @@ public class ComposeServicesStartStrategy {
   private Map<String, Integer> weightServices(Map<String, ComposeService> services)
       throws ValidationException {
 
-    HashMap<String, Integer> weights = new HashMap<>();
-
     // create services dependency graph
     Map<String, Set<String>> dependencies = new HashMap<>(services.size());
     for (Map.Entry<String, ComposeService> containerEntry : services.entrySet()) {
@@ -99,6 +97,21 @@ public class ComposeServicesStartStrategy {
       dependencies.put(containerEntry.getKey(), serviceDependencies);
     }
 
+    return weigh(dependencies);
+  }
+
+  /**
+   * Returns mapping of names of services to its weights in the given dependency graph. Services
+   * with the same weight don't depend on each other.
+   *
+   * @param dependencies names of services mapped to names of the services they depend on
+   * @throws ValidationException if dependencies are circular
+   */
+  public Map<String, Integer> weigh(Map<String, Set<String>> dependencies)
+      throws ValidationException {
+    HashMap<String, Integer> weights = new HashMap<>();
+    dependencies = new HashMap<>(dependencies);
+
     // Find weight of each service in graph.
     // Weight of service is calculated as sum of all weights of services it depends on.
     // Nodes with no dependencies gets weight 0
@@ -12,11 +12,15 @@ package org.eclipse.che.workspace.infrastructure.docker.environment.compose;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -367,4 +371,32 @@ public class ComposeServicesStartStrategyTest {
     // when
     strategy.order(services);
   }
+
+  @Test
+  public void shouldWeighIndependentServicesEqually() throws Exception {
+    // given
+    Map<String, Set<String>> dependencies = new HashMap<>();
+    dependencies.put("first", emptySet());
+    dependencies.put("second", emptySet());
+    dependencies.put("third", ImmutableSet.of("first", "second"));
+    dependencies.put("forth", singleton("first"));
+
+    // when
+    Map<String, Integer> weights = strategy.weigh(dependencies);
+
+    // then
+    assertEquals(weights, ImmutableMap.of("first", 0, "second", 0, "third", 1, "forth", 1));
+    assertEquals(dependencies.size(), 4);
+  }
+
+  @Test(expectedExceptions = ValidationException.class)
+  public void shouldFailToWeighCircularDependencies() throws Exception {
+    // given
+    Map<String, Set<String>> dependencies = new HashMap<>();
+    dependencies.put("first", singleton("second"));
+    dependencies.put("second", singleton("first"));
+
+    // when
+    strategy.weigh(dependencies);
+  }
 }
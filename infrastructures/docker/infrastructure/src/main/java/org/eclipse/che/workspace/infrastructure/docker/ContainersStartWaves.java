@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.che.api.core.ValidationException;
+import org.eclipse.che.workspace.infrastructure.docker.environment.compose.ComposeServicesStartStrategy;
+import org.eclipse.che.workspace.infrastructure.docker.model.DockerContainerConfig;
+
+/**
+ * Splits containers of an environment into waves which can be started one after another, while
+ * containers of the same wave don't depend on each other and can be started concurrently.
+ *
+ * <p>Dependencies are defined by 'depends_on', 'links' and 'volumes_from' of the containers and are
+ * weighed by {@link ComposeServicesStartStrategy}, containers of the same weight form a wave.
+ */
+class ContainersStartWaves {
+
+  private static final ComposeServicesStartStrategy START_STRATEGY =
+      new ComposeServicesStartStrategy();
+
+  private ContainersStartWaves() {}
+
+  /**
+   * Returns names of the containers grouped into start waves.
+   *
+   * <p>When the dependencies can not be resolved, e.g. when they are circular, each container gets
+   * its own wave in the order of the given map.
+   *
+   * @param containers containers in the start order
+   */
+  static List<List<String>> resolve(LinkedHashMap<String, DockerContainerConfig> containers) {
+    Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+    for (Map.Entry<String, DockerContainerConfig> entry : containers.entrySet()) {
+      DockerContainerConfig config = entry.getValue();
+      Set<String> containerDependencies = new HashSet<>(config.getDependsOn());
+      for (String link : config.getLinks()) {
+        containerDependencies.add(link.split(":")[0]);
+      }
+      for (String volumesFrom : config.getVolumesFrom()) {
+        containerDependencies.add(volumesFrom.split(":")[0]);
+      }
+      containerDependencies.retainAll(containers.keySet());
+      containerDependencies.remove(entry.getKey());
+      dependencies.put(entry.getKey(), containerDependencies);
+    }
+
+    Map<String, Integer> weights;
+    try {
+      weights = START_STRATEGY.weigh(dependencies);
+    } catch (ValidationException e) {
+      return sequential(containers);
+    }
+
+    List<List<String>> waves = new ArrayList<>();
+    for (String container : containers.keySet()) {
+      int weight = weights.get(container);
+      while (waves.size() <= weight) {
+        waves.add(new ArrayList<>());
+      }
+      waves.get(weight).add(container);
+    }
+    return waves;
+  }
+
+  private static List<List<String>> sequential(Map<String, DockerContainerConfig> containers) {
+    List<List<String>> waves = new ArrayList<>(containers.size());
+    for (String container : containers.keySet()) {
+      List<String> wave = new ArrayList<>(1);
+      wave.add(container);
+      waves.add(wave);
+    }
+    return waves;
+  }
+}
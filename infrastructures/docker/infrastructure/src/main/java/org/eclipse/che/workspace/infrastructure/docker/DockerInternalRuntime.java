@@ -12,6 +12,7 @@ package org.eclipse.che.workspace.infrastructure.docker;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.toMap;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -19,8 +20,14 @@ import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import javax.inject.Named;
 import org.eclipse.che.api.core.model.workspace.Warning;
@@ -50,6 +57,7 @@ import org.eclipse.che.api.workspace.shared.dto.event.RuntimeStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.infrastructure.docker.client.json.ContainerListEntry;
+import org.eclipse.che.workspace.infrastructure.docker.MachineStartPhaseEvent.Phase;
 import org.eclipse.che.workspace.infrastructure.docker.bootstrap.DockerBootstrapperFactory;
 import org.eclipse.che.workspace.infrastructure.docker.logs.MachineLoggersFactory;
 import org.eclipse.che.workspace.infrastructure.docker.model.DockerContainerConfig;
@@ -79,6 +87,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
   private final ProbeScheduler probeScheduler;
   private final WorkspaceProbesFactory probesFactory;
   private final ParallelDockerImagesBuilderFactory imagesBuilderFactory;
+  private final DockerMachineStartPool startPool;
   private final int bootstrappingTimeoutMinutes;
 
   /**
@@ -99,6 +108,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
+      DockerMachineStartPool startPool,
       @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes) {
     this(
         context,
@@ -114,6 +124,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
         probeScheduler,
         probesFactory,
         imagesBuilderFactory,
+        startPool,
         bootstrappingTimeoutMinutes);
   }
 
@@ -138,6 +149,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
+      DockerMachineStartPool startPool,
       @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes)
       throws InfrastructureException {
     this(
@@ -154,6 +166,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
         probeScheduler,
         probesFactory,
         imagesBuilderFactory,
+        startPool,
         bootstrappingTimeoutMinutes);
 
     for (ContainerListEntry container : containers) {
@@ -180,6 +193,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
+      DockerMachineStartPool startPool,
       int bootstrappingTimeoutMinutes) {
     super(context, urlRewriter, warnings, running ? WorkspaceStatus.RUNNING : null);
     this.networks = networks;
@@ -195,6 +209,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
     this.loggers = loggers;
     this.probeScheduler = probeScheduler;
     this.imagesBuilderFactory = imagesBuilderFactory;
+    this.startPool = startPool;
   }
 
   @Override
@@ -202,30 +217,19 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
     startSynchronizer.setStartThread();
     try {
       networks.createNetwork(getContext().getEnvironment().getNetwork());
+      LinkedHashMap<String, DockerContainerConfig> containers =
+          getContext().getEnvironment().getContainers();
       Map<String, String> images =
-          imagesBuilderFactory
-              .create(getContext().getIdentity())
-              .prepareImages(getContext().getEnvironment().getContainers());
+          imagesBuilderFactory.create(getContext().getIdentity()).prepareImages(containers);
 
-      for (Map.Entry<String, DockerContainerConfig> containerEntry :
-          getContext().getEnvironment().getContainers().entrySet()) {
+      // machines of the same wave don't depend on each other
+      for (List<String> wave : ContainersStartWaves.resolve(containers)) {
         checkInterruption();
-        String machineName = containerEntry.getKey();
-
-        runtimeMachines.putMachine(machineName, new DockerMachine.StartingDockerMachine());
-        sendStartingEvent(machineName);
-
-        try {
-          DockerMachine machine =
-              startMachine(machineName, images.get(machineName), containerEntry.getValue());
-          sendRunningEvent(machineName);
-
-          bootstrapInstallers(machineName, machine);
-
-          checkServers(machineName, machine);
-        } catch (InfrastructureException e) {
-          sendFailedEvent(machineName, e.getMessage());
-          throw e;
+        if (wave.size() == 1) {
+          String machineName = wave.get(0);
+          launchMachine(machineName, images.get(machineName), containers.get(machineName));
+        } else {
+          launchMachinesConcurrently(wave, images, containers);
         }
       }
       startSynchronizer.complete();
@@ -309,6 +313,97 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
     }
   }
 
+  /**
+   * Starts machines concurrently in the {@link DockerMachineStartPool}. When start of any machine
+   * fails the starts of the rest machines are interrupted and the failure is rethrown once all of
+   * them are finished.
+   */
+  private void launchMachinesConcurrently(
+      List<String> names, Map<String, String> images, Map<String, DockerContainerConfig> containers)
+      throws InfrastructureException, InterruptedException {
+    CompletableFuture<Void> firstFailed = new CompletableFuture<>();
+    CompletableFuture<Void> allDone = new CompletableFuture<>();
+    AtomicInteger remaining = new AtomicInteger(names.size());
+    Set<Thread> workers = new HashSet<>();
+
+    for (String name : names) {
+      startPool.execute(
+          () -> {
+            try {
+              synchronized (workers) {
+                if (firstFailed.isDone()) {
+                  return;
+                }
+                workers.add(Thread.currentThread());
+              }
+              try {
+                launchMachine(name, images.get(name), containers.get(name));
+              } finally {
+                synchronized (workers) {
+                  workers.remove(Thread.currentThread());
+                }
+                // clears interruption caused by the wave cancellation as the thread is pooled
+                Thread.interrupted();
+              }
+            } catch (Exception e) {
+              firstFailed.completeExceptionally(e);
+            } finally {
+              if (remaining.decrementAndGet() == 0) {
+                allDone.complete(null);
+              }
+            }
+          });
+    }
+
+    try {
+      CompletableFuture.anyOf(allDone, firstFailed).get();
+    } catch (ExecutionException | InterruptedException e) {
+      synchronized (workers) {
+        firstFailed.cancel(false);
+        workers.forEach(Thread::interrupt);
+      }
+      // waits for the interrupted starts, so the runtime cleanup destroys all the started machines
+      allDone.join();
+      if (e instanceof InterruptedException) {
+        throw (InterruptedException) e;
+      }
+      Throwable cause = e.getCause();
+      if (cause instanceof InfrastructureException) {
+        throw (InfrastructureException) cause;
+      } else if (cause instanceof InterruptedException) {
+        throw (InterruptedException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else {
+        throw new InternalInfrastructureException(cause.getMessage(), cause);
+      }
+    }
+  }
+
+  private void launchMachine(String name, String image, DockerContainerConfig containerConfig)
+      throws InfrastructureException, InterruptedException {
+    runtimeMachines.putMachine(name, new DockerMachine.StartingDockerMachine());
+    sendStartingEvent(name);
+
+    try {
+      long phaseStart = System.nanoTime();
+      DockerMachine machine = startMachine(name, image, containerConfig);
+      sendPhaseEvent(name, Phase.CONTAINER_START, phaseStart);
+      sendRunningEvent(name);
+
+      phaseStart = System.nanoTime();
+      bootstrapInstallers(name, machine);
+      sendPhaseEvent(name, Phase.INSTALLERS_BOOTSTRAP, phaseStart);
+
+      phaseStart = System.nanoTime();
+      checkServers(name, machine);
+      sendPhaseEvent(name, Phase.SERVERS_CHECK, phaseStart);
+    } catch (InfrastructureException e) {
+      sendFailedEvent(name, e.getMessage());
+      throw e;
+    }
+  }
+
   private DockerMachine startMachine(
       String name, String image, DockerContainerConfig containerConfig)
       throws InfrastructureException, InterruptedException {
@@ -500,6 +595,15 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
             .withError(message));
   }
 
+  private void sendPhaseEvent(String machineName, Phase phase, long phaseStartNanos) {
+    eventService.publish(
+        new MachineStartPhaseEvent(
+            getContext().getIdentity(),
+            machineName,
+            phase,
+            NANOSECONDS.toMillis(System.nanoTime() - phaseStartNanos)));
+  }
+
   private void sendStoppedEvent(String machineName) {
     eventService.publish(
         DtoFactory.newDto(MachineStatusEvent.class)
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+
+/**
+ * Provides a bounded {@link ExecutorService} for the concurrent starts of the machines of docker
+ * runtimes.
+ *
+ * <p>Machine start blocks for the whole container start, installers bootstrap and servers check,
+ * which may take minutes, so it is kept apart from the {@link DockerSharedPool} used for short
+ * tasks like runtime stop. When all the threads are busy, machine starts are queued.
+ */
+@Singleton
+public class DockerMachineStartPool {
+
+  private final ExecutorService executor;
+
+  @Inject
+  public DockerMachineStartPool(@Named("che.infra.docker.max_machine_start_threads") int threads) {
+    executor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerMachineStartPool-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Delegates call to {@link ExecutorService#execute(Runnable)} and propagates thread locals to it
+   * like defined by {@link ThreadLocalPropagateContext}.
+   */
+  public void execute(Runnable runnable) {
+    executor.execute(ThreadLocalPropagateContext.wrap(runnable));
+  }
+
+  @PreDestroy
+  private void terminate() {
+    // starts are interrupted, so the runtimes clean up the started machines
+    executor.shutdownNow();
+  }
+}
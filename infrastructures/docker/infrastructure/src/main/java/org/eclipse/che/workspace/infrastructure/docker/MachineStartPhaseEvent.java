@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import java.util.Objects;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+
+/**
+ * Published by {@link DockerInternalRuntime} when a phase of a machine start is successfully
+ * finished.
+ */
+public class MachineStartPhaseEvent {
+
+  /** Phases of a machine start. */
+  public enum Phase {
+    /** Creation and start of the machine container. */
+    CONTAINER_START,
+    /** Bootstrapping of the machine installers. */
+    INSTALLERS_BOOTSTRAP,
+    /** Waiting until the machine servers become available. */
+    SERVERS_CHECK
+  }
+
+  private final RuntimeIdentity identity;
+  private final String machineName;
+  private final Phase phase;
+  private final long durationMillis;
+
+  public MachineStartPhaseEvent(
+      RuntimeIdentity identity, String machineName, Phase phase, long durationMillis) {
+    this.identity = identity;
+    this.machineName = machineName;
+    this.phase = phase;
+    this.durationMillis = durationMillis;
+  }
+
+  public RuntimeIdentity getIdentity() {
+    return identity;
+  }
+
+  public String getMachineName() {
+    return machineName;
+  }
+
+  public Phase getPhase() {
+    return phase;
+  }
+
+  /** Returns time spent in the phase in milliseconds. */
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MachineStartPhaseEvent)) {
+      return false;
+    }
+    final MachineStartPhaseEvent that = (MachineStartPhaseEvent) obj;
+    return durationMillis == that.durationMillis
+        && Objects.equals(identity, that.identity)
+        && Objects.equals(machineName, that.machineName)
+        && phase == that.phase;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(identity, machineName, phase, durationMillis);
+  }
+
+  @Override
+  public String toString() {
+    return "MachineStartPhaseEvent{"
+        + "identity="
+        + identity
+        + ", machineName='"
+        + machineName
+        + '\''
+        + ", phase="
+        + phase
+        + ", durationMillis="
+        + durationMillis
+        + '}';
+  }
+}
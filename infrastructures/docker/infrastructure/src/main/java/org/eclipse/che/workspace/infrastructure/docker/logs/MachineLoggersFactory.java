@@ -18,8 +18,8 @@ import java.util.function.BiConsumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
-import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
+import org.eclipse.che.api.workspace.server.event.MachineLogBatcher;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.infrastructure.docker.client.LogMessage;
@@ -36,11 +36,11 @@ import org.eclipse.che.infrastructure.docker.client.json.ProgressStatus;
 @Singleton
 public class MachineLoggersFactory {
 
-  private final EventService eventService;
+  private final MachineLogBatcher logBatcher;
 
   @Inject
-  public MachineLoggersFactory(EventService eventService) {
-    this.eventService = eventService;
+  public MachineLoggersFactory(MachineLogBatcher logBatcher) {
+    this.logBatcher = logBatcher;
   }
 
   /**
@@ -101,7 +101,7 @@ public class MachineLoggersFactory {
     }
   }
 
-  /** Forms new instance of {@link MachineLogEvent} and publish it via {@link EventService}. */
+  /** Forms new instance of {@link MachineLogEvent} and publish it via {@link MachineLogBatcher}. */
   private class MachineLogsBiConsumer implements BiConsumer<String, String> {
 
     private final String machineName;
@@ -114,7 +114,7 @@ public class MachineLoggersFactory {
 
     @Override
     public void accept(String stream, String text) {
-      eventService.publish(
+      logBatcher.publish(
           DtoFactory.newDto(MachineLogEvent.class)
               .withRuntimeId(DtoConverter.asDto(runtime))
               .withStream(stream)
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.eclipse.che.workspace.infrastructure.docker.model.DockerContainerConfig;
+import org.testng.annotations.Test;
+
+/** Tests {@link ContainersStartWaves}. */
+public class ContainersStartWavesTest {
+
+  @Test
+  public void putsIndependentContainersIntoSingleWave() {
+    LinkedHashMap<String, DockerContainerConfig> containers = new LinkedHashMap<>();
+    containers.put("dev", new DockerContainerConfig());
+    containers.put("db", new DockerContainerConfig());
+    containers.put("cache", new DockerContainerConfig());
+
+    List<List<String>> waves = ContainersStartWaves.resolve(containers);
+
+    assertEquals(waves, singletonList(asList("dev", "db", "cache")));
+  }
+
+  @Test
+  public void startsContainersAfterTheirDependencies() {
+    LinkedHashMap<String, DockerContainerConfig> containers = new LinkedHashMap<>();
+    containers.put("dev", new DockerContainerConfig().setDependsOn(asList("db", "cache")));
+    containers.put("web", new DockerContainerConfig().setLinks(singletonList("db:database")));
+    containers.put("db", new DockerContainerConfig().setVolumesFrom(singletonList("data:ro")));
+    containers.put("cache", new DockerContainerConfig());
+    containers.put("data", new DockerContainerConfig());
+
+    List<List<String>> waves = ContainersStartWaves.resolve(containers);
+
+    assertEquals(waves, asList(asList("cache", "data"), singletonList("db"), asList("dev", "web")));
+  }
+
+  @Test
+  public void ignoresUnknownAndSelfDependencies() {
+    LinkedHashMap<String, DockerContainerConfig> containers = new LinkedHashMap<>();
+    containers.put("dev", new DockerContainerConfig().setDependsOn(asList("dev", "external")));
+    containers.put("db", new DockerContainerConfig());
+
+    List<List<String>> waves = ContainersStartWaves.resolve(containers);
+
+    assertEquals(waves, singletonList(asList("dev", "db")));
+  }
+
+  @Test
+  public void startsContainersOneByOneWhenDependenciesAreCircular() {
+    LinkedHashMap<String, DockerContainerConfig> containers = new LinkedHashMap<>();
+    containers.put("dev", new DockerContainerConfig().setDependsOn(singletonList("db")));
+    containers.put("db", new DockerContainerConfig().setDependsOn(singletonList("dev")));
+    containers.put("cache", new DockerContainerConfig());
+
+    List<List<String>> waves = ContainersStartWaves.resolve(containers);
+
+    assertEquals(waves, asList(singletonList("dev"), singletonList("db"), singletonList("cache")));
+  }
+}
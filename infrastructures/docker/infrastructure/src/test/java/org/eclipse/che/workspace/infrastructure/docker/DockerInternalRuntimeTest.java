@@ -10,10 +10,13 @@
  */
 package org.eclipse.che.workspace.infrastructure.docker;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.FAILED;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.RUNNING;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.STARTING;
@@ -34,13 +37,17 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
@@ -63,6 +70,7 @@ import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.workspace.infrastructure.docker.MachineStartPhaseEvent.Phase;
 import org.eclipse.che.workspace.infrastructure.docker.bootstrap.DockerBootstrapper;
 import org.eclipse.che.workspace.infrastructure.docker.bootstrap.DockerBootstrapperFactory;
 import org.eclipse.che.workspace.infrastructure.docker.logs.MachineLoggersFactory;
@@ -106,17 +114,20 @@ public class DockerInternalRuntimeTest {
   @Mock private DockerMachine dockerMachine;
   @Mock private ParallelDockerImagesBuilderFactory dockerImagesBuilderFactory;
   @Mock private ParallelDockerImagesBuilder dockerImagesBuilder;
+  @Mock private DockerMachineStartPool startPool;
 
   @Captor private ArgumentCaptor<Consumer<ProbeResult>> probeResultConsumerCaptor;
-  @Captor private ArgumentCaptor<MachineStatusEvent> eventCaptor;
+  @Captor private ArgumentCaptor<Object> eventCaptor;
 
+  private DockerContainerConfig dbConfig;
   private DockerInternalRuntime dockerRuntime;
 
   @BeforeMethod
   public void setup() throws Exception {
     MockitoAnnotations.initMocks(this);
     final DockerContainerConfig config1 = new DockerContainerConfig();
-    final DockerContainerConfig config2 = new DockerContainerConfig();
+    // DB machine depends on DEV machine, so they are started one after another
+    dbConfig = new DockerContainerConfig().setDependsOn(singletonList(DEV_MACHINE));
     final InternalMachineConfig internalMachineCfg1 = mock(InternalMachineConfig.class);
     when(internalMachineCfg1.getInstallers()).thenReturn(singletonList(newInstaller(1)));
     final InternalMachineConfig internalMachineCfg2 = mock(InternalMachineConfig.class);
@@ -126,7 +137,7 @@ public class DockerInternalRuntimeTest {
         ImmutableMap.of(DEV_MACHINE, internalMachineCfg1, DB_MACHINE, internalMachineCfg2);
     final DockerEnvironment environment = new DockerEnvironment(null, machines, emptyList());
     environment.setContainers(
-        Maps.newLinkedHashMap(ImmutableMap.of(DEV_MACHINE, config1, DB_MACHINE, config2)));
+        Maps.newLinkedHashMap(ImmutableMap.of(DEV_MACHINE, config1, DB_MACHINE, dbConfig)));
 
     when(runtimeContext.getEnvironment()).thenReturn(environment);
 
@@ -140,6 +151,13 @@ public class DockerInternalRuntimeTest {
         .thenReturn(workspaceProbes);
     when(dockerImagesBuilderFactory.create(any())).thenReturn(dockerImagesBuilder);
     when(dockerImagesBuilder.prepareImages(anyMap())).thenReturn(emptyMap());
+    doAnswer(
+            invocation -> {
+              new Thread((Runnable) invocation.getArgument(0)).start();
+              return null;
+            })
+        .when(startPool)
+        .execute(any());
     dockerRuntime =
         new DockerInternalRuntime(
             runtimeContext,
@@ -154,6 +172,7 @@ public class DockerInternalRuntimeTest {
             probesScheduler,
             workspaceProbesFactory,
             dockerImagesBuilderFactory,
+            startPool,
             BOOTSTRAPPING_TIMEOUT_MINUTES);
   }
 
@@ -179,6 +198,101 @@ public class DockerInternalRuntimeTest {
         newEvent(DB_MACHINE, RUNNING, null));
   }
 
+  @Test
+  public void startsIndependentMachinesConcurrently() throws Exception {
+    dbConfig.setDependsOn(emptyList());
+    mockInstallersBootstrap();
+    CountDownLatch bothStarting = new CountDownLatch(2);
+    doAnswer(
+            invocation -> {
+              bothStarting.countDown();
+              if (!bothStarting.await(10, SECONDS)) {
+                throw new InfrastructureException("machines are started sequentially");
+              }
+              return dockerMachine;
+            })
+        .when(starter)
+        .startContainer(
+            nullable(String.class),
+            nullable(String.class),
+            nullable(String.class),
+            any(DockerContainerConfig.class),
+            any(RuntimeIdentity.class),
+            any(AbnormalMachineStopHandler.class));
+
+    dockerRuntime.start(emptyMap());
+
+    verify(startPool, times(2)).execute(any());
+    verify(eventService, times(4)).publish(any(MachineStatusEvent.class));
+    verify(probesScheduler, times(2)).schedule(eq(workspaceProbes), any());
+  }
+
+  @Test
+  public void interruptsStartsOfIndependentMachinesWhenOneOfThemFailed() throws Exception {
+    dbConfig.setDependsOn(emptyList());
+    mockInstallersBootstrap();
+    CountDownLatch dbStarting = new CountDownLatch(1);
+    AtomicBoolean dbInterrupted = new AtomicBoolean();
+    InfrastructureException devFailure = new InfrastructureException("container start failed");
+    doAnswer(
+            invocation -> {
+              if (DEV_MACHINE.equals(invocation.getArgument(1))) {
+                dbStarting.await(10, SECONDS);
+                throw devFailure;
+              }
+              dbStarting.countDown();
+              try {
+                new CountDownLatch(1).await();
+              } catch (InterruptedException x) {
+                dbInterrupted.set(true);
+              }
+              throw new RuntimeStartInterruptedException(IDENTITY);
+            })
+        .when(starter)
+        .startContainer(
+            nullable(String.class),
+            nullable(String.class),
+            nullable(String.class),
+            any(DockerContainerConfig.class),
+            any(RuntimeIdentity.class),
+            any(AbnormalMachineStopHandler.class));
+
+    try {
+      dockerRuntime.start(emptyMap());
+      fail("Runtime start is expected to fail");
+    } catch (InfrastructureException ex) {
+      assertEquals(ex, devFailure);
+    }
+
+    assertTrue(dbInterrupted.get());
+    verify(eventService).publish(newEvent(DEV_MACHINE, FAILED, devFailure.getMessage()));
+  }
+
+  @Test
+  public void publishesMachineStartPhasesEvents() throws Exception {
+    mockInstallersBootstrap();
+    mockContainerStart();
+
+    dockerRuntime.start(emptyMap());
+
+    List<Phase> devPhases = new ArrayList<>();
+    List<Phase> dbPhases = new ArrayList<>();
+    for (Object event : captureEvents(MachineStartPhaseEvent.class)) {
+      MachineStartPhaseEvent phaseEvent = (MachineStartPhaseEvent) event;
+      assertEquals(phaseEvent.getIdentity(), IDENTITY);
+      assertTrue(phaseEvent.getDurationMillis() >= 0);
+      if (DEV_MACHINE.equals(phaseEvent.getMachineName())) {
+        devPhases.add(phaseEvent.getPhase());
+      } else {
+        dbPhases.add(phaseEvent.getPhase());
+      }
+    }
+    List<Phase> expected =
+        asList(Phase.CONTAINER_START, Phase.INSTALLERS_BOOTSTRAP, Phase.SERVERS_CHECK);
+    assertEquals(devPhases, expected);
+    assertEquals(dbPhases, expected);
+  }
+
   @Test(expectedExceptions = InfrastructureException.class)
   public void throwsExceptionWhenOneMachineStartFailed() throws Exception {
     final String msg = "container start failed";
@@ -401,12 +515,12 @@ public class DockerInternalRuntimeTest {
   }
 
   private void verifyEventsOrder(MachineStatusEvent... expectedEvents) {
-    final Iterator<MachineStatusEvent> actualEvents = captureEvents().iterator();
+    final Iterator<Object> actualEvents = captureEvents(MachineStatusEvent.class).iterator();
     for (MachineStatusEvent expected : expectedEvents) {
       if (!actualEvents.hasNext()) {
         fail("It is expected to receive machine status events");
       }
-      final MachineStatusEvent actual = actualEvents.next();
+      final Object actual = actualEvents.next();
       assertEquals(actual, expected);
     }
     if (actualEvents.hasNext()) {
@@ -414,9 +528,9 @@ public class DockerInternalRuntimeTest {
     }
   }
 
-  private List<MachineStatusEvent> captureEvents() {
+  private List<Object> captureEvents(Class<?> type) {
     verify(eventService, atLeastOnce()).publish(eventCaptor.capture());
-    return eventCaptor.getAllValues();
+    return eventCaptor.getAllValues().stream().filter(type::isInstance).collect(toList());
   }
 
   private static MachineStatusEvent newEvent(
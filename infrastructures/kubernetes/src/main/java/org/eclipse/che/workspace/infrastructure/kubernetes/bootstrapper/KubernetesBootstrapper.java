@@ -26,6 +26,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.installer.shared.model.Installer;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.bootstrap.AbstractBootstrapper;
+import org.eclipse.che.api.workspace.server.event.MachineLogBatcher;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
@@ -60,7 +61,7 @@ public class KubernetesBootstrapper extends AbstractBootstrapper {
   private final String bootstrapperBinaryUrl;
   private final String bootstrapperLogsFolder;
   private final String bootstrapperLogsFile;
-  private final EventService eventService;
+  private final MachineLogBatcher logBatcher;
   private final KubernetesNamespace namespace;
 
   @Inject
@@ -75,7 +76,8 @@ public class KubernetesBootstrapper extends AbstractBootstrapper {
       @Named("che.infra.kubernetes.bootstrapper.server_check_period_sec")
           int serverCheckPeriodSeconds,
       @Named("che.workspace.logs.root_dir") String logsRootPath,
-      EventService eventService) {
+      EventService eventService,
+      MachineLogBatcher logBatcher) {
     super(
         kubernetesMachine.getName(),
         runtimeIdentity,
@@ -89,7 +91,7 @@ public class KubernetesBootstrapper extends AbstractBootstrapper {
     this.installerTimeoutSeconds = installerTimeoutSeconds;
     this.kubernetesMachine = kubernetesMachine;
     this.bootstrapperLogsFolder = logsRootPath + "/bootstrapper";
-    this.eventService = eventService;
+    this.logBatcher = logBatcher;
     this.namespace = namespace;
     this.bootstrapperLogsFile = bootstrapperLogsFolder + "/bootstrapper.log";
   }
@@ -136,7 +138,7 @@ public class KubernetesBootstrapper extends AbstractBootstrapper {
     final RuntimeIdentityDto runtimeIdentityDto = DtoConverter.asDto(runtimeIdentity);
     final BiConsumer<String, String> outputConsumer =
         (stream, text) ->
-            eventService.publish(
+            logBatcher.publish(
                 DtoFactory.newDto(MachineLogEvent.class)
                     .withRuntimeId(runtimeIdentityDto)
                     .withStream(stream)
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolume;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.IMAGE_PULL_POLICY;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_FAILED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_SUCCEEDED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.WAIT_POD_TIMEOUT_MIN;
+
+import io.fabric8.kubernetes.api.model.Container;
+import io.fabric8.kubernetes.api.model.ContainerBuilder;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.Quantity;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesPods;
+import org.eclipse.che.workspace.infrastructure.kubernetes.provision.SecurityContextProvisioner;
+
+/**
+ * Executes commands in a long-lived pod which mounts the workspaces PVC, one pod per namespace.
+ *
+ * <p>The pod is created on the first command executed in a namespace and is reused by the following
+ * commands, so they don't wait for a pod to be scheduled and started. The pod is recreated when a
+ * command can't be executed in it, e.g. when the pod is removed in the meantime.
+ */
+@Singleton
+class PVCMaintenancePodExecutor implements PVCSubPathCommandExecutor {
+
+  static final String MAINTENANCE_POD_NAME = "che-pvc-maintenance";
+  static final String POD_PHASE_RUNNING = "Running";
+  static final String POD_RESTART_POLICY = "Always";
+  static final String[] SLEEP_COMMAND = {"sleep", "infinity"};
+
+  private final String pvcName;
+  private final String jobImage;
+  private final String jobMemoryLimit;
+  private final KubernetesNamespaceFactory factory;
+  private final SecurityContextProvisioner securityContextProvisioner;
+  /** Names of the namespaces where the maintenance pod is known to be running. */
+  private final Set<String> started = ConcurrentHashMap.newKeySet();
+
+  @Inject
+  PVCMaintenancePodExecutor(
+      @Named("che.infra.kubernetes.pvc.name") String pvcName,
+      @Named("che.infra.kubernetes.pvc.jobs.memorylimit") String jobMemoryLimit,
+      @Named("che.infra.kubernetes.pvc.jobs.image") String jobImage,
+      KubernetesNamespaceFactory factory,
+      SecurityContextProvisioner securityContextProvisioner) {
+    this.pvcName = pvcName;
+    this.jobMemoryLimit = jobMemoryLimit;
+    this.jobImage = jobImage;
+    this.factory = factory;
+    this.securityContextProvisioner = securityContextProvisioner;
+  }
+
+  @Override
+  public String getNamespace(String workspaceId) throws InfrastructureException {
+    return factory.create(workspaceId).getName();
+  }
+
+  @Override
+  public void execute(String workspaceId, String[] command) throws InfrastructureException {
+    final KubernetesNamespace namespace = factory.create(workspaceId);
+    final KubernetesPods pods = namespace.pods();
+    if (!started.contains(namespace.getName())) {
+      startPod(pods);
+      started.add(namespace.getName());
+    }
+    try {
+      pods.exec(
+          MAINTENANCE_POD_NAME,
+          MAINTENANCE_POD_NAME,
+          WAIT_POD_TIMEOUT_MIN,
+          command,
+          (stream, text) -> {});
+    } catch (InfrastructureException ex) {
+      // the pod will be checked and recreated if needed by the next command
+      started.remove(namespace.getName());
+      throw ex;
+    }
+  }
+
+  @Override
+  public void release(String workspaceId) throws InfrastructureException {
+    final KubernetesNamespace namespace = factory.create(workspaceId);
+    started.remove(namespace.getName());
+    namespace.pods().delete(MAINTENANCE_POD_NAME);
+  }
+
+  /** Starts the maintenance pod unless it is already running. */
+  private void startPod(KubernetesPods pods) throws InfrastructureException {
+    final Optional<Pod> existing = pods.get(MAINTENANCE_POD_NAME);
+    if (existing.isPresent()) {
+      if (isRunning(existing.get())) {
+        return;
+      }
+      pods.delete(MAINTENANCE_POD_NAME);
+    }
+    final Pod pod = newPod();
+    securityContextProvisioner.provision(pod);
+    pods.create(pod);
+    final Pod actual =
+        pods.wait(
+            MAINTENANCE_POD_NAME,
+            WAIT_POD_TIMEOUT_MIN,
+            p -> p.getStatus() != null && isStartedOrFinished(p.getStatus().getPhase()));
+    if (!isRunning(actual)) {
+      throw new InfrastructureException(
+          "PVC maintenance pod failed to start, its phase is '"
+              + actual.getStatus().getPhase()
+              + "'");
+    }
+  }
+
+  private static boolean isRunning(Pod pod) {
+    return pod.getStatus() != null && POD_PHASE_RUNNING.equals(pod.getStatus().getPhase());
+  }
+
+  private static boolean isStartedOrFinished(String phase) {
+    return POD_PHASE_RUNNING.equals(phase)
+        || POD_PHASE_FAILED.equals(phase)
+        || POD_PHASE_SUCCEEDED.equals(phase);
+  }
+
+  /** Returns new instance of the maintenance {@link Pod} which keeps running until deleted. */
+  private Pod newPod() {
+    final Container container =
+        new ContainerBuilder()
+            .withName(MAINTENANCE_POD_NAME)
+            .withImage(jobImage)
+            .withImagePullPolicy(IMAGE_PULL_POLICY)
+            .withCommand(SLEEP_COMMAND)
+            .withVolumeMounts(newVolumeMount(pvcName, JOB_MOUNT_PATH, null))
+            .withNewResources()
+            .withLimits(singletonMap("memory", new Quantity(jobMemoryLimit)))
+            .endResources()
+            .build();
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(MAINTENANCE_POD_NAME)
+        .endMetadata()
+        .withNewSpec()
+        .withContainers(container)
+        .withVolumes(newVolume(pvcName, pvcName))
+        .withRestartPolicy(POD_RESTART_POLICY)
+        .endSpec()
+        .build();
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queues commands for workspaces sub-paths of a PVC (e.g. {@code mkdir -p <path>}, {@code rm -rf
+ * <path>}) and executes the commands queued for the same namespace as a single command.
+ *
+ * <p>Commands queued within the configured delay are coalesced in the order they are queued:
+ * consecutive commands with the same base are joined into one command with all their paths, so a
+ * removal of a directory queued after its creation is still executed after the creation. When a
+ * joined command fails, its parts are executed one by one, so each workspace gets its own result.
+ *
+ * <p>When no commands are queued for a namespace for {@link #IDLE_TIMEOUT_MIN} minutes, resources
+ * used for the namespace are {@link PVCSubPathCommandExecutor#release(String) released}.
+ */
+@Singleton
+class PVCSubPathBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PVCSubPathBatcher.class);
+
+  static final int COUNT_THREADS = 4;
+  static final int IDLE_TIMEOUT_MIN = 5;
+  /** Max number of queued commands joined into a single command. */
+  static final int MAX_BATCH_SIZE = 100;
+
+  private final long delayMillis;
+  private final long idleTimeoutMillis;
+  private final PVCSubPathCommandExecutor commandExecutor;
+  private final ScheduledExecutorService executor;
+  private final Map<String, NamespaceQueue> queues = new ConcurrentHashMap<>();
+
+  @Inject
+  PVCSubPathBatcher(
+      @Named("che.infra.kubernetes.pvc.jobs.batch_delay_ms") long delayMillis,
+      PVCMaintenancePodExecutor commandExecutor) {
+    this(delayMillis, MINUTES.toMillis(IDLE_TIMEOUT_MIN), commandExecutor);
+  }
+
+  PVCSubPathBatcher(
+      long delayMillis, long idleTimeoutMillis, PVCSubPathCommandExecutor commandExecutor) {
+    this.delayMillis = delayMillis;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.commandExecutor = commandExecutor;
+    this.executor =
+        Executors.newScheduledThreadPool(
+            COUNT_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("PVCSubPathBatcher-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Queues the command for the workspace.
+   *
+   * @param workspaceId workspace identifier
+   * @param commandBase the command base, e.g. {@code rm -rf}
+   * @param arguments arguments of the command, arguments of the commands with the same base are
+   *     joined
+   * @return future which is completed when the command is executed, or completed exceptionally with
+   *     {@link InfrastructureException} when the command fails
+   */
+  CompletableFuture<Void> submit(String workspaceId, String[] commandBase, String... arguments) {
+    final Operation operation = new Operation(workspaceId, commandBase, arguments);
+    final String namespace;
+    try {
+      namespace = commandExecutor.getNamespace(workspaceId);
+    } catch (InfrastructureException ex) {
+      operation.result.completeExceptionally(ex);
+      return operation.result;
+    }
+    queues.computeIfAbsent(namespace, NamespaceQueue::new).add(operation);
+    return operation.result;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (!executor.isShutdown()) {
+      executor.shutdown();
+      try {
+        if (!executor.awaitTermination(30, SECONDS)) {
+          executor.shutdownNow();
+          if (!executor.awaitTermination(60, SECONDS)) {
+            LOG.error("Couldn't shutdown PVCSubPathBatcher thread pool");
+          }
+        }
+      } catch (InterruptedException ignored) {
+        executor.shutdownNow();
+        Thread.currentThread().interrupt();
+      }
+      LOG.info("PVCSubPathBatcher thread pool is terminated");
+    }
+  }
+
+  /** Executes the operations, consecutive operations with the same base are joined. */
+  private void execute(List<Operation> operations) {
+    int start = 0;
+    while (start < operations.size()) {
+      final Operation first = operations.get(start);
+      int end = start + 1;
+      while (end < operations.size()
+          && end - start < MAX_BATCH_SIZE
+          && Arrays.equals(first.commandBase, operations.get(end).commandBase)) {
+        end++;
+      }
+      executeJoined(operations.subList(start, end));
+      start = end;
+    }
+  }
+
+  private void executeJoined(List<Operation> batch) {
+    final Operation first = batch.get(0);
+    final String[] command =
+        Stream.concat(
+                Arrays.stream(first.commandBase),
+                batch.stream().flatMap(operation -> Arrays.stream(operation.arguments)))
+            .toArray(String[]::new);
+    try {
+      commandExecutor.execute(first.workspaceId, command);
+      batch.forEach(operation -> operation.result.complete(null));
+    } catch (InfrastructureException ex) {
+      if (batch.size() == 1) {
+        first.result.completeExceptionally(ex);
+        return;
+      }
+      // find out which of the commands failed
+      for (Operation operation : batch) {
+        executeJoined(singletonList(operation));
+      }
+    } catch (RuntimeException ex) {
+      batch.forEach(operation -> operation.result.completeExceptionally(ex));
+    }
+  }
+
+  /** Command queued for a workspace. */
+  private static class Operation {
+    private final String workspaceId;
+    private final String[] commandBase;
+    private final String[] arguments;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private Operation(String workspaceId, String[] commandBase, String[] arguments) {
+      this.workspaceId = workspaceId;
+      this.commandBase = commandBase;
+      this.arguments = arguments;
+    }
+  }
+
+  /** Operations queued for a single namespace, executed by one thread at a time. */
+  private class NamespaceQueue {
+    private final String namespace;
+    private final Queue<Operation> operations = new ConcurrentLinkedQueue<>();
+
+    /** Whether draining is scheduled or in progress, guarded by this. */
+    private boolean draining;
+    /** Release of the namespace resources scheduled after draining, guarded by this. */
+    private ScheduledFuture<?> release;
+    /** Workspace which operations were executed last, used to release resources. */
+    private volatile String lastWorkspaceId;
+
+    private NamespaceQueue(String namespace) {
+      this.namespace = namespace;
+    }
+
+    synchronized void add(Operation operation) {
+      operations.add(operation);
+      if (release != null) {
+        release.cancel(false);
+        release = null;
+      }
+      if (!draining) {
+        draining = true;
+        executor.schedule(ThreadLocalPropagateContext.wrap(this::drain), delayMillis, MILLISECONDS);
+      }
+    }
+
+    private void drain() {
+      final List<Operation> batch = new ArrayList<>();
+      Operation operation;
+      while ((operation = operations.poll()) != null) {
+        batch.add(operation);
+      }
+      if (!batch.isEmpty()) {
+        lastWorkspaceId = batch.get(batch.size() - 1).workspaceId;
+        execute(batch);
+      }
+      synchronized (this) {
+        if (!operations.isEmpty()) {
+          executor.schedule(
+              ThreadLocalPropagateContext.wrap(this::drain), delayMillis, MILLISECONDS);
+        } else {
+          draining = false;
+          release =
+              executor.schedule(
+                  ThreadLocalPropagateContext.wrap(this::release), idleTimeoutMillis, MILLISECONDS);
+        }
+      }
+    }
+
+    private void release() {
+      synchronized (this) {
+        if (draining || !operations.isEmpty()) {
+          return;
+        }
+        // operations queued during the release are drained after it
+        draining = true;
+        release = null;
+      }
+      try {
+        commandExecutor.release(lastWorkspaceId);
+      } catch (InfrastructureException ex) {
+        LOG.warn(
+            "Unable to release PVC maintenance resources in namespace '{}' cause: '{}'",
+            namespace,
+            ex.getMessage());
+      }
+      synchronized (this) {
+        if (operations.isEmpty()) {
+          draining = false;
+        } else {
+          executor.schedule(
+              ThreadLocalPropagateContext.wrap(this::drain), delayMillis, MILLISECONDS);
+        }
+      }
+    }
+  }
+}
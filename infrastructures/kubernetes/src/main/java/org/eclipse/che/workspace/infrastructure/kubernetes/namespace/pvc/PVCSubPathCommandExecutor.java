@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+
+/**
+ * Executes commands against the workspaces PVC, the PVC is mounted to {@link
+ * PVCSubPathHelper#JOB_MOUNT_PATH}.
+ *
+ * @see PVCSubPathBatcher
+ */
+interface PVCSubPathCommandExecutor {
+
+  /**
+   * Returns name of the namespace which PVC keeps data of the workspace with the given id. Commands
+   * for workspaces of the same namespace may be executed together.
+   *
+   * @throws InfrastructureException when the namespace can't be evaluated
+   */
+  String getNamespace(String workspaceId) throws InfrastructureException;
+
+  /**
+   * Executes the command in the namespace of the workspace with the given id and waits until it is
+   * finished.
+   *
+   * @throws InfrastructureException when the command fails
+   */
+  void execute(String workspaceId, String[] command) throws InfrastructureException;
+
+  /**
+   * Releases resources used to execute commands in the namespace of the workspace with the given
+   * id, called when no commands are executed in the namespace for a while.
+   *
+   * @throws InfrastructureException when resources can't be released
+   */
+  void release(String workspaceId) throws InfrastructureException;
+}
@@ -11,6 +11,7 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolume;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
@@ -25,8 +26,10 @@ import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.Quantity;
 import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
@@ -48,6 +51,9 @@ import org.slf4j.LoggerFactory;
  * command (either {@code mkdir -p <path>} or {@code rm -rf <path>}). Reports back whether the pod
  * succeeded or failed. Supports multiple paths for one command.
  *
+ * <p>When batching is enabled the commands are executed by {@link PVCSubPathBatcher} instead, which
+ * reuses a long-lived pod per namespace and joins commands queued at about the same time.
+ *
  * <p>Note that the commands execution is needed only for {@link CommonPVCStrategy}.
  *
  * @author amisevsk
@@ -76,6 +82,8 @@ public class PVCSubPathHelper {
   private final String jobMemoryLimit;
   private final KubernetesNamespaceFactory factory;
   private final ExecutorService executor;
+  private final boolean batching;
+  private final PVCSubPathBatcher batcher;
 
   private final SecurityContextProvisioner securityContextProvisioner;
 
@@ -84,9 +92,13 @@ public class PVCSubPathHelper {
       @Named("che.infra.kubernetes.pvc.name") String pvcName,
       @Named("che.infra.kubernetes.pvc.jobs.memorylimit") String jobMemoryLimit,
       @Named("che.infra.kubernetes.pvc.jobs.image") String jobImage,
+      @Named("che.infra.kubernetes.pvc.jobs.batching") boolean batching,
       KubernetesNamespaceFactory factory,
-      SecurityContextProvisioner securityContextProvisioner) {
+      SecurityContextProvisioner securityContextProvisioner,
+      PVCSubPathBatcher batcher) {
     this.pvcName = pvcName;
+    this.batching = batching;
+    this.batcher = batcher;
     this.jobMemoryLimit = jobMemoryLimit;
     this.jobImage = jobImage;
     this.factory = factory;
@@ -108,7 +120,22 @@ public class PVCSubPathHelper {
    * @param dirs workspace directories to create
    */
   void createDirs(String workspaceId, String... dirs) {
-    execute(workspaceId, MKDIR_COMMAND_BASE, dirs);
+    if (!batching) {
+      execute(workspaceId, MKDIR_COMMAND_BASE, dirs);
+      return;
+    }
+    try {
+      submit(workspaceId, MKDIR_COMMAND_BASE, dirs).get(WAIT_POD_TIMEOUT_MIN, MINUTES);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      // failure is already logged
+    } catch (TimeoutException ex) {
+      LOG.error(
+          "Creation of directories '{}' for the workspace '{}' reached timeout",
+          Arrays.toString(dirs),
+          workspaceId);
+    }
   }
 
   /**
@@ -118,6 +145,9 @@ public class PVCSubPathHelper {
    * @param dirs workspace directories to remove
    */
   CompletableFuture<Void> removeDirsAsync(String workspaceId, String... dirs) {
+    if (batching) {
+      return submit(workspaceId, RM_COMMAND_BASE, dirs);
+    }
     return CompletableFuture.runAsync(
         ThreadLocalPropagateContext.wrap(() -> execute(workspaceId, RM_COMMAND_BASE, dirs)),
         executor);
@@ -161,6 +191,26 @@ public class PVCSubPathHelper {
     }
   }
 
+  /**
+   * Queues the command to the batcher, the returned future is completed when the command is
+   * executed, failures are logged.
+   */
+  private CompletableFuture<Void> submit(
+      String workspaceId, String[] commandBase, String... arguments) {
+    final String[] paths = buildCommand(new String[0], arguments);
+    return batcher
+        .submit(workspaceId, commandBase, paths)
+        .exceptionally(
+            ex -> {
+              LOG.error(
+                  "Unable to perform '{}' command for the workspace '{}' cause: '{}'",
+                  Arrays.toString(buildCommand(commandBase, arguments)),
+                  workspaceId,
+                  ex.getMessage());
+              return null;
+            });
+  }
+
   /**
    * Builds the command by given base and paths.
    *
@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.workspace.runtime.Server;
 import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.DtoConverter;
+import org.eclipse.che.api.workspace.server.event.MachineLogBatcher;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.RuntimeStatusEvent;
@@ -32,10 +33,12 @@ public class RuntimeEventsPublisher {
   private static final String RUNTIME_RUNNING_STATE = "RUNNING";
 
   private final EventService eventService;
+  private final MachineLogBatcher logBatcher;
 
   @Inject
-  public RuntimeEventsPublisher(EventService eventService) {
+  public RuntimeEventsPublisher(EventService eventService, MachineLogBatcher logBatcher) {
     this.eventService = eventService;
+    this.logBatcher = logBatcher;
   }
 
   public void sendStartingEvent(String machineName, RuntimeIdentity runtimeId) {
@@ -97,7 +100,7 @@ public class RuntimeEventsPublisher {
 
   public void sendMachineLogEnvent(
       String machineName, String text, String time, RuntimeIdentity runtimeId) {
-    eventService.publish(
+    logBatcher.publish(
         DtoFactory.newDto(MachineLogEvent.class)
             .withMachineName(machineName)
             .withRuntimeId(DtoConverter.asDto(runtimeId))
@@ -80,6 +80,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.URLRewriter;
+import org.eclipse.che.api.workspace.server.event.MachineLogBatcher;
 import org.eclipse.che.api.workspace.server.hc.ServersChecker;
 import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
@@ -153,6 +154,7 @@ public class KubernetesInternalRuntimeTest {
 
   @Mock private KubernetesRuntimeContext<KubernetesEnvironment> context;
   @Mock private EventService eventService;
+  @Mock private MachineLogBatcher logBatcher;
   @Mock private ServersCheckerFactory serverCheckerFactory;
   @Mock private ServersChecker serversChecker;
   @Mock private KubernetesBootstrapperFactory bootstrapperFactory;
@@ -196,7 +198,7 @@ public class KubernetesInternalRuntimeTest {
             volumesStrategy,
             probesScheduler,
             workspaceProbesFactory,
-            new RuntimeEventsPublisher(eventService),
+            new RuntimeEventsPublisher(eventService, logBatcher),
             new KubernetesSharedPool(),
             runtimeStatesCache,
             machinesCache,
@@ -215,7 +217,7 @@ public class KubernetesInternalRuntimeTest {
             volumesStrategy,
             probesScheduler,
             workspaceProbesFactory,
-            new RuntimeEventsPublisher(eventService),
+            new RuntimeEventsPublisher(eventService, logBatcher),
             new KubernetesSharedPool(),
             runtimeStatesCache,
             machinesCache,
@@ -422,10 +424,10 @@ public class KubernetesInternalRuntimeTest {
     logsPublisher.handle(out1);
     logsPublisher.handle(out2);
 
-    verify(eventService, atLeastOnce()).publish(captor.capture());
+    verify(logBatcher, times(2)).publish(captor.capture());
     final ImmutableList<MachineLogEvent> machineLogs =
         ImmutableList.of(asMachineLogEvent(out1), asMachineLogEvent(out2));
-    assertTrue(captor.getAllValues().containsAll(machineLogs));
+    assertEquals(captor.getAllValues(), machineLogs);
   }
 
   @Test
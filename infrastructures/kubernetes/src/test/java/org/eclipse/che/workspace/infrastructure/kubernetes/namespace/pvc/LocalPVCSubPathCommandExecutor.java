@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+
+/**
+ * Stand-in for {@link PVCMaintenancePodExecutor} which executes commands locally, the PVC mount
+ * path is replaced with a local directory.
+ */
+class LocalPVCSubPathCommandExecutor implements PVCSubPathCommandExecutor {
+
+  private final Path pvcRoot;
+  private final Map<String, String> namespaces = new ConcurrentHashMap<>();
+  private final List<List<String>> executed = new CopyOnWriteArrayList<>();
+  private final List<String> released = new CopyOnWriteArrayList<>();
+
+  LocalPVCSubPathCommandExecutor(Path pvcRoot) {
+    this.pvcRoot = pvcRoot;
+  }
+
+  /** Places the workspace with the given id into the namespace, 'default' is used otherwise. */
+  void setNamespace(String workspaceId, String namespace) {
+    namespaces.put(workspaceId, namespace);
+  }
+
+  /** Returns executed commands. */
+  List<List<String>> getExecuted() {
+    return executed;
+  }
+
+  /** Returns ids of the workspaces which namespaces were released. */
+  List<String> getReleased() {
+    return released;
+  }
+
+  @Override
+  public String getNamespace(String workspaceId) {
+    return namespaces.getOrDefault(workspaceId, "default");
+  }
+
+  @Override
+  public void execute(String workspaceId, String[] command) throws InfrastructureException {
+    executed.add(Arrays.asList(command));
+    final String[] local =
+        Arrays.stream(command)
+            .map(
+                arg ->
+                    arg.startsWith(JOB_MOUNT_PATH)
+                        ? pvcRoot + arg.substring(JOB_MOUNT_PATH.length())
+                        : arg)
+            .toArray(String[]::new);
+    try {
+      final Process process = new ProcessBuilder(local).start();
+      final String error = new String(ByteStreams.toByteArray(process.getErrorStream()), UTF_8);
+      if (process.waitFor() != 0 || !error.isEmpty()) {
+        throw new InfrastructureException(error);
+      }
+    } catch (IOException ex) {
+      throw new InfrastructureException(ex.getMessage(), ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InfrastructureException(ex.getMessage(), ex);
+    }
+  }
+
+  @Override
+  public void release(String workspaceId) {
+    released.add(workspaceId);
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MKDIR_COMMAND_BASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.RM_COMMAND_BASE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link PVCSubPathBatcher}. */
+public class PVCSubPathBatcherTest {
+
+  private Path pvcRoot;
+  private LocalPVCSubPathCommandExecutor commandExecutor;
+  private PVCSubPathBatcher batcher;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    pvcRoot = Files.createTempDirectory("pvc");
+    commandExecutor = new LocalPVCSubPathCommandExecutor(pvcRoot);
+    batcher = new PVCSubPathBatcher(200, 500, commandExecutor);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    batcher.shutdown();
+    IoUtil.deleteRecursive(pvcRoot.toFile());
+  }
+
+  @Test
+  public void shouldJoinCommandsQueuedForTheSameNamespace() throws Exception {
+    final List<CompletableFuture<Void>> results = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      results.add(batcher.submit("ws" + i, MKDIR_COMMAND_BASE, path("ws" + i + "/projects")));
+    }
+
+    for (CompletableFuture<Void> result : results) {
+      result.get(5, SECONDS);
+    }
+    assertEquals(commandExecutor.getExecuted().size(), 1);
+    assertEquals(commandExecutor.getExecuted().get(0).size(), MKDIR_COMMAND_BASE.length + 10);
+    for (int i = 0; i < 10; i++) {
+      assertTrue(Files.isDirectory(pvcRoot.resolve("ws" + i + "/projects")));
+    }
+  }
+
+  @Test
+  public void shouldKeepOrderOfDifferentCommands() throws Exception {
+    batcher.submit("ws1", MKDIR_COMMAND_BASE, path("ws1/projects"));
+    batcher.submit("ws1", RM_COMMAND_BASE, path("ws1"));
+    batcher.submit("ws2", MKDIR_COMMAND_BASE, path("ws2/projects")).get(5, SECONDS);
+
+    assertEquals(
+        commandExecutor.getExecuted(),
+        asList(
+            asList("mkdir", "-p", path("ws1/projects")),
+            asList("rm", "-rf", path("ws1")),
+            asList("mkdir", "-p", path("ws2/projects"))));
+    assertFalse(Files.exists(pvcRoot.resolve("ws1")));
+    assertTrue(Files.isDirectory(pvcRoot.resolve("ws2/projects")));
+  }
+
+  @Test
+  public void shouldReportFailureOnlyToWorkspaceWhichCommandFailed() throws Exception {
+    Files.createFile(pvcRoot.resolve("file"));
+
+    final CompletableFuture<Void> failed =
+        batcher.submit("ws1", MKDIR_COMMAND_BASE, path("file/projects"));
+    final CompletableFuture<Void> succeeded =
+        batcher.submit("ws2", MKDIR_COMMAND_BASE, path("ws2/projects"));
+
+    succeeded.get(5, SECONDS);
+    try {
+      failed.get(5, SECONDS);
+      fail("Command is expected to fail");
+    } catch (ExecutionException ex) {
+      assertTrue(ex.getCause() instanceof InfrastructureException);
+    }
+    assertTrue(Files.isDirectory(pvcRoot.resolve("ws2/projects")));
+    // joined command and then each command separately
+    assertEquals(commandExecutor.getExecuted().size(), 3);
+  }
+
+  @Test
+  public void shouldExecuteCommandsOfDifferentNamespacesSeparately() throws Exception {
+    commandExecutor.setNamespace("ws2", "another");
+
+    final CompletableFuture<Void> first =
+        batcher.submit("ws1", MKDIR_COMMAND_BASE, path("ws1/projects"));
+    final CompletableFuture<Void> second =
+        batcher.submit("ws2", MKDIR_COMMAND_BASE, path("ws2/projects"));
+
+    CompletableFuture.allOf(first, second).get(5, SECONDS);
+    assertEquals(commandExecutor.getExecuted().size(), 2);
+  }
+
+  @Test
+  public void shouldReleaseNamespaceWhenNoCommandsAreQueuedForAWhile() throws Exception {
+    batcher.submit("ws1", MKDIR_COMMAND_BASE, path("ws1/projects")).get(5, SECONDS);
+    assertTrue(commandExecutor.getReleased().isEmpty());
+
+    final long deadline = System.currentTimeMillis() + 5000;
+    while (commandExecutor.getReleased().isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+
+    assertEquals(commandExecutor.getReleased(), asList("ws1"));
+  }
+
+  private static String path(String subPath) {
+    return JOB_MOUNT_PATH + '/' + subPath;
+  }
+}
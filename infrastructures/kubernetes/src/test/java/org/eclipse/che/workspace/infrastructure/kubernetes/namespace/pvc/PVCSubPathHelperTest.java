@@ -64,6 +64,7 @@ public class PVCSubPathHelperTest {
   @Mock private KubernetesPods osPods;
   @Mock private Pod pod;
   @Mock private PodStatus podStatus;
+  @Mock private PVCSubPathBatcher batcher;
 
   @Captor private ArgumentCaptor<Pod> podCaptor;
 
@@ -73,7 +74,13 @@ public class PVCSubPathHelperTest {
   public void setup() throws Exception {
     pvcSubPathHelper =
         new PVCSubPathHelper(
-            PVC_NAME, jobMemoryLimit, jobImage, k8sNamespaceFactory, securityContextProvisioner);
+            PVC_NAME,
+            jobMemoryLimit,
+            jobImage,
+            false,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            batcher);
     when(k8sNamespaceFactory.create(anyString())).thenReturn(k8sNamespace);
     when(k8sNamespace.pods()).thenReturn(osPods);
     when(pod.getStatus()).thenReturn(podStatus);
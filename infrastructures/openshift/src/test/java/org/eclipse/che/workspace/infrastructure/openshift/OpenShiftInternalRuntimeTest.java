@@ -56,6 +56,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
 import org.eclipse.che.api.workspace.server.DtoConverter;
 import org.eclipse.che.api.workspace.server.URLRewriter;
+import org.eclipse.che.api.workspace.server.event.MachineLogBatcher;
 import org.eclipse.che.api.workspace.server.hc.ServersChecker;
 import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
@@ -111,6 +112,7 @@ public class OpenShiftInternalRuntimeTest {
 
   @Mock private OpenShiftRuntimeContext context;
   @Mock private EventService eventService;
+  @Mock private MachineLogBatcher logBatcher;
   @Mock private ServersCheckerFactory serverCheckerFactory;
   @Mock private ServersChecker serversChecker;
   @Mock private KubernetesBootstrapperFactory bootstrapperFactory;
@@ -148,7 +150,7 @@ public class OpenShiftInternalRuntimeTest {
             volumesStrategy,
             probesScheduler,
             workspaceProbesFactory,
-            new RuntimeEventsPublisher(eventService),
+            new RuntimeEventsPublisher(eventService, logBatcher),
             mock(KubernetesSharedPool.class),
             runtimeStateCache,
             machinesCache,
@@ -167,7 +169,7 @@ public class OpenShiftInternalRuntimeTest {
             volumesStrategy,
             probesScheduler,
             workspaceProbesFactory,
-            new RuntimeEventsPublisher(eventService),
+            new RuntimeEventsPublisher(eventService, logBatcher),
             mock(KubernetesSharedPool.class),
             runtimeStateCache,
             machinesCache,
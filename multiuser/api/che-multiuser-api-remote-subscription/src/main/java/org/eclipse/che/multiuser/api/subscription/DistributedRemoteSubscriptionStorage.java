@@ -12,89 +12,370 @@ package org.eclipse.che.multiuser.api.subscription;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
-import java.util.Collections;
+import com.google.common.annotations.VisibleForTesting;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.InmemoryRemoteSubscriptionStorage;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionStorage;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.jgroups.Address;
 import org.jgroups.JChannel;
-import org.jgroups.blocks.ReplicatedHashMap;
-import org.jgroups.blocks.locking.LockService;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.View;
+import org.jgroups.util.Util;
 import org.slf4j.Logger;
 
 /**
- * Replicated map-based implementation of {@link RemoteSubscriptionStorage}
+ * JGroups based implementation of {@link RemoteSubscriptionStorage}.
+ *
+ * <p>Each cluster member keeps a full replica of the subscriptions which serves all the reads.
+ * Modifications are replicated as deltas of a single subscription keyed by endpoint, method and
+ * scope, so an endpoint may be subscribed to the same method with several scopes. Subscriptions of
+ * an endpoint are modified only by the member the endpoint is connected to, and messages of a
+ * single member are delivered in order, so no cluster wide locks are needed.
+ *
+ * <p>Subscriptions of the endpoints which are not connected anymore are periodically purged in
+ * batches by their owner, subscriptions of a member which left the cluster are purged by every
+ * remaining member.
  *
  * @author Max Shaposhnik (mshaposh@redhat.com)
  */
-public class DistributedRemoteSubscriptionStorage implements RemoteSubscriptionStorage {
+@Singleton
+public class DistributedRemoteSubscriptionStorage extends ReceiverAdapter
+    implements RemoteSubscriptionStorage {
 
   private static final Logger LOG = getLogger(DistributedRemoteSubscriptionStorage.class);
 
   private static final String CHANNEL_NAME = "RemoteSubscriptionChannel";
 
-  private ReplicatedHashMap<String, Set<RemoteSubscriptionContext>> subscriptions;
+  private static final long STATE_TRANSFER_TIMEOUT_MS = 5000;
+
+  /** Maximum number of endpoints purged by a single message. */
+  private static final int PURGE_BATCH_SIZE = 1000;
+
+  private final JChannel channel;
+  private final WebSocketSessionRegistry sessionRegistry;
+
+  /** Local replica of all the subscriptions of the cluster. */
+  private final InmemoryRemoteSubscriptionStorage replica = new InmemoryRemoteSubscriptionStorage();
+
+  /** Subscriptions of each endpoint by method and scope, used for purging and state transfer. */
+  private final Map<String, Map<SubscriptionKey, RemoteSubscriptionContext>> endpointSubscriptions =
+      new ConcurrentHashMap<>();
 
-  private final LockService lockService;
+  /** Cluster members the endpoints are connected to. */
+  private final Map<String, Address> owners = new ConcurrentHashMap<>();
 
   @Inject
-  public DistributedRemoteSubscriptionStorage(@Named("jgroups.config.file") String confFile)
+  public DistributedRemoteSubscriptionStorage(
+      @Named("jgroups.config.file") String confFile, WebSocketSessionRegistry sessionRegistry)
       throws Exception {
+    this(createChannel(confFile), sessionRegistry);
+  }
+
+  @VisibleForTesting
+  DistributedRemoteSubscriptionStorage(JChannel channel, WebSocketSessionRegistry sessionRegistry)
+      throws Exception {
+    this.channel = channel;
+    this.sessionRegistry = sessionRegistry;
     try {
-      JChannel channel = new JChannel(confFile);
-      this.lockService = new LockService(channel);
-      channel.connect(CHANNEL_NAME);
-      subscriptions = new ReplicatedHashMap<>(channel);
-      subscriptions.setBlockingUpdates(true);
-      subscriptions.start(5000);
+      channel.setReceiver(this);
+      channel.connect(CHANNEL_NAME, null, STATE_TRANSFER_TIMEOUT_MS);
     } catch (Exception e) {
-      LOG.error("Unable to create distributed event subscriptions map.", e);
+      LOG.error("Unable to connect to distributed event subscriptions channel.", e);
       throw e;
     }
   }
 
   @Override
   public Set<RemoteSubscriptionContext> getByMethod(String method) {
-    return subscriptions.getOrDefault(method, Collections.emptySet());
+    return replica.getByMethod(method);
+  }
+
+  @Override
+  public Set<RemoteSubscriptionContext> getByScope(
+      String method, String scopeKey, String scopeValue) {
+    return replica.getByScope(method, scopeKey, scopeValue);
   }
 
   @Override
   public void addSubscription(String method, RemoteSubscriptionContext remoteSubscriptionContext) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
+    SubscriptionDelta delta = SubscriptionDelta.add(method, remoteSubscriptionContext);
+    apply(channel.getAddress(), delta);
+    send(delta);
+  }
+
+  @Override
+  public void removeSubscription(String method, String endpointId) {
+    SubscriptionDelta delta = SubscriptionDelta.remove(method, endpointId, null);
+    apply(channel.getAddress(), delta);
+    send(delta);
+  }
+
+  @Override
+  public void removeSubscription(String method, String endpointId, Map<String, String> scope) {
+    SubscriptionDelta delta = SubscriptionDelta.remove(method, endpointId, new HashMap<>(scope));
+    apply(channel.getAddress(), delta);
+    send(delta);
+  }
+
+  /** Purges subscriptions of the local endpoints which are not connected anymore. */
+  @ScheduleDelay(initialDelay = 60, delay = 60)
+  void purgeDisconnectedEndpoints() {
+    Address local = channel.getAddress();
+    List<String> disconnected = new ArrayList<>();
+    for (Map.Entry<String, Address> entry : owners.entrySet()) {
+      if (entry.getValue().equals(local) && !sessionRegistry.get(entry.getKey()).isPresent()) {
+        disconnected.add(entry.getKey());
+      }
+    }
+
+    for (int from = 0; from < disconnected.size(); from += PURGE_BATCH_SIZE) {
+      List<String> batch =
+          disconnected.subList(from, Math.min(disconnected.size(), from + PURGE_BATCH_SIZE));
+      SubscriptionDelta delta = SubscriptionDelta.purge(new ArrayList<>(batch));
+      apply(local, delta);
+      send(delta);
+    }
+
+    if (!disconnected.isEmpty()) {
+      LOG.debug("Purged subscriptions of {} disconnected endpoints", disconnected.size());
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    channel.close();
+  }
+
+  @Override
+  public void receive(Message msg) {
+    if (msg.getSrc().equals(channel.getAddress())) {
+      // already applied when sent
+      return;
+    }
+
     try {
-      Set<RemoteSubscriptionContext> existing =
-          subscriptions.getOrDefault(method, ConcurrentHashMap.newKeySet(1));
-      existing.add(remoteSubscriptionContext);
-      subscriptions.put(method, existing);
-    } finally {
-      lock.unlock();
+      apply(msg.getSrc(), (SubscriptionDelta) msg.getObject());
+    } catch (RuntimeException e) {
+      LOG.error("Unable to apply subscription change received from " + msg.getSrc(), e);
     }
   }
 
   @Override
-  public void removeSubscription(String method, String endpointId) {
-    Lock lock = lockService.getLock(method);
-    lock.lock();
+  public void viewAccepted(View view) {
+    List<Address> members = view.getMembers();
+    for (Map.Entry<String, Address> entry : owners.entrySet()) {
+      if (!members.contains(entry.getValue())) {
+        purge(entry.getKey());
+      }
+    }
+  }
+
+  @Override
+  public void getState(OutputStream output) throws Exception {
+    Map<Address, HashMap<String, HashMap<SubscriptionKey, RemoteSubscriptionContext>>> snapshot =
+        new HashMap<>();
+    for (Map.Entry<String, Address> entry : owners.entrySet()) {
+      Map<SubscriptionKey, RemoteSubscriptionContext> subscriptions =
+          endpointSubscriptions.get(entry.getKey());
+      if (subscriptions != null) {
+        snapshot
+            .computeIfAbsent(entry.getValue(), k -> new HashMap<>())
+            .put(entry.getKey(), new HashMap<>(subscriptions));
+      }
+    }
+
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(snapshot.size());
+    for (Map.Entry<Address, HashMap<String, HashMap<SubscriptionKey, RemoteSubscriptionContext>>>
+        entry : snapshot.entrySet()) {
+      Util.writeAddress(entry.getKey(), out);
+      Util.objectToStream(entry.getValue(), out);
+    }
+    out.flush();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void setState(InputStream input) throws Exception {
+    DataInputStream in = new DataInputStream(input);
+    int ownersCount = in.readInt();
+    for (int i = 0; i < ownersCount; i++) {
+      Address owner = Util.readAddress(in);
+      Map<String, Map<SubscriptionKey, RemoteSubscriptionContext>> subscriptions =
+          (Map<String, Map<SubscriptionKey, RemoteSubscriptionContext>>) Util.objectFromStream(in);
+      for (Map<SubscriptionKey, RemoteSubscriptionContext> byKey : subscriptions.values()) {
+        for (Map.Entry<SubscriptionKey, RemoteSubscriptionContext> entry : byKey.entrySet()) {
+          apply(owner, SubscriptionDelta.add(entry.getKey().method, entry.getValue()));
+        }
+      }
+    }
+  }
+
+  private void apply(Address source, SubscriptionDelta delta) {
+    switch (delta.type) {
+      case ADD:
+        String endpointId = delta.context.getEndpointId();
+        SubscriptionKey key = new SubscriptionKey(delta.method, delta.context.getScope());
+        owners.put(endpointId, source);
+        endpointSubscriptions.compute(
+            endpointId,
+            (k, subscriptions) -> {
+              if (subscriptions == null) {
+                subscriptions = new ConcurrentHashMap<>();
+              }
+              if (subscriptions.containsKey(key)) {
+                // the same subscription is added again, keep a single one
+                replica.removeSubscription(delta.method, endpointId, key.scope);
+              }
+              replica.addSubscription(delta.method, delta.context);
+              subscriptions.put(key, delta.context);
+              return subscriptions;
+            });
+        break;
+      case REMOVE:
+        endpointSubscriptions.computeIfPresent(
+            delta.endpointIds.get(0),
+            (k, subscriptions) -> {
+              if (delta.scope == null) {
+                replica.removeSubscription(delta.method, k);
+                subscriptions.keySet().removeIf(existing -> existing.method.equals(delta.method));
+              } else {
+                replica.removeSubscription(delta.method, k, delta.scope);
+                subscriptions.remove(new SubscriptionKey(delta.method, delta.scope));
+              }
+              if (subscriptions.isEmpty()) {
+                owners.remove(k);
+                return null;
+              }
+              return subscriptions;
+            });
+        break;
+      case PURGE:
+        delta.endpointIds.forEach(this::purge);
+        break;
+      default:
+        LOG.warn("Unknown subscription change type {}", delta.type);
+    }
+  }
+
+  private void purge(String endpointId) {
+    endpointSubscriptions.computeIfPresent(
+        endpointId,
+        (k, subscriptions) -> {
+          subscriptions.keySet().forEach(key -> replica.removeSubscription(key.method, k));
+          owners.remove(k);
+          return null;
+        });
+  }
+
+  private void send(SubscriptionDelta delta) {
+    try {
+      channel.send(new Message(null, delta));
+    } catch (Exception e) {
+      LOG.error("Unable to replicate subscription change.", e);
+    }
+  }
+
+  private static JChannel createChannel(String confFile) throws Exception {
     try {
-      Set<RemoteSubscriptionContext> existing = subscriptions.get(method);
-      if (existing == null) {
-        return;
+      return new JChannel(confFile);
+    } catch (Exception e) {
+      LOG.error("Unable to create distributed event subscriptions channel.", e);
+      throw e;
+    }
+  }
+
+  /** Change of subscriptions replicated between the cluster members. */
+  static class SubscriptionDelta implements Serializable {
+
+    enum Type {
+      ADD,
+      REMOVE,
+      PURGE
+    }
+
+    private final Type type;
+    private final String method;
+    private final RemoteSubscriptionContext context;
+    private final List<String> endpointIds;
+    private final HashMap<String, String> scope;
+
+    private SubscriptionDelta(
+        Type type,
+        String method,
+        RemoteSubscriptionContext context,
+        List<String> endpointIds,
+        HashMap<String, String> scope) {
+      this.type = type;
+      this.method = method;
+      this.context = context;
+      this.endpointIds = endpointIds;
+      this.scope = scope;
+    }
+
+    static SubscriptionDelta add(String method, RemoteSubscriptionContext context) {
+      return new SubscriptionDelta(Type.ADD, method, context, null, null);
+    }
+
+    /** Removes subscriptions of the endpoint with the given scope, or all if scope is null. */
+    static SubscriptionDelta remove(
+        String method, String endpointId, HashMap<String, String> scope) {
+      ArrayList<String> endpointIds = new ArrayList<>(1);
+      endpointIds.add(endpointId);
+      return new SubscriptionDelta(Type.REMOVE, method, null, endpointIds, scope);
+    }
+
+    static SubscriptionDelta purge(Collection<String> endpointIds) {
+      return new SubscriptionDelta(Type.PURGE, null, null, new ArrayList<>(endpointIds), null);
+    }
+  }
+
+  /** Identifies a subscription of an endpoint by its method and scope. */
+  static class SubscriptionKey implements Serializable {
+
+    private final String method;
+    private final HashMap<String, String> scope;
+
+    SubscriptionKey(String method, Map<String, String> scope) {
+      this.method = method;
+      this.scope = scope == null ? null : new HashMap<>(scope);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
       }
-      existing.removeIf(
-          remoteSubscriptionContext ->
-              Objects.equals(remoteSubscriptionContext.getEndpointId(), endpointId));
-      if (existing.isEmpty()) {
-        subscriptions.remove(method);
-      } else {
-        subscriptions.put(method, existing);
+      if (!(obj instanceof SubscriptionKey)) {
+        return false;
       }
-    } finally {
-      lock.unlock();
+      SubscriptionKey that = (SubscriptionKey) obj;
+      return Objects.equals(method, that.method) && Objects.equals(scope, that.scope);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(method, scope);
     }
   }
 }
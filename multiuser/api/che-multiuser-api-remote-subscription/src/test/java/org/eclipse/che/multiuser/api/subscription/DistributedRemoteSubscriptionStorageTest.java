@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.subscription;
+
+import static java.util.Collections.singletonMap;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionContext;
+import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
+import org.jgroups.JChannel;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link DistributedRemoteSubscriptionStorage} with several cluster members connected over
+ * in-JVM loopback channels.
+ */
+public class DistributedRemoteSubscriptionStorageTest {
+  private static final String CONFIG = "jgroups/che-test-loopback.xml";
+  private static final String METHOD = "method";
+  private static final long TIMEOUT_MS = 10_000;
+
+  private final List<DistributedRemoteSubscriptionStorage> members = new ArrayList<>();
+
+  private WebSocketSessionRegistry registry1;
+  private DistributedRemoteSubscriptionStorage member1;
+  private DistributedRemoteSubscriptionStorage member2;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    registry1 = new WebSocketSessionRegistry();
+    member1 = startMember(registry1);
+    member2 = startMember(new WebSocketSessionRegistry());
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    members.forEach(DistributedRemoteSubscriptionStorage::close);
+    members.clear();
+  }
+
+  @Test
+  public void shouldReplicateAddedSubscription() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+
+    waitFor(() -> member2.getByScope(METHOD, "workspaceId", "ws1").size() == 1);
+    assertEquals(member2.getByMethod(METHOD).size(), 1);
+    assertEquals(member1.getByScope(METHOD, "workspaceId", "ws1").size(), 1);
+  }
+
+  @Test
+  public void shouldKeepSubscriptionsOfTheSameEndpointAndMethodWithDifferentScopes()
+      throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws2"));
+
+    waitFor(() -> member2.getByMethod(METHOD).size() == 2);
+    assertEquals(member2.getByScope(METHOD, "workspaceId", "ws1").size(), 1);
+    assertEquals(member2.getByScope(METHOD, "workspaceId", "ws2").size(), 1);
+    assertEquals(member1.getByMethod(METHOD).size(), 2);
+  }
+
+  @Test
+  public void shouldNotDuplicateSubscriptionOfTheSameEndpointMethodAndScope() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws2"));
+
+    waitFor(() -> member2.getByScope(METHOD, "workspaceId", "ws2").size() == 1);
+    assertEquals(member2.getByMethod(METHOD).size(), 2);
+    assertEquals(member1.getByMethod(METHOD).size(), 2);
+  }
+
+  @Test
+  public void shouldReplicateRemovedSubscriptionWithScope() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws2"));
+    waitFor(() -> member2.getByMethod(METHOD).size() == 2);
+
+    member1.removeSubscription(METHOD, "endpoint1", singletonMap("workspaceId", "ws1"));
+
+    waitFor(() -> member2.getByMethod(METHOD).size() == 1);
+    assertTrue(member2.getByScope(METHOD, "workspaceId", "ws1").isEmpty());
+    assertEquals(member2.getByScope(METHOD, "workspaceId", "ws2").size(), 1);
+    assertEquals(member1.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldReplicateRemovedSubscription() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint2", "ws1"));
+    waitFor(() -> member2.getByMethod(METHOD).size() == 2);
+
+    member1.removeSubscription(METHOD, "endpoint1");
+
+    waitFor(() -> member2.getByMethod(METHOD).size() == 1);
+    assertEquals(
+        member2.getByScope(METHOD, "workspaceId", "ws1").iterator().next().getEndpointId(),
+        "endpoint2");
+  }
+
+  @Test
+  public void shouldTransferStateToJoiningMember() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws3"));
+    member2.addSubscription(METHOD, subscription("endpoint2", "ws2"));
+    waitFor(() -> member1.getByMethod(METHOD).size() == 3);
+
+    DistributedRemoteSubscriptionStorage member3 = startMember(new WebSocketSessionRegistry());
+
+    assertEquals(member3.getByMethod(METHOD).size(), 3);
+    assertEquals(member3.getByScope(METHOD, "workspaceId", "ws3").size(), 1);
+    assertEquals(member3.getByScope(METHOD, "workspaceId", "ws2").size(), 1);
+  }
+
+  @Test
+  public void shouldPurgeSubscriptionsOfDisconnectedEndpoints() throws Exception {
+    registry1.add("endpoint1", mock(Session.class));
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member1.addSubscription("other", subscription("endpoint1", "ws1"));
+    member1.addSubscription(METHOD, subscription("endpoint2", "ws1"));
+    waitFor(() -> member2.getByMethod(METHOD).size() == 2);
+
+    member1.purgeDisconnectedEndpoints();
+
+    waitFor(() -> member2.getByMethod(METHOD).size() == 1);
+    assertEquals(member2.getByMethod(METHOD).iterator().next().getEndpointId(), "endpoint1");
+    assertEquals(member2.getByMethod("other").size(), 1);
+    assertEquals(member1.getByMethod(METHOD).size(), 1);
+  }
+
+  @Test
+  public void shouldPurgeSubscriptionsOfMemberWhichLeftCluster() throws Exception {
+    member1.addSubscription(METHOD, subscription("endpoint1", "ws1"));
+    member2.addSubscription(METHOD, subscription("endpoint2", "ws1"));
+    waitFor(() -> member2.getByMethod(METHOD).size() == 2);
+
+    member1.close();
+
+    waitFor(() -> member2.getByMethod(METHOD).size() == 1);
+    assertEquals(member2.getByMethod(METHOD).iterator().next().getEndpointId(), "endpoint2");
+  }
+
+  private DistributedRemoteSubscriptionStorage startMember(WebSocketSessionRegistry registry)
+      throws Exception {
+    DistributedRemoteSubscriptionStorage member =
+        new DistributedRemoteSubscriptionStorage(new JChannel(CONFIG), registry);
+    members.add(member);
+    return member;
+  }
+
+  private static RemoteSubscriptionContext subscription(String endpointId, String workspaceId) {
+    return new RemoteSubscriptionContext(endpointId, singletonMap("workspaceId", workspaceId));
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Condition is not satisfied within " + TIMEOUT_MS + "ms");
+      }
+      Thread.sleep(50);
+    }
+  }
+}
@@ -269,6 +269,7 @@ public class LimitsCheckingWorkspaceManagerTest {
               null,
               null,
               null,
+              null,
               maxRamPerEnv,
               environmentRamCalculator,
               resourceManager,
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.workspace.cluster;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.PreDestroy;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.Message;
+import org.jgroups.ReceiverAdapter;
+import org.jgroups.SuspectedException;
+import org.jgroups.View;
+import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.blocks.RequestHandler;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Rsp;
+import org.jgroups.util.RspList;
+import org.slf4j.Logger;
+
+/**
+ * Base class for the cluster services which state is owned by the coordinator of the JGroups
+ * cluster.
+ *
+ * <p>Requests which modify the state are sent to the current coordinator which applies them
+ * atomically and replicates the result to the rest of the members, so each member can serve reads
+ * from its local copy of the state. If the coordinator changes while a request is in flight the
+ * request is retried with the new one.
+ */
+abstract class JGroupsCoordinatedService extends ReceiverAdapter implements RequestHandler {
+
+  private static final Logger LOG = getLogger(JGroupsCoordinatedService.class);
+
+  private static final long STATE_TRANSFER_TIMEOUT_MS = 5000;
+  private static final long REQUEST_TIMEOUT_MS = 10_000;
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long RETRY_DELAY_MS = 500;
+
+  /** Response of a member which received a coordinator request but is not the coordinator. */
+  enum Redirect {
+    NOT_COORDINATOR
+  }
+
+  protected final JChannel channel;
+
+  private final MessageDispatcher dispatcher;
+
+  JGroupsCoordinatedService(JChannel channel) {
+    this.channel = channel;
+    this.dispatcher = new MessageDispatcher(channel, this, this, this);
+  }
+
+  /**
+   * Handles the request sent by {@link #callCoordinator(Serializable)} or {@link
+   * #castToOthers(Serializable)}.
+   *
+   * @param request received request
+   * @param source address of the member which sent the request
+   * @return response sent back to the requester
+   */
+  protected abstract Object handleRequest(Object request, Address source) throws Exception;
+
+  @Override
+  public Object handle(Message msg) throws Exception {
+    return handleRequest(msg.getObject(), msg.getSrc());
+  }
+
+  /** Closes the channel of this member. */
+  @PreDestroy
+  void close() {
+    dispatcher.stop();
+    channel.close();
+  }
+
+  /**
+   * Connects this member to the cluster.
+   *
+   * @param clusterName name of the cluster to join
+   * @param transferState whether the state should be fetched from the coordinator
+   */
+  protected void connect(String clusterName, boolean transferState) throws Exception {
+    try {
+      if (transferState) {
+        channel.connect(clusterName, null, STATE_TRANSFER_TIMEOUT_MS);
+      } else {
+        channel.connect(clusterName);
+      }
+    } catch (Exception e) {
+      LOG.error("Unable to connect to cluster '" + clusterName + "'.", e);
+      channel.close();
+      throw e;
+    }
+  }
+
+  /** Returns true if this member is the coordinator of the cluster. */
+  protected boolean isCoordinator() {
+    View view = channel.getView();
+    return view != null && channel.getAddress().equals(view.getCoord());
+  }
+
+  /**
+   * Sends the request to the coordinator and returns its response. The request is handled in the
+   * calling thread when this member is the coordinator.
+   *
+   * @throws IllegalStateException when the request cannot be handled by the coordinator
+   */
+  protected Object callCoordinator(Serializable request) {
+    for (int attempt = 1; ; attempt++) {
+      Address coordinator = channel.getView().getCoord();
+      Object response;
+      try {
+        if (coordinator.equals(channel.getAddress())) {
+          response = handleRequest(request, coordinator);
+        } else {
+          response =
+              dispatcher.sendMessage(
+                  new Message(coordinator, request).setFlag(Message.Flag.OOB),
+                  RequestOptions.SYNC().setTimeout(REQUEST_TIMEOUT_MS));
+        }
+      } catch (SuspectedException e) {
+        response = Redirect.NOT_COORDINATOR;
+      } catch (Exception e) {
+        throw new IllegalStateException(
+            "Request to the cluster coordinator failed. " + e.getMessage(), e);
+      }
+
+      if (response != Redirect.NOT_COORDINATOR) {
+        return response;
+      }
+      if (attempt == MAX_ATTEMPTS) {
+        throw new IllegalStateException("Cluster coordinator is not available");
+      }
+      try {
+        Thread.sleep(RETRY_DELAY_MS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for cluster coordinator", e);
+      }
+    }
+  }
+
+  /** Sends the request to the coordinator without waiting for the response. */
+  protected void sendToCoordinator(Serializable request) {
+    try {
+      dispatcher.sendMessage(
+          new Message(channel.getView().getCoord(), request).setFlag(Message.Flag.OOB),
+          RequestOptions.ASYNC());
+    } catch (Exception e) {
+      LOG.error("Unable to send request to the cluster coordinator.", e);
+    }
+  }
+
+  /**
+   * Sends the message to all the members of the cluster except this one and waits until it is
+   * handled. Members which are suspected to have left the cluster are not waited for.
+   *
+   * @throws IllegalStateException when the message is not handled by some of the members
+   */
+  protected void castToOthers(Serializable message) {
+    List<Address> others = new ArrayList<>(channel.getView().getMembers());
+    others.remove(channel.getAddress());
+    if (others.isEmpty()) {
+      return;
+    }
+    RspList<Object> responses;
+    try {
+      responses =
+          dispatcher.castMessage(
+              others,
+              new Message(null, message).setFlag(Message.Flag.OOB),
+              RequestOptions.SYNC().setTimeout(REQUEST_TIMEOUT_MS));
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          "Unable to replicate change to the cluster members. " + e.getMessage(), e);
+    }
+    List<Address> failed = new ArrayList<>();
+    for (Rsp<Object> response : responses.values()) {
+      if (!response.wasSuspected() && (!response.wasReceived() || response.hasException())) {
+        failed.add(response.getSender());
+      }
+    }
+    if (!failed.isEmpty()) {
+      throw new IllegalStateException("Change is not replicated to the cluster members " + failed);
+    }
+  }
+
+  static JChannel createChannel(String confFile) throws Exception {
+    try {
+      return new JChannel(confFile);
+    } catch (Exception e) {
+      LOG.error("Unable to create channel from configuration '" + confFile + "'.", e);
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.workspace.cluster;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.WorkspaceLockService;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.View;
+import org.slf4j.Logger;
+
+/**
+ * JGroups based implementation of {@link WorkspaceLockService} which synchronizes workspace
+ * operations between all the members of the cluster.
+ *
+ * <p>Write locks are backed by leases granted by the coordinator of the cluster. A lease is renewed
+ * periodically while the lock is held and expires if its holder stops renewing it, e.g. because of
+ * a hung thread, or leaves the cluster. When the coordinator changes, members re-register the
+ * leases they hold with the new one, which doesn't grant new leases for a short period.
+ *
+ * <p>If a lease cannot be renewed before it expires, e.g. because it is already granted to another
+ * member or the coordinator is not reachable, the member gives the lease up and interrupts the
+ * thread holding the lock, so the guarded operation is stopped instead of running without the lock.
+ * The lock can't be reentered after that and unlocking it doesn't affect the new holder.
+ *
+ * <p>Read locks are local to the member, as they only guard reads of the member local state, e.g.
+ * runtimes started by the member, while statuses are read from the replicated {@link
+ * JGroupsWorkspaceStatusCache}. Both kinds of locks are also backed by local striped locks, so only
+ * one thread of a member competes for the lease of a workspace.
+ */
+@Singleton
+public class JGroupsWorkspaceLockService extends JGroupsCoordinatedService
+    implements WorkspaceLockService {
+
+  private static final Logger LOG = getLogger(JGroupsWorkspaceLockService.class);
+
+  private static final String CLUSTER_NAME = "WorkspaceLockChannel";
+
+  /** Period of held leases renewal, lease duration must be several times longer. */
+  private static final long RENEW_PERIOD_SEC = 10;
+
+  private static final long RENEW_PERIOD_MS = SECONDS.toMillis(RENEW_PERIOD_SEC);
+
+  private static final long MIN_BACKOFF_MS = 10;
+  private static final long MAX_BACKOFF_MS = 200;
+  private static final long REREGISTRATION_PERIOD_MS = 2000;
+
+  private final long leaseMs;
+  private final long acquireTimeoutMs;
+  private final StripedLocks localLocks = new StripedLocks(16);
+
+  /** Leases held by this member, modified only under the local write lock of the key. */
+  private final Map<String, HeldLease> heldLeases = new ConcurrentHashMap<>();
+
+  /** Leases granted by this member while it is the coordinator. */
+  private final Map<String, Lease> grantedLeases = new ConcurrentHashMap<>();
+
+  private volatile Address coordinator;
+  private volatile long grantsPausedUntil;
+
+  @Inject
+  public JGroupsWorkspaceLockService(
+      @Named("jgroups.config.file") String confFile,
+      @Named("che.workspace.lock.lease_sec") long leaseSec,
+      @Named("che.workspace.lock.acquire_timeout_sec") long acquireTimeoutSec)
+      throws Exception {
+    this(createChannel(confFile), SECONDS.toMillis(leaseSec), SECONDS.toMillis(acquireTimeoutSec));
+  }
+
+  @VisibleForTesting
+  JGroupsWorkspaceLockService(JChannel channel, long leaseMs, long acquireTimeoutMs)
+      throws Exception {
+    super(channel);
+    this.leaseMs = leaseMs;
+    this.acquireTimeoutMs = acquireTimeoutMs;
+    connect(CLUSTER_NAME, false);
+  }
+
+  @Override
+  public Unlocker readLock(String key) {
+    return localLocks.readLock(key);
+  }
+
+  @Override
+  public Unlocker writeLock(String key) {
+    Unlocker localLock = localLocks.writeLock(key);
+    try {
+      acquireLease(key);
+    } catch (RuntimeException e) {
+      localLock.unlock();
+      throw e;
+    }
+    return () -> {
+      try {
+        releaseLease(key);
+      } finally {
+        localLock.unlock();
+      }
+    };
+  }
+
+  /**
+   * Renews the leases held by this member, gives up the leases which are lost or would expire
+   * before the next renewal.
+   */
+  @ScheduleDelay(initialDelay = RENEW_PERIOD_SEC, delay = RENEW_PERIOD_SEC)
+  void renewLeases() {
+    for (Map.Entry<String, HeldLease> entry : heldLeases.entrySet()) {
+      String key = entry.getKey();
+      HeldLease held = entry.getValue();
+      if (held.lost) {
+        continue;
+      }
+      long sentAt = System.currentTimeMillis();
+      try {
+        if (Boolean.TRUE.equals(
+            callCoordinator(new LeaseRequest(LeaseRequest.Type.RENEW, key, held.token)))) {
+          held.renewedAt = sentAt;
+          continue;
+        }
+        LOG.error("Lease of workspace lock '{}' is granted to another holder", key);
+      } catch (RuntimeException e) {
+        if (sentAt + RENEW_PERIOD_MS < held.renewedAt + leaseMs) {
+          LOG.warn("Unable to renew lease of workspace lock '{}', retrying later", key, e);
+          continue;
+        }
+        LOG.error("Unable to renew lease of workspace lock '" + key + "' before it expires", e);
+      }
+      giveUp(key, held);
+    }
+  }
+
+  @Override
+  public void viewAccepted(View view) {
+    Address previous = coordinator;
+    Address current = view.getCoord();
+    boolean changed = previous != null && !previous.equals(current);
+
+    if (channel.getAddress() != null && channel.getAddress().equals(current)) {
+      grantedLeases.values().removeIf(lease -> !view.containsMember(lease.owner));
+      if (changed) {
+        // leases granted by the previous coordinator are re-registered by their holders,
+        // pause is set before this member starts granting leases as the coordinator
+        grantsPausedUntil = System.currentTimeMillis() + REREGISTRATION_PERIOD_MS;
+        coordinator = current;
+        heldLeases.forEach(
+            (key, held) -> {
+              if (!held.lost
+                  && !grant(new LeaseRequest(LeaseRequest.Type.RENEW, key, held.token), current)) {
+                giveUp(key, held);
+              }
+            });
+      }
+      coordinator = current;
+    } else {
+      coordinator = current;
+      if (changed) {
+        // leases granted while this member was the coordinator are re-registered with the new one
+        grantedLeases.clear();
+        heldLeases.forEach(
+            (key, held) -> {
+              if (!held.lost) {
+                sendToCoordinator(new LeaseRequest(LeaseRequest.Type.RENEW, key, held.token));
+              }
+            });
+      }
+    }
+  }
+
+  @Override
+  protected Object handleRequest(Object request, Address source) {
+    if (!isCoordinator()) {
+      return Redirect.NOT_COORDINATOR;
+    }
+    LeaseRequest leaseRequest = (LeaseRequest) request;
+    switch (leaseRequest.type) {
+      case ACQUIRE:
+        return !isReregistering() && grant(leaseRequest, source);
+      case RENEW:
+        return grant(leaseRequest, source);
+      case RELEASE:
+        grantedLeases.computeIfPresent(
+            leaseRequest.key,
+            (key, lease) -> lease.token.equals(leaseRequest.token) ? null : lease);
+        return true;
+      default:
+        throw new IllegalArgumentException("Unknown request type " + leaseRequest.type);
+    }
+  }
+
+  /**
+   * Returns true while the holders re-register their leases with this member, which became the
+   * coordinator recently or is becoming it and hasn't accepted the new view yet.
+   */
+  private boolean isReregistering() {
+    return System.currentTimeMillis() < grantsPausedUntil
+        || !channel.getAddress().equals(coordinator);
+  }
+
+  private boolean grant(LeaseRequest request, Address source) {
+    long now = System.currentTimeMillis();
+    View view = channel.getView();
+    Lease lease =
+        grantedLeases.compute(
+            request.key,
+            (key, existing) -> {
+              if (existing != null && existing.token.equals(request.token)) {
+                return new Lease(source, request.token, now + leaseMs);
+              }
+              if (request.type == LeaseRequest.Type.RENEW) {
+                // a lease which is not known can be renewed only when it is re-registered
+                // with the new coordinator, otherwise it has expired
+                return existing == null && isReregistering()
+                    ? new Lease(source, request.token, now + leaseMs)
+                    : existing;
+              }
+              if (existing == null
+                  || existing.expiresAt <= now
+                  || !view.containsMember(existing.owner)) {
+                return new Lease(source, request.token, now + leaseMs);
+              }
+              return existing;
+            });
+    return lease.token.equals(request.token);
+  }
+
+  private void acquireLease(String key) {
+    HeldLease held = heldLeases.get(key);
+    if (held != null) {
+      synchronized (held) {
+        if (held.lost) {
+          throw new IllegalStateException(format("Lock of workspace '%s' is lost", key));
+        }
+        held.holdCount++;
+      }
+      return;
+    }
+
+    String token = UUID.randomUUID().toString();
+    LeaseRequest request = new LeaseRequest(LeaseRequest.Type.ACQUIRE, key, token);
+    long acquiredAt = System.currentTimeMillis();
+    long deadline = acquiredAt + acquireTimeoutMs;
+    long backoff = MIN_BACKOFF_MS;
+    while (!Boolean.TRUE.equals(callCoordinator(request))) {
+      long remaining = deadline - System.currentTimeMillis();
+      if (remaining <= 0) {
+        throw new IllegalStateException(
+            format("Unable to acquire lock of workspace '%s' in %s ms", key, acquireTimeoutMs));
+      }
+      try {
+        Thread.sleep(Math.min(backoff, remaining));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(
+            format("Interrupted while acquiring lock of workspace '%s'", key), e);
+      }
+      backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+      acquiredAt = System.currentTimeMillis();
+    }
+    heldLeases.put(key, new HeldLease(token, acquiredAt));
+  }
+
+  private void releaseLease(String key) {
+    HeldLease held = heldLeases.get(key);
+    if (held == null) {
+      return;
+    }
+    synchronized (held) {
+      if (--held.holdCount > 0) {
+        return;
+      }
+      // the lease can't be given up after this, so the holder thread is not interrupted anymore
+      heldLeases.remove(key);
+    }
+    if (held.lost) {
+      return;
+    }
+    try {
+      callCoordinator(new LeaseRequest(LeaseRequest.Type.RELEASE, key, held.token));
+    } catch (RuntimeException e) {
+      LOG.warn("Unable to release lock of workspace '{}', it will expire with its lease", key, e);
+    }
+  }
+
+  /**
+   * Gives up the lease which can't be renewed, so the coordinator may grant it to another member,
+   * and interrupts the thread holding the lock to stop the guarded operation. Does nothing if the
+   * lease is released meanwhile, as the thread may run an unrelated task already.
+   */
+  private void giveUp(String key, HeldLease held) {
+    synchronized (held) {
+      if (heldLeases.get(key) != held || held.holdCount <= 0) {
+        return;
+      }
+      held.lost = true;
+      held.holder.interrupt();
+    }
+    sendToCoordinator(new LeaseRequest(LeaseRequest.Type.RELEASE, key, held.token));
+  }
+
+  /** Lease held by this member, its hold count and release are guarded by its monitor. */
+  private static class HeldLease {
+    private final String token;
+    private final Thread holder = Thread.currentThread();
+
+    /** Modified only by the holder thread. */
+    private int holdCount = 1;
+
+    /** Time of sending the last request which granted or renewed the lease. */
+    private volatile long renewedAt;
+
+    private volatile boolean lost;
+
+    private HeldLease(String token, long renewedAt) {
+      this.token = token;
+      this.renewedAt = renewedAt;
+    }
+  }
+
+  /** Lease granted by the coordinator. */
+  private static class Lease {
+    private final Address owner;
+    private final String token;
+    private final long expiresAt;
+
+    private Lease(Address owner, String token, long expiresAt) {
+      this.owner = owner;
+      this.token = token;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  /** Request of a lease handled by the coordinator. */
+  static class LeaseRequest implements Serializable {
+
+    enum Type {
+      ACQUIRE,
+      RENEW,
+      RELEASE
+    }
+
+    private final Type type;
+    private final String key;
+    private final String token;
+
+    LeaseRequest(Type type, String key, String token) {
+      this.type = type;
+      this.key = key;
+      this.token = token;
+    }
+  }
+}
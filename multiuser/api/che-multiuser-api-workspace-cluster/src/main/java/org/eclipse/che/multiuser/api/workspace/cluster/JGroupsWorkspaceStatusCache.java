@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.workspace.cluster;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.WorkspaceStatusCache;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.jgroups.Address;
+import org.jgroups.JChannel;
+import org.jgroups.View;
+import org.jgroups.util.Util;
+import org.slf4j.Logger;
+
+/**
+ * JGroups based implementation of {@link WorkspaceStatusCache} replicated between all the members
+ * of the cluster.
+ *
+ * <p>Each member keeps a near cache of all the statuses, so {@link #get(String)} and {@link
+ * #asMap()} never leave the member. Modifications are applied atomically by the coordinator which
+ * replicates the result to all the other members before responding, so once a modification returns
+ * its result is visible on every member. If some of the members don't confirm the replicated
+ * result, the modification fails with {@link IllegalStateException}, so the caller doesn't proceed
+ * as if it were visible everywhere.
+ *
+ * <p>The member which modified a status last is its owner. When the owner leaves the cluster, e.g.
+ * crashes, the coordinator removes its statuses, as the runtimes they describe were managed by the
+ * member which is gone, just like statuses of a single member are lost when it is restarted.
+ */
+@Singleton
+public class JGroupsWorkspaceStatusCache extends JGroupsCoordinatedService
+    implements WorkspaceStatusCache {
+
+  private static final Logger LOG = getLogger(JGroupsWorkspaceStatusCache.class);
+
+  private static final String CLUSTER_NAME = "WorkspaceStatusChannel";
+
+  private final Map<String, WorkspaceStatus> nearCache = new ConcurrentHashMap<>();
+
+  /** Members which modified the statuses last. */
+  private final Map<String, Address> owners = new ConcurrentHashMap<>();
+
+  /**
+   * Removes statuses of the members which left the cluster, outside of the view change callback as
+   * the removal is replicated synchronously.
+   */
+  private final ExecutorService reclaimer =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("WorkspaceStatusReclaimer")
+              .setDaemon(true)
+              .build());
+
+  /** Serializes modifications of the same workspace status on the coordinator. */
+  private final StripedLocks coordinatorLocks = new StripedLocks(16);
+
+  @Inject
+  public JGroupsWorkspaceStatusCache(@Named("jgroups.config.file") String confFile)
+      throws Exception {
+    this(createChannel(confFile));
+  }
+
+  @VisibleForTesting
+  JGroupsWorkspaceStatusCache(JChannel channel) throws Exception {
+    super(channel);
+    connect(CLUSTER_NAME, true);
+  }
+
+  @Override
+  public WorkspaceStatus get(String workspaceId) {
+    return nearCache.get(workspaceId);
+  }
+
+  @Override
+  public WorkspaceStatus replace(String workspaceId, WorkspaceStatus newStatus) {
+    return (WorkspaceStatus)
+        callCoordinator(
+            new StatusRequest(StatusRequest.Type.REPLACE, workspaceId, null, newStatus));
+  }
+
+  @Override
+  public boolean replace(
+      String workspaceId, WorkspaceStatus prevStatus, WorkspaceStatus newStatus) {
+    return (Boolean)
+        callCoordinator(
+            new StatusRequest(
+                StatusRequest.Type.REPLACE_IF_EQUALS, workspaceId, prevStatus, newStatus));
+  }
+
+  @Override
+  public WorkspaceStatus remove(String workspaceId) {
+    return (WorkspaceStatus)
+        callCoordinator(new StatusRequest(StatusRequest.Type.REMOVE, workspaceId, null, null));
+  }
+
+  @Override
+  public WorkspaceStatus putIfAbsent(String workspaceId, WorkspaceStatus status) {
+    return (WorkspaceStatus)
+        callCoordinator(
+            new StatusRequest(StatusRequest.Type.PUT_IF_ABSENT, workspaceId, null, status));
+  }
+
+  @Override
+  public Map<String, WorkspaceStatus> asMap() {
+    return new HashMap<>(nearCache);
+  }
+
+  @Override
+  protected Object handleRequest(Object request, Address source) {
+    if (request instanceof StatusUpdate) {
+      StatusUpdate update = (StatusUpdate) request;
+      updateNearCache(update.workspaceId, update.status, update.owner);
+      return null;
+    }
+    if (!isCoordinator()) {
+      return Redirect.NOT_COORDINATOR;
+    }
+    return apply((StatusRequest) request, source);
+  }
+
+  @Override
+  public void viewAccepted(View view) {
+    if (!view.getCoord().equals(channel.getAddress())) {
+      return;
+    }
+    List<String> orphaned = new ArrayList<>();
+    owners.forEach(
+        (workspaceId, owner) -> {
+          if (!view.containsMember(owner)) {
+            orphaned.add(workspaceId);
+          }
+        });
+    if (!orphaned.isEmpty()) {
+      reclaimer.execute(() -> orphaned.forEach(this::reclaim));
+    }
+  }
+
+  @Override
+  public void getState(OutputStream output) throws Exception {
+    DataOutputStream out = new DataOutputStream(output);
+    Util.objectToStream(new HashMap<>(nearCache), out);
+    Util.objectToStream(new HashMap<>(owners), out);
+    out.flush();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void setState(InputStream input) throws Exception {
+    DataInputStream in = new DataInputStream(input);
+    nearCache.putAll((Map<String, WorkspaceStatus>) Util.objectFromStream(in));
+    owners.putAll((Map<String, Address>) Util.objectFromStream(in));
+  }
+
+  @Override
+  @PreDestroy
+  void close() {
+    reclaimer.shutdownNow();
+    super.close();
+  }
+
+  /** Removes the status of the workspace if its owner is not a member of the cluster anymore. */
+  private void reclaim(String workspaceId) {
+    try (Unlocker ignored = coordinatorLocks.writeLock(workspaceId)) {
+      Address owner = owners.get(workspaceId);
+      if (owner == null || channel.getView().containsMember(owner)) {
+        return;
+      }
+      LOG.warn(
+          "Removing status '{}' of workspace '{}' owned by member '{}' which left the cluster",
+          nearCache.get(workspaceId),
+          workspaceId,
+          owner);
+      updateNearCache(workspaceId, null, null);
+      castToOthers(new StatusUpdate(workspaceId, null, null));
+    } catch (RuntimeException e) {
+      LOG.error("Unable to remove status of workspace '" + workspaceId + "'", e);
+    }
+  }
+
+  private Object apply(StatusRequest request, Address source) {
+    try (Unlocker ignored = coordinatorLocks.writeLock(request.workspaceId)) {
+      WorkspaceStatus current = nearCache.get(request.workspaceId);
+      WorkspaceStatus updated = current;
+      Object result = current;
+      switch (request.type) {
+        case REPLACE:
+          if (current != null) {
+            updated = request.status;
+          }
+          break;
+        case REPLACE_IF_EQUALS:
+          boolean replaced = current != null && current == request.expected;
+          if (replaced) {
+            updated = request.status;
+          }
+          result = replaced;
+          break;
+        case REMOVE:
+          updated = null;
+          break;
+        case PUT_IF_ABSENT:
+          if (current == null) {
+            updated = request.status;
+          }
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown request type " + request.type);
+      }
+
+      if (updated != current) {
+        updateNearCache(request.workspaceId, updated, source);
+        castToOthers(new StatusUpdate(request.workspaceId, updated, source));
+      }
+      return result;
+    }
+  }
+
+  private void updateNearCache(String workspaceId, WorkspaceStatus status, Address owner) {
+    if (status == null) {
+      nearCache.remove(workspaceId);
+      owners.remove(workspaceId);
+    } else {
+      nearCache.put(workspaceId, status);
+      owners.put(workspaceId, owner);
+    }
+  }
+
+  /** Modification of a workspace status handled by the coordinator. */
+  static class StatusRequest implements Serializable {
+
+    enum Type {
+      REPLACE,
+      REPLACE_IF_EQUALS,
+      REMOVE,
+      PUT_IF_ABSENT
+    }
+
+    private final Type type;
+    private final String workspaceId;
+    private final WorkspaceStatus expected;
+    private final WorkspaceStatus status;
+
+    StatusRequest(Type type, String workspaceId, WorkspaceStatus expected, WorkspaceStatus status) {
+      this.type = type;
+      this.workspaceId = workspaceId;
+      this.expected = expected;
+      this.status = status;
+    }
+  }
+
+  /** New value of a workspace status replicated by the coordinator, {@code null} if removed. */
+  static class StatusUpdate implements Serializable {
+    private final String workspaceId;
+    private final WorkspaceStatus status;
+    private final Address owner;
+
+    StatusUpdate(String workspaceId, WorkspaceStatus status, Address owner) {
+      this.workspaceId = workspaceId;
+      this.status = status;
+      this.owner = owner;
+    }
+  }
+}
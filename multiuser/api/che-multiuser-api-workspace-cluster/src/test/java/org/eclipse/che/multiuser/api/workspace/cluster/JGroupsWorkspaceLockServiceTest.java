@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.workspace.cluster;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+import org.jgroups.JChannel;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link JGroupsWorkspaceLockService} with several cluster members connected over in-JVM
+ * loopback channels.
+ */
+public class JGroupsWorkspaceLockServiceTest {
+  private static final String CONFIG = "jgroups/che-test-loopback.xml";
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final long LONG_LEASE_MS = 60_000;
+
+  private final List<JGroupsWorkspaceLockService> members = new ArrayList<>();
+
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+    members.forEach(JGroupsWorkspaceLockService::close);
+    members.clear();
+  }
+
+  @Test
+  public void shouldExcludeWriteLocksOfDifferentMembers() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 10_000);
+
+    Unlocker unlocker = member1.writeLock(WORKSPACE_ID);
+    Future<?> acquired = lockAndUnlock(member2);
+    assertBlocked(acquired);
+
+    unlocker.unlock();
+
+    acquired.get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldReleaseWriteLockOnlyWhenAllReentrantHoldsAreReleased() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 10_000);
+
+    Unlocker outer = member1.writeLock(WORKSPACE_ID);
+    member1.writeLock(WORKSPACE_ID).unlock();
+    Future<?> acquired = lockAndUnlock(member2);
+    assertBlocked(acquired);
+
+    outer.unlock();
+
+    acquired.get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldGrantWriteLockWhenLeaseOfHolderExpires() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(500, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(500, 10_000);
+
+    member1.writeLock(WORKSPACE_ID);
+
+    lockAndUnlock(member2).get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldNotExpireRenewedLease() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(1000, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(1000, 500);
+
+    member1.writeLock(WORKSPACE_ID);
+    for (int i = 0; i < 3; i++) {
+      Thread.sleep(500);
+      member1.renewLeases();
+    }
+
+    assertAcquisitionFails(lockAndUnlock(member2));
+  }
+
+  @Test
+  public void shouldFailWhenWriteLockIsNotAcquiredInTime() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 300);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 300);
+
+    member1.writeLock(WORKSPACE_ID);
+
+    assertAcquisitionFails(lockAndUnlock(member2));
+  }
+
+  @Test
+  public void shouldGrantWriteLockWhenHolderLeavesCluster() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 10_000);
+
+    member2.writeLock(WORKSPACE_ID);
+    Future<?> acquired = lockAndUnlock(member1);
+    assertBlocked(acquired);
+
+    member2.close();
+
+    acquired.get(5, SECONDS);
+  }
+
+  @Test
+  public void shouldKeepWriteLockWhenCoordinatorLeavesCluster() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 3000);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 3000);
+    JGroupsWorkspaceLockService member3 = startMember(LONG_LEASE_MS, 3000);
+
+    Unlocker unlocker = member3.writeLock(WORKSPACE_ID);
+    member1.close();
+
+    assertAcquisitionFails(lockAndUnlock(member2));
+    unlocker.unlock();
+    member2.writeLock(WORKSPACE_ID).unlock();
+  }
+
+  @Test
+  public void shouldGiveUpLeaseAndInterruptHolderWhenRenewalFails() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(500, 10_000);
+    JGroupsWorkspaceLockService member2 = startMember(500, 300);
+    CountDownLatch locked = new CountDownLatch(1);
+    Future<Boolean> interrupted =
+        executor.submit(
+            () -> {
+              Unlocker unlocker = member1.writeLock(WORKSPACE_ID);
+              try {
+                locked.countDown();
+                Thread.sleep(LONG_LEASE_MS);
+                return false;
+              } catch (InterruptedException e) {
+                return true;
+              } finally {
+                unlocker.unlock();
+              }
+            });
+    assertTrue(locked.await(5, SECONDS));
+    Thread.sleep(600);
+    // lease of member1 is expired and granted to member2
+    member2.writeLock(WORKSPACE_ID);
+
+    member1.renewLeases();
+
+    assertTrue(interrupted.get(5, SECONDS));
+    // unlock of the lost lease doesn't release the lock of member2
+    member2.renewLeases();
+    JGroupsWorkspaceLockService member3 = startMember(500, 300);
+    assertAcquisitionFails(lockAndUnlock(member3));
+  }
+
+  @Test
+  public void shouldNotExcludeReadLocksOfDifferentMembers() throws Exception {
+    JGroupsWorkspaceLockService member1 = startMember(LONG_LEASE_MS, 300);
+    JGroupsWorkspaceLockService member2 = startMember(LONG_LEASE_MS, 300);
+
+    member1.writeLock(WORKSPACE_ID);
+
+    executor.submit(() -> member2.readLock(WORKSPACE_ID).unlock()).get(5, SECONDS);
+  }
+
+  private JGroupsWorkspaceLockService startMember(long leaseMs, long acquireTimeoutMs)
+      throws Exception {
+    JGroupsWorkspaceLockService member =
+        new JGroupsWorkspaceLockService(new JChannel(CONFIG), leaseMs, acquireTimeoutMs);
+    members.add(member);
+    return member;
+  }
+
+  private Future<?> lockAndUnlock(JGroupsWorkspaceLockService member) {
+    return executor.submit(() -> member.writeLock(WORKSPACE_ID).unlock());
+  }
+
+  private static void assertBlocked(Future<?> acquisition) throws Exception {
+    try {
+      acquisition.get(500, MILLISECONDS);
+      throw new AssertionError("Lock is acquired while it is held by another member");
+    } catch (TimeoutException expected) {
+      assertFalse(acquisition.isDone());
+    }
+  }
+
+  private static void assertAcquisitionFails(Future<?> acquisition) throws Exception {
+    try {
+      acquisition.get(10, SECONDS);
+      throw new AssertionError("Lock is acquired while it is held by another member");
+    } catch (ExecutionException expected) {
+      if (!(expected.getCause() instanceof IllegalStateException)) {
+        throw expected;
+      }
+    }
+  }
+}
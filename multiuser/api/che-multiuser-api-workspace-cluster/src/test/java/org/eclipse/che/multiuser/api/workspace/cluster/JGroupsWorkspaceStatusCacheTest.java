@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.api.workspace.cluster;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import org.jgroups.JChannel;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link JGroupsWorkspaceStatusCache} with several cluster members connected over in-JVM
+ * loopback channels.
+ */
+public class JGroupsWorkspaceStatusCacheTest {
+  private static final String CONFIG = "jgroups/che-test-loopback.xml";
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final long TIMEOUT_MS = 10_000;
+
+  private final List<JGroupsWorkspaceStatusCache> members = new ArrayList<>();
+
+  private JGroupsWorkspaceStatusCache member1;
+  private JGroupsWorkspaceStatusCache member2;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    member1 = startMember();
+    member2 = startMember();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    members.forEach(JGroupsWorkspaceStatusCache::close);
+    members.clear();
+  }
+
+  @Test
+  public void shouldReplicateStatusBeforeModificationReturns() throws Exception {
+    assertNull(member2.putIfAbsent(WORKSPACE_ID, STARTING));
+
+    assertEquals(member1.get(WORKSPACE_ID), STARTING);
+    assertEquals(member2.get(WORKSPACE_ID), STARTING);
+    assertEquals(member1.putIfAbsent(WORKSPACE_ID, RUNNING), STARTING);
+  }
+
+  @Test
+  public void shouldReplaceStatus() throws Exception {
+    assertNull(member2.replace(WORKSPACE_ID, RUNNING));
+    assertNull(member1.get(WORKSPACE_ID));
+
+    member1.putIfAbsent(WORKSPACE_ID, STARTING);
+
+    assertEquals(member2.replace(WORKSPACE_ID, RUNNING), STARTING);
+    assertEquals(member1.get(WORKSPACE_ID), RUNNING);
+  }
+
+  @Test
+  public void shouldReplaceStatusOnlyIfExpectedStatusMatches() throws Exception {
+    member1.putIfAbsent(WORKSPACE_ID, STARTING);
+
+    assertTrue(member2.replace(WORKSPACE_ID, STARTING, STOPPING));
+    assertFalse(member1.replace(WORKSPACE_ID, STARTING, RUNNING));
+    assertEquals(member1.get(WORKSPACE_ID), STOPPING);
+  }
+
+  @Test
+  public void shouldAllowOnlyOneConcurrentTransition() throws Exception {
+    member1.putIfAbsent(WORKSPACE_ID, STARTING);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Callable<Boolean> stop1 = () -> member1.replace(WORKSPACE_ID, STARTING, STOPPING);
+      Callable<Boolean> stop2 = () -> member2.replace(WORKSPACE_ID, STARTING, STOPPING);
+      List<Future<Boolean>> results = executor.invokeAll(asList(stop1, stop2));
+
+      assertTrue(results.get(0).get() ^ results.get(1).get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldReplicateRemoval() throws Exception {
+    member1.putIfAbsent(WORKSPACE_ID, RUNNING);
+
+    assertEquals(member2.remove(WORKSPACE_ID), RUNNING);
+
+    assertNull(member1.get(WORKSPACE_ID));
+    assertTrue(member1.asMap().isEmpty());
+  }
+
+  @Test
+  public void shouldTransferStatusesToJoiningMember() throws Exception {
+    member1.putIfAbsent(WORKSPACE_ID, RUNNING);
+    member2.putIfAbsent("workspace234", STARTING);
+
+    JGroupsWorkspaceStatusCache member3 = startMember();
+
+    assertEquals(member3.asMap(), ImmutableMap.of(WORKSPACE_ID, RUNNING, "workspace234", STARTING));
+  }
+
+  @Test
+  public void shouldKeepStatusesWhenCoordinatorLeavesCluster() throws Exception {
+    member2.putIfAbsent(WORKSPACE_ID, RUNNING);
+
+    member1.close();
+
+    assertEquals(member2.get(WORKSPACE_ID), RUNNING);
+    assertTrue(member2.replace(WORKSPACE_ID, RUNNING, STOPPING));
+  }
+
+  @Test
+  public void shouldRemoveStatusesOwnedByMemberWhichLeftCluster() throws Exception {
+    JGroupsWorkspaceStatusCache member3 = startMember();
+    member2.putIfAbsent(WORKSPACE_ID, STARTING);
+    member3.putIfAbsent("workspace234", RUNNING);
+
+    member2.close();
+
+    waitFor(() -> member1.get(WORKSPACE_ID) == null && member3.get(WORKSPACE_ID) == null);
+    assertEquals(member1.asMap(), ImmutableMap.of("workspace234", RUNNING));
+    assertEquals(member3.asMap(), ImmutableMap.of("workspace234", RUNNING));
+  }
+
+  @Test
+  public void shouldRemoveStatusesOwnedByCoordinatorWhichLeftCluster() throws Exception {
+    member1.putIfAbsent(WORKSPACE_ID, RUNNING);
+    JGroupsWorkspaceStatusCache member3 = startMember();
+
+    member1.close();
+
+    waitFor(() -> member2.get(WORKSPACE_ID) == null && member3.get(WORKSPACE_ID) == null);
+    assertNull(member2.putIfAbsent(WORKSPACE_ID, STARTING));
+  }
+
+  private JGroupsWorkspaceStatusCache startMember() throws Exception {
+    JGroupsWorkspaceStatusCache member = new JGroupsWorkspaceStatusCache(new JChannel(CONFIG));
+    members.add(member);
+    return member;
+  }
+
+  private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Condition is not satisfied within " + TIMEOUT_MS + "ms");
+      }
+      Thread.sleep(50);
+    }
+  }
+}
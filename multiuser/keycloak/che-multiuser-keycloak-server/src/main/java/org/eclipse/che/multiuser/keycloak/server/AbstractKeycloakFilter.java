@@ -23,6 +23,8 @@ import javax.servlet.Filter;
 import javax.servlet.FilterConfig;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache.VerifiedToken;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
 
 /**
@@ -30,10 +32,14 @@ import org.eclipse.che.multiuser.machine.authentication.server.signature.Signatu
  *
  * <p>In particular it defines commnon use-cases when the authentication / multi-user logic should
  * be skipped
+ *
+ * <p>Tokens verified by the filters are cached in {@link VerifiedTokenCache}, so the kind of an
+ * already verified token is resolved without the signature check.
  */
 public abstract class AbstractKeycloakFilter implements Filter {
 
   @Inject protected SignatureKeyManager signatureKeyManager;
+  @Inject protected VerifiedTokenCache tokenCache;
 
   /** when a request came from a machine with valid token then auth is not required */
   protected boolean shouldSkipAuthentication(HttpServletRequest request, String token) {
@@ -44,8 +50,12 @@ public abstract class AbstractKeycloakFilter implements Filter {
       }
       return false;
     }
+    final PublicKey publicKey = signatureKeyManager.getKeyPair().getPublic();
+    final VerifiedToken verified = tokenCache.get(token);
+    if (verified != null && (!verified.isMachineToken() || publicKey.equals(verified.getKey()))) {
+      return verified.isMachineToken();
+    }
     try {
-      final PublicKey publicKey = signatureKeyManager.getKeyPair().getPublic();
       final Jwt jwt = Jwts.parser().setSigningKey(publicKey).parse(token);
       return MACHINE_TOKEN_KIND.equals(jwt.getHeader().get("kind"));
     } catch (ExpiredJwtException | MalformedJwtException | SignatureException ex) {
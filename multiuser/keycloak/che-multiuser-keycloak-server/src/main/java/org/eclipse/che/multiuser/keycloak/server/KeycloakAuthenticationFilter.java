@@ -41,6 +41,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import org.eclipse.che.commons.auth.token.RequestTokenExtractor;
 import org.eclipse.che.multiuser.keycloak.shared.KeycloakConstants;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache.VerifiedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,7 +84,15 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       return;
     }
 
+    final VerifiedToken verified = tokenCache.get(token);
+    if (verified != null && !verified.isMachineToken() && isKeyValid(verified)) {
+      request.setAttribute("token", verified.getJws());
+      chain.doFilter(req, res);
+      return;
+    }
+
     Jws<Claims> jwt;
+    final PublicKey[] signingKey = new PublicKey[1];
     try {
       jwt =
           Jwts.parser()
@@ -94,7 +103,7 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
                     public Key resolveSigningKey(
                         @SuppressWarnings("rawtypes") JwsHeader header, Claims claims) {
                       try {
-                        return getJwtPublicKey(header);
+                        return signingKey[0] = getJwtPublicKey(header);
                       } catch (JwkException e) {
                         throw new JwtException(
                             "Error during the retrieval of the public key during JWT token validation",
@@ -115,11 +124,22 @@ public class KeycloakAuthenticationFilter extends AbstractKeycloakFilter {
       send403(res, "The specified token is expired");
       return;
     }
+    tokenCache.put(token, signingKey[0], jwt);
 
     request.setAttribute("token", jwt);
     chain.doFilter(req, res);
   }
 
+  /** Checks that the token was verified with the key which is still provided for its key id. */
+  private boolean isKeyValid(VerifiedToken verified) {
+    try {
+      return verified.getKey() != null
+          && verified.getKey().equals(getJwtPublicKey(verified.getJws().getHeader()));
+    } catch (JwkException e) {
+      return false;
+    }
+  }
+
   private synchronized PublicKey getJwtPublicKey(JwsHeader<?> header) throws JwkException {
     String kid = header.getKeyId();
     if (kid == null) {
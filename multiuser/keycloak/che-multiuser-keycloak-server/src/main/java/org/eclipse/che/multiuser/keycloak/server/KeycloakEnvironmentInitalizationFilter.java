@@ -32,6 +32,7 @@ import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache.VerifiedToken;
 
 /**
  * Sets subject attribute into session based on keycloak authentication data.
@@ -69,26 +70,34 @@ public class KeycloakEnvironmentInitalizationFilter extends AbstractKeycloakFilt
     final HttpSession session = httpRequest.getSession();
     Subject subject = (Subject) session.getAttribute("che_subject");
     if (subject == null || !subject.getToken().equals(token)) {
-      Jwt jwtToken = (Jwt) httpRequest.getAttribute("token");
-      if (jwtToken == null) {
-        throw new ServletException("Cannot detect or instantiate user.");
-      }
-      Claims claims = (Claims) jwtToken.getBody();
+      // clients which don't keep the session reuse the subject resolved by their previous requests
+      final VerifiedToken verified = tokenCache.get(token);
+      subject = verified != null ? verified.getSubject() : null;
+      if (subject == null) {
+        Jwt jwtToken = (Jwt) httpRequest.getAttribute("token");
+        if (jwtToken == null) {
+          throw new ServletException("Cannot detect or instantiate user.");
+        }
+        Claims claims = (Claims) jwtToken.getBody();
 
-      try {
-        User user =
-            userManager.getOrCreateUser(
-                claims.getSubject(),
-                claims.get("email", String.class),
-                claims.get("preferred_username", String.class));
-        subject =
-            new AuthorizedSubject(
-                new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
-        session.setAttribute("che_subject", subject);
-      } catch (ServerException | ConflictException e) {
-        throw new ServletException(
-            "Unable to identify user " + claims.getSubject() + " in Che database", e);
+        try {
+          User user =
+              userManager.getOrCreateUser(
+                  claims.getSubject(),
+                  claims.get("email", String.class),
+                  claims.get("preferred_username", String.class));
+          subject =
+              new AuthorizedSubject(
+                  new SubjectImpl(user.getName(), user.getId(), token, false), permissionChecker);
+        } catch (ServerException | ConflictException e) {
+          throw new ServletException(
+              "Unable to identify user " + claims.getSubject() + " in Che database", e);
+        }
+        if (verified != null) {
+          verified.setSubject(subject);
+        }
       }
+      session.setAttribute("che_subject", subject);
     }
 
     try {
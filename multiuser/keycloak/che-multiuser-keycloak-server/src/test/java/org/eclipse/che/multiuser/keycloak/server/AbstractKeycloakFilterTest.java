@@ -16,6 +16,8 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import java.io.IOException;
 import java.security.KeyPair;
@@ -27,9 +29,11 @@ import javax.servlet.ServletException;
 import javax.servlet.ServletRequest;
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
@@ -45,16 +49,18 @@ public class AbstractKeycloakFilterTest {
 
   @Mock private HttpServletRequest request;
   @Mock private SignatureKeyManager signatureKeyManager;
+  @Spy private VerifiedTokenCache tokenCache = new VerifiedTokenCache(10, 60);
 
   @InjectMocks private TestLoginFilter abstractKeycloakFilter;
 
+  private KeyPair keyPair;
   private String machineToken;
 
   @BeforeMethod
   public void setup() throws Exception {
     final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
     kpg.initialize(512);
-    final KeyPair keyPair = kpg.generateKeyPair();
+    keyPair = kpg.generateKeyPair();
     final Map<String, Object> header = new HashMap<>();
     header.put("kind", MACHINE_TOKEN_KIND);
     machineToken =
@@ -89,6 +95,49 @@ public class AbstractKeycloakFilterTest {
     assertTrue(abstractKeycloakFilter.shouldSkipAuthentication(request, machineToken));
   }
 
+  @Test
+  public void testAuthIsNotNeededWhenCachedMachineTokenProvided() throws Exception {
+    final String token = createMachineToken();
+    tokenCache.put(token, keyPair.getPublic(), parse(token, keyPair));
+
+    assertTrue(abstractKeycloakFilter.shouldSkipAuthentication(request, token));
+  }
+
+  @Test
+  public void testShouldNotSkipAuthWhenCachedTokenIsNotMachine() throws Exception {
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(512);
+    final KeyPair keycloakKeyPair = kpg.generateKeyPair();
+    final String token =
+        Jwts.builder().setSubject("user").signWith(RS256, keycloakKeyPair.getPrivate()).compact();
+    tokenCache.put(token, keycloakKeyPair.getPublic(), parse(token, keycloakKeyPair));
+
+    assertFalse(abstractKeycloakFilter.shouldSkipAuthentication(request, token));
+  }
+
+  @Test
+  public void testShouldNotSkipAuthWhenCachedMachineTokenIsSignedByRotatedKey() throws Exception {
+    final String token = createMachineToken();
+    tokenCache.put(token, keyPair.getPublic(), parse(token, keyPair));
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(512);
+    when(signatureKeyManager.getKeyPair()).thenReturn(kpg.generateKeyPair());
+
+    assertFalse(abstractKeycloakFilter.shouldSkipAuthentication(request, token));
+  }
+
+  private String createMachineToken() {
+    return Jwts.builder()
+        .setHeaderParam("kind", MACHINE_TOKEN_KIND)
+        .setSubject("user")
+        .signWith(RS256, keyPair.getPrivate())
+        .compact();
+  }
+
+  private static Jws<Claims> parse(String token, KeyPair keyPair) {
+    return Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token);
+  }
+
   static class TestLoginFilter extends AbstractKeycloakFilter {
     @Override
     public void doFilter(
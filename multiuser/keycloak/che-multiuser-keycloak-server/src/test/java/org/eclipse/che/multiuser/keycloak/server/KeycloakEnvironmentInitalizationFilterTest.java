@@ -16,12 +16,14 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClaims;
 import io.jsonwebtoken.impl.DefaultHeader;
@@ -43,6 +45,7 @@ import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
 import org.eclipse.che.multiuser.machine.authentication.shared.Constants;
 import org.mockito.ArgumentCaptor;
@@ -77,6 +80,7 @@ public class KeycloakEnvironmentInitalizationFilterTest {
     filter =
         new KeycloakEnvironmentInitalizationFilter(userManager, tokenExtractor, permissionChecker);
     filter.signatureKeyManager = keyManager;
+    filter.tokenCache = new VerifiedTokenCache(10, 60);
     final KeyPair kp = new KeyPair(mock(PublicKey.class), mock(PrivateKey.class));
     when(keyManager.getKeyPair()).thenReturn(kp);
   }
@@ -136,6 +140,34 @@ public class KeycloakEnvironmentInitalizationFilterTest {
     assertEquals(expectedSubject.getUserName(), captor.getAllValues().get(1).getUserName());
   }
 
+  @Test
+  public void shouldReuseSubjectOfVerifiedTokenWhenSessionIsNotKept() throws Exception {
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(1024);
+    final KeyPair keyPair = kpg.generateKeyPair();
+    final String token =
+        Jwts.builder()
+            .setSubject("id2")
+            .claim("email", "test@test.com")
+            .claim("preferred_username", "username")
+            .signWith(RS512, keyPair.getPrivate())
+            .compact();
+    final Jws<Claims> jws = Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token);
+    filter.tokenCache.put(token, keyPair.getPublic(), jws);
+    when(tokenExtractor.getToken(any(HttpServletRequest.class))).thenReturn(token);
+    when(request.getAttribute("token")).thenReturn(jws);
+    when(userManager.getOrCreateUser(anyString(), anyString(), anyString()))
+        .thenReturn(new UserImpl("id2", "test@test.com", "username"));
+
+    // when
+    filter.doFilter(request, response, chain);
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(userManager).getOrCreateUser("id2", "test@test.com", "username");
+    verify(chain, times(2)).doFilter(any(HttpServletRequest.class), eq(response));
+  }
+
   private DefaultJwt<Claims> createJwt() {
     Map<String, Object> claimParams = new HashMap<>();
     claimParams.put("email", "test@test.com");
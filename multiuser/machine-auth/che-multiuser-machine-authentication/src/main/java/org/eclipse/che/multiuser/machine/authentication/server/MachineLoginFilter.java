@@ -25,6 +25,7 @@ import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import java.io.IOException;
 import java.security.Principal;
+import java.security.PublicKey;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.servlet.Filter;
@@ -45,11 +46,15 @@ import org.eclipse.che.commons.subject.Subject;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.multiuser.api.permission.server.AuthorizedSubject;
 import org.eclipse.che.multiuser.api.permission.server.PermissionChecker;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache.VerifiedToken;
 import org.eclipse.che.multiuser.machine.authentication.server.signature.SignatureKeyManager;
 
 /**
  * Handles requests that comes from machines with specific machine token.
  *
+ * <p>Verified tokens and the subjects resolved for them are kept in {@link VerifiedTokenCache}, so
+ * the signature of the same token is verified and its user is looked up only once.
+ *
  * @author Max Shaposhnik (mshaposhnik@codenvy.com)
  * @author Anton Korneta
  */
@@ -60,17 +65,20 @@ public class MachineLoginFilter implements Filter {
   private final UserManager userManager;
   private final SignatureKeyManager keyManager;
   private final PermissionChecker permissionChecker;
+  private final VerifiedTokenCache tokenCache;
 
   @Inject
   public MachineLoginFilter(
       RequestTokenExtractor tokenExtractor,
       UserManager userManager,
       SignatureKeyManager keyManager,
-      PermissionChecker permissionChecker) {
+      PermissionChecker permissionChecker,
+      VerifiedTokenCache tokenCache) {
     this.tokenExtractor = tokenExtractor;
     this.userManager = userManager;
     this.keyManager = keyManager;
     this.permissionChecker = permissionChecker;
+    this.tokenCache = tokenCache;
   }
 
   @Override
@@ -87,45 +95,58 @@ public class MachineLoginFilter implements Filter {
       return;
     }
 
-    // check token signature and verify is this token machine or not
-    try {
-      final Jws<Claims> jwt =
-          Jwts.parser().setSigningKey(keyManager.getKeyPair().getPublic()).parseClaimsJws(token);
-      final Claims claims = jwt.getBody();
+    VerifiedToken verified = tokenCache.get(token);
+    if (verified != null && !verified.isMachineToken()) {
+      // token is already verified by another key, so it can't be a machine token
+      chain.doFilter(request, response);
+      return;
+    }
 
-      if (!isMachineToken(jwt)) {
+    final PublicKey publicKey = keyManager.getKeyPair().getPublic();
+    if (verified == null || !publicKey.equals(verified.getKey())) {
+      // check token signature and verify is this token machine or not
+      try {
+        final Jws<Claims> jwt = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
+        if (!isMachineToken(jwt)) {
+          chain.doFilter(request, response);
+          return;
+        }
+        verified = tokenCache.put(token, publicKey, jwt);
+      } catch (UnsupportedJwtException
+          | MalformedJwtException
+          | SignatureException
+          | ExpiredJwtException ex) {
+        // signature check failed
         chain.doFilter(request, response);
         return;
       }
+    }
 
-      try {
-        final String userId = claims.get(USER_ID_CLAIM, String.class);
+    try {
+      Subject authorizedSubject = verified.getSubject();
+      if (authorizedSubject == null) {
+        final String userId = verified.getJws().getBody().get(USER_ID_CLAIM, String.class);
         // check if user with such id exists
         final String userName = userManager.getById(userId).getName();
-        final Subject authorizedSubject =
+        authorizedSubject =
             new AuthorizedSubject(
                 new SubjectImpl(userName, userId, token, false), permissionChecker);
-        EnvironmentContext.getCurrent().setSubject(authorizedSubject);
-        chain.doFilter(addUserInRequest(httpRequest, authorizedSubject), response);
-      } catch (NotFoundException ex) {
-        sendErr(
-            response,
-            SC_UNAUTHORIZED,
-            "Authentication with machine token failed because user for this token no longer exist.");
-      } catch (ServerException ex) {
-        sendErr(
-            response,
-            SC_UNAUTHORIZED,
-            format("Authentication with machine token failed cause: %s", ex.getMessage()));
-      } finally {
-        EnvironmentContext.reset();
+        verified.setSubject(authorizedSubject);
       }
-    } catch (UnsupportedJwtException
-        | MalformedJwtException
-        | SignatureException
-        | ExpiredJwtException ex) {
-      // signature check failed
-      chain.doFilter(request, response);
+      EnvironmentContext.getCurrent().setSubject(authorizedSubject);
+      chain.doFilter(addUserInRequest(httpRequest, authorizedSubject), response);
+    } catch (NotFoundException ex) {
+      sendErr(
+          response,
+          SC_UNAUTHORIZED,
+          "Authentication with machine token failed because user for this token no longer exist.");
+    } catch (ServerException ex) {
+      sendErr(
+          response,
+          SC_UNAUTHORIZED,
+          format("Authentication with machine token failed cause: %s", ex.getMessage()));
+    } finally {
+      EnvironmentContext.reset();
     }
   }
 
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import java.security.Key;
+import java.util.Date;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.subject.Subject;
+
+/**
+ * Bounded cache of the authentication tokens which signatures are already verified, so the
+ * authentication filters don't verify the signature and don't look up the user of the same token on
+ * each request.
+ *
+ * <p>Tokens are cached by their SHA-256 digests. A token is evicted at the moment it expires
+ * according to its 'exp' claim, or when it is cached longer than the configured period. Callers
+ * must check that the token was verified by the {@link VerifiedToken#getKey() key} they trust at
+ * the moment, so a token verified by a rotated key is not used anymore. Tokens of removed users are
+ * evicted as well.
+ */
+@Singleton
+public class VerifiedTokenCache {
+
+  private final Cache<String, VerifiedToken> tokens;
+  private final long ttlMillis;
+
+  @Inject
+  public VerifiedTokenCache(
+      @Named("che.auth.verified_token_cache.max_size") long maxSize,
+      @Named("che.auth.verified_token_cache.ttl_sec") long ttlSec) {
+    this.ttlMillis = SECONDS.toMillis(ttlSec);
+    this.tokens =
+        CacheBuilder.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlSec, SECONDS).build();
+  }
+
+  /** Returns the verified token or null if the token is not cached or already expired. */
+  @Nullable
+  public VerifiedToken get(String token) {
+    final String digest = digest(token);
+    final VerifiedToken verified = tokens.getIfPresent(digest);
+    if (verified == null) {
+      return null;
+    }
+    if (verified.expiresAt <= System.currentTimeMillis()) {
+      tokens.invalidate(digest);
+      return null;
+    }
+    return verified;
+  }
+
+  /**
+   * Caches the token verified by the given key.
+   *
+   * @param token raw token
+   * @param key the key the token signature is verified with
+   * @param jws parsed token
+   * @return cached token, its subject may be set once it is resolved
+   */
+  public VerifiedToken put(String token, Key key, Jws<Claims> jws) {
+    long expiresAt = System.currentTimeMillis() + ttlMillis;
+    final Date expiration = jws.getBody().getExpiration();
+    if (expiration != null) {
+      expiresAt = Math.min(expiresAt, expiration.getTime());
+    }
+    final VerifiedToken verified = new VerifiedToken(key, jws, expiresAt);
+    tokens.put(digest(token), verified);
+    return verified;
+  }
+
+  /** Evicts all the tokens which subjects belong to the user with the given id. */
+  public void invalidateUser(String userId) {
+    tokens
+        .asMap()
+        .values()
+        .removeIf(
+            verified -> verified.subject != null && userId.equals(verified.subject.getUserId()));
+  }
+
+  @VisibleForTesting
+  long size() {
+    tokens.cleanUp();
+    return tokens.size();
+  }
+
+  @Inject
+  @VisibleForTesting
+  void subscribe(EventService eventService) {
+    eventService.subscribe(
+        new EventSubscriber<UserRemovedEvent>() {
+          @Override
+          public void onEvent(UserRemovedEvent event) {
+            invalidateUser(event.getUserId());
+          }
+        });
+  }
+
+  private static String digest(String token) {
+    return Hashing.sha256().hashString(token, UTF_8).toString();
+  }
+
+  /** Token with the verified signature. */
+  public static class VerifiedToken {
+    private final Key key;
+    private final Jws<Claims> jws;
+    private final long expiresAt;
+
+    private volatile Subject subject;
+
+    private VerifiedToken(Key key, Jws<Claims> jws, long expiresAt) {
+      this.key = key;
+      this.jws = jws;
+      this.expiresAt = expiresAt;
+    }
+
+    /** Returns the key the token signature was verified with. */
+    public Key getKey() {
+      return key;
+    }
+
+    /** Returns the parsed token. */
+    public Jws<Claims> getJws() {
+      return jws;
+    }
+
+    /** Returns true if this is a machine token. */
+    public boolean isMachineToken() {
+      return MACHINE_TOKEN_KIND.equals(jws.getHeader().get("kind"));
+    }
+
+    /** Returns the subject resolved for this token, or null if it is not resolved yet. */
+    @Nullable
+    public Subject getSubject() {
+      return subject;
+    }
+
+    /** Sets the subject resolved for this token. */
+    public void setSubject(Subject subject) {
+      this.subject = subject;
+    }
+  }
+}
@@ -17,6 +17,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
@@ -84,11 +85,12 @@ public class MachineLoginFilterTest {
   @Mock private HttpServletResponse responseMock;
 
   private MachineLoginFilter machineLoginFilter;
+  private KeyPairGenerator kpg;
 
   @BeforeMethod
   private void setUp() throws Exception {
     final User userMock = mock(User.class);
-    final KeyPairGenerator kpg = KeyPairGenerator.getInstance(SIGNATURE_ALGORITHM);
+    kpg = KeyPairGenerator.getInstance(SIGNATURE_ALGORITHM);
     kpg.initialize(KEY_SIZE);
     final KeyPair keyPair = kpg.generateKeyPair();
     final String token =
@@ -99,7 +101,11 @@ public class MachineLoginFilterTest {
             .compact();
     machineLoginFilter =
         new MachineLoginFilter(
-            tokenExtractorMock, userManagerMock, keyManagerMock, permissionCheckerMock);
+            tokenExtractorMock,
+            userManagerMock,
+            keyManagerMock,
+            permissionCheckerMock,
+            new VerifiedTokenCache(100, 60));
 
     when(tokenExtractorMock.getToken(any(HttpServletRequest.class))).thenReturn(token);
     when(keyManagerMock.getKeyPair()).thenReturn(keyPair);
@@ -174,6 +180,29 @@ public class MachineLoginFilterTest {
             eq(401), argThat(s -> s.startsWith("Authentication with machine token failed cause:")));
   }
 
+  @Test
+  public void testReuseVerifiedTokenAndSubject() throws Exception {
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+    machineLoginFilter.doFilter(getRequestMock(), responseMock, chainMock);
+
+    verify(userManagerMock).getById(SUBJECT.getUserId());
+    verify(chainMock, times(2)).doFilter(any(HttpServletRequest.class), eq(responseMock));
+    verifyZeroInteractions(responseMock);
+  }
+
+  @Test
+  public void testVerifyTokenAgainWhenSignatureKeyIsChanged() throws Exception {
+    final HttpServletRequest requestMock = getRequestMock();
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+    when(keyManagerMock.getKeyPair()).thenReturn(kpg.generateKeyPair());
+
+    machineLoginFilter.doFilter(requestMock, responseMock, chainMock);
+
+    verify(userManagerMock).getById(SUBJECT.getUserId());
+    // the second request is not authenticated as the token is not signed with the new key
+    verify(chainMock).doFilter(requestMock, responseMock);
+  }
+
   private HttpServletRequest getRequestMock() {
     final HttpServletRequest request = mock(HttpServletRequest.class);
     when(request.getSession(true)).thenReturn(sessionMock);
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.multiuser.machine.authentication.server;
+
+import static io.jsonwebtoken.SignatureAlgorithm.RS512;
+import static org.eclipse.che.multiuser.machine.authentication.shared.Constants.MACHINE_TOKEN_KIND;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Date;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.user.server.event.UserRemovedEvent;
+import org.eclipse.che.commons.subject.SubjectImpl;
+import org.eclipse.che.multiuser.machine.authentication.server.VerifiedTokenCache.VerifiedToken;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link VerifiedTokenCache}. */
+public class VerifiedTokenCacheTest {
+
+  private KeyPair keyPair;
+  private VerifiedTokenCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    final KeyPairGenerator kpg = KeyPairGenerator.getInstance("RSA");
+    kpg.initialize(1024);
+    keyPair = kpg.generateKeyPair();
+    cache = new VerifiedTokenCache(2, 60);
+  }
+
+  @Test
+  public void shouldReturnCachedToken() throws Exception {
+    final String token =
+        sign(Jwts.builder().setHeaderParam("kind", MACHINE_TOKEN_KIND).setSubject("user"));
+    final Jws<Claims> jws = parse(token);
+    cache.put(token, keyPair.getPublic(), jws);
+
+    final VerifiedToken verified = cache.get(token);
+
+    assertNotNull(verified);
+    assertEquals(verified.getJws(), jws);
+    assertEquals(verified.getKey(), keyPair.getPublic());
+    assertTrue(verified.isMachineToken());
+    assertNull(cache.get(sign(Jwts.builder().setSubject("another"))));
+  }
+
+  @Test
+  public void shouldNotReturnExpiredToken() throws Exception {
+    final String token =
+        sign(Jwts.builder().setExpiration(new Date(System.currentTimeMillis() + 1000)));
+    final VerifiedToken verified = cache.put(token, keyPair.getPublic(), parse(token));
+    assertFalse(verified.isMachineToken());
+    assertNotNull(cache.get(token));
+
+    Thread.sleep(1100);
+
+    assertNull(cache.get(token));
+    assertEquals(cache.size(), 0);
+  }
+
+  @Test
+  public void shouldEvictTokensWhenMaxSizeIsReached() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      final String token = sign(Jwts.builder().setSubject("user" + i));
+      cache.put(token, keyPair.getPublic(), parse(token));
+    }
+
+    assertEquals(cache.size(), 2);
+  }
+
+  @Test
+  public void shouldEvictTokensOfRemovedUser() throws Exception {
+    final EventService eventService = new EventService();
+    final VerifiedTokenCache cache = new VerifiedTokenCache(10, 60);
+    cache.subscribe(eventService);
+    final String token1 = sign(Jwts.builder().setSubject("user1"));
+    final String token2 = sign(Jwts.builder().setSubject("user2"));
+    cache
+        .put(token1, keyPair.getPublic(), parse(token1))
+        .setSubject(new SubjectImpl("name1", "user1", token1, false));
+    cache
+        .put(token2, keyPair.getPublic(), parse(token2))
+        .setSubject(new SubjectImpl("name2", "user2", token2, false));
+
+    eventService.publish(new UserRemovedEvent("user1"));
+
+    assertNull(cache.get(token1));
+    assertNotNull(cache.get(token2));
+  }
+
+  private String sign(JwtBuilder builder) {
+    return builder.signWith(RS512, keyPair.getPrivate()).compact();
+  }
+
+  private Jws<Claims> parse(String token) {
+    return Jwts.parser().setSigningKey(keyPair.getPublic()).parseClaimsJws(token);
+  }
+}
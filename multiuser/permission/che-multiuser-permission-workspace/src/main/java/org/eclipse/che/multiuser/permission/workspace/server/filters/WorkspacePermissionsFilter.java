@@ -136,6 +136,7 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
       case "addProject":
       case "deleteProject":
       case "updateProject":
+      case "updateProjects":
       case "addEnvironment":
       case "deleteEnvironment":
       case "updateEnvironment":
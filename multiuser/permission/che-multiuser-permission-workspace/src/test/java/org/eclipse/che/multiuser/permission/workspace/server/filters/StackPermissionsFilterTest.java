@@ -188,7 +188,7 @@ public class StackPermissionsFilterTest {
             .get(SECURE_PATH + "/stack/stack123/icon");
 
     assertEquals(response.getStatusCode(), 204);
-    verify(service).getIcon(eq("stack123"));
+    verify(service).getIcon(eq("stack123"), nullable(String.class), any());
     verify(subject).hasPermission(eq("stack"), eq("stack123"), eq(READ));
   }
 
@@ -407,6 +407,24 @@ public class WorkspacePermissionsFilterTest {
     verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
   }
 
+  @Test
+  public void shouldCheckPermissionsOnProjectsUpdating() throws Exception {
+    when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .pathParam("id", "workspace123")
+            .when()
+            .put(SECURE_PATH + "/workspace/{id}/project");
+
+    assertEquals(response.getStatusCode(), 204);
+    verify(workspaceService).updateProjects(eq("workspace123"), any());
+    verify(subject).hasPermission(eq("workspace"), eq("workspace123"), eq("configure"));
+  }
+
   @Test
   public void shouldCheckPermissionsOnCommandAdding() throws Exception {
     when(subject.hasPermission("workspace", "workspace123", "configure")).thenReturn(true);
@@ -615,6 +633,7 @@ public class WorkspacePermissionsFilterTest {
       {"/workspace/workspace123/environment/myEnvironment", "put", WorkspaceDomain.CONFIGURE},
       {"/workspace/workspace123/environment/myEnvironment", "delete", WorkspaceDomain.CONFIGURE},
       {"/workspace/workspace123/project", "post", WorkspaceDomain.CONFIGURE},
+      {"/workspace/workspace123/project", "put", WorkspaceDomain.CONFIGURE},
       {"/workspace/workspace123/project/spring", "put", WorkspaceDomain.CONFIGURE},
       {"/workspace/workspace123/project/spring", "delete", WorkspaceDomain.CONFIGURE},
     };
@@ -133,4 +133,21 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldFindWorkspaceSummariesByPermissions() throws Exception {
+    List<WorkspaceImpl> results = dao.getWorkspaceSummaries(users[0].getId(), 30, 0).getItems();
+    assertEquals(results.size(), 2);
+    assertTrue(results.contains(asSummary(workspaces[0])));
+    assertTrue(results.contains(asSummary(workspaces[1])));
+  }
+
+  private static WorkspaceImpl asSummary(WorkspaceImpl workspace) {
+    return WorkspaceImpl.builder()
+        .setId(workspace.getId())
+        .setAccount(workspace.getAccount())
+        .setAttributes(workspace.getAttributes())
+        .setConfig(WorkspaceConfigImpl.builder().setName(workspace.getConfig().getName()).build())
+        .build();
+  }
 }
@@ -327,6 +327,18 @@ public interface GitServiceClient {
   Promise<LogResponse> log(
       Path project, @Nullable Path[] fileFilter, int skip, int maxCount, boolean plainText);
 
+  /**
+   * Get page of the log of commits after the page the given cursor is returned with.
+   *
+   * @param project project (root of GIT repository)
+   * @param fileFilter range of files to filter revisions list
+   * @param cursor cursor returned with the previous page, or null to get the first page
+   * @param skip the number of commits that will be skipped if the cursor is expired
+   * @param maxCount the number of commits that will be returned
+   */
+  Promise<LogResponse> log(
+      Path project, @Nullable Path[] fileFilter, @Nullable String cursor, int skip, int maxCount);
+
   /**
    * Merge the pointed commit with current HEAD.
    *
@@ -356,6 +356,17 @@ public class GitServiceClientImpl implements GitServiceClient {
   @Override
   public Promise<LogResponse> log(
       Path project, Path[] fileFilter, int skip, int maxCount, boolean plainText) {
+    return log(project, fileFilter, null, skip, maxCount, plainText);
+  }
+
+  @Override
+  public Promise<LogResponse> log(
+      Path project, Path[] fileFilter, String cursor, int skip, int maxCount) {
+    return log(project, fileFilter, cursor, skip, maxCount, false);
+  }
+
+  private Promise<LogResponse> log(
+      Path project, Path[] fileFilter, String cursor, int skip, int maxCount, boolean plainText) {
     StringBuilder params =
         new StringBuilder()
             .append("?projectPath=")
@@ -363,7 +374,11 @@ public class GitServiceClientImpl implements GitServiceClient {
             .append("&skip=")
             .append(skip)
             .append("&maxCount=")
-            .append(maxCount);
+            .append(maxCount)
+            .append("&diffFiles=false");
+    if (cursor != null) {
+      params.append("&cursor=").append(cursor);
+    }
     if (fileFilter != null) {
       stream(fileFilter).forEach(file -> params.append("&fileFilter=").append(file));
     }
@@ -58,6 +58,7 @@ public class HistoryPresenter implements HistoryView.ActionDelegate {
   private Path selectedPath;
   private List<Revision> revisions;
   private int skip;
+  private String cursor;
 
   @Inject
   public HistoryPresenter(
@@ -84,6 +85,7 @@ public class HistoryPresenter implements HistoryView.ActionDelegate {
   /** Open dialog and shows revisions to compare. */
   public void show() {
     this.skip = 0;
+    this.cursor = null;
     this.revisions = new ArrayList<>();
     this.project = appContext.getRootProject();
     this.selectedPath =
@@ -134,14 +136,15 @@ public class HistoryPresenter implements HistoryView.ActionDelegate {
         .log(
             project.getLocation(),
             selectedPath.isEmpty() ? null : new Path[] {selectedPath},
+            cursor,
             skip,
-            DEFAULT_PAGE_SIZE,
-            false)
+            DEFAULT_PAGE_SIZE)
         .then(
             log -> {
               List<Revision> commits = log.getCommits();
               if (!commits.isEmpty()) {
                 skip += commits.size();
+                cursor = log.getNextCursor();
                 revisions.addAll(commits);
                 view.setRevisions(revisions);
                 view.showDialog();
@@ -20,6 +20,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -61,7 +62,8 @@ public class HistoryPresenterTest extends BaseTest {
     when(appContext.getResource()).thenReturn(resource);
     when(appContext.getRootProject()).thenReturn(project);
 
-    when(service.log(any(Path.class), any(Path[].class), anyInt(), anyInt(), anyBoolean()))
+    when(service.log(
+            any(Path.class), any(Path[].class), nullable(String.class), anyInt(), anyInt()))
         .thenReturn(logPromise);
     when(service.diff(
             any(Path.class),
@@ -97,6 +99,21 @@ public class HistoryPresenterTest extends BaseTest {
     verify(view).showDialog();
   }
 
+  @Test
+  public void shouldGetNextCommitsWithCursorOfPreviousPage() throws Exception {
+    LogResponse response = mock(LogResponse.class);
+    List<Revision> revisions = singletonList(mock(Revision.class));
+    when(response.getCommits()).thenReturn(revisions);
+    when(response.getNextCursor()).thenReturn("cursor");
+
+    presenter.show();
+    verify(logPromise).then(logCaptor.capture());
+    logCaptor.getValue().apply(response);
+    presenter.onScrolledToButton();
+
+    verify(service).log(any(Path.class), any(Path[].class), eq("cursor"), eq(1), anyInt());
+  }
+
   @Test
   public void shouldShowDialogOnInitCommitError() throws Exception {
     PromiseError error = mock(PromiseError.class);
@@ -66,6 +66,7 @@ import org.eclipse.che.api.debug.shared.model.action.StepOutAction;
 import org.eclipse.che.api.debug.shared.model.action.StepOverAction;
 import org.eclipse.che.api.debug.shared.model.impl.BreakpointImpl;
 import org.eclipse.che.api.debug.shared.model.impl.DebuggerInfoImpl;
+import org.eclipse.che.api.debug.shared.model.impl.SimpleValueImpl;
 import org.eclipse.che.api.debug.shared.model.impl.ThreadStateImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.BreakpointActivatedEventImpl;
 import org.eclipse.che.api.debug.shared.model.impl.event.DisconnectEventImpl;
@@ -78,6 +79,7 @@ import org.eclipse.che.plugin.jdb.server.expression.ExpressionParser;
 import org.eclipse.che.plugin.jdb.server.model.JdbLocation;
 import org.eclipse.che.plugin.jdb.server.model.JdbMethod;
 import org.eclipse.che.plugin.jdb.server.model.JdbStackFrame;
+import org.eclipse.che.plugin.jdb.server.model.JdbValue;
 import org.eclipse.che.plugin.jdb.server.utils.JavaDebuggerUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -402,28 +404,81 @@ public class JavaDebugger implements EventsHandler, Debugger {
     List<ThreadState> threadStates = new LinkedList<>();
 
     for (ThreadReference t : vm.allThreads()) {
-      List<JdbStackFrame> frames = new LinkedList<>();
-      try {
-        for (StackFrame f : t.frames()) {
-          frames.add(
-              new JdbStackFrame(f, emptyList(), emptyList(), new JdbLocation(f, new JdbMethod(f))));
+      threadStates.add(toThreadState(t, -1));
+    }
+
+    return threadStates;
+  }
+
+  @Override
+  public List<ThreadState> getThreadDump(int start, int count, int maxFrames)
+      throws DebuggerException {
+    List<ThreadReference> threads = vm.allThreads();
+    int from = Math.min(start, threads.size());
+    int to = count < 0 ? threads.size() : (int) Math.min(threads.size(), (long) from + count);
+
+    List<ThreadState> threadStates = new ArrayList<>(to - from);
+    for (ThreadReference t : threads.subList(from, to)) {
+      threadStates.add(toThreadState(t, maxFrames));
+    }
+
+    return threadStates;
+  }
+
+  @Override
+  public List<JdbStackFrame> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    for (ThreadReference t : vm.allThreads()) {
+      if (t.uniqueID() == threadId) {
+        try {
+          int frameCount = t.frameCount();
+          int from = Math.min(start, frameCount);
+          int to = count < 0 ? frameCount : (int) Math.min(frameCount, (long) from + count);
+          return toStackFrames(t.frames(from, to - from));
+        } catch (IncompatibleThreadStateException e) {
+          throw new DebuggerException("Thread is not suspended", e);
         }
-      } catch (IncompatibleThreadStateException ignored) {
-        // Thread isn't suspended. Information isn't available.
       }
+    }
 
-      threadStates.add(
-          new ThreadStateImpl(
-              t.uniqueID(),
-              t.name(),
-              t.threadGroup().name(),
-              toThreadStatus(t.status()),
-              t.isSuspended(),
-              frames));
+    throw new DebuggerException(format("Thread '%d' not found.", threadId));
+  }
+
+  /**
+   * Returns state of the thread with its top frames.
+   *
+   * @param maxFrames the maximum number of frames, negative for all of them
+   */
+  private ThreadState toThreadState(ThreadReference t, int maxFrames) {
+    List<JdbStackFrame> frames = emptyList();
+    try {
+      if (maxFrames < 0) {
+        frames = toStackFrames(t.frames());
+      } else {
+        frames = toStackFrames(t.frames(0, Math.min(maxFrames, t.frameCount())));
+      }
+    } catch (IncompatibleThreadStateException ignored) {
+      // Thread isn't suspended. Information isn't available.
     }
 
-    return threadStates;
+    return new ThreadStateImpl(
+        t.uniqueID(),
+        t.name(),
+        t.threadGroup().name(),
+        toThreadStatus(t.status()),
+        t.isSuspended(),
+        frames);
   }
+
+  private List<JdbStackFrame> toStackFrames(List<StackFrame> jdiFrames) {
+    List<JdbStackFrame> frames = new ArrayList<>(jdiFrames.size());
+    for (StackFrame f : jdiFrames) {
+      frames.add(
+          new JdbStackFrame(f, emptyList(), emptyList(), new JdbLocation(f, new JdbMethod(f))));
+    }
+    return frames;
+  }
+
   /**
    * Get value of variable with specified path. Each item in path is name of variable.
    *
@@ -484,6 +539,32 @@ public class JavaDebugger implements EventsHandler, Debugger {
   @Override
   public SimpleValue getValue(VariablePath variablePath, long threadId, int frameIndex)
       throws DebuggerException {
+    Optional<? extends Variable> targetVar = findVariable(variablePath, threadId, frameIndex);
+    if (!targetVar.isPresent()) {
+      return null;
+    }
+
+    return targetVar.get().getValue();
+  }
+
+  @Override
+  public SimpleValue getValue(
+      VariablePath variablePath, long threadId, int frameIndex, int start, int count)
+      throws DebuggerException {
+    Optional<? extends Variable> targetVar = findVariable(variablePath, threadId, frameIndex);
+    if (!targetVar.isPresent()) {
+      return null;
+    }
+
+    SimpleValue value = targetVar.get().getValue();
+    if (value instanceof JdbValue) {
+      return new SimpleValueImpl(((JdbValue) value).getVariables(start, count), value.getString());
+    }
+    return value;
+  }
+
+  private Optional<? extends Variable> findVariable(
+      VariablePath variablePath, long threadId, int frameIndex) throws DebuggerException {
     JdbStackFrame jdbStackFrame = new JdbStackFrame(getJdiStackFrame(threadId, frameIndex));
 
     Optional<? extends Variable> targetVar;
@@ -506,21 +587,21 @@ public class JavaDebugger implements EventsHandler, Debugger {
 
     for (int i = offset; targetVar.isPresent() && i < path.size(); i++) {
       final int index = i;
-      targetVar =
-          targetVar
-              .get()
-              .getValue()
-              .getVariables()
-              .stream()
-              .filter(v -> v.getName().equals(path.get(index)))
-              .findAny();
-    }
-
-    if (!targetVar.isPresent()) {
-      return null;
+      SimpleValue value = targetVar.get().getValue();
+      if (value instanceof JdbValue) {
+        // reads only the element on the path if the value is an array
+        targetVar = ((JdbValue) value).getVariable(path.get(index));
+      } else {
+        targetVar =
+            value
+                .getVariables()
+                .stream()
+                .filter(v -> v.getName().equals(path.get(index)))
+                .findAny();
+      }
     }
 
-    return targetVar.get().getValue();
+    return targetVar;
   }
 
   @Override
@@ -14,9 +14,10 @@ import com.sun.jdi.ArrayReference;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
 import com.sun.jdi.Value;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import org.eclipse.che.api.debug.shared.model.SimpleValue;
@@ -52,12 +53,8 @@ public class JdbValue implements SimpleValue {
           if (isPrimitive()) {
             variables.set(Collections.emptyList());
           } else if (isArray()) {
-            variables.set(new LinkedList<>());
-
             ArrayReference array = (ArrayReference) jdiValue;
-            for (int i = 0; i < array.length(); i++) {
-              variables.get().add(new JdbArrayElement(array.getValue(i), i, variablePath));
-            }
+            variables.set(getArrayElements(array, 0, array.length()));
           } else {
             ObjectReference object = (ObjectReference) jdiValue;
             variables.set(
@@ -76,6 +73,60 @@ public class JdbValue implements SimpleValue {
     return variables.get();
   }
 
+  /**
+   * Returns the range of the nested variables. Only the elements of the range are read from the
+   * target VM if the value is an array.
+   *
+   * @param start the index of the first nested variable
+   * @param count the maximum number of nested variables, negative for all of them
+   */
+  public List<Variable> getVariables(int start, int count) {
+    if (variables.get() == null && isArray()) {
+      ArrayReference array = (ArrayReference) jdiValue;
+      int length = array.length();
+      int from = Math.min(start, length);
+      int to = count < 0 ? length : (int) Math.min(length, (long) from + count);
+      return getArrayElements(array, from, to);
+    }
+    return getVariables()
+        .stream()
+        .skip(start)
+        .limit(count < 0 ? Long.MAX_VALUE : count)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the nested variable with the given name. Only the element is read from the target VM if
+   * the value is an array.
+   */
+  public Optional<Variable> getVariable(String name) {
+    if (variables.get() == null && isArray() && name.startsWith("[") && name.endsWith("]")) {
+      ArrayReference array = (ArrayReference) jdiValue;
+      try {
+        int index = Integer.parseInt(name.substring(1, name.length() - 1));
+        if (index >= 0 && index < array.length()) {
+          return Optional.of(new JdbArrayElement(array.getValue(index), index, variablePath));
+        }
+      } catch (NumberFormatException e) {
+        // not an array element
+      }
+      return Optional.empty();
+    }
+    return getVariables().stream().filter(v -> v.getName().equals(name)).findAny();
+  }
+
+  private List<Variable> getArrayElements(ArrayReference array, int from, int to) {
+    if (from >= to) {
+      return Collections.emptyList();
+    }
+    List<Value> values = array.getValues(from, to - from);
+    List<Variable> elements = new ArrayList<>(values.size());
+    for (int i = 0; i < values.size(); i++) {
+      elements.add(new JdbArrayElement(values.get(i), from + i, variablePath));
+    }
+    return elements;
+  }
+
   private boolean isArray() {
     return jdiValue instanceof ArrayReference;
   }
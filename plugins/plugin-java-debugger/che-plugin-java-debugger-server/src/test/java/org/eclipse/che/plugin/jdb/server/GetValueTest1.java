@@ -126,6 +126,30 @@ public class GetValueTest1 {
     }
   }
 
+  @Test
+  public void shouldGetRangeOfNestedVariables() throws Exception {
+    SimpleValue debuggerValue =
+        debugger.getValue(
+            new VariablePathImpl(ImmutableList.of("var1", "value")), mainThreadId, 0, 1, 2);
+
+    assertTrue(debuggerValue.getString().contains("instance of char[4]"));
+    List<? extends Variable> variables = debuggerValue.getVariables();
+    assertEquals(variables.size(), 2);
+    assertEquals(variables.get(0).getName(), "[1]");
+    assertEquals(variables.get(0).getValue().getString(), "a");
+    assertEquals(variables.get(1).getName(), "[2]");
+    assertEquals(variables.get(1).getValue().getString(), "r");
+  }
+
+  @Test
+  public void shouldGetArrayElement() throws Exception {
+    SimpleValue debuggerValue =
+        debugger.getValue(
+            new VariablePathImpl(ImmutableList.of("var1", "value", "[3]")), mainThreadId, 0);
+
+    assertEquals(debuggerValue.getString(), "1");
+  }
+
   @Test(dataProvider = "setVariable")
   public void shouldSetValue(List<String> path, String newValue, int frameIndex) throws Exception {
     final VariablePathImpl variablePath = new VariablePathImpl(path);
@@ -80,6 +80,37 @@ public class ThreadDumpTest1 {
     validateFinalizerThreadDump(threads);
   }
 
+  @Test
+  public void shouldGetThreadDumpRangeWithLimitedFrames() throws Exception {
+    List<ThreadState> allThreads = debugger.getThreadDump();
+
+    List<ThreadState> threads = debugger.getThreadDump(1, 2, 1);
+
+    assertEquals(threads.size(), 2);
+    assertEquals(threads.get(0).getId(), allThreads.get(1).getId());
+    assertEquals(threads.get(1).getId(), allThreads.get(2).getId());
+    threads.forEach(t -> assertTrue(t.getFrames().size() <= 1));
+  }
+
+  @Test
+  public void shouldGetStackFramesRange() throws Exception {
+    ThreadState finalizerThread =
+        debugger
+            .getThreadDump()
+            .stream()
+            .filter(t -> t.getName().equals("Finalizer"))
+            .findAny()
+            .get();
+
+    List<? extends StackFrameDump> frames = debugger.getStackFrames(finalizerThread.getId(), 1, 2);
+
+    assertEquals(frames.size(), 2);
+    assertEquals(
+        frames.get(0).getLocation().getMethod().getName(),
+        finalizerThread.getFrames().get(1).getLocation().getMethod().getName());
+    assertTrue(frames.get(0).getVariables().isEmpty());
+  }
+
   private void validateMainThreadDump(List<ThreadStateDto> threads) {
     Optional<ThreadStateDto> mainThread =
         threads.stream().filter(t -> t.getName().equals("main")).findAny();
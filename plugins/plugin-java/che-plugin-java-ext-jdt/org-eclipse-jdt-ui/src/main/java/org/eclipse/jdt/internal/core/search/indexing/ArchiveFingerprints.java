@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Content fingerprints of library archives which are used as part of their index file names, so
+ * index of an archive is reused only while the archive content stays the same.
+ *
+ * <p>Fingerprints are persisted along with the size and modification time of the archives, so after
+ * restart archives are only read again when they are changed.
+ */
+class ArchiveFingerprints {
+
+  private static final int FINGERPRINT_LENGTH = 16;
+
+  private final File storage;
+  private final Map<String, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+  private volatile boolean changed;
+
+  ArchiveFingerprints(File storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * Returns content fingerprint of the given archive computed beforehand, or null if it is not
+   * computed yet or the archive is changed since then. Unlike {@link #get(File)} the archive is
+   * never read, so it may be called while holding the index manager lock.
+   */
+  String getIfKnown(File archive) {
+    if (!isArchive(archive)) {
+      return null;
+    }
+    ensureLoaded();
+    final Fingerprint fingerprint = fingerprints.get(archive.getAbsolutePath());
+    if (fingerprint == null
+        || fingerprint.size != archive.length()
+        || fingerprint.lastModified != archive.lastModified()) {
+      return null;
+    }
+    return fingerprint.hash;
+  }
+
+  /**
+   * Returns content fingerprint of the given archive, or null if the file is not an archive or it
+   * can't be read. The archive is read when it is changed since its fingerprint was computed.
+   */
+  String get(File archive) {
+    if (!isArchive(archive)) {
+      return null;
+    }
+    ensureLoaded();
+    final String path = archive.getAbsolutePath();
+    final long size = archive.length();
+    final long lastModified = archive.lastModified();
+    Fingerprint fingerprint = fingerprints.get(path);
+    if (fingerprint == null
+        || fingerprint.size != size
+        || fingerprint.lastModified != lastModified) {
+      final String hash = hash(archive);
+      if (hash == null) {
+        return null;
+      }
+      fingerprint = new Fingerprint(size, lastModified, hash);
+      fingerprints.put(path, fingerprint);
+      changed = true;
+    }
+    return fingerprint.hash;
+  }
+
+  /** Writes fingerprints to the storage if they are changed since the last save. */
+  synchronized void save() {
+    if (!changed) {
+      return;
+    }
+    changed = false;
+    final File directory = storage.getParentFile();
+    if (directory != null && !directory.exists() && !directory.mkdirs()) {
+      return;
+    }
+    try (BufferedWriter writer = Files.newBufferedWriter(storage.toPath(), UTF_8)) {
+      for (Map.Entry<String, Fingerprint> entry : fingerprints.entrySet()) {
+        final Fingerprint fingerprint = entry.getValue();
+        writer.write(
+            fingerprint.size
+                + "\t"
+                + fingerprint.lastModified
+                + "\t"
+                + fingerprint.hash
+                + "\t"
+                + entry.getKey());
+        writer.write('\n');
+      }
+    } catch (IOException e) {
+      changed = true;
+      if (JobManager.VERBOSE) {
+        Util.verbose("Failed to write archive fingerprints", System.err); // $NON-NLS-1$
+      }
+    }
+  }
+
+  private void ensureLoaded() {
+    if (loaded) {
+      return;
+    }
+    synchronized (this) {
+      if (loaded) {
+        return;
+      }
+      if (storage.isFile()) {
+        try (BufferedReader reader = Files.newBufferedReader(storage.toPath(), UTF_8)) {
+          String line;
+          while ((line = reader.readLine()) != null) {
+            final String[] parts = line.split("\t", 4);
+            if (parts.length == 4) {
+              fingerprints.putIfAbsent(
+                  parts[3],
+                  new Fingerprint(Long.parseLong(parts[0]), Long.parseLong(parts[1]), parts[2]));
+            }
+          }
+        } catch (IOException | NumberFormatException e) {
+          // fingerprints are computed again
+          fingerprints.clear();
+        }
+      }
+      loaded = true;
+    }
+  }
+
+  private static boolean isArchive(File file) {
+    final String name = file.getName().toLowerCase();
+    return (name.endsWith(".jar") || name.endsWith(".zip")) && file.isFile();
+  }
+
+  private static String hash(File archive) {
+    try (InputStream in = Files.newInputStream(archive.toPath())) {
+      final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      final byte[] buffer = new byte[64 * 1024];
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+      final StringBuilder hex = new StringBuilder();
+      for (byte b : digest.digest()) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.substring(0, FINGERPRINT_LENGTH);
+    } catch (IOException | NoSuchAlgorithmException e) {
+      if (JobManager.VERBOSE) {
+        Util.verbose("Failed to compute fingerprint of " + archive, System.err); // $NON-NLS-1$
+      }
+      return null;
+    }
+  }
+
+  private static class Fingerprint {
+    final long size;
+    final long lastModified;
+    final String hash;
+
+    Fingerprint(long size, long lastModified, String hash) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+  }
+}
@@ -92,12 +92,17 @@ public class IndexManager extends JobManager implements IIndexConstants {
   private SimpleLookupTable participantsContainers = null;
   private boolean participantUpdated = false;
   private String indexLocation;
+  // content fingerprints of the indexed archives, part of their index file names
+  private final ArchiveFingerprints archiveFingerprints;
 
   public IndexManager(String indexLocation) {
     this.indexLocation = indexLocation;
+    getSavedIndexesDirectory().mkdirs();
     indexNamesMapFile = new File(getSavedIndexesDirectory(), "indexNamesMap.txt");
     savedIndexNamesFile = new File(getSavedIndexesDirectory(), "savedIndexNames.txt");
     participantIndexNamesFile = new File(getSavedIndexesDirectory(), "participantsIndexNames.txt");
+    archiveFingerprints =
+        new ArchiveFingerprints(new File(getSavedIndexesDirectory(), "archiveFingerprints.txt"));
   }
 
   public synchronized void aboutToUpdateIndex(IPath containerPath, Integer newIndexState) {
@@ -203,11 +208,27 @@ public class IndexManager extends JobManager implements IIndexConstants {
 
   public synchronized IndexLocation computeIndexLocation(IPath containerPath) {
     IndexLocation indexLocation = (IndexLocation) this.indexLocations.get(containerPath);
+    // index of an archive is named after its content, so it is rebuilt only if the content changes;
+    // hashing an archive may take long, so here only the fingerprints computed beforehand without
+    // the lock are used, see indexLibrary()
+    String fingerprint = this.archiveFingerprints.getIfKnown(containerPath.toFile());
+    if (indexLocation != null
+        && fingerprint != null
+        && !indexLocation.fileName().endsWith(fingerprint + ".index")) { // $NON-NLS-1$
+      if (JobManager.VERBOSE)
+        Util.verbose("-> archive changed, dropping index " + indexLocation); // $NON-NLS-1$
+      discardArchiveIndex(indexLocation);
+      indexLocation = null;
+    }
     if (indexLocation == null) {
       String pathString = containerPath.toOSString();
       CRC32 checksumCalculator = new CRC32();
       checksumCalculator.update(pathString.getBytes());
-      String fileName = Long.toString(checksumCalculator.getValue()) + ".index"; // $NON-NLS-1$
+      String pathChecksum = Long.toString(checksumCalculator.getValue());
+      String fileName =
+          fingerprint == null
+              ? pathChecksum + ".index" // $NON-NLS-1$
+              : pathChecksum + '-' + fingerprint + ".index"; // $NON-NLS-1$
       if (JobManager.VERBOSE)
         Util.verbose(
             "-> index name for " + pathString + " is " + fileName); // $NON-NLS-1$ //$NON-NLS-2$
@@ -217,11 +238,31 @@ public class IndexManager extends JobManager implements IIndexConstants {
           (IndexLocation)
               getIndexStates()
                   .getKey(new FileIndexLocation(new File(getSavedIndexesDirectory(), fileName)));
+      if (fingerprint != null && getIndexStates().get(indexLocation) == null) {
+        // indexes of the previous contents of the archive, e.g. left from before restart
+        File[] previous =
+            getSavedIndexesDirectory()
+                .listFiles(
+                    file ->
+                        file.getName().startsWith(pathChecksum + '-')
+                            && !file.getName().equals(fileName));
+        if (previous != null) {
+          for (File file : previous) discardArchiveIndex(new FileIndexLocation(file));
+        }
+      }
       this.indexLocations.put(containerPath, indexLocation);
     }
     return indexLocation;
   }
 
+  private void discardArchiveIndex(IndexLocation indexLocation) {
+    Index index = getIndex(indexLocation);
+    if (index != null) index.monitor = null;
+    this.indexes.removeKey(indexLocation);
+    indexLocation.delete();
+    updateIndexState(indexLocation, null);
+  }
+
   public void deleteIndexFiles() {
     if (DEBUG) Util.verbose("Deleting index files"); // $NON-NLS-1$
     this.savedIndexNamesFile.delete(); // forget saved indexes & delete each index file
@@ -651,6 +692,8 @@ public class IndexManager extends JobManager implements IIndexConstants {
   public void indexLibrary(
       IPath path, IProject requestingProject, URL indexURL, final boolean updateIndex) {
     // requestingProject is no longer used to cancel jobs but leave it here just in case
+    // compute the fingerprint of the archive before its index location is computed under the lock
+    this.archiveFingerprints.get(path.toFile());
     IndexLocation indexFile = null;
     if (indexURL != null) {
       if (IS_MANAGING_PRODUCT_INDEXES_PROPERTY) {
@@ -1041,6 +1084,7 @@ public class IndexManager extends JobManager implements IIndexConstants {
       writeParticipantsIndexNamesFile();
       this.participantUpdated = false;
     }
+    this.archiveFingerprints.save();
     this.needToSave = !allSaved;
   }
 
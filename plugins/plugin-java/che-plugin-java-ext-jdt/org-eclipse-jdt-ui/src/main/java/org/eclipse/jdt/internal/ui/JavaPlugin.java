@@ -26,6 +26,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.core.JavaCorePreferenceInitializer;
+import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.corext.format.CheCodeFormatterInitializer;
 import org.eclipse.jdt.internal.corext.template.java.AbstractJavaContextType;
 import org.eclipse.jdt.internal.corext.template.java.CodeTemplateContextType;
@@ -225,6 +226,8 @@ public class JavaPlugin {
     }
 
     QualifiedTypeNameHistory.getDefault().save();
+    // indexes are persisted, so they are reused after restart of the workspace agent
+    JavaModelManager.getIndexManager().saveIndexes();
   }
 
   /**
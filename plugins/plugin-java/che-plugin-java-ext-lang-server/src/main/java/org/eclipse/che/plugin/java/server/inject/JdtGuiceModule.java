@@ -69,10 +69,14 @@ public class JdtGuiceModule extends AbstractModule {
     return Paths.get(System.getProperty("user.home"), wsMetadata, "settings").toString();
   }
 
+  /**
+   * Java indexes are kept in the hidden '.che' folder of the workspace storage which survives
+   * restarts of the workspace agent, so indexes of unchanged sources and libraries are reused.
+   */
   @Provides
   @Named("che.jdt.workspace.index.dir")
   @Singleton
-  protected String provideIndex(@Named("che.workspace.metadata") String wsMetadata) {
-    return Paths.get(System.getProperty("user.home"), wsMetadata, "index").toString();
+  protected String provideIndex(@Named("che.user.workspaces.storage") String workspaceStorage) {
+    return Paths.get(workspaceStorage, ".che", "jdt", "index").toString();
   }
 }
@@ -10,6 +10,12 @@
  */
 package org.eclipse.che.plugin.maven.server.projecttype;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+import static org.eclipse.che.api.fs.server.WsPathUtils.resolve;
+
+import java.util.List;
 import javax.inject.Inject;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.type.ValueProvider;
@@ -26,4 +32,17 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
   public ValueProvider newInstance(String wsPath) {
     return new MavenValueProvider(mavenProjectManager, wsPath, fsManager);
   }
+
+  /**
+   * Returns pom.xml of the project when the values are read from it. The values of the projects
+   * loaded by {@link MavenProjectManager} are taken from their models and are not memoized.
+   */
+  @Override
+  public List<String> getSourceFiles(String wsPath) {
+    String projectWsPath = absolutize(wsPath);
+    if (mavenProjectManager != null && mavenProjectManager.getMavenProject(projectWsPath) != null) {
+      return emptyList();
+    }
+    return singletonList(resolve(projectWsPath, "pom.xml"));
+  }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.testing.ide.view;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import org.eclipse.che.ide.CoreLocalizationConstant;
 import org.eclipse.che.ide.console.OutputConsoleViewImpl;
 import org.eclipse.che.ide.machine.MachineResources;
@@ -23,8 +24,11 @@ public class PrinterOutputConsole extends OutputConsoleViewImpl implements Print
   private TestState currentTest;
 
   @Inject
-  public PrinterOutputConsole(MachineResources resources, CoreLocalizationConstant localization) {
-    super(resources, localization);
+  public PrinterOutputConsole(
+      MachineResources resources,
+      CoreLocalizationConstant localization,
+      @Named(MAX_LINES) int maxLines) {
+    super(resources, localization, maxLines);
 
     reRunProcessButton.removeFromParent();
     stopProcessButton.removeFromParent();
@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.api.debugger.server;
 
+import static java.util.stream.Collectors.toList;
+
 import java.util.Collections;
 import java.util.List;
 import org.eclipse.che.api.debug.shared.model.Breakpoint;
@@ -29,6 +31,8 @@ import org.eclipse.che.api.debug.shared.model.event.BreakpointActivatedEvent;
 import org.eclipse.che.api.debug.shared.model.event.DebuggerEvent;
 import org.eclipse.che.api.debug.shared.model.event.DisconnectEvent;
 import org.eclipse.che.api.debug.shared.model.event.SuspendEvent;
+import org.eclipse.che.api.debug.shared.model.impl.SimpleValueImpl;
+import org.eclipse.che.api.debug.shared.model.impl.ThreadStateImpl;
 import org.eclipse.che.api.debugger.server.exceptions.DebuggerException;
 
 /**
@@ -130,6 +134,36 @@ public interface Debugger {
       throws DebuggerException {
     throw new DebuggerException("Unsupported operation for current debugger implementation.");
   }
+
+  /**
+   * Gets the value of the given variable with a range of its nested variables, so the values with
+   * lots of nested variables like large arrays can be fetched by pages.
+   *
+   * @param variablePath the path to the variable
+   * @param threadId the unique thread id
+   * @param frameIndex the frame index inside thread
+   * @param start the index of the first nested variable to return
+   * @param count the maximum number of nested variables to return, negative to return all of them
+   * @return {@link SimpleValue}
+   * @throws DebuggerException if any error occur
+   */
+  default SimpleValue getValue(
+      VariablePath variablePath, long threadId, int frameIndex, int start, int count)
+      throws DebuggerException {
+    SimpleValue value = getValue(variablePath, threadId, frameIndex);
+    if (value == null) {
+      return null;
+    }
+    return new SimpleValueImpl(
+        value
+            .getVariables()
+            .stream()
+            .skip(start)
+            .limit(count < 0 ? Long.MAX_VALUE : count)
+            .collect(toList()),
+        value.getString());
+  }
+
   /**
    * Sets the new value {@link Variable#getValue()} of the variable {@link
    * Variable#getVariablePath()}.
@@ -244,6 +278,61 @@ public interface Debugger {
     return Collections.emptyList();
   }
 
+  /**
+   * Gets a range of the threads of a thread dump with a limited number of their top frames.
+   *
+   * @param start the index of the first thread to return
+   * @param count the maximum number of threads to return, negative to return all of them
+   * @param maxFrames the maximum number of frames of each thread, negative to return all of them
+   * @return snapshot of the state of the threads
+   * @throws DebuggerException if any error occur
+   * @see #getStackFrames(long, int, int)
+   */
+  default List<ThreadState> getThreadDump(int start, int count, int maxFrames)
+      throws DebuggerException {
+    return getThreadDump()
+        .stream()
+        .skip(start)
+        .limit(count < 0 ? Long.MAX_VALUE : count)
+        .map(
+            t ->
+                new ThreadStateImpl(
+                    t.getId(),
+                    t.getName(),
+                    t.getGroupName(),
+                    t.getStatus(),
+                    t.isSuspended(),
+                    t.getFrames()
+                        .stream()
+                        .limit(maxFrames < 0 ? Long.MAX_VALUE : maxFrames)
+                        .collect(toList())))
+        .collect(toList());
+  }
+
+  /**
+   * Gets a range of the frames of the thread, without values of their variables.
+   *
+   * @param threadId the unique thread id
+   * @param start the index of the first frame to return
+   * @param count the maximum number of frames to return, negative to return all of them
+   * @return frames of the thread starting from the top one
+   * @throws DebuggerException if any error occur
+   */
+  default List<? extends StackFrameDump> getStackFrames(long threadId, int start, int count)
+      throws DebuggerException {
+    for (ThreadState thread : getThreadDump()) {
+      if (thread.getId() == threadId) {
+        return thread
+            .getFrames()
+            .stream()
+            .skip(start)
+            .limit(count < 0 ? Long.MAX_VALUE : count)
+            .collect(toList());
+      }
+    }
+    throw new DebuggerException("Thread " + threadId + " not found.");
+  }
+
   /** Is used to send back any events to client. */
   interface DebuggerCallback {
     void onEvent(DebuggerEvent event);
@@ -32,6 +32,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.UriInfo;
+import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.debug.shared.dto.BreakpointDto;
 import org.eclipse.che.api.debug.shared.dto.DebugSessionDto;
 import org.eclipse.che.api.debug.shared.dto.SimpleValueDto;
@@ -191,12 +192,40 @@ public class DebuggerService {
   @GET
   @Path("{id}/threaddump")
   @Produces(MediaType.APPLICATION_JSON)
-  public List<ThreadStateDto> getThreadDump(@PathParam("id") String sessionId)
-      throws DebuggerException {
-    List<ThreadState> threadStates = debuggerManager.getDebugger(sessionId).getThreadDump();
+  public List<ThreadStateDto> getThreadDump(
+      @PathParam("id") String sessionId,
+      @QueryParam("start") @DefaultValue("0") int start,
+      @QueryParam("count") @DefaultValue("-1") int count,
+      @QueryParam("maxFrames") @DefaultValue("-1") int maxFrames)
+      throws DebuggerException, BadRequestException {
+    checkStart(start);
+    List<ThreadState> threadStates;
+    if (start == 0 && count < 0 && maxFrames < 0) {
+      threadStates = debuggerManager.getDebugger(sessionId).getThreadDump();
+    } else {
+      threadStates = debuggerManager.getDebugger(sessionId).getThreadDump(start, count, maxFrames);
+    }
     return threadStates.stream().map(DtoConverter::asDto).collect(Collectors.toList());
   }
 
+  @GET
+  @Path("{id}/stackframes")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<StackFrameDumpDto> getStackFrames(
+      @PathParam("id") String sessionId,
+      @QueryParam("thread") long threadId,
+      @QueryParam("start") @DefaultValue("0") int start,
+      @QueryParam("count") @DefaultValue("-1") int count)
+      throws DebuggerException, BadRequestException {
+    checkStart(start);
+    return debuggerManager
+        .getDebugger(sessionId)
+        .getStackFrames(threadId, start, count)
+        .stream()
+        .map(DtoConverter::asDto)
+        .collect(Collectors.toList());
+  }
+
   @GET
   @Path("{id}/value")
   @Produces(MediaType.APPLICATION_JSON)
@@ -204,8 +233,11 @@ public class DebuggerService {
       @PathParam("id") String sessionId,
       @QueryParam("thread") @DefaultValue("-1") long threadId,
       @QueryParam("frame") @DefaultValue("-1") int frameIndex,
+      @QueryParam("start") @DefaultValue("0") int start,
+      @QueryParam("count") @DefaultValue("-1") int count,
       @Context UriInfo uriInfo)
-      throws DebuggerException {
+      throws DebuggerException, BadRequestException {
+    checkStart(start);
     List<String> path = new ArrayList<>();
 
     MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
@@ -220,6 +252,12 @@ public class DebuggerService {
     if (threadId == -1) {
       return asDto(debuggerManager.getDebugger(sessionId).getValue(variablePath));
     }
+    if (start > 0 || count >= 0) {
+      return asDto(
+          debuggerManager
+              .getDebugger(sessionId)
+              .getValue(variablePath, threadId, frameIndex, start, count));
+    }
 
     return asDto(
         debuggerManager.getDebugger(sessionId).getValue(variablePath, threadId, frameIndex));
@@ -255,4 +293,10 @@ public class DebuggerService {
     }
     return debuggerManager.getDebugger(sessionId).evaluate(expression, threadId, frameIndex);
   }
+
+  private static void checkStart(int start) throws BadRequestException {
+    if (start < 0) {
+      throw new BadRequestException(String.format("Invalid 'start' parameter: %d.", start));
+    }
+  }
 }
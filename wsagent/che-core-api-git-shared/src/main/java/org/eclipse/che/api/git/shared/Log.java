@@ -17,4 +17,10 @@ import org.eclipse.che.dto.shared.DTO;
 @DTO
 public interface Log {
   List<Revision> getCommits();
+
+  /**
+   * Returns cursor to get the next page of the log after the last of the commits, or null if there
+   * are no more commits.
+   */
+  String getNextCursor();
 }
@@ -331,7 +331,9 @@ public class GitService {
       @QueryParam("since") String revisionRangeSince,
       @QueryParam("until") String revisionRangeUntil,
       @QueryParam("skip") @DefaultValue("0") int skip,
-      @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount)
+      @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+      @QueryParam("cursor") String cursor,
+      @QueryParam("diffFiles") @DefaultValue("true") boolean diffFiles)
       throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.log(
@@ -340,7 +342,9 @@ public class GitService {
               .withRevisionRangeSince(revisionRangeSince)
               .withRevisionRangeUntil(revisionRangeUntil)
               .withMaxCount(maxCount)
-              .withSkip(skip));
+              .withSkip(skip)
+              .withCursor(cursor)
+              .withDiffFiles(diffFiles));
     }
   }
 
@@ -63,7 +63,7 @@ public class GitValueProviderFactory implements ValueProviderFactory {
               return singletonList(
                   "HEAD".equals(currentBranch)
                       ? gitConnection
-                          .log(LogParams.create().withMaxCount(1))
+                          .log(LogParams.create().withMaxCount(1).withDiffFiles(false))
                           .getCommits()
                           .get(0)
                           .getId()
@@ -31,6 +31,7 @@ public class LogPage implements Log, InfoPage {
   private static final DateFormat dateFormat;
 
   protected List<Revision> commits;
+  protected String nextCursor;
 
   static {
     dateFormat = new SimpleDateFormat(DATE_FORMAT, Locale.US);
@@ -39,7 +40,12 @@ public class LogPage implements Log, InfoPage {
   }
 
   public LogPage(List<Revision> commits) {
+    this(commits, null);
+  }
+
+  public LogPage(List<Revision> commits, String nextCursor) {
     this.commits = commits;
+    this.nextCursor = nextCursor;
   }
 
   /** @see InfoPage#writeTo(java.io.OutputStream) */
@@ -78,4 +84,10 @@ public class LogPage implements Log, InfoPage {
   public List<Revision> getCommits() {
     return commits;
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public String getNextCursor() {
+    return nextCursor;
+  }
 }
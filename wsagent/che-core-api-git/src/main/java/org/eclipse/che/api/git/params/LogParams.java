@@ -26,10 +26,13 @@ public class LogParams {
   private String filePath;
   private int skip;
   private int maxCount;
+  private String cursor;
+  private boolean diffFiles;
 
   private LogParams() {
     skip = -1;
     maxCount = -1;
+    diffFiles = true;
   }
 
   /** Create new {@link LogParams} instance with default parameters. */
@@ -104,6 +107,27 @@ public class LogParams {
     return this;
   }
 
+  /** Returns the cursor returned with the previous page of the log. */
+  public String getCursor() {
+    return cursor;
+  }
+
+  /** Set the cursor returned with the previous page of the log. */
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
+  /**
+   * Create a {@link LogParams} object based on a given cursor returned with the previous page of
+   * the log, the log is resumed after the last commit of that page instead of skipping the commits
+   *
+   * @param cursor cursor returned with the previous page of the log
+   */
+  public LogParams withCursor(String cursor) {
+    this.cursor = cursor;
+    return this;
+  }
+
   /**
    * Returns the integer value of the number of commits that will be returned when calling log
    * command.
@@ -152,6 +176,27 @@ public class LogParams {
     return this;
   }
 
+  /** Returns {@code true} if the files changed by each of the commits should be returned. */
+  public boolean isDiffFiles() {
+    return diffFiles;
+  }
+
+  /** Set whether the files changed by each of the commits should be returned. */
+  public void setDiffFiles(boolean diffFiles) {
+    this.diffFiles = diffFiles;
+  }
+
+  /**
+   * Create a {@link LogParams} object based on whether the files changed by each of the commits
+   * should be returned, computing them takes a diff of each commit against its parent
+   *
+   * @param diffFiles {@code true} if the changed files should be returned, which is the default
+   */
+  public LogParams withDiffFiles(boolean diffFiles) {
+    this.diffFiles = diffFiles;
+    return this;
+  }
+
   /** Returns the Filter revisions list by range of files. */
   public List<String> getFileFilter() {
     return fileFilter == null ? new ArrayList<>() : fileFilter;
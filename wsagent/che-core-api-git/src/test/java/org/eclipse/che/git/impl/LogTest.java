@@ -14,6 +14,7 @@ import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
@@ -24,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import org.eclipse.che.api.git.GitConnection;
 import org.eclipse.che.api.git.GitConnectionFactory;
+import org.eclipse.che.api.git.LogPage;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CommitParams;
@@ -291,6 +293,42 @@ public class LogTest {
     assertEquals(secondBacketOfCommits.get(1).getDiffCommitFile().get(0).getChangeType(), "ADD");
   }
 
+  @Test(
+    dataProvider = "GitConnectionFactory",
+    dataProviderClass = GitConnectionFactoryProvider.class
+  )
+  public void testLogWithCursor(GitConnectionFactory connectionFactory)
+      throws GitException, IOException {
+    // given
+    GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+    for (int i = 1; i <= 5; i++) {
+      addFile(connection, i + ".txt", "someChanges");
+      connection.add(AddParams.create());
+      connection.commit(CommitParams.create("add " + i + ".txt file"));
+    }
+
+    // when
+    LogPage firstPage = connection.log(LogParams.create().withMaxCount(2));
+    LogPage secondPage =
+        connection.log(LogParams.create().withMaxCount(2).withCursor(firstPage.getNextCursor()));
+    LogPage lastPage =
+        connection.log(LogParams.create().withMaxCount(2).withCursor(secondPage.getNextCursor()));
+    LogPage expiredCursorPage =
+        connection.log(LogParams.create().withMaxCount(2).withCursor("expired:2"));
+
+    // then
+    assertEquals(firstPage.getCommits().get(0).getMessage(), "add 5.txt file");
+    assertEquals(firstPage.getCommits().get(1).getMessage(), "add 4.txt file");
+    assertEquals(secondPage.getCommits().size(), 2);
+    assertEquals(secondPage.getCommits().get(0).getMessage(), "add 3.txt file");
+    assertEquals(secondPage.getCommits().get(1).getMessage(), "add 2.txt file");
+    assertEquals(secondPage.getCommits().get(1).getDiffCommitFile().get(0).getNewPath(), "2.txt");
+    assertEquals(lastPage.getCommits().size(), 1);
+    assertEquals(lastPage.getCommits().get(0).getMessage(), "add 1.txt file");
+    assertNull(lastPage.getNextCursor());
+    assertEquals(expiredCursorPage.getCommits().get(0).getMessage(), "add 3.txt file");
+  }
+
   @Test(
     dataProvider = "GitConnectionFactory",
     dataProviderClass = GitConnectionFactoryProvider.class
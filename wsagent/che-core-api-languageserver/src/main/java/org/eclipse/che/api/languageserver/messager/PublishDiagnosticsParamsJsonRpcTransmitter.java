@@ -10,40 +10,84 @@
  */
 package org.eclipse.che.api.languageserver.messager;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-/** Transmits 'textDocument/publishDiagnostics' over the JSON-RPC */
+/**
+ * Transmits 'textDocument/publishDiagnostics' over the JSON-RPC.
+ *
+ * <p>Diagnostics published for the same document by the same language server within the coalescing
+ * window are merged, only the latest of them is transmitted. Each endpoint gets diagnostics of a
+ * document only when they differ from the ones it got previously since the document was opened.
+ */
 @Singleton
 public class PublishDiagnosticsParamsJsonRpcTransmitter {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(PublishDiagnosticsParamsJsonRpcTransmitter.class);
+
   private final Set<String> endpointIds = new CopyOnWriteArraySet<>();
+  private final Map<DiagnosticsKey, ExtendedPublishDiagnosticsParams> pending =
+      new ConcurrentHashMap<>();
+  /** Non empty diagnostics last transmitted to each of the endpoints. */
+  private final Map<String, Map<DiagnosticsKey, List<Diagnostic>>> transmitted =
+      new ConcurrentHashMap<>();
+
+  private final long coalesceWindowMs;
+  private final ScheduledExecutorService scheduler;
+
+  private final LongAdder received = new LongAdder();
+  private final LongAdder merged = new LongAdder();
+  private final LongAdder suppressed = new LongAdder();
+  private final LongAdder sent = new LongAdder();
+
+  private RequestTransmitter requestTransmitter;
+
+  @Inject
+  public PublishDiagnosticsParamsJsonRpcTransmitter(
+      @Named("che.languageserver.diagnostics.coalesce_window_ms") long coalesceWindowMs) {
+    this.coalesceWindowMs = coalesceWindowMs;
+    this.scheduler =
+        coalesceWindowMs > 0
+            ? Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder()
+                    .setNameFormat("PublishDiagnosticsTransmitter")
+                    .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                    .setDaemon(true)
+                    .build())
+            : null;
+  }
 
   @Inject
-  private void subscribe(EventService eventService, RequestTransmitter requestTransmitter) {
-    eventService.subscribe(
-        event -> {
-          PublishDiagnosticsParams params = event.getParams();
-          if (params.getUri() != null) {
-            params.setUri(params.getUri().substring(16));
-          }
-          endpointIds.forEach(
-              endpointId ->
-                  requestTransmitter
-                      .newRequest()
-                      .endpointId(endpointId)
-                      .methodName("textDocument/publishDiagnostics")
-                      .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(event))
-                      .sendAndSkipResult());
-        },
-        ExtendedPublishDiagnosticsParams.class);
+  @VisibleForTesting
+  void subscribe(EventService eventService, RequestTransmitter requestTransmitter) {
+    this.requestTransmitter = requestTransmitter;
+    eventService.subscribe(this::onDiagnostics, ExtendedPublishDiagnosticsParams.class);
   }
 
   @Inject
@@ -53,7 +97,7 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/subscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::add);
+        .withConsumer(this::subscribeEndpoint);
   }
 
   @Inject
@@ -63,6 +107,144 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/unsubscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::remove);
+        .withConsumer(this::unsubscribeEndpoint);
+  }
+
+  @VisibleForTesting
+  void subscribeEndpoint(String endpointId) {
+    // endpoint may be subscribed again after reload, it has no diagnostics then
+    transmitted.remove(endpointId);
+    endpointIds.add(endpointId);
+  }
+
+  @VisibleForTesting
+  void unsubscribeEndpoint(String endpointId) {
+    endpointIds.remove(endpointId);
+    transmitted.remove(endpointId);
+  }
+
+  /**
+   * Forgets the diagnostics transmitted for the document, so the diagnostics published for it next
+   * are transmitted even if they are the same. Must be called when the document is opened or
+   * closed, as the editor drops the diagnostics of the closed documents.
+   *
+   * @param uri the document uri relative to the projects root, as the endpoints address it
+   */
+  public void resetDocument(String uri) {
+    for (Map<DiagnosticsKey, List<Diagnostic>> endpointDiagnostics : transmitted.values()) {
+      endpointDiagnostics.keySet().removeIf(key -> Objects.equals(key.uri, uri));
+    }
+  }
+
+  /** Number of diagnostics notifications published by language servers. */
+  public long getReceived() {
+    return received.sum();
+  }
+
+  /** Number of notifications replaced by the later ones within the coalescing window. */
+  public long getMerged() {
+    return merged.sum();
+  }
+
+  /** Number of notifications not transmitted to endpoints as they already have such diagnostics. */
+  public long getSuppressed() {
+    return suppressed.sum();
+  }
+
+  /** Number of notifications transmitted to endpoints. */
+  public long getSent() {
+    return sent.sum();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (scheduler == null) {
+      return;
+    }
+    scheduler.shutdown();
+    try {
+      if (!scheduler.awaitTermination(30, SECONDS)) {
+        scheduler.shutdownNow();
+        if (!scheduler.awaitTermination(60, SECONDS)) {
+          LOG.error("Couldn't shutdown diagnostics transmitter thread pool");
+        }
+      }
+    } catch (InterruptedException ignored) {
+      scheduler.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    LOG.info(
+        "Diagnostics transmitter thread pool is terminated, "
+            + "received {}, merged {}, suppressed {}, sent {} notifications",
+        getReceived(),
+        getMerged(),
+        getSuppressed(),
+        getSent());
+  }
+
+  private void onDiagnostics(ExtendedPublishDiagnosticsParams event) {
+    received.increment();
+    PublishDiagnosticsParams params = event.getParams();
+    if (params.getUri() != null) {
+      params.setUri(params.getUri().substring(16));
+    }
+    DiagnosticsKey key = new DiagnosticsKey(event.getLanguageServerId(), params.getUri());
+    if (scheduler == null) {
+      transmit(key, event);
+    } else if (pending.put(key, event) != null) {
+      merged.increment();
+    } else {
+      scheduler.schedule(() -> transmit(key, pending.remove(key)), coalesceWindowMs, MILLISECONDS);
+    }
+  }
+
+  private void transmit(DiagnosticsKey key, ExtendedPublishDiagnosticsParams event) {
+    List<Diagnostic> diagnostics = event.getParams().getDiagnostics();
+    boolean empty = diagnostics == null || diagnostics.isEmpty();
+    for (String endpointId : endpointIds) {
+      Map<DiagnosticsKey, List<Diagnostic>> endpointDiagnostics =
+          transmitted.computeIfAbsent(endpointId, it -> new ConcurrentHashMap<>());
+      List<Diagnostic> previous =
+          empty ? endpointDiagnostics.remove(key) : endpointDiagnostics.put(key, diagnostics);
+      if (empty ? previous == null : diagnostics.equals(previous)) {
+        suppressed.increment();
+        continue;
+      }
+      requestTransmitter
+          .newRequest()
+          .endpointId(endpointId)
+          .methodName("textDocument/publishDiagnostics")
+          .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(event))
+          .sendAndSkipResult();
+      sent.increment();
+    }
+  }
+
+  private static class DiagnosticsKey {
+    private final String languageServerId;
+    private final String uri;
+
+    private DiagnosticsKey(String languageServerId, String uri) {
+      this.languageServerId = languageServerId;
+      this.uri = uri;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DiagnosticsKey)) {
+        return false;
+      }
+      DiagnosticsKey that = (DiagnosticsKey) obj;
+      return Objects.equals(languageServerId, that.languageServerId)
+          && Objects.equals(uri, that.uri);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(languageServerId, uri);
+    }
   }
 }
@@ -39,6 +39,7 @@ import javax.inject.Inject;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsJsonRpcTransmitter;
 import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
@@ -103,12 +104,16 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter;
 
   @Inject
   public TextDocumentService(
-      LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+      LanguageServerRegistry languageServerRegistry,
+      RequestHandlerConfigurator requestHandler,
+      PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.diagnosticsTransmitter = diagnosticsTransmitter;
   }
 
   @PostConstruct
@@ -671,6 +676,7 @@ public class TextDocumentService {
   }
 
   private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
+    diagnosticsTransmitter.resetDocument(openTextDocumentParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(openTextDocumentParams.getTextDocument().getUri());
       openTextDocumentParams.getTextDocument().setUri(uri);
@@ -689,6 +695,7 @@ public class TextDocumentService {
   }
 
   private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
+    diagnosticsTransmitter.resetDocument(didCloseTextDocumentParams.getTextDocument().getUri());
     try {
       String uri = prefixURI(didCloseTextDocumentParams.getTextDocument().getUri());
       didCloseTextDocumentParams.getTextDocument().setUri(uri);
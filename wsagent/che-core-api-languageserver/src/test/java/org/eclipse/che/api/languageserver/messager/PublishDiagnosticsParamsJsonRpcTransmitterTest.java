@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.messager;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromOne;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link PublishDiagnosticsParamsJsonRpcTransmitter}. */
+@Listeners(MockitoTestNGListener.class)
+public class PublishDiagnosticsParamsJsonRpcTransmitterTest {
+
+  private static final String URI = "file:///projects/project/src/Main.java";
+  private static final String ENDPOINT_ID = "endpoint";
+
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private EndpointIdConfigurator endpointIdConfigurator;
+  @Mock private MethodNameConfigurator methodNameConfigurator;
+  @Mock private ParamsConfigurator paramsConfigurator;
+  @Mock private SendConfiguratorFromOne<Object> sendConfigurator;
+
+  private EventService eventService;
+  private PublishDiagnosticsParamsJsonRpcTransmitter transmitter;
+
+  @BeforeMethod
+  public void setUp() {
+    when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+    when(endpointIdConfigurator.endpointId(anyString())).thenReturn(methodNameConfigurator);
+    when(methodNameConfigurator.methodName(anyString())).thenReturn(paramsConfigurator);
+    when(paramsConfigurator.paramsAsDto(any())).thenReturn(sendConfigurator);
+    eventService = new EventService();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transmitter.shutdown();
+  }
+
+  @Test
+  public void shouldNotTransmitIdenticalDiagnosticsAgain() {
+    createTransmitter(0);
+
+    publish(diagnostics("unused variable"));
+    publish(diagnostics("unused variable"));
+
+    verify(sendConfigurator).sendAndSkipResult();
+    assertEquals(transmitter.getSuppressed(), 1);
+  }
+
+  @Test
+  public void shouldTransmitChangedDiagnostics() {
+    createTransmitter(0);
+
+    publish(diagnostics("unused variable"));
+    publish(diagnostics("missing return"));
+
+    verify(sendConfigurator, times(2)).sendAndSkipResult();
+  }
+
+  @Test
+  public void shouldTransmitEmptyDiagnosticsOnlyToClearPreviousOnes() {
+    createTransmitter(0);
+
+    publish(emptyList());
+    verify(sendConfigurator, never()).sendAndSkipResult();
+
+    publish(diagnostics("unused variable"));
+    publish(emptyList());
+    publish(emptyList());
+
+    verify(sendConfigurator, times(2)).sendAndSkipResult();
+    assertEquals(transmitter.getSuppressed(), 2);
+  }
+
+  @Test
+  public void shouldTransmitDiagnosticsToEndpointSubscribedAgain() {
+    createTransmitter(0);
+    publish(diagnostics("unused variable"));
+
+    transmitter.subscribeEndpoint(ENDPOINT_ID);
+    publish(diagnostics("unused variable"));
+
+    verify(sendConfigurator, times(2)).sendAndSkipResult();
+  }
+
+  @Test
+  public void shouldTransmitIdenticalDiagnosticsAgainAfterDocumentIsReopened() {
+    createTransmitter(0);
+    publish(diagnostics("unused variable"));
+
+    transmitter.resetDocument("/project/src/Main.java");
+    publish(diagnostics("unused variable"));
+
+    verify(sendConfigurator, times(2)).sendAndSkipResult();
+    assertEquals(transmitter.getSuppressed(), 0);
+  }
+
+  @Test
+  public void shouldNotTransmitDiagnosticsToUnsubscribedEndpoint() {
+    createTransmitter(0);
+
+    transmitter.unsubscribeEndpoint(ENDPOINT_ID);
+    publish(diagnostics("unused variable"));
+
+    verify(requestTransmitter, never()).newRequest();
+  }
+
+  @Test
+  public void shouldTransmitOnlyLatestDiagnosticsPublishedWithinWindow() {
+    createTransmitter(200);
+
+    publish(diagnostics("first"));
+    publish(diagnostics("second"));
+    publish(diagnostics("third"));
+
+    verify(sendConfigurator, timeout(2000)).sendAndSkipResult();
+    ArgumentCaptor<Object> paramsCaptor = ArgumentCaptor.forClass(Object.class);
+    verify(paramsConfigurator).paramsAsDto(paramsCaptor.capture());
+    ExtendedPublishDiagnosticsParams transmitted =
+        (ExtendedPublishDiagnosticsParams) paramsCaptor.getValue();
+    assertEquals(transmitted.getParams().getDiagnostics().get(0).getMessage(), "third");
+    assertEquals(transmitted.getParams().getUri(), "/project/src/Main.java");
+    assertEquals(transmitter.getReceived(), 3);
+    assertEquals(transmitter.getMerged(), 2);
+    assertEquals(transmitter.getSent(), 1);
+  }
+
+  private void createTransmitter(long coalesceWindowMs) {
+    transmitter = new PublishDiagnosticsParamsJsonRpcTransmitter(coalesceWindowMs);
+    transmitter.subscribe(eventService, requestTransmitter);
+    transmitter.subscribeEndpoint(ENDPOINT_ID);
+  }
+
+  private void publish(List<Diagnostic> diagnostics) {
+    eventService.publish(
+        new ExtendedPublishDiagnosticsParams(
+            "server", new PublishDiagnosticsParams(URI, diagnostics)));
+  }
+
+  private static List<Diagnostic> diagnostics(String message) {
+    Diagnostic diagnostic = new Diagnostic();
+    diagnostic.setMessage(message);
+    return singletonList(diagnostic);
+  }
+}
@@ -26,6 +26,11 @@ public interface ProjectSearchRequestDto {
 
   ProjectSearchRequestDto withText(String text);
 
+  /** Regular expression which the content of the files must match. */
+  String getRegex();
+
+  ProjectSearchRequestDto withRegex(String regex);
+
   int getMaxItems();
 
   ProjectSearchRequestDto withMaxItems(int maxItems);
@@ -33,4 +38,9 @@ public interface ProjectSearchRequestDto {
   int getSkipCount();
 
   ProjectSearchRequestDto withSkipCount(int skipCount);
+
+  /** Token returned with the previous page of results, the skip count is ignored when it is set. */
+  String getContinuationToken();
+
+  ProjectSearchRequestDto withContinuationToken(String continuationToken);
 }
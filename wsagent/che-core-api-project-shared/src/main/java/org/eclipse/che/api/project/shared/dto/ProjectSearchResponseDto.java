@@ -22,4 +22,9 @@ public interface ProjectSearchResponseDto {
   long getTotalHits();
 
   ProjectSearchResponseDto withTotalHits(long totalHits);
+
+  /** Token for retrieving the next page of results, {@code null} when there are no more results. */
+  String getContinuationToken();
+
+  ProjectSearchResponseDto withContinuationToken(String continuationToken);
 }
@@ -659,15 +659,22 @@ public class ProjectService {
           String wsPath,
       @ApiParam(value = "Resource name") @QueryParam("name") String name,
       @ApiParam(value = "Search keywords") @QueryParam("text") String text,
+      @ApiParam(value = "Regular expression which the content of the files must match")
+          @QueryParam("regex")
+          String regex,
       @ApiParam(
             value = "Maximum items to display. If this parameter is dropped, there are no limits"
           )
           @QueryParam("maxItems")
           @DefaultValue("-1")
           int maxItems,
-      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount)
+      @ApiParam(value = "Skip count") @QueryParam("skipCount") int skipCount,
+      @ApiParam(value = "Token returned with the previous page of results")
+          @QueryParam("continuationToken")
+          String continuationToken)
       throws NotFoundException, ServerException, BadRequestException {
 
-    return getProjectServiceApi().search(wsPath, name, text, maxItems, skipCount);
+    return getProjectServiceApi()
+        .search(wsPath, name, text, regex, maxItems, skipCount, continuationToken);
   }
 }
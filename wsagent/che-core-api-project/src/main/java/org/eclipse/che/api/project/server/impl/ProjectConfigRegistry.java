@@ -10,22 +10,28 @@
  */
 package org.eclipse.che.api.project.server.impl;
 
-import static java.util.stream.Collectors.toSet;
-
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
+import org.eclipse.che.api.fs.server.WsPathUtils;
 
+/**
+ * Keeps registered projects in a tree of workspace path segments, so lookups of the closest project
+ * and of the projects located under a path take time proportional to the path depth (and the size
+ * of the result) rather than to the number of registered projects.
+ */
 @Singleton
 public class ProjectConfigRegistry {
 
   private final Map<String, RegisteredProject> projects = new ConcurrentHashMap<>();
+  private final Node root = new Node(null, null);
 
   private final RegisteredProjectFactory registeredProjectFactory;
 
@@ -38,16 +44,23 @@ public class ProjectConfigRegistry {
     return ImmutableSet.copyOf(projects.values());
   }
 
+  /** Returns projects located under the given path, not including the project at the path. */
   public Set<RegisteredProject> getAll(String wsPath) {
-    Set<RegisteredProject> children =
-        projects
-            .entrySet()
-            .stream()
-            .filter(it -> it.getKey().startsWith(wsPath))
-            .filter(it -> !it.getKey().equals(wsPath))
-            .map(Entry::getValue)
-            .collect(toSet());
-    return ImmutableSet.copyOf(children);
+    Node node = find(wsPath);
+    if (node == null) {
+      return ImmutableSet.of();
+    }
+    ImmutableSet.Builder<RegisteredProject> children = ImmutableSet.builder();
+    Deque<Node> nodes = new ArrayDeque<>(node.children.values());
+    while (!nodes.isEmpty()) {
+      Node child = nodes.pop();
+      RegisteredProject project = child.project;
+      if (project != null) {
+        children.add(project);
+      }
+      nodes.addAll(child.children.values());
+    }
+    return children.build();
   }
 
   public Optional<RegisteredProject> get(String wsPath) {
@@ -58,11 +71,32 @@ public class ProjectConfigRegistry {
     return projects.get(wsPath);
   }
 
+  /** Returns the project located at the given path or at the closest of its parents. */
+  public Optional<RegisteredProject> getClosest(String wsPath) {
+    return Optional.ofNullable(getClosestOrNull(wsPath));
+  }
+
+  public RegisteredProject getClosestOrNull(String wsPath) {
+    RegisteredProject closest = null;
+    Node node = root;
+    for (String segment : segments(wsPath)) {
+      node = node.children.get(segment);
+      if (node == null) {
+        break;
+      }
+      RegisteredProject project = node.project;
+      if (project != null) {
+        closest = project;
+      }
+    }
+    return closest;
+  }
+
   public synchronized RegisteredProject put(
       ProjectConfig config, boolean updated, boolean detected) {
     String wsPath = config.getPath();
     RegisteredProject project = registeredProjectFactory.create(wsPath, config, updated, detected);
-    projects.put(wsPath, project);
+    register(wsPath, project);
     return project;
   }
 
@@ -75,13 +109,13 @@ public class ProjectConfigRegistry {
 
     String wsPath = config.getPath();
     RegisteredProject project = registeredProjectFactory.create(wsPath, config, updated, detected);
-    projects.put(wsPath, project);
+    register(wsPath, project);
     return project;
   }
 
   public synchronized RegisteredProject put(String wsPath, boolean updated, boolean detected) {
     RegisteredProject project = registeredProjectFactory.create(wsPath, null, updated, detected);
-    projects.put(wsPath, project);
+    register(wsPath, project);
     return project;
   }
 
@@ -93,19 +127,71 @@ public class ProjectConfigRegistry {
     }
 
     RegisteredProject project = registeredProjectFactory.create(wsPath, null, updated, detected);
-    projects.put(wsPath, project);
+    register(wsPath, project);
     return project;
   }
 
   public Optional<RegisteredProject> remove(String wsPath) {
-    return Optional.ofNullable(projects.remove(wsPath));
+    return Optional.ofNullable(removeOrNull(wsPath));
   }
 
-  public RegisteredProject removeOrNull(String wsPath) {
-    return projects.remove(wsPath);
+  public synchronized RegisteredProject removeOrNull(String wsPath) {
+    RegisteredProject project = projects.remove(wsPath);
+    if (project != null) {
+      Node node = find(wsPath);
+      if (node != null) {
+        node.project = null;
+        // drop the branch which doesn't lead to any project anymore
+        while (node.parent != null && node.project == null && node.children.isEmpty()) {
+          node.parent.children.remove(node.segment);
+          node = node.parent;
+        }
+      }
+    }
+    return project;
   }
 
   public boolean isRegistered(String path) {
     return projects.containsKey(path);
   }
+
+  private void register(String wsPath, RegisteredProject project) {
+    Node node = root;
+    for (String segment : segments(wsPath)) {
+      Node parent = node;
+      node = parent.children.computeIfAbsent(segment, it -> new Node(parent, it));
+    }
+    node.project = project;
+    projects.put(wsPath, project);
+  }
+
+  private Node find(String wsPath) {
+    Node node = root;
+    for (String segment : segments(wsPath)) {
+      node = node.children.get(segment);
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  private static String[] segments(String wsPath) {
+    if (wsPath.startsWith(WsPathUtils.ROOT)) {
+      wsPath = wsPath.substring(1);
+    }
+    return wsPath.isEmpty() ? new String[0] : wsPath.split(WsPathUtils.SEPARATOR);
+  }
+
+  private static class Node {
+    final Node parent;
+    final String segment;
+    final Map<String, Node> children = new ConcurrentHashMap<>();
+    volatile RegisteredProject project;
+
+    Node(Node parent, String segment) {
+      this.parent = parent;
+      this.segment = segment;
+    }
+  }
 }
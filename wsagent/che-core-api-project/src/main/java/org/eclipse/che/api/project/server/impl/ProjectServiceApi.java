@@ -603,11 +603,20 @@ public class ProjectServiceApi {
    * @param wsPath search root
    * @param name file name
    * @param text text
+   * @param regex regular expression which the content of the files must match
    * @param maxItems maximum number of items
    * @param skipCount number of items to be skipped
+   * @param continuationToken token returned with the previous page of results, skip count is
+   *     ignored when it is set
    */
   public ProjectSearchResponseDto search(
-      String wsPath, String name, String text, int maxItems, int skipCount)
+      String wsPath,
+      String name,
+      String text,
+      String regex,
+      int maxItems,
+      int skipCount,
+      String continuationToken)
       throws BadRequestException, ServerException, NotFoundException {
     if (skipCount < 0) {
       throw new BadRequestException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
@@ -619,8 +628,10 @@ public class ProjectServiceApi {
             .setPath(wsPath)
             .setName(name)
             .setText(text)
+            .setRegex(regex)
             .setMaxItems(maxItems)
             .setSkipCount(skipCount)
+            .setContinuationToken(continuationToken)
             .setIncludePositions(true);
 
     try {
@@ -628,7 +639,11 @@ public class ProjectServiceApi {
       List<SearchResultEntry> searchResultEntries = result.getResults();
       return DtoFactory.newDto(ProjectSearchResponseDto.class)
           .withTotalHits(result.getTotalHits())
-          .withItemReferences(prepareResults(searchResultEntries));
+          .withItemReferences(prepareResults(searchResultEntries))
+          .withContinuationToken(
+              result.getNextPageQueryExpression().isPresent()
+                  ? result.getNextPageQueryExpression().get().getContinuationToken()
+                  : null);
     } catch (InvalidQueryException e) {
       throw new BadRequestException(e.getMessage());
     } catch (QueryExecutionException e) {
@@ -688,11 +703,13 @@ public class ProjectServiceApi {
     String path = request.getPath();
     String name = request.getName();
     String text = request.getText();
+    String regex = request.getRegex();
     int maxItems = request.getMaxItems();
     int skipCount = request.getSkipCount();
+    String continuationToken = request.getContinuationToken();
 
     try {
-      return search(path, name, text, maxItems, skipCount);
+      return search(path, name, text, regex, maxItems, skipCount, continuationToken);
     } catch (ServerException | NotFoundException | BadRequestException e) {
       throw new JsonRpcException(-27000, e.getMessage());
     }
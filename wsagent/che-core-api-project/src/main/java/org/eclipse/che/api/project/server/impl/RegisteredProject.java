@@ -35,6 +35,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypes;
 import org.eclipse.che.api.project.server.type.ProjectTypesFactory;
 import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.server.type.Variable;
 import org.eclipse.che.api.workspace.shared.ProjectProblemImpl;
@@ -53,6 +54,7 @@ public class RegisteredProject implements ProjectConfig {
   private final String folder;
   private final ProjectConfig config;
   private final ProjectTypes types;
+  private final ValueProviderCache valueProviderCache;
   private boolean updated;
   private boolean detected;
 
@@ -64,6 +66,7 @@ public class RegisteredProject implements ProjectConfig {
    * @param updated if this object was updated, i.e. no more synchronized with workspace master
    * @param detected if this project was detected, initialized when "parent" project initialized
    * @param projectTypesFactory project types factory
+   * @param valueProviderCache memoized values of the value providers
    * @throws ServerException when path for project is undefined
    */
   @AssistedInject
@@ -73,7 +76,8 @@ public class RegisteredProject implements ProjectConfig {
       @Assisted("updated") boolean updated,
       @Assisted("detected") boolean detected,
       ProjectTypesFactory projectTypesFactory,
-      FsManager fsManager)
+      FsManager fsManager,
+      ValueProviderCache valueProviderCache)
       throws ServerException {
     problems = new ArrayList<>();
     attributes = new HashMap<>();
@@ -91,6 +95,7 @@ public class RegisteredProject implements ProjectConfig {
     this.config = config == null ? new NewProjectConfigImpl(wsPath) : config;
     this.updated = updated;
     this.detected = detected;
+    this.valueProviderCache = valueProviderCache;
 
     if (wsPath == null || !fsManager.existsAsDir(wsPath)) {
       problems.add(
@@ -142,7 +147,7 @@ public class RegisteredProject implements ProjectConfig {
         if (variable.isValueProvided()) {
 
           final ValueProvider valueProvider =
-              variable.getValueProviderFactory().newInstance(this.getPath());
+              valueProviderCache.newInstance(variable.getValueProviderFactory(), this.getPath());
 
           if (folder != null) {
 
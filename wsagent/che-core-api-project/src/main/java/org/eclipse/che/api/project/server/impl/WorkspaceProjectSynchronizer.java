@@ -12,23 +12,35 @@ package org.eclipse.che.api.project.server.impl;
 
 import static java.util.Collections.unmodifiableSet;
 import static org.eclipse.che.api.project.server.impl.ProjectDtoConverter.asDto;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
+import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigsPatchDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +50,8 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceProjectSynchronizer.class);
 
+  private static final int MAX_SYNCHRONIZATION_ATTEMPTS = 5;
+
   private final ProjectConfigRegistry projectConfigRegistry;
   private final HttpJsonRequestFactory httpJsonRequestFactory;
   private final WorkspaceSyncCommunication workspaceSyncCommunication;
@@ -45,6 +59,11 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
   private final String apiEndpoint;
   private final String workspaceId;
 
+  /** The synchronization which is not started yet, waited by the callers requested it. */
+  private CompletableFuture<Void> pendingSynchronization;
+
+  private boolean synchronizing;
+
   @Inject
   public WorkspaceProjectSynchronizer(
       @Named("che.api") String apiEndpoint,
@@ -52,12 +71,27 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
       WorkspaceSyncCommunication workspaceSyncCommunication,
       ProjectConfigRegistry projectConfigRegistry)
       throws ServerException {
+    this(
+        apiEndpoint,
+        System.getenv("CHE_WORKSPACE_ID"),
+        httpJsonRequestFactory,
+        workspaceSyncCommunication,
+        projectConfigRegistry);
+  }
+
+  WorkspaceProjectSynchronizer(
+      String apiEndpoint,
+      String workspaceId,
+      HttpJsonRequestFactory httpJsonRequestFactory,
+      WorkspaceSyncCommunication workspaceSyncCommunication,
+      ProjectConfigRegistry projectConfigRegistry)
+      throws ServerException {
     this.apiEndpoint = apiEndpoint;
     this.httpJsonRequestFactory = httpJsonRequestFactory;
     this.workspaceSyncCommunication = workspaceSyncCommunication;
     this.projectConfigRegistry = projectConfigRegistry;
 
-    this.workspaceId = System.getenv("CHE_WORKSPACE_ID");
+    this.workspaceId = workspaceId;
 
     LOG.info("Workspace ID: " + workspaceId);
     LOG.info("API Endpoint: " + apiEndpoint);
@@ -71,56 +105,120 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
     }
   }
 
+  /**
+   * Synchronizes the projects with the workspace configuration on master.
+   *
+   * <p>Concurrent calls are coalesced: while a synchronization is in progress the callers wait for
+   * the next one, which covers the changes made by all of them. The changes are sent to master with
+   * a single request based on the version of the workspace they are computed from, so the
+   * synchronization is repeated if the workspace is updated concurrently.
+   */
   @Override
   public void synchronize() throws ServerException {
+    CompletableFuture<Void> synchronization;
+    boolean run;
+    synchronized (this) {
+      if (pendingSynchronization == null) {
+        pendingSynchronization = new CompletableFuture<>();
+      }
+      synchronization = pendingSynchronization;
+      run = !synchronizing;
+      synchronizing = true;
+    }
+    if (run) {
+      runPendingSynchronizations();
+    }
 
-    Set<ProjectConfig> remote = getAll();
-
-    // check on removed
-    List<ProjectConfig> removed = new ArrayList<>();
-    for (ProjectConfig r : remote) {
-      if (!projectConfigRegistry.get(r.getPath()).isPresent()) {
-        removed.add(r);
+    try {
+      synchronization.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Interrupted while waiting for the projects synchronization");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ServerException) {
+        throw (ServerException) e.getCause();
       }
+      throw new ServerException(e.getCause());
     }
+  }
 
-    for (ProjectConfig r : removed) {
-      remove(r);
+  /** Runs the synchronizations requested while the previous ones are running. */
+  private void runPendingSynchronizations() {
+    while (true) {
+      CompletableFuture<Void> synchronization;
+      synchronized (this) {
+        synchronization = pendingSynchronization;
+        pendingSynchronization = null;
+        if (synchronization == null) {
+          synchronizing = false;
+          return;
+        }
+      }
+      try {
+        doSynchronize();
+        synchronization.complete(null);
+      } catch (ServerException | RuntimeException e) {
+        synchronization.completeExceptionally(e);
+      }
     }
+  }
 
-    // update or add
-    for (RegisteredProject project : projectConfigRegistry.getAll()) {
-
-      if (!project.isSynced() && !project.isDetected()) {
-
-        final ProjectConfig config =
-            new NewProjectConfigImpl(
-                project.getPath(),
-                project.getType(),
-                project.getMixins(),
-                project.getName(),
-                project.getDescription(),
-                project.getPersistableAttributes(),
-                null,
-                project.getSource());
-
-        boolean found = false;
-        for (ProjectConfig r : remote) {
-          if (r.getPath().equals(project.getPath())) {
-            update(config);
-            found = true;
-          }
+  private void doSynchronize() throws ServerException {
+    for (int attempt = 1; ; attempt++) {
+      WorkspaceDto workspace = workspaceDto();
+      Map<String, ProjectConfig> remote = new HashMap<>();
+      for (ProjectConfig project : workspace.getConfig().getProjects()) {
+        remote.put(project.getPath(), project);
+      }
+
+      List<String> removed = new ArrayList<>();
+      for (String path : remote.keySet()) {
+        if (!projectConfigRegistry.get(path).isPresent()) {
+          removed.add(path);
         }
+      }
 
-        if (!found) {
-          add(config);
+      List<RegisteredProject> synced = new ArrayList<>();
+      List<ProjectConfigDto> updated = new ArrayList<>();
+      for (RegisteredProject project : projectConfigRegistry.getAll()) {
+        if (!project.isSynced() && !project.isDetected()) {
+          final ProjectConfig config =
+              new NewProjectConfigImpl(
+                  project.getPath(),
+                  project.getType(),
+                  project.getMixins(),
+                  project.getName(),
+                  project.getDescription(),
+                  project.getPersistableAttributes(),
+                  null,
+                  project.getSource());
+
+          ProjectConfig remoteConfig = remote.get(project.getPath());
+          if (remoteConfig == null || !isSame(config, remoteConfig)) {
+            updated.add(asDto(config));
+          }
+          synced.add(project);
         }
+      }
 
-        project.setSync();
+      if (removed.isEmpty() && updated.isEmpty()) {
+        synced.forEach(RegisteredProject::setSync);
+        return;
       }
-    }
 
-    workspaceSyncCommunication.synchronizeWorkspace();
+      try {
+        updateProjects(getVersion(workspace), updated, removed);
+      } catch (ConflictException e) {
+        if (attempt >= MAX_SYNCHRONIZATION_ATTEMPTS) {
+          throw new ServerException(e.getMessage());
+        }
+        LOG.debug("Workspace '{}' is updated concurrently, synchronizing again", workspaceId);
+        continue;
+      }
+      synced.forEach(RegisteredProject::setSync);
+      workspaceSyncCommunication.synchronizeWorkspace();
+      return;
+    }
   }
 
   @Override
@@ -206,6 +304,50 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer {
     }
   }
 
+  /** Applies the changes to the projects of the workspace of the given version at once. */
+  private void updateProjects(String version, List<ProjectConfigDto> updated, List<String> removed)
+      throws ServerException, ConflictException {
+    final UriBuilder builder =
+        UriBuilder.fromUri(apiEndpoint)
+            .path(WorkspaceService.class)
+            .path(WorkspaceService.class, "updateProjects");
+    final String href = builder.build(workspaceId).toString();
+    try {
+      httpJsonRequestFactory
+          .fromUrl(href)
+          .usePutMethod()
+          .setBody(
+              newDto(ProjectConfigsPatchDto.class)
+                  .withVersion(version)
+                  .withUpdated(updated)
+                  .withRemoved(removed))
+          .request();
+    } catch (ConflictException e) {
+      throw e;
+    } catch (IOException | ApiException e) {
+      throw new ServerException(e.getMessage());
+    }
+  }
+
+  /** Returns the version of the workspace, the time of its last update or of its creation. */
+  private static String getVersion(WorkspaceDto workspace) {
+    String updated = workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME);
+    return updated != null ? updated : workspace.getAttributes().get(CREATED_ATTRIBUTE_NAME);
+  }
+
+  private static boolean isSame(ProjectConfig local, ProjectConfig remote) {
+    SourceStorage localSource = asDto(local.getSource());
+    SourceStorage remoteSource = asDto(remote.getSource());
+    return Objects.equals(local.getName(), remote.getName())
+        && Objects.equals(local.getDescription(), remote.getDescription())
+        && Objects.equals(local.getType(), remote.getType())
+        && Objects.equals(local.getMixins(), remote.getMixins())
+        && Objects.equals(local.getAttributes(), remote.getAttributes())
+        && Objects.equals(localSource.getType(), remoteSource.getType())
+        && Objects.equals(localSource.getLocation(), remoteSource.getLocation())
+        && Objects.equals(localSource.getParameters(), remoteSource.getParameters());
+  }
+
   /** @return WorkspaceDto */
   private WorkspaceDto workspaceDto() throws ServerException {
 
@@ -15,6 +15,7 @@ import static java.util.Collections.emptyMap;
 
 import java.util.HashMap;
 import java.util.Map;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.project.type.Attribute;
 import org.eclipse.che.api.core.model.project.type.ProjectType;
@@ -23,6 +24,13 @@ import org.eclipse.che.api.core.model.project.type.Value;
 @Singleton
 public class SimpleProjectTypeResolver implements ProjectTypeResolver {
 
+  private final ValueProviderCache valueProviderCache;
+
+  @Inject
+  public SimpleProjectTypeResolver(ValueProviderCache valueProviderCache) {
+    this.valueProviderCache = valueProviderCache;
+  }
+
   @Override
   public ProjectTypeResolution resolve(ProjectType type, String wsPath) {
     Map<String, Value> matchAttrs = new HashMap<>();
@@ -36,7 +44,8 @@ public class SimpleProjectTypeResolver implements ProjectTypeResolver {
           Value value;
           String errorMessage = "";
           try {
-            value = new AttributeValue(factory.newInstance(wsPath).getValues(name));
+            value =
+                new AttributeValue(valueProviderCache.newInstance(factory, wsPath).getValues(name));
           } catch (ValueStorageException e) {
             value = null;
             errorMessage = e.getLocalizedMessage();
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+
+/**
+ * Memoizes the attribute values computed by the read only value providers of the projects.
+ *
+ * <p>The values are memoized only for the factories which name the source files of the values, see
+ * {@link ValueProviderFactory#getSourceFiles(String)}. Memoized values are valid while the
+ * modification time and the length of every source file are the same as when the values were
+ * computed, and are dropped when the file watcher reports the source files are changed. A deleted
+ * source file is no longer watched, until values computed from it are memoized again.
+ */
+@Singleton
+public class ValueProviderCache {
+
+  private final FsManager fsManager;
+  private final FileWatcherManager fileWatcherManager;
+
+  private final Map<Key, Values> values = new ConcurrentHashMap<>();
+  /** Registrations of the file watcher operations by the watched source files. */
+  private final Map<String, Integer> watchedFiles = new ConcurrentHashMap<>();
+
+  @Inject
+  public ValueProviderCache(FsManager fsManager, FileWatcherManager fileWatcherManager) {
+    this.fsManager = fsManager;
+    this.fileWatcherManager = fileWatcherManager;
+  }
+
+  /**
+   * Creates value provider of the given factory for the project, the values of the provider are
+   * memoized if the provider is read only.
+   *
+   * @param factory factory of the value provider
+   * @param wsPath absolute workspace path of the project
+   */
+  public ValueProvider newInstance(ValueProviderFactory factory, String wsPath) {
+    ValueProvider valueProvider = factory.newInstance(wsPath);
+    if (valueProvider.isSettable()) {
+      return valueProvider;
+    }
+    return new MemoizingValueProvider(factory, wsPath, valueProvider);
+  }
+
+  /** Drops the values computed from the given source file. */
+  public void invalidate(String sourceFile) {
+    values.values().removeIf(memoized -> memoized.sourceFiles.contains(sourceFile));
+  }
+
+  /** Drops the values computed from the given deleted source file, and stops watching it. */
+  private void unwatch(String sourceFile) {
+    Integer registration = watchedFiles.remove(sourceFile);
+    if (registration != null) {
+      fileWatcherManager.unRegisterByPath(registration);
+    }
+    invalidate(sourceFile);
+  }
+
+  @PreDestroy
+  public void stopWatchers() {
+    watchedFiles.values().forEach(fileWatcherManager::unRegisterByPath);
+    watchedFiles.clear();
+    values.clear();
+  }
+
+  private long[] stampsOf(List<String> sourceFiles) {
+    long[] stamps = new long[sourceFiles.size() * 2];
+    for (int i = 0; i < sourceFiles.size(); i++) {
+      stamps[i * 2] = fsManager.lastModified(sourceFiles.get(i));
+      stamps[i * 2 + 1] = fsManager.length(sourceFiles.get(i));
+    }
+    return stamps;
+  }
+
+  private void watch(List<String> sourceFiles) {
+    for (String sourceFile : sourceFiles) {
+      watchedFiles.computeIfAbsent(
+          sourceFile,
+          file ->
+              fileWatcherManager.registerByPath(
+                  file, this::invalidate, this::invalidate, this::unwatch));
+    }
+  }
+
+  private class MemoizingValueProvider extends ReadonlyValueProvider {
+    private final ValueProviderFactory factory;
+    private final String wsPath;
+    private final ValueProvider valueProvider;
+
+    private MemoizingValueProvider(
+        ValueProviderFactory factory, String wsPath, ValueProvider valueProvider) {
+      this.factory = factory;
+      this.wsPath = wsPath;
+      this.valueProvider = valueProvider;
+    }
+
+    @Override
+    public List<String> getValues(String attributeName) throws ValueStorageException {
+      List<String> sourceFiles = factory.getSourceFiles(wsPath);
+      if (sourceFiles.isEmpty()) {
+        return valueProvider.getValues(attributeName);
+      }
+
+      Key key = new Key(factory, wsPath, attributeName);
+      // stamps are taken before the values are computed, so the values of the source files which
+      // are modified in the meantime are not taken as valid later
+      long[] stamps = stampsOf(sourceFiles);
+      Values memoized = values.get(key);
+      if (memoized != null
+          && memoized.sourceFiles.equals(sourceFiles)
+          && Arrays.equals(memoized.stamps, stamps)) {
+        return new ArrayList<>(memoized.values);
+      }
+
+      List<String> computed = valueProvider.getValues(attributeName);
+      if (computed != null) {
+        watch(sourceFiles);
+        values.put(key, new Values(sourceFiles, stamps, new ArrayList<>(computed)));
+      }
+      return computed;
+    }
+  }
+
+  private static class Key {
+    private final ValueProviderFactory factory;
+    private final String wsPath;
+    private final String attributeName;
+
+    private Key(ValueProviderFactory factory, String wsPath, String attributeName) {
+      this.factory = factory;
+      this.wsPath = wsPath;
+      this.attributeName = attributeName;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      final Key that = (Key) obj;
+      return factory == that.factory
+          && wsPath.equals(that.wsPath)
+          && attributeName.equals(that.attributeName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(factory), wsPath, attributeName);
+    }
+  }
+
+  private static class Values {
+    private final List<String> sourceFiles;
+    private final long[] stamps;
+    private final List<String> values;
+
+    private Values(List<String> sourceFiles, long[] stamps, List<String> values) {
+      this.sourceFiles = sourceFiles;
+      this.stamps = stamps;
+      this.values = values;
+    }
+  }
+}
@@ -10,6 +10,10 @@
  */
 package org.eclipse.che.api.project.server.type;
 
+import static java.util.Collections.emptyList;
+
+import java.util.List;
+
 /**
  * Factory for {@link ValueProvider}.
  *
@@ -24,4 +28,15 @@ public interface ValueProviderFactory {
    * @param wsPath
    */
   ValueProvider newInstance(String wsPath);
+
+  /**
+   * Returns absolute workspace paths of the files the values of the project are read from. The
+   * values provided by the read only value providers are memoized until either of the files is
+   * modified, see {@link ValueProviderCache}. The values are not memoized if the list is empty.
+   *
+   * @param wsPath absolute workspace path of the project
+   */
+  default List<String> getSourceFiles(String wsPath) {
+    return emptyList();
+  }
 }
@@ -18,6 +18,8 @@ public class QueryExpression {
   private int skipCount;
   private int maxItems;
   private boolean includePositions;
+  private String continuationToken;
+  private String regex;
 
   /**
    * Optional file path parameter. Only file with the specified path or children are included in
@@ -78,6 +80,20 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Optional regular expression, see {@link java.util.regex.Pattern}. Only files which content
+   * contains a match of the expression are included in result. Use {@link
+   * java.util.regex.Pattern#quote(String)} to search for a substring.
+   */
+  public String getRegex() {
+    return regex;
+  }
+
+  public QueryExpression setRegex(String regex) {
+    this.regex = regex;
+    return this;
+  }
+
   /** search for term position information or not. */
   public boolean isIncludePositions() {
     return includePositions;
@@ -88,6 +104,20 @@ public class QueryExpression {
     return this;
   }
 
+  /**
+   * Optional token returned along with the previous page of search result, see {@link
+   * SearchResult#getNextPageQueryExpression()}. When set, the next page is read right after the
+   * previous one and {@link #getSkipCount() skip count} is ignored.
+   */
+  public String getContinuationToken() {
+    return continuationToken;
+  }
+
+  public QueryExpression setContinuationToken(String continuationToken) {
+    this.continuationToken = continuationToken;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "QueryExpression{"
@@ -100,10 +130,16 @@ public class QueryExpression {
         + ", path='"
         + path
         + '\''
+        + ", regex='"
+        + regex
+        + '\''
         + ", skipCount="
         + skipCount
         + ", maxItems="
         + maxItems
+        + ", continuationToken='"
+        + continuationToken
+        + '\''
         + '}';
   }
 }
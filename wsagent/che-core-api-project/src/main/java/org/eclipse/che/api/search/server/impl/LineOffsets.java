@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.util.Arrays;
+import org.apache.lucene.util.BytesRef;
+
+/**
+ * Start offsets of the lines of an indexed text. Offsets are stored in the index along with the
+ * text, so the line of a found token is resolved with a binary search instead of scanning the text.
+ *
+ * <p>Lines are separated by {@code \n}, {@code \r\n} or {@code \r}.
+ */
+final class LineOffsets {
+
+  private final int[] starts;
+
+  private LineOffsets(int[] starts) {
+    this.starts = starts;
+  }
+
+  /** Computes start offsets of the lines of the given text. */
+  static LineOffsets of(CharSequence text) {
+    int[] starts = new int[16];
+    int count = 1;
+    final int length = text.length();
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      if (c == '\n' || (c == '\r' && (i + 1 == length || text.charAt(i + 1) != '\n'))) {
+        if (count == starts.length) {
+          starts = Arrays.copyOf(starts, count * 2);
+        }
+        starts[count++] = i + 1;
+      }
+    }
+    return new LineOffsets(Arrays.copyOf(starts, count));
+  }
+
+  /** Restores offsets from the value created by {@link #toBytesRef()}. */
+  static LineOffsets of(BytesRef bytes) {
+    final int[] position = {bytes.offset};
+    final int[] starts = new int[readVInt(bytes.bytes, position)];
+    for (int i = 1; i < starts.length; i++) {
+      starts[i] = starts[i - 1] + readVInt(bytes.bytes, position);
+    }
+    return new LineOffsets(starts);
+  }
+
+  /** Encodes offsets as a sequence of variable length deltas, to be stored in the index. */
+  BytesRef toBytesRef() {
+    final byte[] buffer = new byte[5 * starts.length];
+    int position = writeVInt(buffer, 0, starts.length);
+    for (int i = 1; i < starts.length; i++) {
+      position = writeVInt(buffer, position, starts[i] - starts[i - 1]);
+    }
+    return new BytesRef(buffer, 0, position);
+  }
+
+  /** Returns number of the line (starting from 1) which contains the given offset. */
+  int lineNumber(int offset) {
+    final int idx = Arrays.binarySearch(starts, offset);
+    return idx >= 0 ? idx + 1 : -idx - 1;
+  }
+
+  /**
+   * Returns content of the line with the given number without line separator.
+   *
+   * @param text the text these offsets are computed for
+   * @param lineNumber number of the line starting from 1
+   */
+  String line(String text, int lineNumber) {
+    final int start = starts[lineNumber - 1];
+    int end = lineNumber < starts.length ? starts[lineNumber] : text.length();
+    while (end > start && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+      end--;
+    }
+    return text.substring(start, end);
+  }
+
+  private static int writeVInt(byte[] buffer, int position, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  private static int readVInt(byte[] buffer, int[] position) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = buffer[position[0]++];
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
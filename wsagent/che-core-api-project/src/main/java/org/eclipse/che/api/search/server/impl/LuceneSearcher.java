@@ -11,9 +11,11 @@
 package org.eclipse.che.api.search.server.impl;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.eclipse.che.api.fs.server.WsPathUtils.nameOf;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.CharStreams;
 import java.io.BufferedReader;
 import java.io.File;
@@ -29,11 +31,14 @@ import java.nio.file.PathMatcher;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -43,13 +48,18 @@ import org.apache.lucene.analysis.TokenStream;
 import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
 import org.apache.lucene.analysis.core.WhitespaceTokenizerFactory;
 import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.ngram.NGramTokenizerFactory;
 import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
 import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexOptions;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
@@ -59,7 +69,9 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
@@ -100,6 +112,21 @@ public class LuceneSearcher implements Searcher {
   private static final String PATH_FIELD = "path";
   private static final String NAME_FIELD = "name";
   private static final String TEXT_FIELD = "text";
+  private static final String LINES_FIELD = "lines";
+  private static final String TRIGRAM_FIELD = "trigram";
+  private static final Set<String> PATH_FIELD_ONLY = Collections.singleton(PATH_FIELD);
+  private static final Set<String> REGEX_FIELDS =
+      ImmutableSet.of(PATH_FIELD, TEXT_FIELD, LINES_FIELD);
+  private static final Sort PATH_SORT = new Sort(new SortField(PATH_FIELD, SortField.Type.STRING));
+  /** Trigrams are used to narrow down files only, their frequencies and positions are omitted. */
+  private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType();
+
+  static {
+    TRIGRAM_FIELD_TYPE.setTokenized(true);
+    TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+    TRIGRAM_FIELD_TYPE.setIndexOptions(IndexOptions.DOCS);
+    TRIGRAM_FIELD_TYPE.freeze();
+  }
 
   private final Set<PathMatcher> excludePatterns;
   private final File indexDirectory;
@@ -137,10 +164,17 @@ public class LuceneSearcher implements Searcher {
             .withTokenizer(WhitespaceTokenizerFactory.class)
             .addTokenFilter(LowerCaseFilterFactory.class)
             .build();
+    Analyzer trigramAnalyzer =
+        CustomAnalyzer.builder()
+            .withTokenizer(NGramTokenizerFactory.class, "minGramSize", "3", "maxGramSize", "3")
+            .addTokenFilter(LowerCaseFilterFactory.class)
+            .build();
     this.luceneIndexWriter =
         new IndexWriter(
             FSDirectory.open(indexDirectory.toPath(), new SingleInstanceLockFactory()),
-            new IndexWriterConfig(analyzer));
+            new IndexWriterConfig(
+                new PerFieldAnalyzerWrapper(
+                    analyzer, Collections.singletonMap(TRIGRAM_FIELD, trigramAnalyzer))));
     this.searcherManager =
         new SearcherManager(luceneIndexWriter, true, true, new SearcherFactory());
     this.sort = new Sort(SortField.FIELD_SCORE, new SortField(PATH_FIELD, SortField.Type.STRING));
@@ -185,12 +219,23 @@ public class LuceneSearcher implements Searcher {
       searcherManager.maybeRefresh();
       luceneSearcher = searcherManager.acquire();
 
+      Pattern pattern = query.getRegex() != null ? Pattern.compile(query.getRegex()) : null;
       Query luceneQuery = createLuceneQuery(query);
+      if (pattern != null) {
+        return searchByRegex(luceneSearcher, luceneQuery, pattern, query, startTime);
+      }
 
       ScoreDoc after = null;
-      final int numSkipDocs = Math.max(0, query.getSkipCount());
-      if (numSkipDocs > 0) {
-        after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+      final int numSkipDocs;
+      if (query.getContinuationToken() != null) {
+        ContinuationToken token = ContinuationToken.parse(query.getContinuationToken());
+        numSkipDocs = token.skipCount;
+        after = token.toScoreDoc(luceneSearcher.getIndexReader().maxDoc());
+      } else {
+        numSkipDocs = Math.max(0, query.getSkipCount());
+        if (numSkipDocs > 0) {
+          after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
+        }
       }
 
       final int numDocs =
@@ -203,7 +248,10 @@ public class LuceneSearcher implements Searcher {
       for (int i = 0; i < topDocs.scoreDocs.length; i++) {
         ScoreDoc scoreDoc = topDocs.scoreDocs[i];
         int docId = scoreDoc.doc;
-        Document doc = luceneSearcher.doc(docId);
+        Document doc =
+            query.isIncludePositions()
+                ? luceneSearcher.doc(docId)
+                : luceneSearcher.doc(docId, PATH_FIELD_ONLY);
         if (query.isIncludePositions()) {
           offsetData = new ArrayList<>();
           String txt = doc.get(TEXT_FIELD);
@@ -232,6 +280,7 @@ public class LuceneSearcher implements Searcher {
 
             tokenStream.reset();
 
+            LineOffsets lineOffsets = null;
             int startOffset, endOffset;
             // TODO think about this constant
             for (boolean next = tokenStream.incrementToken();
@@ -250,20 +299,14 @@ public class LuceneSearcher implements Searcher {
 
               float res = queryScorer.getTokenScore();
               if (res > 0.0F && startOffset <= endOffset) {
-                String tokenText = txt.substring(startOffset, endOffset);
-                Scanner sc = new Scanner(txt);
-                int lineNum = 1;
-                long len = 0;
-                String foundLine = "";
-                while (sc.hasNextLine()) {
-                  foundLine = sc.nextLine();
-
-                  len += foundLine.length();
-                  if (len > startOffset) {
-                    break;
-                  }
-                  lineNum++;
+                if (lineOffsets == null) {
+                  BytesRef lines = doc.getBinaryValue(LINES_FIELD);
+                  // documents indexed before line offsets were stored don't have them
+                  lineOffsets = lines != null ? LineOffsets.of(lines) : LineOffsets.of(txt);
                 }
+                String tokenText = txt.substring(startOffset, endOffset);
+                int lineNum = lineOffsets.lineNumber(startOffset);
+                String foundLine = lineOffsets.line(txt, lineNum);
                 offsetData.add(
                     new OffsetData(tokenText, startOffset, endOffset, res, lineNum, foundLine));
               }
@@ -278,11 +321,13 @@ public class LuceneSearcher implements Searcher {
 
       final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-      boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+      final int retrievedDocs = numSkipDocs + topDocs.scoreDocs.length;
       QueryExpression nextPageQueryExpression = null;
-      if (hasMoreToRetrieve) {
+      if (topDocs.scoreDocs.length > 0 && retrievedDocs < totalHitsNum) {
+        FieldDoc last = (FieldDoc) topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
         nextPageQueryExpression =
-            createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+            createNextPageQuery(query, retrievedDocs)
+                .setContinuationToken(ContinuationToken.of(retrievedDocs, last).toString());
       }
 
       return SearchResult.aSearchResult()
@@ -291,7 +336,7 @@ public class LuceneSearcher implements Searcher {
           .withNextPageQueryExpression(nextPageQueryExpression)
           .withElapsedTimeMillis(elapsedTimeMillis)
           .build();
-    } catch (ParseException e) {
+    } catch (ParseException | PatternSyntaxException e) {
       throw new InvalidQueryException(e.getMessage(), e);
     } catch (IOException e) {
       throw new QueryExecutionException(e.getMessage(), e);
@@ -304,6 +349,96 @@ public class LuceneSearcher implements Searcher {
     }
   }
 
+  /**
+   * Searches for files which content matches the regular expression of the query. Files which may
+   * match it are narrowed down with the trigrams index, then their content is matched against the
+   * expression. Results are sorted by path, so the next page continues right after the path of the
+   * last result of the previous page.
+   */
+  private SearchResult searchByRegex(
+      IndexSearcher luceneSearcher,
+      Query luceneQuery,
+      Pattern pattern,
+      QueryExpression query,
+      long startTime)
+      throws IOException, InvalidQueryException {
+    // matches of the previous pages which are not collected again when the token is set
+    final int numRetrievedDocs;
+    final int numSkipDocs;
+    ScoreDoc after = null;
+    if (query.getContinuationToken() != null) {
+      ContinuationToken token = ContinuationToken.parse(query.getContinuationToken());
+      numRetrievedDocs = token.skipCount;
+      numSkipDocs = 0;
+      after = token.toPathDoc(luceneSearcher.getIndexReader().maxDoc());
+    } else {
+      numRetrievedDocs = 0;
+      numSkipDocs = Math.max(0, query.getSkipCount());
+    }
+    final int numDocs =
+        query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
+
+    List<SearchResultEntry> results = newArrayList();
+    int totalHitsNum = 0;
+    TopDocs candidates;
+    do {
+      candidates = luceneSearcher.searchAfter(after, luceneQuery, RESULT_LIMIT, PATH_SORT);
+      for (ScoreDoc scoreDoc : candidates.scoreDocs) {
+        Document doc = luceneSearcher.doc(scoreDoc.doc, REGEX_FIELDS);
+        String txt = doc.get(TEXT_FIELD);
+        if (txt == null) {
+          continue;
+        }
+        Matcher matcher = pattern.matcher(txt);
+        if (!matcher.find() || totalHitsNum++ < numSkipDocs || results.size() == numDocs) {
+          continue;
+        }
+        List<OffsetData> offsetData = Collections.emptyList();
+        if (query.isIncludePositions()) {
+          offsetData = new ArrayList<>();
+          BytesRef lines = doc.getBinaryValue(LINES_FIELD);
+          LineOffsets lineOffsets = lines != null ? LineOffsets.of(lines) : LineOffsets.of(txt);
+          do {
+            int lineNum = lineOffsets.lineNumber(matcher.start());
+            offsetData.add(
+                new OffsetData(
+                    matcher.group(),
+                    matcher.start(),
+                    matcher.end(),
+                    1.0F,
+                    lineNum,
+                    lineOffsets.line(txt, lineNum)));
+          } while (matcher.find());
+        }
+        results.add(new SearchResultEntry(doc.get(PATH_FIELD), offsetData));
+      }
+      if (candidates.scoreDocs.length > 0) {
+        after = candidates.scoreDocs[candidates.scoreDocs.length - 1];
+      }
+    } while (candidates.scoreDocs.length == RESULT_LIMIT);
+
+    LOG.debug(
+        "Regex {} matches {} of {} candidate files",
+        query.getRegex(),
+        totalHitsNum,
+        candidates.totalHits);
+
+    final int retrievedDocs = numRetrievedDocs + numSkipDocs + results.size();
+    QueryExpression nextPageQueryExpression = null;
+    if (!results.isEmpty() && retrievedDocs < numRetrievedDocs + totalHitsNum) {
+      String lastPath = results.get(results.size() - 1).getFilePath();
+      nextPageQueryExpression =
+          createNextPageQuery(query, retrievedDocs)
+              .setContinuationToken(ContinuationToken.of(retrievedDocs, lastPath).toString());
+    }
+    return SearchResult.aSearchResult()
+        .withResults(results)
+        .withTotalHits(numRetrievedDocs + totalHitsNum)
+        .withNextPageQueryExpression(nextPageQueryExpression)
+        .withElapsedTimeMillis(System.currentTimeMillis() - startTime)
+        .build();
+  }
+
   private Query createLuceneQuery(QueryExpression query) throws ParseException, IOException {
     BooleanQuery.Builder luceneQueryBuilder = new BooleanQuery.Builder();
     final String name = query.getName();
@@ -322,6 +457,14 @@ public class LuceneSearcher implements Searcher {
       qParser.setAllowLeadingWildcard(true);
       luceneQueryBuilder.add(qParser.parse(text), BooleanClause.Occur.MUST);
     }
+    if (query.getRegex() != null) {
+      Query trigramQuery = Trigrams.requiredBy(TRIGRAM_FIELD, query.getRegex());
+      if (trigramQuery != null) {
+        luceneQueryBuilder.add(trigramQuery, BooleanClause.Occur.FILTER);
+      } else if (path == null && name == null && text == null) {
+        return new MatchAllDocsQuery();
+      }
+    }
     return luceneQueryBuilder.build();
   }
 
@@ -352,8 +495,74 @@ public class LuceneSearcher implements Searcher {
         .setText(originalQuery.getText())
         .setName(originalQuery.getName())
         .setPath(originalQuery.getPath())
+        .setRegex(originalQuery.getRegex())
         .setSkipCount(newSkipCount)
-        .setMaxItems(originalQuery.getMaxItems());
+        .setMaxItems(originalQuery.getMaxItems())
+        .setIncludePositions(originalQuery.isIncludePositions());
+  }
+
+  /**
+   * Position of the last document of a page of search results. The next page is read right after
+   * this position, so the documents of the previous pages are not collected again.
+   */
+  private static class ContinuationToken {
+    private final int skipCount;
+    private final float score;
+    private final String path;
+
+    private ContinuationToken(int skipCount, float score, String path) {
+      this.skipCount = skipCount;
+      this.score = score;
+      this.path = path;
+    }
+
+    static ContinuationToken of(int skipCount, FieldDoc last) {
+      return new ContinuationToken(
+          skipCount, (Float) last.fields[0], ((BytesRef) last.fields[1]).utf8ToString());
+    }
+
+    /** Creates the token of a page of regex search results, which are sorted by path only. */
+    static ContinuationToken of(int skipCount, String lastPath) {
+      return new ContinuationToken(skipCount, 0F, lastPath);
+    }
+
+    static ContinuationToken parse(String token) throws InvalidQueryException {
+      try {
+        String decoded = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+        int scoreStart = decoded.indexOf(':') + 1;
+        int pathStart = decoded.indexOf(':', scoreStart) + 1;
+        if (scoreStart == 0 || pathStart == 0) {
+          throw new IllegalArgumentException("Separator is missing");
+        }
+        return new ContinuationToken(
+            Integer.parseUnsignedInt(decoded.substring(0, scoreStart - 1)),
+            Float.intBitsToFloat(
+                Integer.parseUnsignedInt(decoded.substring(scoreStart, pathStart - 1), 16)),
+            decoded.substring(pathStart));
+      } catch (IllegalArgumentException e) {
+        throw new InvalidQueryException("Invalid continuation token: " + token, e);
+      }
+    }
+
+    /**
+     * Returns the document to search after, paths are unique so documents with the same score and
+     * path are skipped regardless of their ids.
+     */
+    ScoreDoc toScoreDoc(int maxDoc) {
+      return new FieldDoc(maxDoc - 1, score, new Object[] {score, new BytesRef(path)});
+    }
+
+    /** Returns the document to search after when documents are sorted by path only. */
+    ScoreDoc toPathDoc(int maxDoc) {
+      return new FieldDoc(maxDoc - 1, Float.NaN, new Object[] {new BytesRef(path)});
+    }
+
+    @Override
+    public String toString() {
+      String token =
+          skipCount + ":" + Integer.toHexString(Float.floatToIntBits(score)) + ':' + path;
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(UTF_8));
+    }
   }
 
   @Override
@@ -405,7 +614,10 @@ public class LuceneSearcher implements Searcher {
       doc.add(new SortedDocValuesField(PATH_FIELD, new BytesRef(wsPath)));
       doc.add(new TextField(NAME_FIELD, name, Field.Store.YES));
       try {
-        doc.add(new TextField(TEXT_FIELD, CharStreams.toString(reader), Field.Store.YES));
+        String text = CharStreams.toString(reader);
+        doc.add(new TextField(TEXT_FIELD, text, Field.Store.YES));
+        doc.add(new StoredField(LINES_FIELD, LineOffsets.of(text).toBytesRef()));
+        doc.add(new Field(TRIGRAM_FIELD, text, TRIGRAM_FIELD_TYPE));
       } catch (MalformedInputException e) {
         LOG.warn("Can't index file: {}", wsPath);
       }
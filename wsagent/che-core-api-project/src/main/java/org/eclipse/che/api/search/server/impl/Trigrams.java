@@ -0,0 +1,329 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+
+/**
+ * Narrows down files which content may match a regular expression, using the lower cased trigrams
+ * of the files content indexed by {@link LuceneSearcher}.
+ *
+ * <p>Literal parts which every match of the expression must contain are extracted from the
+ * expression, a file may match the expression only if it contains all the trigrams of the literals
+ * of at least one of the top-level alternatives. Parts of the expression which are not literal
+ * (groups, character classes, optional characters and so on) are skipped, so the query built for an
+ * expression never excludes a file which matches it.
+ */
+final class Trigrams {
+
+  /** Max number of trigrams required from a single alternative of an expression. */
+  static final int MAX_TRIGRAMS = 64;
+
+  private Trigrams() {}
+
+  /** Returns lower cased trigrams of the given text, code points are not split. */
+  static Set<String> of(CharSequence text) {
+    final int[] codePoints = text.codePoints().map(Character::toLowerCase).toArray();
+    final Set<String> trigrams = new LinkedHashSet<>();
+    for (int i = 0; i + 3 <= codePoints.length; i++) {
+      trigrams.add(new String(codePoints, i, 3));
+    }
+    return trigrams;
+  }
+
+  /**
+   * Returns query which matches documents that may contain a match of the given regular expression,
+   * or {@code null} when any document may contain a match.
+   *
+   * @param field the field trigrams of documents content are indexed in
+   * @param regex valid regular expression, see {@link java.util.regex.Pattern}
+   */
+  static Query requiredBy(String field, String regex) {
+    final List<String> alternatives = splitAlternatives(regex);
+    final List<Query> queries = new ArrayList<>(alternatives.size());
+    for (String alternative : alternatives) {
+      final List<String> literals = requiredLiterals(alternative);
+      if (literals == null) {
+        return null;
+      }
+      final Set<String> trigrams = new LinkedHashSet<>();
+      for (String literal : literals) {
+        trigrams.addAll(of(literal));
+      }
+      if (trigrams.isEmpty()) {
+        return null;
+      }
+      final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+      trigrams
+          .stream()
+          .limit(MAX_TRIGRAMS)
+          .forEach(trigram -> builder.add(new TermQuery(new Term(field, trigram)), Occur.MUST));
+      queries.add(builder.build());
+    }
+    if (queries.size() == 1) {
+      return queries.get(0);
+    }
+    final BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    queries.forEach(query -> builder.add(query, Occur.SHOULD));
+    return builder.setMinimumNumberShouldMatch(1).build();
+  }
+
+  /** Splits the expression by top-level {@code |}. */
+  private static List<String> splitAlternatives(String regex) {
+    final List<String> alternatives = new ArrayList<>();
+    int start = 0;
+    int i = 0;
+    while (i < regex.length()) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i = skipEscape(regex, i);
+      } else if (c == '[') {
+        i = skipClass(regex, i);
+      } else if (c == '(') {
+        i = skipGroup(regex, i);
+      } else if (c == '|') {
+        alternatives.add(regex.substring(start, i));
+        start = ++i;
+      } else {
+        i++;
+      }
+    }
+    alternatives.add(regex.substring(start));
+    return alternatives;
+  }
+
+  /**
+   * Returns literals which every match of the expression without top-level alternatives contains,
+   * or {@code null} when literals can't be evaluated.
+   */
+  private static List<String> requiredLiterals(String regex) {
+    final List<String> literals = new ArrayList<>();
+    final StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < regex.length()) {
+      final char c = regex.charAt(i);
+      switch (c) {
+        case '\\':
+          final char next = i + 1 < regex.length() ? regex.charAt(i + 1) : 0;
+          if (next == 'Q') {
+            final int end = regex.indexOf("\\E", i + 2);
+            literal.append(regex, i + 2, end < 0 ? regex.length() : end);
+            i = end < 0 ? regex.length() : end + 2;
+          } else if (!Character.isLetterOrDigit(next)) {
+            literal.append(next);
+            i += 2;
+          } else {
+            final int escaped = escapedChar(next);
+            if (escaped < 0) {
+              flush(literal, literals);
+            } else {
+              literal.append((char) escaped);
+            }
+            i = skipEscape(regex, i);
+          }
+          break;
+        case '[':
+          flush(literal, literals);
+          i = skipClass(regex, i);
+          break;
+        case '(':
+          if (regex.startsWith("(?", i) && hasCommentsFlag(regex, i + 2)) {
+            // white spaces of the expression are ignored
+            return null;
+          }
+          flush(literal, literals);
+          i = skipGroup(regex, i);
+          break;
+        case '*':
+        case '?':
+          removeLastCodePoint(literal);
+          flush(literal, literals);
+          i = skipQuantifierMode(regex, i + 1);
+          break;
+        case '+':
+          flush(literal, literals);
+          i = skipQuantifierMode(regex, i + 1);
+          break;
+        case '{':
+          final int end = regex.indexOf('}', i);
+          if (end < 0) {
+            return null;
+          }
+          if (regex.charAt(i + 1) == '0' || regex.charAt(i + 1) == ',') {
+            removeLastCodePoint(literal);
+          }
+          flush(literal, literals);
+          i = skipQuantifierMode(regex, end + 1);
+          break;
+        case '.':
+        case '^':
+        case '$':
+        case ')':
+          flush(literal, literals);
+          i++;
+          break;
+        default:
+          literal.append(c);
+          i++;
+      }
+    }
+    flush(literal, literals);
+    return literals;
+  }
+
+  private static void flush(StringBuilder literal, List<String> literals) {
+    if (literal.length() > 0) {
+      literals.add(literal.toString());
+      literal.setLength(0);
+    }
+  }
+
+  private static void removeLastCodePoint(StringBuilder literal) {
+    if (literal.length() > 0) {
+      literal.setLength(literal.offsetByCodePoints(literal.length(), -1));
+    }
+  }
+
+  /** Returns the character escaped with the given letter, or -1 when it is not a character. */
+  private static int escapedChar(char letter) {
+    switch (letter) {
+      case 't':
+        return '\t';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 'f':
+        return '\f';
+      case 'a':
+        return '\u0007';
+      case 'e':
+        return '\u001B';
+      default:
+        return -1;
+    }
+  }
+
+  /** Whether inline flags of the group, which start at the given index, contain 'x'. */
+  private static boolean hasCommentsFlag(String regex, int flagsStart) {
+    for (int i = flagsStart; i < regex.length(); i++) {
+      final char c = regex.charAt(i);
+      if (c == 'x') {
+        return true;
+      }
+      if (!Character.isLetter(c) && c != '-') {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /** Returns index of the first character after the escape sequence at the given index. */
+  private static int skipEscape(String regex, int i) {
+    if (i + 1 >= regex.length()) {
+      return regex.length();
+    }
+    final char c = regex.charAt(i + 1);
+    i += 2;
+    switch (c) {
+      case 'Q':
+        final int end = regex.indexOf("\\E", i);
+        return end < 0 ? regex.length() : end + 2;
+      case 'x':
+      case 'p':
+      case 'P':
+      case 'N':
+        if (i < regex.length() && regex.charAt(i) == '{') {
+          final int close = regex.indexOf('}', i);
+          return close < 0 ? regex.length() : close + 1;
+        }
+        return Math.min(regex.length(), i + (c == 'x' ? 2 : 1));
+      case 'u':
+        return Math.min(regex.length(), i + 4);
+      case 'c':
+        return Math.min(regex.length(), i + 1);
+      case 'k':
+        final int close = regex.indexOf('>', i);
+        return close < 0 ? regex.length() : close + 1;
+      default:
+        if (Character.isDigit(c)) {
+          while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+            i++;
+          }
+        }
+        return i;
+    }
+  }
+
+  /** Returns index of the first character after the character class at the given index. */
+  private static int skipClass(String regex, int i) {
+    i++;
+    if (i < regex.length() && regex.charAt(i) == '^') {
+      i++;
+    }
+    if (i < regex.length() && regex.charAt(i) == ']') {
+      i++;
+    }
+    int depth = 1;
+    while (i < regex.length() && depth > 0) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i = skipEscape(regex, i);
+        continue;
+      }
+      if (c == '[') {
+        depth++;
+      } else if (c == ']') {
+        depth--;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /** Returns index of the first character after the group at the given index. */
+  private static int skipGroup(String regex, int i) {
+    i++;
+    int depth = 1;
+    while (i < regex.length() && depth > 0) {
+      final char c = regex.charAt(i);
+      if (c == '\\') {
+        i = skipEscape(regex, i);
+      } else if (c == '[') {
+        i = skipClass(regex, i);
+      } else {
+        if (c == '(') {
+          depth++;
+        } else if (c == ')') {
+          depth--;
+        }
+        i++;
+      }
+    }
+    return i;
+  }
+
+  /** Skips lazy or possessive mode of the quantifier. */
+  private static int skipQuantifierMode(String regex, int i) {
+    if (i < regex.length() && (regex.charAt(i) == '?' || regex.charAt(i) == '+')) {
+      return i + 1;
+    }
+    return i;
+  }
+}
@@ -46,6 +46,8 @@ public class ProjectServiceTest {
   private static final String PROJECT_TYPE = "project-type";
   private static final String NAME = "name";
   private static final String TEXT = "text";
+  private static final String REGEX = "re.ex";
+  private static final String CONTINUATION_TOKEN = "continuation-token";
 
   private static final int MAX_ITEMS = 0;
   private static final int SKIP_COUNT = 0;
@@ -249,8 +251,9 @@ public class ProjectServiceTest {
 
   @Test
   public void shouldCallSearch() throws Exception {
-    projectService.search(WS_PATH, NAME, TEXT, MAX_ITEMS, SKIP_COUNT);
+    projectService.search(WS_PATH, NAME, TEXT, REGEX, MAX_ITEMS, SKIP_COUNT, CONTINUATION_TOKEN);
 
-    verify(projectServiceApi).search(WS_PATH, NAME, TEXT, MAX_ITEMS, SKIP_COUNT);
+    verify(projectServiceApi)
+        .search(WS_PATH, NAME, TEXT, REGEX, MAX_ITEMS, SKIP_COUNT, CONTINUATION_TOKEN);
   }
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.stream.Collectors.toSet;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares lookups of {@link ProjectConfigRegistry} with the scans of all the registered projects
+ * for a workspace of thousands of modules, the results must be the same.
+ */
+public class ProjectConfigRegistryBenchmarkTest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(ProjectConfigRegistryBenchmarkTest.class);
+
+  private static final int ROOT_PROJECTS = 20;
+  private static final int MODULES_PER_PROJECT = 50;
+  private static final int SUBMODULES_PER_MODULE = 5;
+  private static final int LOOKUPS = 2_000;
+
+  private final Map<String, RegisteredProject> scanned = new ConcurrentHashMap<>();
+  private final List<String> filePaths = new ArrayList<>();
+  private ProjectConfigRegistry registry;
+
+  @BeforeClass
+  public void setUp() {
+    RegisteredProjectFactory registeredProjectFactory = mock(RegisteredProjectFactory.class);
+    when(registeredProjectFactory.create(anyString(), isNull(), anyBoolean(), anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              String wsPath = (String) invocation.getArguments()[0];
+              RegisteredProject project = mock(RegisteredProject.class);
+              when(project.getPath()).thenReturn(wsPath);
+              scanned.put(wsPath, project);
+              return project;
+            });
+    registry = new ProjectConfigRegistry(registeredProjectFactory);
+
+    for (int i = 0; i < ROOT_PROJECTS; i++) {
+      String project = "/project" + i;
+      registry.put(project, false, false);
+      for (int j = 0; j < MODULES_PER_PROJECT; j++) {
+        String module = project + "/module" + j;
+        registry.put(module, false, false);
+        for (int k = 0; k < SUBMODULES_PER_MODULE; k++) {
+          registry.put(module + "/submodule" + k, false, false);
+        }
+      }
+    }
+    LOG.info("Registered {} projects", scanned.size());
+
+    Random random = new Random(42);
+    for (int i = 0; i < LOOKUPS; i++) {
+      filePaths.add(
+          "/project"
+              + random.nextInt(ROOT_PROJECTS)
+              + "/module"
+              + random.nextInt(MODULES_PER_PROJECT)
+              + (random.nextBoolean() ? "/submodule" + random.nextInt(SUBMODULES_PER_MODULE) : "")
+              + "/src/main/java/org/eclipse/File.java");
+    }
+  }
+
+  @Test
+  public void shouldFindTheSameClosestProjectsAsScan() {
+    // warm up
+    lookUpClosest(true);
+    lookUpClosest(false);
+
+    long start = System.nanoTime();
+    List<String> found = lookUpClosest(true);
+    long lookupTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    List<String> scannedPaths = lookUpClosest(false);
+    long scanTime = System.nanoTime() - start;
+
+    LOG.info(
+        "{} closest project lookups take {} ms, scans {} ms",
+        LOOKUPS,
+        lookupTime / 1_000_000,
+        scanTime / 1_000_000);
+    assertEquals(found, scannedPaths);
+  }
+
+  @Test
+  public void shouldFindTheSameSubProjectsAsScan() {
+    long start = System.nanoTime();
+    List<Set<String>> found = new ArrayList<>();
+    for (int i = 0; i < ROOT_PROJECTS; i++) {
+      found.add(paths(registry.getAll("/project" + i + "/module1")));
+    }
+    long lookupTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    List<Set<String>> scannedPaths = new ArrayList<>();
+    for (int i = 0; i < ROOT_PROJECTS; i++) {
+      String parent = "/project" + i + "/module1/";
+      scannedPaths.add(
+          scanned.keySet().stream().filter(it -> it.startsWith(parent)).collect(toSet()));
+    }
+    long scanTime = System.nanoTime() - start;
+
+    LOG.info(
+        "{} sub-projects lookups take {} ms, scans {} ms",
+        ROOT_PROJECTS,
+        lookupTime / 1_000_000,
+        scanTime / 1_000_000);
+    assertEquals(found, scannedPaths);
+  }
+
+  private List<String> lookUpClosest(boolean useRegistry) {
+    List<String> closest = new ArrayList<>(filePaths.size());
+    for (String filePath : filePaths) {
+      closest.add(useRegistry ? registry.getClosestOrNull(filePath).getPath() : scan(filePath));
+    }
+    return closest;
+  }
+
+  private String scan(String filePath) {
+    String closest = null;
+    for (String wsPath : scanned.keySet()) {
+      if (filePath.startsWith(wsPath + '/')
+          && (closest == null || wsPath.length() > closest.length())) {
+        closest = wsPath;
+      }
+    }
+    return closest;
+  }
+
+  private static Set<String> paths(Set<RegisteredProject> projects) {
+    return projects.stream().map(RegisteredProject::getPath).collect(toSet());
+  }
+}
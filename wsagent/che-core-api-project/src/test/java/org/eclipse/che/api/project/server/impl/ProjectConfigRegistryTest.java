@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.stream.Collectors.toSet;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.Set;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProjectConfigRegistry}. */
+@Listeners(MockitoTestNGListener.class)
+public class ProjectConfigRegistryTest {
+
+  @Mock private RegisteredProjectFactory registeredProjectFactory;
+
+  private ProjectConfigRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    when(registeredProjectFactory.create(anyString(), isNull(), anyBoolean(), anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              RegisteredProject project = mock(RegisteredProject.class);
+              when(project.getPath()).thenReturn((String) invocation.getArguments()[0]);
+              return project;
+            });
+    registry = new ProjectConfigRegistry(registeredProjectFactory);
+  }
+
+  @Test
+  public void shouldReturnClosestProject() {
+    registry.put("/a", false, false);
+    registry.put("/a/b/c", false, false);
+
+    assertEquals(registry.getClosestOrNull("/a/b/c/d/File.java").getPath(), "/a/b/c");
+    assertEquals(registry.getClosestOrNull("/a/b/File.java").getPath(), "/a");
+    assertEquals(registry.getClosestOrNull("/a/b/c").getPath(), "/a/b/c");
+    assertNull(registry.getClosestOrNull("/ab/File.java"));
+    assertFalse(registry.getClosest("/").isPresent());
+  }
+
+  @Test
+  public void shouldReturnProjectsUnderPath() {
+    registry.put("/a", false, false);
+    registry.put("/a/b", false, false);
+    registry.put("/a/b/c", false, false);
+    registry.put("/a/d", false, false);
+    registry.put("/ab", false, false);
+
+    assertEquals(paths(registry.getAll("/a")), ImmutableSet.of("/a/b", "/a/b/c", "/a/d"));
+    assertEquals(paths(registry.getAll("/a/b")), ImmutableSet.of("/a/b/c"));
+    assertEquals(paths(registry.getAll("/")), paths(registry.getAll()));
+    assertTrue(registry.getAll("/x").isEmpty());
+  }
+
+  @Test
+  public void shouldNotReturnRemovedProjects() {
+    registry.put("/a", false, false);
+    registry.put("/a/b/c", false, false);
+
+    assertEquals(registry.removeOrNull("/a/b/c").getPath(), "/a/b/c");
+
+    assertFalse(registry.isRegistered("/a/b/c"));
+    assertEquals(registry.getClosestOrNull("/a/b/c/File.java").getPath(), "/a");
+    assertTrue(registry.getAll("/a").isEmpty());
+    assertFalse(registry.remove("/a/b/c").isPresent());
+  }
+
+  @Test
+  public void shouldNotMatchProjectsByPathPrefix() {
+    registry.put("/a", false, false);
+    registry.put("/ab", false, false);
+    registry.put("/ab/c", false, false);
+
+    assertEquals(registry.getClosestOrNull("/a/File.java").getPath(), "/a");
+    assertEquals(registry.getClosestOrNull("/ab/File.java").getPath(), "/ab");
+    assertEquals(registry.getClosestOrNull("/ab/c/File.java").getPath(), "/ab/c");
+    assertEquals(registry.getClosestOrNull("/ab/cd/File.java").getPath(), "/ab");
+    assertNull(registry.getClosestOrNull("/abc/File.java"));
+    assertTrue(registry.getAll("/a").isEmpty());
+    assertEquals(paths(registry.getAll("/ab")), ImmutableSet.of("/ab/c"));
+  }
+
+  @Test
+  public void shouldKeepProjectsWithTheSamePathPrefixWhenProjectIsRemoved() {
+    registry.put("/a", false, false);
+    registry.put("/ab", false, false);
+    registry.put("/ab/c", false, false);
+
+    registry.removeOrNull("/ab");
+
+    assertEquals(registry.getClosestOrNull("/a/File.java").getPath(), "/a");
+    assertNull(registry.getClosestOrNull("/ab/File.java"));
+    assertEquals(registry.getClosestOrNull("/ab/c/File.java").getPath(), "/ab/c");
+    assertEquals(paths(registry.getAll("/")), ImmutableSet.of("/a", "/ab/c"));
+  }
+
+  @Test
+  public void shouldReturnClosestProjectOfDeeplyNestedModules() {
+    registry.put("/project", false, false);
+    registry.put("/project/module", false, false);
+    registry.put("/project/module/submodule", false, false);
+    registry.put("/project/module2", false, false);
+
+    assertEquals(
+        registry.getClosestOrNull("/project/module/submodule/src/main/java/File.java").getPath(),
+        "/project/module/submodule");
+    assertEquals(
+        registry.getClosestOrNull("/project/module/src/main/java/File.java").getPath(),
+        "/project/module");
+    assertEquals(
+        registry.getClosestOrNull("/project/module22/src/File.java").getPath(), "/project");
+    assertEquals(
+        paths(registry.getAll("/project")),
+        ImmutableSet.of("/project/module", "/project/module/submodule", "/project/module2"));
+  }
+
+  @Test
+  public void shouldNotReplaceProjectWhenPutIfAbsent() {
+    RegisteredProject project = registry.put("/a", false, false);
+
+    assertEquals(registry.putIfAbsent("/a", true, true), project);
+    assertEquals(registry.getClosestOrNull("/a/File.java"), project);
+  }
+
+  private static Set<String> paths(Set<RegisteredProject> projects) {
+    return projects.stream().map(RegisteredProject::getPath).collect(toSet());
+  }
+}
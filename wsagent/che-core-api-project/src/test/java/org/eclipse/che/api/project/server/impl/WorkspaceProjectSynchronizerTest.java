@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigsPatchDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link WorkspaceProjectSynchronizer} against an in-memory stand-in of the workspace master
+ * which counts the requests it receives.
+ */
+public class WorkspaceProjectSynchronizerTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceProjectSynchronizerTest.class);
+
+  private static final String API_ENDPOINT = "http://localhost/api";
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final int MODULES = 500;
+  private static final int CALLERS = 32;
+
+  private final Set<String> synced = ConcurrentHashMap.newKeySet();
+  private WorkspaceSyncCommunication workspaceSyncCommunication;
+  private ProjectConfigRegistry registry;
+  private Master master;
+  private WorkspaceProjectSynchronizer synchronizer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    synced.clear();
+    RegisteredProjectFactory registeredProjectFactory = mock(RegisteredProjectFactory.class);
+    when(registeredProjectFactory.create(anyString(), isNull(), anyBoolean(), anyBoolean()))
+        .thenAnswer(invocation -> createProject((String) invocation.getArguments()[0]));
+    registry = new ProjectConfigRegistry(registeredProjectFactory);
+    workspaceSyncCommunication = mock(WorkspaceSyncCommunication.class);
+    master = new Master();
+
+    HttpJsonRequestFactory requestFactory = mock(HttpJsonRequestFactory.class);
+    when(requestFactory.fromUrl(anyString()))
+        .thenAnswer(invocation -> new MasterRequest((String) invocation.getArguments()[0]));
+    synchronizer =
+        new WorkspaceProjectSynchronizer(
+            API_ENDPOINT, WORKSPACE_ID, requestFactory, workspaceSyncCommunication, registry);
+    master.requests.set(0);
+  }
+
+  @Test
+  public void shouldSendImportedModulesWithSingleRequest() throws Exception {
+    registry.put("/project", false, false);
+    for (int i = 0; i < MODULES; i++) {
+      registry.put("/project/module" + i, false, false);
+    }
+
+    synchronizer.synchronize();
+
+    assertEquals(master.projects.size(), MODULES + 1);
+    assertEquals(master.patches.get(), 1);
+    assertEquals(master.requests.get(), 2);
+    assertEquals(synced.size(), MODULES + 1);
+    verify(workspaceSyncCommunication).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldCoalesceConcurrentSynchronizations() throws Exception {
+    registry.put("/project", false, false);
+    master.holdFirstPatch();
+    ExecutorService executor = Executors.newFixedThreadPool(CALLERS + 1);
+    try {
+      Future<?> first = executor.submit(synchronization("/project"));
+      assertTrue(master.firstPatchStarted.await(10, SECONDS));
+
+      // every caller waits for the synchronization that follows the held one
+      CountDownLatch callersStarted = new CountDownLatch(CALLERS);
+      List<Thread> callers = new CopyOnWriteArrayList<>();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        String module = "/project/module" + i;
+        Callable<Void> synchronization = synchronization(module);
+        futures.add(
+            executor.submit(
+                () -> {
+                  registry.put(module, false, false);
+                  callers.add(Thread.currentThread());
+                  callersStarted.countDown();
+                  return synchronization.call();
+                }));
+      }
+      assertTrue(callersStarted.await(10, SECONDS));
+      long deadline = System.nanoTime() + SECONDS.toNanos(10);
+      for (Thread caller : callers) {
+        while (caller.getState() != Thread.State.WAITING) {
+          assertTrue(System.nanoTime() < deadline, caller.getName() + " is not waiting");
+          Thread.sleep(1);
+        }
+      }
+      master.firstPatchReleased.countDown();
+
+      first.get(10, SECONDS);
+      for (Future<?> future : futures) {
+        future.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    LOG.info(
+        "{} synchronizations sent {} requests, {} of them are patches",
+        CALLERS + 1,
+        master.requests.get(),
+        master.patches.get());
+    assertEquals(master.projects.size(), CALLERS + 1);
+    assertEquals(synced.size(), CALLERS + 1);
+    assertEquals(master.patches.get(), 2);
+  }
+
+  @Test
+  public void shouldSendCreationVersionOfNeverUpdatedWorkspace() throws Exception {
+    registry.put("/project", false, false);
+
+    synchronizer.synchronize();
+
+    assertEquals(master.patches.get(), 1);
+    assertEquals(master.projects.keySet(), singleton("/project"));
+  }
+
+  /** Synchronizes the projects, and checks that the module is sent to the master by then. */
+  private Callable<Void> synchronization(String module) {
+    return () -> {
+      synchronizer.synchronize();
+      assertTrue(master.hasProject(module), module + " is not sent when its synchronization ends");
+      return null;
+    };
+  }
+
+  @Test
+  public void shouldRemoveProjectsAndRepeatSynchronizationOnConflict() throws Exception {
+    master.projects.put("/removed", createProjectDto("/removed"));
+    master.projects.put("/kept", createProjectDto("/kept"));
+    registry.put("/kept", false, false);
+    registry.put("/added", false, false);
+    master.conflicts.set(1);
+
+    synchronizer.synchronize();
+
+    assertEquals(new ArrayList<>(master.projects.keySet()), asList("/added", "/kept"));
+    assertEquals(master.patches.get(), 2);
+    verify(workspaceSyncCommunication).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldNotUpdateWorkspaceWhenProjectsAreNotChanged() throws Exception {
+    master.projects.put("/project", createProjectDto("/project"));
+    registry.put("/project", false, false);
+
+    synchronizer.synchronize();
+    synchronizer.synchronize();
+
+    assertEquals(master.patches.get(), 0);
+    assertEquals(synced.size(), 1);
+    verify(workspaceSyncCommunication, times(0)).synchronizeWorkspace();
+  }
+
+  private RegisteredProject createProject(String path) {
+    RegisteredProject project = mock(RegisteredProject.class);
+    when(project.getPath()).thenReturn(path);
+    when(project.getName()).thenReturn(path.substring(path.lastIndexOf('/') + 1));
+    when(project.getType()).thenReturn("blank");
+    when(project.getMixins()).thenReturn(emptyList());
+    when(project.getPersistableAttributes()).thenReturn(emptyMap());
+    when(project.isSynced()).thenAnswer(invocation -> synced.contains(path));
+    doAnswer(invocation -> synced.add(path)).when(project).setSync();
+    return project;
+  }
+
+  private static ProjectConfigDto createProjectDto(String path) {
+    return newDto(ProjectConfigDto.class)
+        .withPath(path)
+        .withName(path.substring(path.lastIndexOf('/') + 1))
+        .withType("blank")
+        .withMixins(emptyList())
+        .withAttributes(emptyMap());
+  }
+
+  /** Workspace master keeping the projects of the workspace in memory. */
+  private static class Master {
+    final Map<String, ProjectConfigDto> projects = new TreeMap<>();
+    final AtomicInteger requests = new AtomicInteger();
+    final AtomicInteger patches = new AtomicInteger();
+    final AtomicInteger conflicts = new AtomicInteger();
+    final CountDownLatch firstPatchStarted = new CountDownLatch(1);
+    final CountDownLatch firstPatchReleased = new CountDownLatch(1);
+    boolean holdFirstPatch;
+    long version = 1;
+
+    synchronized WorkspaceDto getWorkspace() {
+      // the workspace has the creation time only until it is updated
+      String versionAttribute = version == 1 ? CREATED_ATTRIBUTE_NAME : UPDATED_ATTRIBUTE_NAME;
+      return newDto(WorkspaceDto.class)
+          .withId(WORKSPACE_ID)
+          .withAttributes(singletonMap(versionAttribute, Long.toString(version)))
+          .withConfig(
+              newDto(WorkspaceConfigDto.class).withProjects(new ArrayList<>(projects.values())));
+    }
+
+    synchronized boolean hasProject(String path) {
+      return projects.containsKey(path);
+    }
+
+    /** Makes the first patch wait until {@link #firstPatchReleased} is counted down. */
+    synchronized void holdFirstPatch() {
+      holdFirstPatch = true;
+    }
+
+    void awaitFirstPatchRelease() {
+      synchronized (this) {
+        if (!holdFirstPatch) {
+          return;
+        }
+        holdFirstPatch = false;
+      }
+      firstPatchStarted.countDown();
+      try {
+        assertTrue(firstPatchReleased.await(10, SECONDS));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+
+    synchronized void updateProjects(ProjectConfigsPatchDto patch) throws ConflictException {
+      patches.incrementAndGet();
+      if (conflicts.getAndDecrement() > 0) {
+        // the workspace is updated concurrently by someone else
+        version++;
+      }
+      if (!Long.toString(version).equals(patch.getVersion())) {
+        throw new ConflictException("Workspace is updated since version " + patch.getVersion());
+      }
+      patch.getRemoved().forEach(projects::remove);
+      patch.getUpdated().forEach(project -> projects.put(project.getPath(), project));
+      version++;
+    }
+  }
+
+  /** Request to the master, only the requests used by the synchronizer are supported. */
+  private class MasterRequest implements HttpJsonRequest {
+    private final String url;
+    private String method;
+    private Object body;
+
+    MasterRequest(String url) {
+      this.url = url;
+    }
+
+    @Override
+    public HttpJsonRequest setMethod(String method) {
+      this.method = method;
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest setBody(Object body) {
+      this.body = body;
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest setBody(Map<String, String> map) {
+      this.body = map;
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest setBody(List<?> list) {
+      this.body = list;
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest addQueryParam(String name, Object value) {
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest addHeader(String name, String value) {
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest setAuthorizationHeader(String value) {
+      return this;
+    }
+
+    @Override
+    public HttpJsonRequest setTimeout(int timeoutMs) {
+      return this;
+    }
+
+    @Override
+    public String getUrl() {
+      return url;
+    }
+
+    @Override
+    public HttpJsonResponse request() throws ConflictException {
+      master.requests.incrementAndGet();
+      String workspaceUrl = API_ENDPOINT + "/workspace/" + WORKSPACE_ID;
+      HttpJsonResponse response = mock(HttpJsonResponse.class);
+      if ("GET".equals(method) && url.equals(workspaceUrl)) {
+        WorkspaceDto workspace = master.getWorkspace();
+        when(response.asDto(eq(WorkspaceDto.class))).thenReturn(workspace);
+      } else if ("PUT".equals(method) && url.equals(workspaceUrl + "/project")) {
+        master.awaitFirstPatchRelease();
+        master.updateProjects((ProjectConfigsPatchDto) body);
+      } else {
+        throw new IllegalStateException("Unexpected request " + method + ' ' + url);
+      }
+      return response;
+    }
+  }
+}
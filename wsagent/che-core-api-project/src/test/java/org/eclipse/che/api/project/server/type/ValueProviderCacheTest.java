@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.type;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link ValueProviderCache} */
+@Listeners(MockitoTestNGListener.class)
+public class ValueProviderCacheTest {
+
+  private static final int PROJECTS = 200;
+  private static final List<String> ATTRIBUTES = asList("a", "b", "c", "d");
+
+  @Mock private FsManager fsManager;
+  @Mock private FileWatcherManager fileWatcherManager;
+
+  private final Map<String, Long> modificationTimes = new HashMap<>();
+  private final AtomicInteger reads = new AtomicInteger();
+  private ValueProviderCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    modificationTimes.clear();
+    reads.set(0);
+    when(fsManager.lastModified(anyString()))
+        .thenAnswer(inv -> modificationTimes.getOrDefault(inv.getArguments()[0], 0L));
+    cache = new ValueProviderCache(fsManager, fileWatcherManager);
+  }
+
+  @Test
+  public void shouldReadSourceFileOnceForAllLookups() throws Exception {
+    ValueProviderFactory factory = new SourceFileValueProviderFactory(true);
+
+    List<List<String>> first = lookupAll(factory);
+    List<List<String>> second = lookupAll(factory);
+
+    assertEquals(second, first);
+    assertEquals(reads.get(), PROJECTS * ATTRIBUTES.size());
+    verify(fileWatcherManager, times(PROJECTS)).registerByPath(anyString(), any(), any(), any());
+  }
+
+  @Test
+  public void shouldNotMemoizeValuesWithoutSourceFiles() throws Exception {
+    ValueProviderFactory factory = new SourceFileValueProviderFactory(false);
+
+    lookupAll(factory);
+    lookupAll(factory);
+
+    assertEquals(reads.get(), 2 * PROJECTS * ATTRIBUTES.size());
+  }
+
+  @Test
+  public void shouldReadSourceFileAgainWhenModificationTimeIsChanged() throws Exception {
+    ValueProviderFactory factory = new SourceFileValueProviderFactory(true);
+    ValueProvider valueProvider = cache.newInstance(factory, "/project");
+    assertEquals(valueProvider.getValues("a"), singletonList("/project/a0"));
+
+    modificationTimes.put("/project/source.xml", 1L);
+
+    assertEquals(valueProvider.getValues("a"), singletonList("/project/a1"));
+    assertEquals(valueProvider.getValues("a"), singletonList("/project/a1"));
+    assertEquals(reads.get(), 2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldReadSourceFileAgainWhenWatcherReportsModification() throws Exception {
+    ValueProviderFactory factory = new SourceFileValueProviderFactory(true);
+    ValueProvider valueProvider = cache.newInstance(factory, "/project");
+    valueProvider.getValues("a");
+    ArgumentCaptor<Consumer<String>> modify = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager)
+        .registerByPath(eq("/project/source.xml"), any(), modify.capture(), any());
+
+    // modified within the resolution of the modification time
+    modify.getValue().accept("/project/source.xml");
+
+    assertEquals(valueProvider.getValues("a"), singletonList("/project/a1"));
+    assertEquals(reads.get(), 2);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldStopWatchingDeletedSourceFile() throws Exception {
+    when(fileWatcherManager.registerByPath(anyString(), any(), any(), any())).thenReturn(1, 2);
+    ValueProviderFactory factory = new SourceFileValueProviderFactory(true);
+    ValueProvider valueProvider = cache.newInstance(factory, "/project");
+    valueProvider.getValues("a");
+    ArgumentCaptor<Consumer<String>> delete = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager)
+        .registerByPath(eq("/project/source.xml"), any(), any(), delete.capture());
+
+    delete.getValue().accept("/project/source.xml");
+
+    verify(fileWatcherManager).unRegisterByPath(1);
+    assertEquals(valueProvider.getValues("a"), singletonList("/project/a1"));
+    assertEquals(reads.get(), 2);
+    // the source file is watched again once its values are memoized again
+    verify(fileWatcherManager, times(2))
+        .registerByPath(eq("/project/source.xml"), any(), any(), any());
+  }
+
+  private List<List<String>> lookupAll(ValueProviderFactory factory) throws Exception {
+    List<List<String>> values = new ArrayList<>();
+    for (int i = 0; i < PROJECTS; i++) {
+      ValueProvider valueProvider = cache.newInstance(factory, "/project" + i);
+      for (String attribute : ATTRIBUTES) {
+        values.add(valueProvider.getValues(attribute));
+      }
+    }
+    return values;
+  }
+
+  /** Provides the values as if they are parsed from the source file of the project. */
+  private class SourceFileValueProviderFactory implements ValueProviderFactory {
+    private final boolean memoized;
+
+    private SourceFileValueProviderFactory(boolean memoized) {
+      this.memoized = memoized;
+    }
+
+    @Override
+    public ValueProvider newInstance(String wsPath) {
+      return new ReadonlyValueProvider() {
+        @Override
+        public List<String> getValues(String attributeName) {
+          return singletonList(wsPath + '/' + attributeName + reads.getAndIncrement());
+        }
+      };
+    }
+
+    @Override
+    public List<String> getSourceFiles(String wsPath) {
+      return memoized ? singletonList(wsPath + "/source.xml") : emptyList();
+    }
+  }
+}
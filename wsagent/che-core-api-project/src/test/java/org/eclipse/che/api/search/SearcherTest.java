@@ -21,6 +21,8 @@ package org.eclipse.che.api.search;
  */
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.base.Optional;
@@ -31,10 +33,12 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.Pattern;
 import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
 import org.eclipse.che.api.search.server.InvalidQueryException;
 import org.eclipse.che.api.search.server.OffsetData;
@@ -439,6 +443,176 @@ public class SearcherTest {
     assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
   }
 
+  @Test
+  public void shouldBeAbleToSearchWithPositionsInTextWithDifferentLineSeparators()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    // given
+    contentBuilder.createFile("xxx.txt", "first line\r\nsecond\rthird\n\nlast line");
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    // then
+    assertFind(
+        new QueryExpression().setText("line").setIncludePositions(true),
+        new SearchResultEntry(
+            "/xxx.txt",
+            ImmutableList.of(
+                new OffsetData("line", 6, 10, 1.0f, 1, "first line"),
+                new OffsetData("line", 31, 35, 1.0f, 5, "last line"))));
+  }
+
+  @Test
+  public void shouldBeAbleToRetrievesSearchResultWithPagesUsingContinuationToken()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    for (int i = 0; i < 125; i++) {
+      contentBuilder.createFile(
+          String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    List<String> paths = new ArrayList<>();
+    QueryExpression query = new QueryExpression().setText("spaceflight").setMaxItems(10);
+    SearchResult page;
+    do {
+      page = searcher.search(query);
+      paths.addAll(page.getFilePaths());
+      if (page.getNextPageQueryExpression().isPresent()) {
+        query = page.getNextPageQueryExpression().get();
+        assertNotNull(query.getContinuationToken());
+      }
+    } while (page.getNextPageQueryExpression().isPresent());
+
+    assertEquals(
+        paths, searcher.search(new QueryExpression().setText("spaceflight")).getFilePaths());
+    assertEquals(paths.size(), 25);
+  }
+
+  @Test(expectedExceptions = InvalidQueryException.class)
+  public void shouldThrowExceptionWhenContinuationTokenIsInvalid()
+      throws InvalidQueryException, QueryExecutionException {
+    searcher.search(new QueryExpression().setText("spaceflight").setContinuationToken("#invalid"));
+  }
+
+  @Test
+  public void shouldBeAbleToSearchBySubstring()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", TEST_CONTENT[2])
+        .createFile("yyy.txt", TEST_CONTENT[1])
+        .createFile("zzz.txt", TEST_CONTENT[4]);
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    // then
+    assertFind(
+        new QueryExpression().setRegex(Pattern.quote("ink tw")).setIncludePositions(true),
+        new SearchResultEntry(
+            "/folder/yyy.txt",
+            ImmutableList.of(new OffsetData("ink tw", 19, 25, 1.0f, 1, TEST_CONTENT[1]))));
+    assertEmptyResult(new QueryExpression().setRegex(Pattern.quote("INK TW")));
+  }
+
+  @Test
+  public void shouldBeAbleToSearchByRegex()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    // given
+    contentBuilder
+        .createFolder("folder")
+        .createFile("xxx.txt", TEST_CONTENT[2])
+        .createFile("yyy.txt", TEST_CONTENT[1])
+        .createFile("zzz.txt", TEST_CONTENT[4]);
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    // then
+    String[] lines = TEST_CONTENT[2].split("\\r?\\n");
+    assertFind(
+        new QueryExpression().setRegex("be+ ").setIncludePositions(true),
+        new SearchResultEntry(
+            "/folder/xxx.txt",
+            ImmutableList.of(
+                new OffsetData("be ", 3, 6, 1.0f, 1, lines[0]),
+                new OffsetData("be ", 16, 19, 1.0f, 1, lines[0]),
+                new OffsetData("beeeee ", 19, 26, 1.0f, 1, lines[0]),
+                new OffsetData("be ", 47, 50, 1.0f, 2, lines[1]),
+                new OffsetData("be ", 57, 60, 1.0f, 2, lines[1]))),
+        new SearchResultEntry(
+            "/folder/yyy.txt",
+            ImmutableList.of(new OffsetData("be ", 3, 6, 1.0f, 1, TEST_CONTENT[1]))));
+    assertFind(
+        new QueryExpression().setRegex("(?i)^time|twice$"), "/folder/yyy.txt", "/folder/zzz.txt");
+    assertFind(new QueryExpression().setRegex("t.i"), "/folder/yyy.txt", "/folder/zzz.txt");
+  }
+
+  @Test
+  public void shouldBeAbleToSearchByRegexAndPath()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    // given
+    contentBuilder
+        .createFolder("folder1")
+        .createFile("xxx.txt", TEST_CONTENT[1])
+        .takeParent()
+        .createFolder("folder2")
+        .createFile("xxx.txt", TEST_CONTENT[1]);
+    searcher.add(contentBuilder.takeWorkspceRoot().getCurrentFolder());
+
+    // then
+    assertFind(new QueryExpression().setRegex("think").setPath("/folder2"), "/folder2/xxx.txt");
+  }
+
+  @Test
+  public void shouldBeAbleToRetrievesRegexSearchResultWithPages()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    for (int i = 0; i < 125; i++) {
+      contentBuilder.createFile(
+          String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    SearchResult firstPage =
+        searcher.search(new QueryExpression().setRegex("space.light").setMaxItems(8));
+    assertEquals(firstPage.getTotalHits(), 25);
+    assertEquals(firstPage.getFilePaths().size(), 8);
+
+    SearchResult lastPage =
+        searcher.search(firstPage.getNextPageQueryExpression().get().setMaxItems(100));
+    assertEquals(lastPage.getFilePaths().size(), 17);
+    assertFalse(lastPage.getNextPageQueryExpression().isPresent());
+    assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+  }
+
+  @Test
+  public void shouldBeAbleToRetrievesRegexSearchResultWithPagesUsingContinuationToken()
+      throws InvalidQueryException, QueryExecutionException, IOException {
+    for (int i = 0; i < 125; i++) {
+      contentBuilder.createFile(
+          String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+    }
+    searcher.add(contentBuilder.getCurrentFolder());
+
+    List<String> paths = new ArrayList<>();
+    QueryExpression query = new QueryExpression().setRegex("space.light").setMaxItems(10);
+    SearchResult page;
+    do {
+      page = searcher.search(query);
+      assertEquals(page.getTotalHits(), 25);
+      paths.addAll(page.getFilePaths());
+      if (page.getNextPageQueryExpression().isPresent()) {
+        query = page.getNextPageQueryExpression().get();
+        assertNotNull(query.getContinuationToken());
+      }
+    } while (page.getNextPageQueryExpression().isPresent());
+
+    assertEquals(
+        paths, searcher.search(new QueryExpression().setRegex("space.light")).getFilePaths());
+    assertEquals(paths.size(), 25);
+  }
+
+  @Test(expectedExceptions = InvalidQueryException.class)
+  public void shouldThrowExceptionWhenRegexIsInvalid()
+      throws InvalidQueryException, QueryExecutionException {
+    searcher.search(new QueryExpression().setRegex("(abc"));
+  }
+
   public void assertFind(QueryExpression query, SearchResultEntry... expectedResults)
       throws InvalidQueryException, QueryExecutionException {
     SearchResult result = searcher.search(query);
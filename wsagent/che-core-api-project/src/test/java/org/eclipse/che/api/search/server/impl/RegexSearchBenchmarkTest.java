@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.eclipse.che.api.fs.server.impl.RootAwarePathTransformer;
+import org.eclipse.che.api.search.server.QueryExpression;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares regex search narrowed down with the trigrams index with the scan of all the files of a
+ * large synthetic tree, the results must be the same.
+ */
+public class RegexSearchBenchmarkTest {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RegexSearchBenchmarkTest.class);
+
+  private static final int FOLDERS = 40;
+  private static final int FILES_PER_FOLDER = 50;
+  private static final int LINES_PER_FILE = 40;
+  private static final String[] WORDS = {
+    "public", "private", "static", "final", "class", "return", "import", "void", "new", "this",
+    "String", "List", "Map", "value", "result", "index", "count", "builder", "factory", "manager"
+  };
+
+  private File indexDirectory;
+  private File workspaceStorage;
+  private RootAwarePathTransformer pathTransformer;
+  private LuceneSearcher searcher;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    indexDirectory = Files.createTempDirectory("index").toFile();
+    workspaceStorage = Files.createTempDirectory("workspace").toFile();
+    pathTransformer = new RootAwarePathTransformer(workspaceStorage);
+    generateTree(workspaceStorage.toPath(), new Random(42));
+    searcher =
+        new LuceneSearcher(
+            Collections.emptySet(), indexDirectory, workspaceStorage, pathTransformer);
+    long start = System.currentTimeMillis();
+    searcher.add(workspaceStorage.toPath());
+    LOG.info(
+        "Indexed {} files in {} ms",
+        FOLDERS * FILES_PER_FOLDER,
+        System.currentTimeMillis() - start);
+  }
+
+  @AfterClass
+  public void tearDown() {
+    IoUtil.deleteRecursive(indexDirectory);
+    IoUtil.deleteRecursive(workspaceStorage);
+  }
+
+  @DataProvider
+  public Object[][] expressions() {
+    return new Object[][] {
+      {Pattern.quote("rareToken_1")},
+      {"rareToken_\\d+\\("},
+      {"rareToken_7\\(|List<Value>"},
+      {"List<[A-Z]\\w+> rare"}
+    };
+  }
+
+  @Test(dataProvider = "expressions")
+  public void shouldFindTheSameFilesAsScanOfAllFiles(String regex) throws Exception {
+    // warm up
+    search(regex);
+    scan(regex);
+
+    long start = System.nanoTime();
+    List<String> found = search(regex);
+    long searchTime = System.nanoTime() - start;
+
+    start = System.nanoTime();
+    List<String> scanned = scan(regex);
+    long scanTime = System.nanoTime() - start;
+
+    LOG.info(
+        "Regex '{}' matches {} files, trigrams search {} ms, scan {} ms",
+        regex,
+        found.size(),
+        searchTime / 1_000_000,
+        scanTime / 1_000_000);
+    assertFalse(scanned.isEmpty());
+    assertEquals(found, scanned);
+  }
+
+  private List<String> search(String regex) throws Exception {
+    return searcher.search(new QueryExpression().setRegex(regex)).getFilePaths();
+  }
+
+  private List<String> scan(String regex) throws IOException {
+    final Pattern pattern = Pattern.compile(regex);
+    try (Stream<Path> files = Files.walk(workspaceStorage.toPath())) {
+      return files
+          .filter(Files::isRegularFile)
+          .filter(
+              file -> {
+                try {
+                  return pattern.matcher(new String(Files.readAllBytes(file), UTF_8)).find();
+                } catch (IOException e) {
+                  throw new RuntimeException(e);
+                }
+              })
+          .map(pathTransformer::transform)
+          .sorted()
+          .collect(toList());
+    }
+  }
+
+  private static void generateTree(Path root, Random random) throws IOException {
+    for (int i = 0; i < FOLDERS; i++) {
+      Path folder = Files.createDirectories(root.resolve("folder" + i));
+      for (int j = 0; j < FILES_PER_FOLDER; j++) {
+        StringBuilder content = new StringBuilder();
+        for (int k = 0; k < LINES_PER_FILE; k++) {
+          for (int w = 0; w < 8; w++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            content.append(
+                w == 0 ? word : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+          }
+          if (random.nextInt(1000) == 0) {
+            content.append(" rareToken_").append(random.nextInt(100)).append("()");
+          }
+          if (random.nextInt(500) == 0) {
+            content.append(" List<Value> rare");
+          }
+          content.append('\n');
+        }
+        Files.write(folder.resolve("File" + j + ".java"), content.toString().getBytes(UTF_8));
+      }
+    }
+  }
+}
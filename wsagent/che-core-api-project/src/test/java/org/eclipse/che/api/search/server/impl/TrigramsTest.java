@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.search.server.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.collect.ImmutableSet;
+import java.util.HashSet;
+import java.util.Set;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests {@link Trigrams}. */
+public class TrigramsTest {
+
+  @Test
+  public void shouldReturnLowerCasedTrigramsOfText() {
+    assertEquals(Trigrams.of("HashMap"), ImmutableSet.of("has", "ash", "shm", "hma", "map"));
+  }
+
+  @Test
+  public void shouldReturnNoTrigramsOfShortText() {
+    assertEquals(Trigrams.of("ab"), ImmutableSet.of());
+  }
+
+  @DataProvider
+  public Object[][] expressionsWithRequiredTrigrams() {
+    return new Object[][] {
+      {"abcd", singleton(ImmutableSet.of("abc", "bcd"))},
+      {"ab.cde", singleton(ImmutableSet.of("cde"))},
+      {"abcd?", singleton(ImmutableSet.of("abc"))},
+      {"abcd*x", singleton(ImmutableSet.of("abc"))},
+      {"abcd+x", singleton(ImmutableSet.of("abc", "bcd"))},
+      {"abcd{0,2}", singleton(ImmutableSet.of("abc"))},
+      {"abcd{2}", singleton(ImmutableSet.of("abc", "bcd"))},
+      {"abc[xyz]def", singleton(ImmutableSet.of("abc", "def"))},
+      {"abc(x|y)def", singleton(ImmutableSet.of("abc", "def"))},
+      {"a\\.bc", singleton(ImmutableSet.of("a.b", ".bc"))},
+      {"\\Qa.b*c\\E", singleton(ImmutableSet.of("a.b", ".b*", "b*c"))},
+      {"\\d+abc\\s", singleton(ImmutableSet.of("abc"))},
+      {"\\x41bcd", singleton(ImmutableSet.of("bcd"))},
+      {"(?i)ABCD", singleton(ImmutableSet.of("abc", "bcd"))},
+      {"abc|def", ImmutableSet.of(singleton("abc"), singleton("def"))},
+      {"abc[|]def", singleton(ImmutableSet.of("abc", "def"))}
+    };
+  }
+
+  @Test(dataProvider = "expressionsWithRequiredTrigrams")
+  public void shouldReturnQueryWithTrigramsRequiredByExpression(
+      String regex, Set<Set<String>> expected) {
+    assertEquals(alternatives(Trigrams.requiredBy("trigram", regex)), expected);
+  }
+
+  @DataProvider
+  public Object[][] expressionsWithoutRequiredTrigrams() {
+    return new Object[][] {{"ab"}, {"a.b.c"}, {"[abc]+"}, {"abc|d"}, {"(?x)a b c"}, {"(abc)"}};
+  }
+
+  @Test(dataProvider = "expressionsWithoutRequiredTrigrams")
+  public void shouldReturnNullWhenExpressionDoesNotRequireTrigrams(String regex) {
+    assertNull(Trigrams.requiredBy("trigram", regex));
+  }
+
+  @Test
+  public void shouldLimitNumberOfRequiredTrigrams() {
+    final StringBuilder regex = new StringBuilder();
+    for (char c = 'a'; c <= 'z'; c++) {
+      regex.append(c).append(Character.toUpperCase(c)).append(c).append(c);
+    }
+
+    assertEquals(
+        alternatives(Trigrams.requiredBy("trigram", regex.toString())).iterator().next().size(),
+        Trigrams.MAX_TRIGRAMS);
+  }
+
+  /** Returns trigrams required by each of the alternatives of the trigrams query. */
+  private static Set<Set<String>> alternatives(Query query) {
+    final BooleanQuery booleanQuery = (BooleanQuery) query;
+    final Set<Set<String>> alternatives = new HashSet<>();
+    if (booleanQuery.clauses().get(0).getOccur() == Occur.SHOULD) {
+      for (BooleanClause clause : booleanQuery.clauses()) {
+        alternatives.addAll(alternatives(clause.getQuery()));
+      }
+    } else {
+      final Set<String> trigrams = new HashSet<>();
+      for (BooleanClause clause : booleanQuery.clauses()) {
+        assertEquals(clause.getOccur(), Occur.MUST);
+        trigrams.add(((TermQuery) clause.getQuery()).getTerm().text());
+      }
+      alternatives.addAll(asList(trigrams));
+    }
+    return alternatives;
+  }
+}
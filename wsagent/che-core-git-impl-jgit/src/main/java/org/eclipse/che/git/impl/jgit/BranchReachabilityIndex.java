@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.Collections.emptyList;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.errors.IncorrectObjectTypeException;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.AnyObjectId;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectIdSubclassMap;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Index of the local and remote branches containing commits of a repository.
+ *
+ * <p>Each branch gets a bit, each commit reachable from the branches keeps the bits of the branches
+ * it is reachable from. So the branches containing a commit are known without walking the history
+ * of every branch. The index is built with a single walk over the history and is updated only for
+ * the branches whose tips are changed since the previous refresh.
+ */
+class BranchReachabilityIndex {
+
+  /** Approximate size in bytes of an indexed commit without the words of its bit set. */
+  private static final int COMMIT_OVERHEAD = 96;
+
+  /** Branch names by their bits, null for the bits of removed branches. */
+  private final List<String> branches = new ArrayList<>();
+
+  private final Map<String, Integer> bits = new HashMap<>();
+  private Map<String, ObjectId> tips = new HashMap<>();
+  private ObjectIdSubclassMap<CommitBranches> commits = new ObjectIdSubclassMap<>();
+
+  /** Updates the index if the branches are changed since the previous refresh. */
+  synchronized void refresh(Git git) throws GitAPIException, IOException {
+    Map<String, ObjectId> newTips = new HashMap<>();
+    for (Ref branch : git.branchList().setListMode(ListMode.ALL).call()) {
+      if (branch.getObjectId() != null) {
+        newTips.put(branch.getName(), branch.getObjectId());
+      }
+    }
+    if (newTips.equals(tips)) {
+      return;
+    }
+    try (RevWalk walk = new RevWalk(git.getRepository())) {
+      if (tips.isEmpty()) {
+        build(walk, newTips);
+      } else {
+        update(walk, newTips);
+      }
+    }
+    tips = newTips;
+  }
+
+  /** Returns names of the branches containing the given commit sorted alphabetically. */
+  synchronized List<String> getBranchesContaining(AnyObjectId commit) {
+    CommitBranches commitBranches = commits.get(commit);
+    if (commitBranches == null) {
+      return emptyList();
+    }
+    List<String> names = new ArrayList<>(commitBranches.bits.cardinality());
+    for (int bit = commitBranches.bits.nextSetBit(0);
+        bit >= 0;
+        bit = commitBranches.bits.nextSetBit(bit + 1)) {
+      names.add(branches.get(bit));
+    }
+    names.sort(null);
+    return names;
+  }
+
+  /**
+   * Returns estimated size of the index in bytes, each indexed commit keeps its id and a bit per
+   * branch.
+   */
+  synchronized int getWeight() {
+    long commitSize =
+        COMMIT_OVERHEAD + Long.BYTES * ((branches.size() + Long.SIZE - 1) / Long.SIZE);
+    return (int) Math.min(Integer.MAX_VALUE, commitSize * commits.size());
+  }
+
+  /** Propagates the bits of the branches from their tips to all the ancestors. */
+  private void build(RevWalk walk, Map<String, ObjectId> newTips) throws IOException {
+    commits = new ObjectIdSubclassMap<>();
+    for (Map.Entry<String, ObjectId> tip : newTips.entrySet()) {
+      RevCommit commit = parseCommit(walk, tip.getValue());
+      if (commit != null) {
+        branchesOf(commit).bits.set(bitOf(tip.getKey()));
+        walk.markStart(commit);
+      }
+    }
+    // children go before their parents, so bits of a commit are final once it is walked
+    walk.sort(RevSort.TOPO);
+    for (RevCommit commit : walk) {
+      BitSet commitBits = branchesOf(commit).bits;
+      for (RevCommit parent : commit.getParents()) {
+        branchesOf(parent).bits.or(commitBits);
+      }
+    }
+  }
+
+  private void update(RevWalk walk, Map<String, ObjectId> newTips) throws IOException {
+    for (Map.Entry<String, ObjectId> tip : tips.entrySet()) {
+      if (!newTips.containsKey(tip.getKey())) {
+        int bit = bits.remove(tip.getKey());
+        clear(bit);
+        branches.set(bit, null);
+      }
+    }
+    for (Map.Entry<String, ObjectId> newTip : newTips.entrySet()) {
+      ObjectId oldTip = tips.get(newTip.getKey());
+      if (newTip.getValue().equals(oldTip)) {
+        continue;
+      }
+      RevCommit newCommit = parseCommit(walk, newTip.getValue());
+      int bit = bitOf(newTip.getKey());
+      RevCommit oldCommit = oldTip == null ? null : parseCommit(walk, oldTip);
+      if (oldCommit != null && (newCommit == null || !walk.isMergedInto(oldCommit, newCommit))) {
+        // not a fast-forward, some of the commits are not contained by the branch anymore
+        clear(bit);
+      }
+      walk.reset();
+      if (newCommit != null) {
+        mark(walk, newCommit, bit);
+      }
+    }
+  }
+
+  /** Sets the bit to the commit and its ancestors, down to the ones which already have it. */
+  private void mark(RevWalk walk, RevCommit tip, int bit) throws IOException {
+    Deque<RevCommit> pending = new ArrayDeque<>();
+    pending.push(tip);
+    while (!pending.isEmpty()) {
+      RevCommit commit = pending.pop();
+      BitSet commitBits = branchesOf(commit).bits;
+      if (!commitBits.get(bit)) {
+        commitBits.set(bit);
+        walk.parseHeaders(commit);
+        for (RevCommit parent : commit.getParents()) {
+          pending.push(parent);
+        }
+      }
+    }
+  }
+
+  private void clear(int bit) {
+    for (CommitBranches commitBranches : commits) {
+      commitBranches.bits.clear(bit);
+    }
+  }
+
+  private int bitOf(String branch) {
+    Integer bit = bits.get(branch);
+    if (bit == null) {
+      bit = branches.indexOf(null);
+      if (bit < 0) {
+        bit = branches.size();
+        branches.add(branch);
+      } else {
+        branches.set(bit, branch);
+      }
+      bits.put(branch, bit);
+    }
+    return bit;
+  }
+
+  private CommitBranches branchesOf(AnyObjectId commit) {
+    CommitBranches commitBranches = commits.get(commit);
+    if (commitBranches == null) {
+      commitBranches = new CommitBranches(commit);
+      commits.add(commitBranches);
+    }
+    return commitBranches;
+  }
+
+  private static RevCommit parseCommit(RevWalk walk, ObjectId id) throws IOException {
+    try {
+      return walk.parseCommit(id);
+    } catch (MissingObjectException | IncorrectObjectTypeException e) {
+      return null;
+    }
+  }
+
+  private static class CommitBranches extends ObjectId {
+    private final BitSet bits = new BitSet();
+
+    private CommitBranches(AnyObjectId id) {
+      super(id);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.HOURS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+
+/**
+ * Branch indexes of the repositories, bounded by the estimated size of the indexes.
+ *
+ * <p>An index heavier than the whole capacity would be evicted as soon as it is cached, and then
+ * built from scratch for every log page of its repository. Such indexes are softly referenced
+ * instead, so they are kept until the memory is needed.
+ */
+class BranchReachabilityIndexCache {
+
+  private static final long EXPIRE_AFTER_ACCESS_HOURS = 1;
+
+  private final long maxWeight;
+  private final Cache<String, BranchReachabilityIndex> indexes;
+  private final Cache<String, BranchReachabilityIndex> oversizedIndexes;
+
+  /** @param maxWeight maximum estimated size in bytes of the indexes of all the repositories */
+  BranchReachabilityIndexCache(long maxWeight) {
+    this.maxWeight = maxWeight;
+    this.indexes =
+        CacheBuilder.newBuilder()
+            // single segment, so the index of a large repository may take the whole capacity
+            .concurrencyLevel(1)
+            .maximumWeight(maxWeight)
+            .<String, BranchReachabilityIndex>weigher((dir, index) -> index.getWeight())
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS_HOURS, HOURS)
+            .build();
+    this.oversizedIndexes =
+        CacheBuilder.newBuilder()
+            .softValues()
+            .expireAfterAccess(EXPIRE_AFTER_ACCESS_HOURS, HOURS)
+            .<String, BranchReachabilityIndex>build();
+  }
+
+  /**
+   * Returns index of the branches of the repository, updated to the current state of the branches.
+   *
+   * @param directory absolute path of the repository directory
+   * @param git the repository
+   */
+  BranchReachabilityIndex get(String directory, Git git) throws GitAPIException, IOException {
+    BranchReachabilityIndex index = indexes.getIfPresent(directory);
+    if (index == null) {
+      index = oversizedIndexes.getIfPresent(directory);
+    }
+    if (index == null) {
+      index = new BranchReachabilityIndex();
+    }
+    index.refresh(git);
+    // weight of the index is changed by the refresh, it is recomputed only when the index is put
+    if (index.getWeight() > maxWeight) {
+      indexes.invalidate(directory);
+      oversizedIndexes.put(directory, index);
+    } else {
+      oversizedIndexes.invalidate(directory);
+      indexes.put(directory, index);
+    }
+    return index;
+  }
+}
@@ -64,7 +64,6 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -133,6 +132,7 @@ import org.eclipse.che.api.git.shared.Tag;
 import org.eclipse.che.api.git.shared.event.GitRepositoryInitializedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.proxy.ProxyAuthenticator;
+import org.eclipse.che.git.impl.jgit.LogCursors.LogWalk;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
 import org.eclipse.jgit.api.AddCommand;
 import org.eclipse.jgit.api.CheckoutCommand;
@@ -301,6 +301,12 @@ class JGitConnection implements GitConnection {
 
   private static final Set<String> COMMITTING_REPOSITORIES = new CopyOnWriteArraySet<>();
   private static final Set<String> CHECKOUT_REPOSITORIES = new CopyOnWriteArraySet<>();
+  private static final LogCursors LOG_CURSORS = new LogCursors();
+  /** Maximum estimated size in bytes of the branch indexes of all the repositories. */
+  private static final long MAX_BRANCH_INDEXES_WEIGHT = 64 * 1024 * 1024;
+
+  private static final BranchReachabilityIndexCache BRANCH_INDEXES =
+      new BranchReachabilityIndexCache(MAX_BRANCH_INDEXES_WEIGHT);
 
   private Git git;
   private JGitConfigImpl config;
@@ -990,27 +996,41 @@ class JGitConnection implements GitConnection {
   /** @see org.eclipse.che.api.git.GitConnection#log(LogParams) */
   @Override
   public LogPage log(LogParams params) throws GitException {
-    LogCommand logCommand = getGit().log();
+    String filePath = params.getFilePath();
+    String key = getLogKey(params);
+    LogWalk walk = LOG_CURSORS.resume(params.getCursor(), key);
     try {
-      setRevisionRange(logCommand, params);
-      logCommand.setSkip(params.getSkip());
-      logCommand.setMaxCount(params.getMaxCount());
-      List<String> fileFilter = params.getFileFilter();
-      if (fileFilter != null) {
-        fileFilter.forEach(logCommand::addPath);
-      }
-      String filePath = params.getFilePath();
-      if (!isNullOrEmpty(filePath)) {
-        logCommand.addPath(filePath);
-      }
-      Iterator<RevCommit> revIterator = logCommand.call().iterator();
+      if (walk == null) {
+        LogCommand logCommand = getGit().log();
+        setRevisionRange(logCommand, params);
+        List<String> fileFilter = params.getFileFilter();
+        if (fileFilter != null) {
+          fileFilter.forEach(logCommand::addPath);
+        }
+        if (!isNullOrEmpty(filePath)) {
+          logCommand.addPath(filePath);
+        }
+        walk = new LogWalk(repository, key, logCommand.call());
+        for (int skip = LogCursors.positionOf(params.getCursor(), params.getSkip());
+            skip > 0 && walk.hasNext();
+            skip--) {
+          walk.next();
+        }
+      }
+      BranchReachabilityIndex branchIndex = getBranchIndex();
       List<Revision> commits = new ArrayList<>();
-      while (revIterator.hasNext()) {
-        RevCommit commit = revIterator.next();
-        Revision revision = getRevision(commit, filePath);
+      int maxCount = params.getMaxCount();
+      while ((maxCount < 0 || commits.size() < maxCount) && walk.hasNext()) {
+        RevCommit commit = walk.next();
+        Revision revision = getRevision(commit, filePath, branchIndex, params.isDiffFiles());
         commits.add(revision);
       }
-      return new LogPage(commits);
+      String nextCursor = null;
+      if (walk.hasNext()) {
+        nextCursor = LOG_CURSORS.retain(walk);
+        walk = null;
+      }
+      return new LogPage(commits, nextCursor);
     } catch (GitAPIException | IOException exception) {
       String errorMessage = exception.getMessage();
       if (ERROR_LOG_NO_HEAD_EXISTS.equals(errorMessage)) {
@@ -1019,11 +1039,29 @@ class JGitConnection implements GitConnection {
         LOG.error("Failed to retrieve log. ", exception);
         throw new GitException(exception);
       }
+    } finally {
+      if (walk != null) {
+        walk.close();
+      }
     }
   }
 
-  private Revision getRevision(RevCommit commit, String filePath)
-      throws GitAPIException, IOException {
+  /** Returns key of the log of the repository, cursors resume only the logs with the same key. */
+  private String getLogKey(LogParams params) {
+    return repository.getDirectory().getAbsolutePath()
+        + '\n'
+        + params.getRevisionRangeSince()
+        + ".."
+        + params.getRevisionRangeUntil()
+        + '\n'
+        + params.getFileFilter()
+        + '\n'
+        + params.getFilePath();
+  }
+
+  private Revision getRevision(
+      RevCommit commit, String filePath, BranchReachabilityIndex branchIndex, boolean diffFiles)
+      throws IOException {
     List<String> commitParentsList =
         Stream.of(commit.getParents()).map(RevCommit::getName).collect(Collectors.toList());
 
@@ -1033,9 +1071,9 @@ class JGitConnection implements GitConnection {
         .withCommitTime((long) commit.getCommitTime() * 1000)
         .withCommitter(getCommitCommitter(commit))
         .withAuthor(getCommitAuthor(commit))
-        .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+        .withBranches(getBranchesOfCommit(commit, branchIndex))
         .withCommitParent(commitParentsList)
-        .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        .withDiffCommitFile(diffFiles ? getCommitDiffFiles(commit, filePath) : null);
   }
 
   private GitUser getCommitCommitter(RevCommit commit) {
@@ -1052,12 +1090,19 @@ class JGitConnection implements GitConnection {
         .withEmail(authorIdentity.getEmailAddress());
   }
 
-  private List<Branch> getBranchesOfCommit(RevCommit commit, ListMode mode) throws GitAPIException {
-    List<Ref> branches =
-        getGit().branchList().setListMode(mode).setContains(commit.getName()).call();
-    return branches
+  /**
+   * Returns index of the branches containing commits of the repository, updated to the current
+   * state of the branches.
+   */
+  private BranchReachabilityIndex getBranchIndex() throws GitAPIException, IOException {
+    return BRANCH_INDEXES.get(repository.getDirectory().getAbsolutePath(), getGit());
+  }
+
+  private List<Branch> getBranchesOfCommit(RevCommit commit, BranchReachabilityIndex branchIndex) {
+    return branchIndex
+        .getBranchesContaining(commit)
         .stream()
-        .map(branch -> newDto(Branch.class).withName(branch.getName()))
+        .map(branch -> newDto(Branch.class).withName(branch))
         .collect(toList());
   }
 
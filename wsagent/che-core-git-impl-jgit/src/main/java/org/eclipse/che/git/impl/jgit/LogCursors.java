@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Iterator;
+import java.util.UUID;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+
+/**
+ * Revision walks of the log pages retained to get the next pages of the log without walking the
+ * history from the start again. The walks which are not resumed for a while are closed.
+ *
+ * <p>Cursor of a walk keeps the number of commits walked so far, so the log is still available with
+ * skipping the commits when the walk is not retained anymore.
+ */
+class LogCursors {
+
+  private static final int MAX_WALKS = 64;
+  private static final long EXPIRE_AFTER_ACCESS_MINUTES = 5;
+
+  private final Cache<String, LogWalk> walks =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_WALKS)
+          .expireAfterAccess(EXPIRE_AFTER_ACCESS_MINUTES, MINUTES)
+          .<String, LogWalk>removalListener(
+              notification -> {
+                if (notification.wasEvicted()) {
+                  notification.getValue().close();
+                }
+              })
+          .build();
+
+  /**
+   * Takes the retained walk of the given cursor if it walks the log with the given key.
+   *
+   * @return the walk or null if the walk of the cursor is not retained
+   */
+  LogWalk resume(String cursor, String key) {
+    if (cursor == null) {
+      return null;
+    }
+    int separator = cursor.lastIndexOf(':');
+    if (separator < 0) {
+      return null;
+    }
+    String id = cursor.substring(0, separator);
+    LogWalk walk = walks.asMap().remove(id);
+    if (walk != null && !walk.key.equals(key)) {
+      walks.put(id, walk);
+      return null;
+    }
+    return walk;
+  }
+
+  /** Retains the walk and returns the cursor to resume it. */
+  String retain(LogWalk walk) {
+    String id = UUID.randomUUID().toString();
+    walks.put(id, walk);
+    return id + ':' + walk.position;
+  }
+
+  /**
+   * Returns the number of commits walked before the given cursor.
+   *
+   * @return the number of commits or the given default value if the cursor is malformed
+   */
+  static int positionOf(String cursor, int defaultPosition) {
+    if (cursor != null) {
+      try {
+        return Integer.parseInt(cursor.substring(cursor.lastIndexOf(':') + 1));
+      } catch (NumberFormatException e) {
+        // cursor is not created by this server
+      }
+    }
+    return defaultPosition;
+  }
+
+  /** Walk of the log, keeps the repository open until the walk is closed. */
+  static class LogWalk implements AutoCloseable {
+    private final Repository repository;
+    private final String key;
+    private final Iterable<RevCommit> walk;
+    private final Iterator<RevCommit> commits;
+    private int position;
+
+    LogWalk(Repository repository, String key, Iterable<RevCommit> walk) {
+      repository.incrementOpen();
+      this.repository = repository;
+      this.key = key;
+      this.walk = walk;
+      this.commits = walk.iterator();
+    }
+
+    boolean hasNext() {
+      return commits.hasNext();
+    }
+
+    RevCommit next() {
+      position++;
+      return commits.next();
+    }
+
+    @Override
+    public void close() {
+      if (walk instanceof RevWalk) {
+        ((RevWalk) walk).close();
+      }
+      repository.close();
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.util.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Measures {@link BranchReachabilityIndex} against walking history of every branch for a synthetic
+ * repository with thousands of branches: building and refreshing the index, and finding the
+ * branches of the commits of a log page. Excluded from the default test run.
+ */
+public class BranchReachabilityIndexBenchmarkTest {
+
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BranchReachabilityIndexBenchmarkTest.class);
+
+  private static final int MAINLINE_COMMITS = 1_000;
+  private static final int BRANCHES = 2_000;
+  private static final int LOG_PAGE_SIZE = 30;
+
+  private final List<ObjectId> mainline = new ArrayList<>();
+  private final Random random = new Random(42);
+  private File directory;
+  private Git git;
+  private ObjectId emptyTree;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("branch-index-benchmark").toFile();
+    git = Git.init().setDirectory(directory).call();
+    try (ObjectInserter inserter = git.getRepository().newObjectInserter()) {
+      emptyTree = inserter.insert(new TreeFormatter());
+      inserter.flush();
+    }
+    ObjectId parent = null;
+    for (int i = 0; i < MAINLINE_COMMITS; i++) {
+      parent = commit("mainline " + i, parent);
+      mainline.add(parent);
+    }
+    setBranch("master", parent);
+    for (int i = 0; i < BRANCHES; i++) {
+      // every branch starts somewhere on the mainline, some of them have own commits
+      ObjectId tip = mainline.get(random.nextInt(MAINLINE_COMMITS));
+      for (int j = random.nextInt(3); j > 0; j--) {
+        tip = commit("branch " + i + " commit " + j, tip);
+      }
+      setBranch("branch" + i, tip);
+    }
+    LOG.info("Created repository with {} branches", BRANCHES + 1);
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    git.close();
+    FileUtils.delete(directory, FileUtils.RECURSIVE);
+  }
+
+  @Test
+  public void measureIndexAgainstHistoryWalk() throws Exception {
+    BranchReachabilityIndex index = new BranchReachabilityIndex();
+    long start = System.nanoTime();
+    index.refresh(git);
+    LOG.info("Index of {} bytes built in {} ms", index.getWeight(), millisSince(start));
+
+    setBranch("branch0", commit("moved", mainline.get(MAINLINE_COMMITS - 1)));
+    start = System.nanoTime();
+    index.refresh(git);
+    LOG.info("Index refreshed after a branch is moved in {} ms", millisSince(start));
+
+    List<RevCommit> page = new ArrayList<>();
+    git.log()
+        .add(mainline.get(random.nextInt(MAINLINE_COMMITS)))
+        .setMaxCount(LOG_PAGE_SIZE)
+        .call()
+        .forEach(page::add);
+
+    start = System.nanoTime();
+    List<List<String>> walked = new ArrayList<>();
+    for (RevCommit commit : page) {
+      walked.add(walk(commit));
+    }
+    long walkMillis = millisSince(start);
+
+    start = System.nanoTime();
+    List<List<String>> indexed = new ArrayList<>();
+    for (RevCommit commit : page) {
+      indexed.add(index.getBranchesContaining(commit));
+    }
+    long indexMillis = millisSince(start);
+
+    LOG.info(
+        "Branches of a log page of {} commits: history walk {} ms, index {} ms",
+        page.size(),
+        walkMillis,
+        indexMillis);
+    assertEquals(indexed, walked);
+  }
+
+  private List<String> walk(ObjectId commit) throws GitAPIException {
+    return git.branchList()
+        .setListMode(ListMode.ALL)
+        .setContains(commit.getName())
+        .call()
+        .stream()
+        .map(ref -> ref.getName())
+        .sorted()
+        .collect(toList());
+  }
+
+  private ObjectId commit(String message, ObjectId parent) throws IOException {
+    PersonIdent ident = new PersonIdent("test", "test@test.com");
+    CommitBuilder commit = new CommitBuilder();
+    commit.setTreeId(emptyTree);
+    if (parent != null) {
+      commit.setParentId(parent);
+    }
+    commit.setAuthor(ident);
+    commit.setCommitter(ident);
+    commit.setMessage(message);
+    try (ObjectInserter inserter = git.getRepository().newObjectInserter()) {
+      ObjectId id = inserter.insert(commit);
+      inserter.flush();
+      return id;
+    }
+  }
+
+  private void setBranch(String name, ObjectId tip) throws IOException {
+    RefUpdate update = git.getRepository().updateRef(Constants.R_HEADS + name);
+    update.setNewObjectId(tip);
+    update.setForceUpdate(true);
+    RefUpdate.Result result = update.update();
+    assertTrue(
+        result == RefUpdate.Result.NEW
+            || result == RefUpdate.Result.FORCED
+            || result == RefUpdate.Result.FAST_FORWARD,
+        result.name());
+  }
+
+  private static long millisSince(long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ListBranchCommand.ListMode;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Compares branches containing commits returned by {@link BranchReachabilityIndex} with the ones
+ * found by walking history of every branch, for a synthetic repository with hundreds of branches.
+ */
+public class BranchReachabilityIndexTest {
+
+  private static final int MAINLINE_COMMITS = 200;
+  private static final int BRANCHES = 150;
+  private static final int LOOKUPS = 20;
+
+  private final List<ObjectId> mainline = new ArrayList<>();
+  private final Random random = new Random(42);
+  private File directory;
+  private Git git;
+  private ObjectId emptyTree;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("branch-index").toFile();
+    git = Git.init().setDirectory(directory).call();
+    try (ObjectInserter inserter = git.getRepository().newObjectInserter()) {
+      emptyTree = inserter.insert(new TreeFormatter());
+      inserter.flush();
+    }
+    ObjectId parent = null;
+    for (int i = 0; i < MAINLINE_COMMITS; i++) {
+      parent = commit("mainline " + i, parent);
+      mainline.add(parent);
+    }
+    setBranch("master", parent);
+    for (int i = 0; i < BRANCHES; i++) {
+      // every branch starts somewhere on the mainline, some of them have own commits
+      ObjectId tip = mainline.get(random.nextInt(MAINLINE_COMMITS));
+      for (int j = random.nextInt(3); j > 0; j--) {
+        tip = commit("branch " + i + " commit " + j, tip);
+      }
+      setBranch("branch" + i, tip);
+    }
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    git.close();
+    FileUtils.delete(directory, FileUtils.RECURSIVE);
+  }
+
+  @Test
+  public void shouldFindSameBranchesAsHistoryWalk() throws Exception {
+    BranchReachabilityIndex index = new BranchReachabilityIndex();
+    index.refresh(git);
+
+    for (int i = 0; i < LOOKUPS; i++) {
+      ObjectId commit = mainline.get(random.nextInt(MAINLINE_COMMITS));
+      assertEquals(index.getBranchesContaining(commit), walk(commit));
+    }
+    assertTrue(index.getWeight() > 0);
+  }
+
+  @Test
+  public void shouldUpdateIndexWhenBranchesAreChanged() throws Exception {
+    BranchReachabilityIndex index = new BranchReachabilityIndex();
+    index.refresh(git);
+    ObjectId base = mainline.get(MAINLINE_COMMITS / 2);
+    ObjectId first = commit("first", base);
+    ObjectId second = commit("second", first);
+    ObjectId other = commit("other", base);
+
+    setBranch("feature", first);
+    index.refresh(git);
+    assertTrue(index.getBranchesContaining(base).contains("refs/heads/feature"));
+    assertEquals(index.getBranchesContaining(first), Arrays.asList("refs/heads/feature"));
+
+    // fast-forward
+    setBranch("feature", second);
+    index.refresh(git);
+    assertEquals(index.getBranchesContaining(first), Arrays.asList("refs/heads/feature"));
+    assertEquals(index.getBranchesContaining(second), Arrays.asList("refs/heads/feature"));
+
+    // reset to the other line of history
+    setBranch("feature", other);
+    index.refresh(git);
+    assertTrue(index.getBranchesContaining(first).isEmpty());
+    assertEquals(index.getBranchesContaining(other), Arrays.asList("refs/heads/feature"));
+    assertEquals(index.getBranchesContaining(base), walk(base));
+
+    git.branchDelete().setBranchNames("feature").setForce(true).call();
+    index.refresh(git);
+    assertTrue(index.getBranchesContaining(other).isEmpty());
+    assertEquals(index.getBranchesContaining(base), walk(base));
+  }
+
+  @Test
+  public void shouldNotRebuildIndexHeavierThanCache() throws Exception {
+    BranchReachabilityIndexCache cache = new BranchReachabilityIndexCache(1);
+
+    BranchReachabilityIndex index = cache.get(directory.getAbsolutePath(), git);
+
+    assertTrue(index.getWeight() > 1);
+    assertSame(cache.get(directory.getAbsolutePath(), git), index);
+  }
+
+  @Test
+  public void shouldNotRebuildCachedIndex() throws Exception {
+    BranchReachabilityIndexCache cache = new BranchReachabilityIndexCache(Long.MAX_VALUE);
+
+    BranchReachabilityIndex index = cache.get(directory.getAbsolutePath(), git);
+
+    assertSame(cache.get(directory.getAbsolutePath(), git), index);
+  }
+
+  private List<String> walk(ObjectId commit) throws GitAPIException {
+    return git.branchList()
+        .setListMode(ListMode.ALL)
+        .setContains(commit.getName())
+        .call()
+        .stream()
+        .map(ref -> ref.getName())
+        .sorted()
+        .collect(toList());
+  }
+
+  private ObjectId commit(String message, ObjectId parent) throws IOException {
+    PersonIdent ident = new PersonIdent("test", "test@test.com");
+    CommitBuilder commit = new CommitBuilder();
+    commit.setTreeId(emptyTree);
+    if (parent != null) {
+      commit.setParentId(parent);
+    }
+    commit.setAuthor(ident);
+    commit.setCommitter(ident);
+    commit.setMessage(message);
+    try (ObjectInserter inserter = git.getRepository().newObjectInserter()) {
+      ObjectId id = inserter.insert(commit);
+      inserter.flush();
+      return id;
+    }
+  }
+
+  private void setBranch(String name, ObjectId tip) throws IOException {
+    RefUpdate update = git.getRepository().updateRef(Constants.R_HEADS + name);
+    update.setNewObjectId(tip);
+    update.setForceUpdate(true);
+    RefUpdate.Result result = update.update();
+    assertTrue(
+        result == RefUpdate.Result.NEW
+            || result == RefUpdate.Result.FORCED
+            || result == RefUpdate.Result.FAST_FORWARD,
+        result.name());
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.installer.server.impl;
+
+import static java.lang.String.format;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.eclipse.che.api.installer.server.exception.InstallerException;
+import org.eclipse.che.api.installer.server.exception.InstallerNotFoundException;
+import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
+import org.eclipse.che.api.installer.shared.model.Installer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable snapshot of the installers registry which resolves installers without access to the
+ * registry storage.
+ *
+ * <p>The latest versions of installers are resolved once on the snapshot creation, dependencies
+ * orders are computed on the first request and reused until the snapshot is replaced. Returned
+ * installers are copies, so the snapshot can be shared between threads.
+ *
+ * @see LocalInstallerRegistry
+ * @see RemoteInstallerRegistry
+ */
+class InstallersCatalog {
+  private static final Logger LOG = LoggerFactory.getLogger(InstallersCatalog.class);
+
+  private final Map<InstallerFqn, InstallerImpl> installers;
+  private final Map<String, List<String>> versions;
+  private final Map<String, InstallerFqn> latest;
+  private final Map<List<String>, List<InstallerFqn>> orders;
+
+  InstallersCatalog(Collection<? extends Installer> installers) {
+    this.installers = new LinkedHashMap<>();
+    this.versions = new HashMap<>();
+    this.latest = new HashMap<>();
+    this.orders = new ConcurrentHashMap<>();
+
+    Map<String, ComparableVersion> latestVersions = new HashMap<>();
+    for (Installer installer : installers) {
+      InstallerFqn fqn = InstallerFqn.of(installer);
+      this.installers.put(fqn, new InstallerImpl(installer));
+      versions.computeIfAbsent(fqn.getId(), id -> new ArrayList<>()).add(fqn.getVersion());
+
+      ComparableVersion version;
+      try {
+        version = new ComparableVersion(fqn.getVersion());
+      } catch (Exception e) {
+        LOG.error(
+            format("Invalid version '%s' for installer '%s'. Skipped.", fqn.getVersion(), fqn));
+        continue;
+      }
+      ComparableVersion current = latestVersions.get(fqn.getId());
+      if (current == null || version.compareTo(current) > 0) {
+        latestVersions.put(fqn.getId(), version);
+        latest.put(fqn.getId(), fqn);
+      }
+    }
+  }
+
+  /**
+   * Returns installer by its fully-qualified name, the latest tag is resolved to the latest
+   * version.
+   *
+   * @throws InstallerNotFoundException if installer is not found
+   */
+  Installer get(InstallerFqn installerFqn) throws InstallerException {
+    return new InstallerImpl(doGet(resolveLatestTag(installerFqn)));
+  }
+
+  /** Returns available versions of the installer, or empty list if installer is not found. */
+  List<String> getVersions(String id) {
+    List<String> installerVersions = versions.get(id);
+    return installerVersions == null ? new ArrayList<>() : new ArrayList<>(installerVersions);
+  }
+
+  /** @see org.eclipse.che.api.installer.server.InstallerRegistry#getOrderedInstallers(List) */
+  List<Installer> getOrdered(List<String> installerKeys) throws InstallerException {
+    List<InstallerFqn> order = orders.get(installerKeys);
+    if (order == null) {
+      LinkedHashMap<InstallerFqn, InstallerImpl> sorted = new LinkedHashMap<>();
+      Set<InstallerFqn> pending = new HashSet<>();
+      for (String installer : installerKeys) {
+        doSort(resolveLatestTag(InstallerFqn.parse(installer)), sorted, pending);
+      }
+      order = unmodifiableList(new ArrayList<>(sorted.keySet()));
+      orders.put(unmodifiableList(new ArrayList<>(installerKeys)), order);
+    }
+    return order.stream().map(fqn -> new InstallerImpl(installers.get(fqn))).collect(toList());
+  }
+
+  private void doSort(
+      InstallerFqn installerFqn,
+      LinkedHashMap<InstallerFqn, InstallerImpl> sorted,
+      Set<InstallerFqn> pending)
+      throws InstallerException {
+    if (sorted.keySet().contains(installerFqn)) {
+      return;
+    }
+    pending.add(installerFqn);
+
+    InstallerImpl installer = doGet(installerFqn);
+    for (String dependencyKey : installer.getDependencies()) {
+      InstallerFqn dependencyFqn = resolveLatestTag(InstallerFqn.parse(dependencyKey));
+      if (pending.contains(dependencyFqn)) {
+        throw new InstallerException(
+            format(
+                "Installers circular dependency found between '%s' and '%s'",
+                dependencyFqn, installerFqn));
+      }
+
+      doSort(dependencyFqn, sorted, pending);
+    }
+
+    if (InstallerFqn.idInFqnList(installerFqn.getId(), sorted.keySet())) {
+      throw new InstallerException(
+          format(
+              "Installers dependencies conflict. Several version '%s' and '%s' of the some id '%s",
+              installerFqn.getVersion(),
+              sorted
+                  .keySet()
+                  .stream()
+                  .filter(i -> i.getId().equals(installerFqn.getId()))
+                  .findFirst()
+                  .get()
+                  .getVersion(),
+              installerFqn.getId()));
+    }
+    sorted.put(installerFqn, installer);
+    pending.remove(installerFqn);
+  }
+
+  private InstallerImpl doGet(InstallerFqn installerFqn) throws InstallerNotFoundException {
+    InstallerImpl installer = installers.get(installerFqn);
+    if (installer == null) {
+      throw new InstallerNotFoundException(
+          format("Installer with fqn '%s' doesn't exist", installerFqn));
+    }
+    return installer;
+  }
+
+  /**
+   * Returns the fully-qualified name of the latest version of the installer if the given name has
+   * the latest tag, otherwise returns the given name.
+   *
+   * @throws InstallerNotFoundException if the latest tag is specified and installer is not found
+   */
+  InstallerFqn resolveLatestTag(InstallerFqn installerFqn) throws InstallerNotFoundException {
+    if (!installerFqn.hasLatestTag()) {
+      return installerFqn;
+    }
+
+    InstallerFqn latestFqn = latest.get(installerFqn.getId());
+    if (latestFqn == null) {
+      throw new InstallerNotFoundException(
+          format("No installer '%s' found of the latest version", installerFqn.getId()));
+    }
+    return latestFqn;
+  }
+}
@@ -14,14 +14,8 @@ import static java.lang.String.format;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
-import org.apache.maven.artifact.versioning.ComparableVersion;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.installer.server.InstallerRegistry;
 import org.eclipse.che.api.installer.server.exception.InstallerException;
@@ -36,6 +30,10 @@ import org.slf4j.LoggerFactory;
  * Local implementation of the {@link InstallerRegistry}. Persistent layer is represented by {@link
  * InstallerDao}.
  *
+ * <p>Installers are resolved from the {@link InstallersCatalog} snapshot of the storage, so
+ * workspace start doesn't access the database. The snapshot is replaced each time the registry is
+ * modified.
+ *
  * @author Anatoliy Bazko
  * @author Sergii Leshchenko
  */
@@ -45,6 +43,9 @@ public class LocalInstallerRegistry implements InstallerRegistry {
   private final InstallerDao installerDao;
   private final InstallerValidator installerValidator;
 
+  /** Snapshot of the stored installers, replaced on each modification of the registry. */
+  private volatile InstallersCatalog catalog;
+
   /** Primary registry initialization with shipped installers. */
   @Inject
   public LocalInstallerRegistry(
@@ -56,6 +57,7 @@ public class LocalInstallerRegistry implements InstallerRegistry {
     for (Installer i : installers) {
       doInit(installerDao, i);
     }
+    reloadCatalog();
   }
 
   private void doInit(InstallerDao installerDao, Installer i) throws InstallerException {
@@ -80,31 +82,34 @@ public class LocalInstallerRegistry implements InstallerRegistry {
   }
 
   @Override
-  public void add(Installer installer) throws InstallerException {
+  public synchronized void add(Installer installer) throws InstallerException {
     installerValidator.validate(installer);
     installerDao.create(new InstallerImpl(installer));
+    reloadCatalog();
   }
 
   @Override
-  public void update(Installer installer) throws InstallerException {
+  public synchronized void update(Installer installer) throws InstallerException {
     installerValidator.validate(installer);
     installerDao.update(new InstallerImpl(installer));
+    reloadCatalog();
   }
 
   @Override
-  public void remove(String installerKey) throws InstallerException {
+  public synchronized void remove(String installerKey) throws InstallerException {
     InstallerFqn installerFqn = InstallerFqn.parse(installerKey);
-    installerDao.remove(stripOffLatestTag(installerFqn));
+    installerDao.remove(catalog.resolveLatestTag(installerFqn));
+    reloadCatalog();
   }
 
   @Override
   public Installer getInstaller(String installerKey) throws InstallerException {
-    return doGet(InstallerFqn.parse(installerKey));
+    return catalog.get(InstallerFqn.parse(installerKey));
   }
 
   @Override
   public List<String> getVersions(String id) throws InstallerException {
-    return installerDao.getVersions(id);
+    return catalog.getVersions(id);
   }
 
   @Override
@@ -116,90 +121,11 @@ public class LocalInstallerRegistry implements InstallerRegistry {
   @Override
   public List<Installer> getOrderedInstallers(List<String> installerKeys)
       throws InstallerException {
-    LinkedHashMap<InstallerFqn, Installer> sorted = new LinkedHashMap<>();
-    Set<InstallerFqn> pending = new HashSet<>();
-
-    for (String installer : installerKeys) {
-      InstallerFqn installerFqn = InstallerFqn.parse(installer);
-      doSort(stripOffLatestTag(installerFqn), sorted, pending);
-    }
-
-    return new ArrayList<>(sorted.values());
-  }
-
-  private void doSort(
-      InstallerFqn installerFqn,
-      LinkedHashMap<InstallerFqn, Installer> sorted,
-      Set<InstallerFqn> pending)
-      throws InstallerException {
-    if (sorted.keySet().contains(installerFqn)) {
-      return;
-    }
-    pending.add(installerFqn);
-
-    Installer installer = doGet(installerFqn);
-    for (String dependencyKey : installer.getDependencies()) {
-      InstallerFqn dependencyFqn = stripOffLatestTag(InstallerFqn.parse(dependencyKey));
-      if (pending.contains(dependencyFqn)) {
-        throw new InstallerException(
-            format(
-                "Installers circular dependency found between '%s' and '%s'",
-                dependencyFqn, installerFqn));
-      }
-
-      doSort(dependencyFqn, sorted, pending);
-    }
-
-    if (InstallerFqn.idInFqnList(installerFqn.getId(), sorted.keySet())) {
-      throw new InstallerException(
-          format(
-              "Installers dependencies conflict. Several version '%s' and '%s' of the some id '%s",
-              installerFqn.getVersion(),
-              sorted
-                  .keySet()
-                  .stream()
-                  .filter(i -> i.getId().equals(installerFqn.getId()))
-                  .findFirst()
-                  .get()
-                  .getVersion(),
-              installerFqn.getId()));
-    }
-    sorted.put(installerFqn, installer);
-    pending.remove(InstallerFqn.of(installer));
-  }
-
-  private Installer doGet(InstallerFqn installerFqn) throws InstallerException {
-    return installerDao.getByFqn(stripOffLatestTag(installerFqn));
+    return catalog.getOrdered(installerKeys);
   }
 
-  private InstallerFqn stripOffLatestTag(InstallerFqn installerFqn) throws InstallerException {
-    if (!installerFqn.hasLatestTag()) {
-      return installerFqn;
-    }
-
-    Optional<ComparableVersion> latestVersion =
-        getVersions(installerFqn.getId())
-            .stream()
-            .map(
-                v -> {
-                  try {
-                    return new ComparableVersion(v);
-                  } catch (Exception e) {
-                    LOG.error(
-                        format(
-                            "Invalid version '%s' for installer '%s'. Skipped.",
-                            installerFqn.getId(), v));
-                    return null;
-                  }
-                })
-            .filter(Objects::nonNull)
-            .max(ComparableVersion::compareTo);
-
-    if (!latestVersion.isPresent()) {
-      throw new InstallerNotFoundException(
-          format("No installer '%s' found of the latest version", installerFqn.getId()));
-    }
-
-    return new InstallerFqn(installerFqn.getId(), latestVersion.get().toString());
+  /** Replaces the catalog with a new snapshot of all the installers stored in the registry. */
+  private void reloadCatalog() throws InstallerException {
+    catalog = new InstallersCatalog(installerDao.getAll(Integer.MAX_VALUE, 0).getItems());
   }
 }
@@ -13,32 +13,34 @@ package org.eclipse.che.api.installer.server.impl;
 import static org.eclipse.che.api.installer.server.DtoConverter.asDto;
 import static org.eclipse.che.api.installer.server.InstallerRegistryService.TOTAL_ITEMS_COUNT_HEADER;
 
-import com.google.common.reflect.TypeToken;
 import java.io.IOException;
+import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.installer.server.InstallerRegistry;
 import org.eclipse.che.api.installer.server.InstallerRegistryService;
-import org.eclipse.che.api.installer.server.exception.IllegalInstallerKeyException;
 import org.eclipse.che.api.installer.server.exception.InstallerAlreadyExistsException;
 import org.eclipse.che.api.installer.server.exception.InstallerException;
 import org.eclipse.che.api.installer.server.exception.InstallerNotFoundException;
 import org.eclipse.che.api.installer.shared.dto.InstallerDto;
 import org.eclipse.che.api.installer.shared.model.Installer;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.schedule.ScheduleDelay;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,6 +50,11 @@ import org.slf4j.LoggerFactory;
  * <p>It is designed to fetch data from remote {@link InstallerRegistryService} which is configured
  * by registry.installer.remote property.
  *
+ * <p>Installers are resolved from the {@link InstallersCatalog} snapshot of the remote registry, so
+ * workspace start doesn't perform remote calls. The snapshot is fetched on the first access and
+ * refreshed periodically with conditional requests, as well as after modifications of the remote
+ * registry performed through this instance.
+ *
  * @author Sergii Leshchenko
  * @author Anatolii Bazko
  */
@@ -58,6 +65,12 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
   private String registryServiceUrl;
   private final HttpJsonRequestFactory requestFactory;
 
+  /** Snapshot of the remote installers, fetched on the first access and refreshed periodically. */
+  private volatile InstallersCatalog catalog;
+
+  /** Entity tag of the remote installers the catalog was created from. */
+  private String catalogTag;
+
   @Inject
   public RemoteInstallerRegistry(
       @Nullable @Named("che.installer.registry.remote") String remoteInstallerUrl,
@@ -97,6 +110,7 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
     } catch (IOException | ApiException e) {
       throw new InstallerException(e.getMessage(), e);
     }
+    invalidateCatalog();
   }
 
   @Override
@@ -118,6 +132,7 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
     } catch (IOException | ApiException e) {
       throw new InstallerException(e.getMessage(), e);
     }
+    invalidateCatalog();
   }
 
   @Override
@@ -136,53 +151,22 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
     } catch (IOException | ApiException e) {
       throw new InstallerException(e.getMessage(), e);
     }
+    invalidateCatalog();
   }
 
   @Override
   public Installer getInstaller(String installerKey) throws InstallerException {
+    InstallerFqn installerFqn = InstallerFqn.parse(installerKey);
     checkConfiguration();
 
-    try {
-      return requestFactory
-          .fromUrl(
-              UriBuilder.fromUri(registryServiceUrl)
-                  .path(InstallerRegistryService.class, "getInstaller")
-                  .build(installerKey)
-                  .toString())
-          .useGetMethod()
-          .request()
-          .asDto(InstallerDto.class);
-    } catch (NotFoundException e) {
-      throw new InstallerNotFoundException(e.getMessage(), e);
-    } catch (BadRequestException e) {
-      throw new IllegalInstallerKeyException(e.getMessage(), e);
-    } catch (IOException | ApiException e) {
-      throw new InstallerException(e.getMessage(), e);
-    }
+    return getCatalog().get(installerFqn);
   }
 
   @Override
   public List<String> getVersions(String id) throws InstallerException {
     checkConfiguration();
 
-    try {
-      @SuppressWarnings("unchecked")
-      List<String> result =
-          requestFactory
-              .fromUrl(
-                  UriBuilder.fromUri(registryServiceUrl)
-                      .path(InstallerRegistryService.class, "getVersions")
-                      .build(id)
-                      .toString())
-              .useGetMethod()
-              .request()
-              .as(List.class, new TypeToken<List<String>>() {}.getType());
-      return result;
-    } catch (NotFoundException e) {
-      throw new InstallerNotFoundException(e.getMessage(), e);
-    } catch (IOException | ApiException e) {
-      throw new InstallerException(e.getMessage(), e);
-    }
+    return getCatalog().getVersions(id);
   }
 
   @Override
@@ -222,27 +206,80 @@ public class RemoteInstallerRegistry implements InstallerRegistry {
       throws InstallerException {
     checkConfiguration();
 
+    return getCatalog().getOrdered(installerKeys);
+  }
+
+  /**
+   * Refreshes the catalog of the remote installers. Installers are not fetched if they are not
+   * modified since the previous refresh.
+   */
+  @ScheduleDelay(
+    initialDelayParameterName = "che.installer.registry.remote.refresh_period_sec",
+    delayParameterName = "che.installer.registry.remote.refresh_period_sec"
+  )
+  void refreshCatalog() {
+    if (!isConfigured()) {
+      return;
+    }
     try {
-      return new ArrayList<>(
+      fetchCatalog();
+    } catch (InstallerException e) {
+      LOG.warn("Unable to refresh remote installers catalog. Cause: {}", e.getMessage());
+    }
+  }
+
+  /** Refreshes the catalog after modification, it is fetched on the next access if failed. */
+  private void invalidateCatalog() {
+    try {
+      fetchCatalog();
+    } catch (InstallerException e) {
+      LOG.warn("Unable to refresh remote installers catalog. Cause: {}", e.getMessage());
+      catalog = null;
+    }
+  }
+
+  private InstallersCatalog getCatalog() throws InstallerException {
+    InstallersCatalog current = catalog;
+    return current != null ? current : fetchCatalog();
+  }
+
+  private synchronized InstallersCatalog fetchCatalog() throws InstallerException {
+    try {
+      HttpJsonRequest request =
           requestFactory
               .fromUrl(
                   UriBuilder.fromUri(registryServiceUrl)
-                      .path(InstallerRegistryService.class, "getOrderedInstallers")
+                      .path(InstallerRegistryService.class, "getInstallers")
+                      .queryParam("maxItems", Integer.MAX_VALUE)
+                      .queryParam("skipCount", 0)
                       .build()
                       .toString())
-              .usePostMethod()
-              .setBody(installerKeys)
-              .request()
-              .asList(InstallerDto.class));
-    } catch (NotFoundException e) {
-      throw new InstallerNotFoundException(e.getMessage(), e);
-    } catch (BadRequestException e) {
-      throw new IllegalInstallerKeyException(e.getMessage(), e);
+              .useGetMethod();
+      if (catalog != null && catalogTag != null) {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, catalogTag);
+      }
+      HttpJsonResponse response = request.request();
+
+      if (response.getResponseCode() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+        catalog = new InstallersCatalog(response.asList(InstallerDto.class));
+        catalogTag = getEntityTag(response);
+      }
+      return catalog;
     } catch (IOException | ApiException e) {
       throw new InstallerException(e.getMessage(), e);
     }
   }
 
+  private static String getEntityTag(HttpJsonResponse response) {
+    // header names are case-insensitive
+    for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+      if (HttpHeaders.ETAG.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+        return header.getValue().get(0);
+      }
+    }
+    return null;
+  }
+
   public boolean isConfigured() {
     return registryServiceUrl != null;
   }
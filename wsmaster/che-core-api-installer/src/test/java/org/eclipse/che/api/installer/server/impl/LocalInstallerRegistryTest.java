@@ -11,7 +11,12 @@
 package org.eclipse.che.api.installer.server.impl;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -25,6 +30,7 @@ import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.installer.server.exception.InstallerException;
 import org.eclipse.che.api.installer.server.exception.InstallerNotFoundException;
 import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
+import org.eclipse.che.api.installer.server.spi.InstallerDao;
 import org.eclipse.che.api.installer.shared.model.Installer;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -206,8 +212,8 @@ public class LocalInstallerRegistryTest {
     when(installer1v1.getDependencies()).thenReturn(asList("installer2", "installer3"));
     when(installer2v1.getDependencies()).thenReturn(singletonList("installer3"));
 
-    installerDao.update(new InstallerImpl(installer1v1));
-    installerDao.update(new InstallerImpl(installer2v1));
+    registry.update(installer1v1);
+    registry.update(installer2v1);
 
     List<Installer> sorted =
         registry.getOrderedInstallers(asList("installer1:1.0.0", "installer2", "installer3"));
@@ -223,8 +229,8 @@ public class LocalInstallerRegistryTest {
     when(installer1v1.getDependencies()).thenReturn(singletonList("installer2:1.0.0"));
     when(installer2v1.getDependencies()).thenReturn(singletonList("installer3"));
 
-    installerDao.update(new InstallerImpl(installer1v1));
-    installerDao.update(new InstallerImpl(installer2v1));
+    registry.update(installer1v1);
+    registry.update(installer2v1);
 
     List<Installer> sorted = registry.getOrderedInstallers(singletonList("installer1:1.0.0"));
 
@@ -234,6 +240,53 @@ public class LocalInstallerRegistryTest {
     assertEquals(InstallerFqn.of(sorted.get(2)).toString(), "installer1:1.0.0");
   }
 
+  @Test
+  public void shouldResolveInstallersWithoutAccessingDao() throws Exception {
+    when(installer1v1.getDependencies()).thenReturn(singletonList("installer2"));
+    registry.update(installer1v1);
+    InstallerDao dao = spy(installerDao);
+    registry = new LocalInstallerRegistry(emptySet(), dao, installerValidator);
+    clearInvocations(dao);
+
+    registry.getInstaller("installer1");
+    registry.getVersions("installer1");
+    registry.getOrderedInstallers(asList("installer1:1.0.0", "installer3"));
+    registry.getOrderedInstallers(asList("installer1:1.0.0", "installer3"));
+
+    verifyZeroInteractions(dao);
+  }
+
+  @Test
+  public void shouldResolveLatestVersionAddedToRegistry() throws Exception {
+    Installer installer1v3 = mock(Installer.class);
+    when(installer1v3.getId()).thenReturn("installer1");
+    when(installer1v3.getVersion()).thenReturn("10.0.0");
+    assertEquals(registry.getInstaller("installer1").getVersion(), "2.0.0");
+
+    registry.add(installer1v3);
+
+    assertEquals(registry.getInstaller("installer1").getVersion(), "10.0.0");
+    assertEquals(
+        registry.getOrderedInstallers(singletonList("installer1")).get(0).getVersion(), "10.0.0");
+  }
+
+  @Test(expectedExceptions = InstallerNotFoundException.class)
+  public void shouldNotResolveRemovedInstaller() throws Exception {
+    registry.getOrderedInstallers(singletonList("installer3"));
+
+    registry.remove("installer3");
+
+    registry.getOrderedInstallers(singletonList("installer3"));
+  }
+
+  @Test
+  public void shouldNotExposeModificationsOfReturnedInstallers() throws Exception {
+    List<Installer> ordered = registry.getOrderedInstallers(singletonList("installer2"));
+    ((InstallerImpl) ordered.get(0)).setDependencies(singletonList("installer3"));
+
+    assertEquals(registry.getOrderedInstallers(singletonList("installer2")).size(), 1);
+  }
+
   @Test(
     expectedExceptions = InstallerException.class,
     expectedExceptionsMessageRegExp =
@@ -245,9 +298,9 @@ public class LocalInstallerRegistryTest {
     when(installer2v1.getDependencies()).thenReturn(singletonList("installer3:1.0.0"));
     when(installer3v1.getDependencies()).thenReturn(singletonList("installer1:1.0.0"));
 
-    installerDao.update(new InstallerImpl(installer1v1));
-    installerDao.update(new InstallerImpl(installer2v1));
-    installerDao.update(new InstallerImpl(installer3v1));
+    registry.update(installer1v1);
+    registry.update(installer2v1);
+    registry.update(installer3v1);
 
     registry.getOrderedInstallers(
         asList("installer1:1.0.0", "installer2:1.0.0", "installer3:1.0.0"));
@@ -262,8 +315,8 @@ public class LocalInstallerRegistryTest {
     when(installer2v1.getDependencies()).thenReturn(singletonList("installer1:1.0.0"));
     when(installer3v1.getDependencies()).thenReturn(singletonList("installer1:2.0.0"));
 
-    installerDao.update(new InstallerImpl(installer2v1));
-    installerDao.update(new InstallerImpl(installer3v1));
+    registry.update(installer2v1);
+    registry.update(installer3v1);
 
     registry.getOrderedInstallers(asList("installer2:1.0.0", "installer3:1.0.0"));
   }
@@ -15,13 +15,24 @@ import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.api.core.model.workspace.config.ServerConfig;
+import org.eclipse.che.api.core.rest.DefaultHttpJsonRequest;
 import org.eclipse.che.api.core.rest.DefaultHttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.DefaultHttpJsonResponse;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.installer.server.InstallerRegistryService;
 import org.eclipse.che.api.installer.server.exception.IllegalInstallerKeyException;
 import org.eclipse.che.api.installer.server.exception.InstallerAlreadyExistsException;
@@ -29,6 +40,8 @@ import org.eclipse.che.api.installer.server.exception.InstallerExceptionMapper;
 import org.eclipse.che.api.installer.server.exception.InstallerNotFoundException;
 import org.eclipse.che.api.installer.server.model.impl.InstallerImpl;
 import org.eclipse.che.api.installer.shared.model.Installer;
+import org.eclipse.che.commons.lang.Pair;
+import org.eclipse.che.everrest.ETagResponseFilter;
 import org.everrest.assured.EverrestJetty;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.ITestContext;
@@ -42,11 +55,16 @@ public class RemoteInstallerRegistryTest {
   @SuppressWarnings("unused")
   private static final InstallerExceptionMapper MAPPER = new InstallerExceptionMapper();
 
+  @SuppressWarnings("unused")
+  private static final ETagResponseFilter ETAG_FILTER = new ETagResponseFilter();
+
   private RemoteInstallerRegistry registry;
 
   @SuppressWarnings("unused")
   private InstallerRegistryService registryService;
 
+  private LocalInstallerRegistry localInstallerRegistry;
+  private List<Integer> responseCodes;
   private InstallerImpl installer;
   private String installerKey;
 
@@ -55,16 +73,17 @@ public class RemoteInstallerRegistryTest {
     installer = TestInstallerFactory.createInstaller("id_0", "1.0.0");
     installerKey = InstallerFqn.of(installer).toKey();
 
-    LocalInstallerRegistry localInstallerRegistry =
+    localInstallerRegistry =
         new LocalInstallerRegistry(
             Collections.singleton(installer), new MapBasedInstallerDao(), new InstallerValidator());
 
     registryService = new InstallerRegistryService(localInstallerRegistry);
 
     Integer port = (Integer) context.getAttribute(EverrestJetty.JETTY_PORT);
+    responseCodes = new ArrayList<>();
     registry =
         new RemoteInstallerRegistry(
-            "http://localhost:" + port + "/rest", new DefaultHttpJsonRequestFactory());
+            "http://localhost:" + port + "/rest", new ResponseCodesRecordingRequestFactory());
   }
 
   @Test
@@ -260,6 +279,38 @@ public class RemoteInstallerRegistryTest {
     assertInstaller(orderedInstallers.get(2), installer2);
   }
 
+  @Test
+  public void shouldResolveInstallersFromCatalogFetchedOnce() throws Exception {
+    registry.getInstaller(installerKey);
+    registry.getVersions(installer.getId());
+    registry.getOrderedInstallers(ImmutableList.of(installerKey));
+
+    assertEquals(responseCodes, ImmutableList.of(200));
+  }
+
+  @Test
+  public void shouldNotFetchInstallersOnRefreshIfTheyAreNotModified() throws Exception {
+    registry.getInstaller(installerKey);
+
+    registry.refreshCatalog();
+
+    assertEquals(responseCodes, ImmutableList.of(200, 304));
+    assertInstaller(registry.getInstaller(installerKey), installer);
+  }
+
+  @Test
+  public void shouldFetchModifiedInstallersOnRefresh() throws Exception {
+    registry.getInstaller(installerKey);
+    InstallerImpl newInstaller = TestInstallerFactory.createInstaller("id_0", "2.0.0");
+    localInstallerRegistry.add(newInstaller);
+
+    assertEquals(registry.getInstaller("id_0").getVersion(), "1.0.0");
+    registry.refreshCatalog();
+
+    assertEquals(responseCodes, ImmutableList.of(200, 200));
+    assertInstaller(registry.getInstaller("id_0"), newInstaller);
+  }
+
   private void assertInstaller(Installer actual, Installer expected) {
     assertEquals(actual.getId(), expected.getId());
     assertEquals(actual.getVersion(), expected.getVersion());
@@ -282,4 +333,30 @@ public class RemoteInstallerRegistryTest {
       assertEquals(actualServerConfig.getProtocol(), expectedServerConfig.getProtocol());
     }
   }
+
+  /** Records response codes of the performed requests. */
+  private class ResponseCodesRecordingRequestFactory extends DefaultHttpJsonRequestFactory {
+    @Override
+    public HttpJsonRequest fromUrl(String url) {
+      return new DefaultHttpJsonRequest(url) {
+        @Override
+        protected DefaultHttpJsonResponse doRequest(
+            int timeout,
+            String url,
+            String method,
+            Object body,
+            List<Pair<String, ?>> parameters,
+            String authorizationHeaderValue,
+            List<Pair<String, String>> headers)
+            throws IOException, ServerException, ForbiddenException, NotFoundException,
+                UnauthorizedException, ConflictException, BadRequestException {
+          DefaultHttpJsonResponse response =
+              super.doRequest(
+                  timeout, url, method, body, parameters, authorizationHeaderValue, headers);
+          responseCodes.add(response.getResponseCode());
+          return response;
+        }
+      };
+    }
+  }
 }
@@ -17,26 +17,33 @@ import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The goal of this class is to catch all MachineLogEvent events from error stream and dump them to
- * slf4j log.
+ * The goal of this class is to catch all machine logs from error stream, which are published in
+ * MachineLogBatchEvent events, and dump them to slf4j log.
  */
 @Singleton
-public class ErrorMachineLogEventLogger implements EventSubscriber<MachineLogEvent> {
+public class ErrorMachineLogEventLogger implements EventSubscriber<MachineLogBatchEvent> {
 
   private static final Logger LOG = LoggerFactory.getLogger(ErrorMachineLogEventLogger.class);
 
   @Inject
   public void subscribe(EventService eventService) {
-    eventService.subscribe(this, MachineLogEvent.class);
+    eventService.subscribe(this, MachineLogBatchEvent.class);
   }
 
   @Override
-  public void onEvent(MachineLogEvent event) {
+  public void onEvent(MachineLogBatchEvent batch) {
+    for (MachineLogEvent event : batch.getLogs()) {
+      log(event);
+    }
+  }
+
+  private void log(MachineLogEvent event) {
     if ("stderr".equalsIgnoreCase(event.getStream()) && !isNullOrEmpty(event.getText())) {
       RuntimeIdentityDto identity = event.getRuntimeId();
       LOG.error(
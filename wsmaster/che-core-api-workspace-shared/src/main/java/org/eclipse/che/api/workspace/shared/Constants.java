@@ -74,6 +74,7 @@ public final class Constants {
   public static final String MACHINE_STATUS_CHANGED_METHOD = "machine/statusChanged";
   public static final String SERVER_STATUS_CHANGED_METHOD = "server/statusChanged";
   public static final String MACHINE_LOG_METHOD = "machine/log";
+  public static final String MACHINE_LOG_BATCH_METHOD = "machine/log/batch";
   public static final String INSTALLER_LOG_METHOD = "installer/log";
   public static final String INSTALLER_STATUS_CHANGED_METHOD = "installer/statusChanged";
   public static final String BOOTSTRAPPER_STATUS_CHANGED_METHOD = "bootstrapper/statusChanged";
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Changes of the projects of a workspace applied at once.
+ *
+ * @see org.eclipse.che.api.workspace.shared.Constants#UPDATED_ATTRIBUTE_NAME
+ */
+@DTO
+public interface ProjectConfigsPatchDto {
+
+  /**
+   * Returns the value of the workspace 'updated' attribute, or of the 'created' one if the
+   * workspace is never updated, the changes are based on, the patch is rejected if the workspace is
+   * updated after that. Null if the patch is applied regardless of the workspace updates.
+   */
+  String getVersion();
+
+  void setVersion(String version);
+
+  ProjectConfigsPatchDto withVersion(String version);
+
+  /** Returns the projects to add, or to replace the projects with the same paths. */
+  List<ProjectConfigDto> getUpdated();
+
+  void setUpdated(List<ProjectConfigDto> updated);
+
+  ProjectConfigsPatchDto withUpdated(List<ProjectConfigDto> updated);
+
+  /** Returns the paths of the projects to remove. */
+  List<String> getRemoved();
+
+  void setRemoved(List<String> removed);
+
+  ProjectConfigsPatchDto withRemoved(List<String> removed);
+}
@@ -25,6 +25,8 @@ import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_N
 
 import com.google.inject.Inject;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.inject.Singleton;
@@ -38,10 +40,13 @@ import org.eclipse.che.api.core.ValidationException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.api.workspace.shared.event.WorkspaceCreatedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -67,6 +72,7 @@ public class WorkspaceManager {
   private final AccountManager accountManager;
   private final EventService eventService;
   private final WorkspaceValidator validator;
+  private final WorkspaceUpdater updater;
 
   @Inject
   public WorkspaceManager(
@@ -74,12 +80,14 @@ public class WorkspaceManager {
       WorkspaceRuntimes runtimes,
       EventService eventService,
       AccountManager accountManager,
-      WorkspaceValidator validator) {
+      WorkspaceValidator validator,
+      WorkspaceUpdater updater) {
     this.workspaceDao = workspaceDao;
     this.runtimes = runtimes;
     this.accountManager = accountManager;
     this.eventService = eventService;
     this.validator = validator;
+    this.updater = updater;
   }
 
   /**
@@ -213,6 +221,59 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets summaries of the workspaces which user can read, configurations of the summaries contain
+   * only the names of the workspaces.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param user the id of the user
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @return the list of workspace summaries or empty list if user can't read any workspace
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getWorkspaceSummaries(String, int, long)}
+   */
+  public Page<WorkspaceImpl> getWorkspaceSummaries(
+      String user, boolean includeRuntimes, int maxItems, long skipCount) throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    final Page<WorkspaceImpl> workspaces =
+        workspaceDao.getWorkspaceSummaries(user, maxItems, skipCount);
+    for (WorkspaceImpl workspace : workspaces.getItems()) {
+      normalizeState(workspace, includeRuntimes);
+    }
+    return workspaces;
+  }
+
+  /**
+   * Gets summaries of the workspaces which has given namespace, configurations of the summaries
+   * contain only the names of the workspaces.
+   *
+   * <p>Returned workspaces have either {@link WorkspaceStatus#STOPPED} status or status defined by
+   * their runtime instances(if those exist).
+   *
+   * @param namespace the namespace to find workspaces
+   * @param includeRuntimes if <code>true</code>, will fetch runtime info for workspaces. If <code>
+   *     false</code>, will not fetch runtime info.
+   * @return the list of workspace summaries or empty list if no matches
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any server error occurs while getting workspaces with {@link
+   *     WorkspaceDao#getSummariesByNamespace(String, int, long)}
+   */
+  public Page<WorkspaceImpl> getSummariesByNamespace(
+      String namespace, boolean includeRuntimes, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    final Page<WorkspaceImpl> workspaces =
+        workspaceDao.getSummariesByNamespace(namespace, maxItems, skipCount);
+    for (WorkspaceImpl workspace : workspaces.getItems()) {
+      normalizeState(workspace, includeRuntimes);
+    }
+    return workspaces;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -237,13 +298,64 @@ public class WorkspaceManager {
     validator.validateConfig(update.getConfig());
     validator.validateAttributes(update.getAttributes());
 
-    WorkspaceImpl workspace = workspaceDao.get(id);
-    workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
-    workspace.setAttributes(update.getAttributes());
-    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-    workspace.setTemporary(update.isTemporary());
+    WorkspaceImpl updated =
+        updater.update(
+            id,
+            workspace -> {
+              workspace.setConfig(new WorkspaceConfigImpl(update.getConfig()));
+              workspace.setAttributes(update.getAttributes());
+              workspace.setTemporary(update.isTemporary());
+            });
+    return normalizeState(updated, true);
+  }
+
+  /**
+   * Applies the changes of the projects to the workspace configuration at once.
+   *
+   * @param id workspace id
+   * @param version the value of the workspace {@link Constants#UPDATED_ATTRIBUTE_NAME} attribute,
+   *     or of the {@link Constants#CREATED_ATTRIBUTE_NAME} one if the workspace is never updated,
+   *     the changes are based on, or null to apply the changes regardless of the workspace updates
+   * @param updated the projects to add, or to replace the projects with the same paths
+   * @param removed the paths of the projects to remove
+   * @return updated instance of the workspace
+   * @throws NullPointerException when either {@code workspaceId}, {@code updated} or {@code
+   *     removed} is null
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when the workspace is updated after the given version
+   * @throws ValidationException when the resulting workspace configuration is not valid
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl updateProjects(
+      String id,
+      @Nullable String version,
+      List<? extends ProjectConfig> updated,
+      List<String> removed)
+      throws ConflictException, ServerException, NotFoundException, ValidationException {
+    requireNonNull(id, "Required non-null workspace id");
+    requireNonNull(updated, "Required non-null updated projects");
+    requireNonNull(removed, "Required non-null removed projects");
+
+    WorkspaceImpl workspace =
+        updater.update(
+            id,
+            current -> {
+              String currentVersion = WorkspaceUpdater.getVersion(current);
+              if (version != null && !version.equals(currentVersion)) {
+                throw new ConflictException(
+                    format(
+                        "Workspace '%s' is updated since version '%s', current version is '%s'",
+                        id, version, currentVersion));
+              }
 
-    return normalizeState(workspaceDao.update(workspace), true);
+              List<ProjectConfigImpl> projects = current.getConfig().getProjects();
+              Set<String> replaced = new HashSet<>(removed);
+              updated.forEach(project -> replaced.add(project.getPath()));
+              projects.removeIf(project -> replaced.contains(project.getPath()));
+              updated.forEach(project -> projects.add(new ProjectConfigImpl(project)));
+              validator.validateConfig(current.getConfig());
+            });
+    return normalizeState(workspace, true);
   }
 
   /**
@@ -328,9 +440,12 @@ public class WorkspaceManager {
     final WorkspaceImpl workspace = normalizeState(workspaceDao.get(workspaceId), true);
     checkWorkspaceIsRunningOrStarting(workspace);
     if (!workspace.isTemporary()) {
-      workspace.getAttributes().put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-      workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(false));
-      workspaceDao.update(workspace);
+      updater.updateRuntimeAttributes(
+          workspaceId,
+          attributes -> {
+            attributes.put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+            attributes.put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(false));
+          });
     }
 
     runtimes
@@ -356,8 +471,10 @@ public class WorkspaceManager {
               "Workspace '%s:%s' doesn't contain environment '%s'",
               workspace.getNamespace(), workspace.getConfig().getName(), envName));
     }
-    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-    workspaceDao.update(workspace);
+    WorkspaceImpl started = updater.updateVersion(workspace.getId());
+    workspace
+        .getAttributes()
+        .put(UPDATED_ATTRIBUTE_NAME, started.getAttributes().get(UPDATED_ATTRIBUTE_NAME));
     final String env = firstNonNull(envName, workspace.getConfig().getDefaultEnv());
 
     runtimes
@@ -410,16 +527,16 @@ public class WorkspaceManager {
   }
 
   private void handleStartupError(Workspace workspace, Throwable t) {
-    workspace
-        .getAttributes()
-        .put(
-            ERROR_MESSAGE_ATTRIBUTE_NAME,
-            t instanceof RuntimeException ? t.getCause().getMessage() : t.getMessage());
-    workspace.getAttributes().put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-    workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(true));
+    String error = t instanceof RuntimeException ? t.getCause().getMessage() : t.getMessage();
     try {
-      updateWorkspace(workspace.getId(), workspace);
-    } catch (NotFoundException | ServerException | ValidationException | ConflictException e) {
+      updater.updateRuntimeAttributes(
+          workspace.getId(),
+          attributes -> {
+            attributes.put(ERROR_MESSAGE_ATTRIBUTE_NAME, error);
+            attributes.put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+            attributes.put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(true));
+          });
+    } catch (NotFoundException | ServerException | ConflictException e) {
       LOG.warn(
           String.format(
               "Cannot set error status of the workspace %s. Error is: %s",
@@ -428,12 +545,15 @@ public class WorkspaceManager {
   }
 
   private void handleStartupSuccess(Workspace workspace) {
-    workspace.getAttributes().remove(STOPPED_ATTRIBUTE_NAME);
-    workspace.getAttributes().remove(STOPPED_ABNORMALLY_ATTRIBUTE_NAME);
-    workspace.getAttributes().remove(ERROR_MESSAGE_ATTRIBUTE_NAME);
     try {
-      updateWorkspace(workspace.getId(), workspace);
-    } catch (NotFoundException | ServerException | ValidationException | ConflictException e) {
+      updater.updateRuntimeAttributes(
+          workspace.getId(),
+          attributes -> {
+            attributes.remove(STOPPED_ATTRIBUTE_NAME);
+            attributes.remove(STOPPED_ABNORMALLY_ATTRIBUTE_NAME);
+            attributes.remove(ERROR_MESSAGE_ATTRIBUTE_NAME);
+          });
+    } catch (NotFoundException | ServerException | ConflictException e) {
       LOG.warn(
           String.format(
               "Cannot clear error status status of the workspace %s. Error is: %s",
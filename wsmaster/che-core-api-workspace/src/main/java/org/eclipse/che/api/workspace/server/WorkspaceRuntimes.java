@@ -92,6 +92,7 @@ public class WorkspaceRuntimes {
   private final EventService eventService;
   private final WorkspaceSharedPool sharedPool;
   private final WorkspaceDao workspaceDao;
+  private final WorkspaceUpdater updater;
   private final AtomicBoolean isStartRefused;
   private final Map<String, InternalEnvironmentFactory> environmentFactories;
   private final RuntimeInfrastructure infrastructure;
@@ -108,7 +109,8 @@ public class WorkspaceRuntimes {
       @SuppressWarnings("unused") DBInitializer ignored,
       ProbeScheduler probeScheduler,
       WorkspaceStatusCache statuses,
-      WorkspaceLockService lockService) {
+      WorkspaceLockService lockService,
+      WorkspaceUpdater updater) {
     this(
         eventService,
         envFactories,
@@ -118,7 +120,8 @@ public class WorkspaceRuntimes {
         ignored,
         probeScheduler,
         statuses,
-        lockService);
+        lockService,
+        updater);
     this.runtimes = runtimes;
   }
 
@@ -132,7 +135,8 @@ public class WorkspaceRuntimes {
       @SuppressWarnings("unused") DBInitializer ignored,
       ProbeScheduler probeScheduler,
       WorkspaceStatusCache statuses,
-      WorkspaceLockService lockService) {
+      WorkspaceLockService lockService,
+      WorkspaceUpdater updater) {
     this.probeScheduler = probeScheduler;
     this.runtimes = new ConcurrentHashMap<>();
     this.statuses = statuses;
@@ -143,6 +147,7 @@ public class WorkspaceRuntimes {
     this.infrastructure = infra;
     this.environmentFactories = ImmutableMap.copyOf(envFactories);
     this.lockService = lockService;
+    this.updater = updater;
     LOG.info("Configured factories for environments: '{}'", envFactories.keySet());
     LOG.info("Registered infrastructure '{}'", infra.getName());
     SetView<String> notSupportedByInfra =
@@ -729,11 +734,13 @@ public class WorkspaceRuntimes {
 
     private void setAbnormalStopAttributes(String workspaceId, String error) {
       try {
-        WorkspaceImpl workspace = workspaceDao.get(workspaceId);
-        workspace.getAttributes().put(ERROR_MESSAGE_ATTRIBUTE_NAME, error);
-        workspace.getAttributes().put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
-        workspace.getAttributes().put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(true));
-        workspaceDao.update(workspace);
+        updater.updateRuntimeAttributes(
+            workspaceId,
+            attributes -> {
+              attributes.put(ERROR_MESSAGE_ATTRIBUTE_NAME, error);
+              attributes.put(STOPPED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
+              attributes.put(STOPPED_ABNORMALLY_ATTRIBUTE_NAME, Boolean.toString(true));
+            });
       } catch (NotFoundException | ServerException | ConflictException e) {
         LOG.warn(
             format(
@@ -10,8 +10,10 @@
  */
 package org.eclipse.che.api.workspace.server;
 
+import static com.google.common.base.MoreObjects.firstNonNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
@@ -19,6 +21,7 @@ import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_START;
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.swagger.annotations.Api;
@@ -48,6 +51,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.Pages;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.ValidationException;
@@ -65,6 +69,7 @@ import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigsPatchDto;
 import org.eclipse.che.api.workspace.shared.dto.RecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
@@ -82,6 +87,11 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 @Path("/workspace")
 public class WorkspaceService extends Service {
 
+  /** Value of the 'expand' parameter to fetch the whole configurations of the workspaces. */
+  private static final String EXPAND_CONFIG = "config";
+  /** Value of the 'expand' parameter to fetch the runtimes of the workspaces. */
+  private static final String EXPAND_RUNTIME = "runtime";
+
   private final WorkspaceManager workspaceManager;
   private final MachineTokenProvider machineTokenProvider;
   private final WorkspaceLinksGenerator linksGenerator;
@@ -228,19 +238,30 @@ public class WorkspaceService extends Service {
           @DefaultValue("30")
           @QueryParam("maxItems")
           Integer maxItems,
-      @ApiParam("Workspace status") @QueryParam("status") String status)
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam(
+            value =
+                "Comma separated parts of the workspaces to fetch besides their summaries. "
+                    + "Only the names are fetched from the configurations when 'config' is omitted",
+            allowableValues = "config,runtime"
+          )
+          @DefaultValue(EXPAND_CONFIG)
+          @QueryParam("expand")
+          String expand)
       throws ServerException, BadRequestException {
+    final List<String> parts = parseExpand(expand);
+    final String userId = EnvironmentContext.getCurrent().getSubject().getUserId();
+    final boolean includeRuntimes = parts.contains(EXPAND_RUNTIME);
+    final Page<WorkspaceImpl> workspaces =
+        parts.contains(EXPAND_CONFIG)
+            ? workspaceManager.getWorkspaces(userId, includeRuntimes, maxItems, skipCount)
+            : workspaceManager.getWorkspaceSummaries(userId, includeRuntimes, maxItems, skipCount);
     return withLinks(
-        workspaceManager
-            .getWorkspaces(
-                EnvironmentContext.getCurrent().getSubject().getUserId(),
-                false,
-                maxItems,
-                skipCount)
+        workspaces
             .getItems()
             .stream()
             .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-            .map(DtoConverter::asDto)
+            .map(ws -> filterServers(asDto(ws), false))
             .collect(toList()));
   }
 
@@ -259,14 +280,30 @@ public class WorkspaceService extends Service {
   })
   public List<WorkspaceDto> getByNamespace(
       @ApiParam("Workspace status") @QueryParam("status") String status,
-      @ApiParam("The namespace") @PathParam("namespace") String namespace)
+      @ApiParam("The namespace") @PathParam("namespace") String namespace,
+      @ApiParam(
+            value =
+                "Comma separated parts of the workspaces to fetch besides their summaries. "
+                    + "Only the names are fetched from the configurations when 'config' is omitted",
+            allowableValues = "config,runtime"
+          )
+          @DefaultValue(EXPAND_CONFIG)
+          @QueryParam("expand")
+          String expand)
       throws ServerException, BadRequestException {
+    final List<String> parts = parseExpand(expand);
+    final boolean includeRuntimes = parts.contains(EXPAND_RUNTIME);
+    final boolean includeConfig = parts.contains(EXPAND_CONFIG);
     return withLinks(
         Pages.stream(
                 (maxItems, skipCount) ->
-                    workspaceManager.getByNamespace(namespace, false, maxItems, skipCount))
+                    includeConfig
+                        ? workspaceManager.getByNamespace(
+                            namespace, includeRuntimes, maxItems, skipCount)
+                        : workspaceManager.getSummariesByNamespace(
+                            namespace, includeRuntimes, maxItems, skipCount))
             .filter(ws -> status == null || status.equalsIgnoreCase(ws.getStatus().toString()))
-            .map(DtoConverter::asDto)
+            .map(ws -> filterServers(asDto(ws), false))
             .collect(toList()));
   }
 
@@ -654,6 +691,40 @@ public class WorkspaceService extends Service {
     return asDtoWithLinksAndToken(doUpdate(id, workspace));
   }
 
+  @PUT
+  @Path("/{id}/project")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Add, update and remove the workspace projects at once",
+    notes = "This operation can be performed only by the workspace owner"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The projects successfully updated"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(code = 409, message = "The workspace is updated since the version of the patch"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public WorkspaceDto updateProjects(
+      @ApiParam("The workspace id") @PathParam("id") String id,
+      @ApiParam(value = "The projects changes", required = true) ProjectConfigsPatchDto patch)
+      throws ServerException, BadRequestException, NotFoundException, ConflictException,
+          ForbiddenException {
+    requiredNotNull(patch, "Projects patch");
+    try {
+      return asDtoWithLinksAndToken(
+          workspaceManager.updateProjects(
+              id,
+              patch.getVersion(),
+              firstNonNull(patch.getUpdated(), emptyList()),
+              firstNonNull(patch.getRemoved(), emptyList())));
+    } catch (ValidationException x) {
+      throw new BadRequestException(x.getMessage());
+    }
+  }
+
   @DELETE
   @Path("/{id}/project/{path:.*}")
   @ApiOperation(
@@ -850,4 +921,20 @@ public class WorkspaceService extends Service {
 
     return workspace;
   }
+
+  private static List<String> parseExpand(String expand) throws BadRequestException {
+    final List<String> parts =
+        isNullOrEmpty(expand)
+            ? emptyList()
+            : Splitter.on(',').trimResults().omitEmptyStrings().splitToList(expand);
+    for (String part : parts) {
+      if (!EXPAND_CONFIG.equals(part) && !EXPAND_RUNTIME.equals(part)) {
+        throw new BadRequestException(
+            format(
+                "Parameter 'expand' must contain only '%s' and '%s' values, but contains '%s'",
+                EXPAND_CONFIG, EXPAND_RUNTIME, part));
+      }
+    }
+    return parts;
+  }
 }
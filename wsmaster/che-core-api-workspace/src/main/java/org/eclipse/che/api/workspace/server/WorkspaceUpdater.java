@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.lang.System.currentTimeMillis;
+import static org.eclipse.che.api.workspace.shared.Constants.CREATED_ATTRIBUTE_NAME;
+import static org.eclipse.che.api.workspace.shared.Constants.UPDATED_ATTRIBUTE_NAME;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.ValidationException;
+import org.eclipse.che.api.core.model.workspace.Workspace;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.Unlocker;
+
+/**
+ * Updates the stored workspaces. The updates of a workspace are serialized and each of them is
+ * applied to the latest stored state of the workspace, so concurrent updates don't overwrite each
+ * other's changes.
+ *
+ * <p>Version of a workspace is the value of its {@link
+ * org.eclipse.che.api.workspace.shared.Constants#UPDATED_ATTRIBUTE_NAME} attribute, or of the
+ * {@link org.eclipse.che.api.workspace.shared.Constants#CREATED_ATTRIBUTE_NAME} one if the
+ * workspace is never updated.
+ */
+@Singleton
+public class WorkspaceUpdater {
+
+  private final WorkspaceDao workspaceDao;
+  private final StripedLocks locks = new StripedLocks(16);
+
+  @Inject
+  public WorkspaceUpdater(WorkspaceDao workspaceDao) {
+    this.workspaceDao = workspaceDao;
+  }
+
+  /**
+   * Applies the change to the latest state of the workspace and stores it with a new version.
+   *
+   * @param id workspace id
+   * @param change the change, may reject it by throwing an exception
+   * @return updated instance of the workspace
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when the change is rejected or any conflict occurs on storing
+   * @throws ValidationException when the change is not valid
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl update(String id, Change change)
+      throws NotFoundException, ConflictException, ValidationException, ServerException {
+    try (Unlocker ignored = locks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      String currentVersion = getVersion(workspace);
+      change.apply(workspace);
+      workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, nextVersion(currentVersion));
+      return workspaceDao.update(workspace);
+    }
+  }
+
+  /**
+   * Stores the latest state of the workspace with a new version, so the changes based on the
+   * previous version are rejected.
+   *
+   * @param id workspace id
+   * @return updated instance of the workspace
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when any conflict occurs on storing
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl updateVersion(String id)
+      throws NotFoundException, ConflictException, ServerException {
+    try (Unlocker ignored = locks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, nextVersion(getVersion(workspace)));
+      return workspaceDao.update(workspace);
+    }
+  }
+
+  /**
+   * Changes the attributes of the latest state of the workspace, which describe the state of its
+   * runtime, so the version of the workspace stays the same.
+   *
+   * @param id workspace id
+   * @param change the change of the attributes
+   * @return updated instance of the workspace
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when any conflict occurs on storing
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl updateRuntimeAttributes(String id, Consumer<Map<String, String>> change)
+      throws NotFoundException, ConflictException, ServerException {
+    try (Unlocker ignored = locks.writeLock(id)) {
+      WorkspaceImpl workspace = workspaceDao.get(id);
+      change.accept(workspace.getAttributes());
+      return workspaceDao.update(workspace);
+    }
+  }
+
+  /** Returns the version of the workspace, the time of its last update or of its creation. */
+  @Nullable
+  static String getVersion(Workspace workspace) {
+    String updated = workspace.getAttributes().get(UPDATED_ATTRIBUTE_NAME);
+    return updated != null ? updated : workspace.getAttributes().get(CREATED_ATTRIBUTE_NAME);
+  }
+
+  /** Returns the version of the workspace updated now, it differs from the current version. */
+  private static String nextVersion(@Nullable String currentVersion) {
+    // versions must differ even if the workspace is updated twice within a millisecond
+    long updateTime = currentTimeMillis();
+    if (currentVersion != null) {
+      try {
+        updateTime = Math.max(updateTime, Long.parseLong(currentVersion) + 1);
+      } catch (NumberFormatException e) {
+        // the current time is used
+      }
+    }
+    return Long.toString(updateTime);
+  }
+
+  /** Change of the latest state of a workspace. */
+  @FunctionalInterface
+  public interface Change {
+    void apply(WorkspaceImpl workspace)
+        throws NotFoundException, ConflictException, ValidationException, ServerException;
+  }
+}
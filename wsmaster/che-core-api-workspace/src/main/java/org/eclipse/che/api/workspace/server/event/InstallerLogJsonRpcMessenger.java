@@ -12,7 +12,6 @@ package org.eclipse.che.api.workspace.server.event;
 
 import static org.eclipse.che.api.workspace.shared.Constants.INSTALLER_LOG_METHOD;
 
-import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -37,10 +36,11 @@ public class InstallerLogJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(INSTALLER_LOG_METHOD, InstallerLogEvent.class, this::predicate);
+    subscriptionManager.register(
+        INSTALLER_LOG_METHOD, InstallerLogEvent.class, "workspaceId", this::workspaceId);
   }
 
-  private boolean predicate(InstallerLogEvent event, Map<String, String> scope) {
-    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  private String workspaceId(InstallerLogEvent event) {
+    return event.getRuntimeId().getWorkspaceId();
   }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects log lines of machines and publishes them as {@link MachineLogBatchEvent batches}, one
+ * per machine per time window, instead of publishing an event per line.
+ *
+ * <p>A batch is published when the time window after its first line is over or when it reaches the
+ * max number of lines, whichever happens first. Lines of a machine which exceed the rate limit are
+ * skipped, the number of skipped lines is reported with the next batch of the machine.
+ */
+@Singleton
+public class MachineLogBatcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MachineLogBatcher.class);
+
+  private final EventService eventService;
+  private final long windowMillis;
+  private final int maxLines;
+  private final int maxLinesPerSecond;
+  private final ScheduledThreadPoolExecutor executor;
+  private final ConcurrentMap<MachineKey, MachineLogs> machineLogs;
+
+  @Inject
+  public MachineLogBatcher(
+      EventService eventService,
+      @Named("che.workspace.machine_logs.batch_window_ms") long windowMillis,
+      @Named("che.workspace.machine_logs.batch_max_lines") int maxLines,
+      @Named("che.workspace.machine_logs.max_lines_per_sec") int maxLinesPerSecond) {
+    this.eventService = eventService;
+    this.windowMillis = windowMillis;
+    this.maxLines = maxLines;
+    this.maxLinesPerSecond = maxLinesPerSecond;
+    this.machineLogs = new ConcurrentHashMap<>();
+    this.executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("MachineLogBatcher-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    this.executor.setRemoveOnCancelPolicy(true);
+  }
+
+  /**
+   * Adds the log line to the batch of its machine.
+   *
+   * @param log log line, its runtime id and machine name identify the machine
+   */
+  public void publish(MachineLogEvent log) {
+    final MachineKey key = new MachineKey(log.getRuntimeId(), log.getMachineName());
+    while (!machineLogs.computeIfAbsent(key, MachineLogs::new).add(log)) {
+      // logs of the machine were removed as idle concurrently, retry with the new ones
+    }
+  }
+
+  /** Publishes all the collected batches. */
+  @VisibleForTesting
+  void flushAll() {
+    for (MachineLogs logs : machineLogs.values()) {
+      logs.flush();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+    flushAll();
+    try {
+      if (!executor.awaitTermination(30, SECONDS)) {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(60, SECONDS)) {
+          LOG.error("Couldn't shutdown MachineLogBatcher thread pool");
+        }
+      }
+    } catch (InterruptedException ignored) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    LOG.info("MachineLogBatcher thread pool is terminated");
+  }
+
+  /** Log lines of a single machine which are not published yet. */
+  private class MachineLogs {
+    private final MachineKey key;
+    private List<MachineLogEvent> lines = new ArrayList<>();
+    private long skipped;
+    private long rateWindowStart;
+    private int rateWindowLines;
+    private boolean flushScheduled;
+    private boolean removed;
+
+    private MachineLogs(MachineKey key) {
+      this.key = key;
+    }
+
+    /** Returns false if these logs are removed and the line must be added to the new ones. */
+    private synchronized boolean add(MachineLogEvent log) {
+      if (removed) {
+        return false;
+      }
+      final long now = System.nanoTime();
+      if (now - rateWindowStart >= SECONDS.toNanos(1)) {
+        rateWindowStart = now;
+        rateWindowLines = 0;
+      }
+      if (maxLinesPerSecond > 0 && ++rateWindowLines > maxLinesPerSecond) {
+        if (skipped++ == 0) {
+          LOG.warn(
+              "Machine '{}' of workspace '{}' exceeded log rate limit",
+              key.machineName,
+              key.runtimeId.getWorkspaceId());
+        }
+      } else {
+        lines.add(log);
+      }
+      if (lines.size() >= maxLines || (windowMillis <= 0 && !lines.isEmpty())) {
+        flush();
+      } else if (windowMillis > 0 && !flushScheduled) {
+        scheduleFlush();
+      }
+      return true;
+    }
+
+    /** Publishes the collected lines, if any. */
+    private synchronized void flush() {
+      if (lines.isEmpty() && skipped == 0) {
+        return;
+      }
+      final List<MachineLogEvent> batch = lines;
+      if (skipped > 0) {
+        batch.add(
+            DtoFactory.newDto(MachineLogEvent.class)
+                .withRuntimeId(key.runtimeId)
+                .withMachineName(key.machineName)
+                .withText(
+                    String.format(
+                        "[%d lines skipped, log rate limit of %d lines per second exceeded]",
+                        skipped, maxLinesPerSecond)));
+      }
+      eventService.publish(
+          DtoFactory.newDto(MachineLogBatchEvent.class)
+              .withRuntimeId(key.runtimeId)
+              .withMachineName(key.machineName)
+              .withLogs(batch)
+              .withSkipped(skipped));
+      lines = new ArrayList<>();
+      skipped = 0;
+    }
+
+    /**
+     * Publishes the collected lines when the time window is over. Logs which stay empty for the
+     * whole window are removed.
+     */
+    private synchronized void flushOrRemove() {
+      flushScheduled = false;
+      if (lines.isEmpty() && skipped == 0) {
+        removed = true;
+        machineLogs.remove(key, this);
+      } else {
+        flush();
+        scheduleFlush();
+      }
+    }
+
+    private void scheduleFlush() {
+      try {
+        executor.schedule(this::flushOrRemove, windowMillis, MILLISECONDS);
+        flushScheduled = true;
+      } catch (RejectedExecutionException e) {
+        // batcher is shut down, publish logs immediately
+        flush();
+      }
+    }
+  }
+
+  /** Identifies the machine of a workspace, a workspace has a single runtime at a time. */
+  private static class MachineKey {
+    private final RuntimeIdentityDto runtimeId;
+    private final String machineName;
+
+    private MachineKey(RuntimeIdentityDto runtimeId, String machineName) {
+      this.runtimeId = runtimeId;
+      this.machineName = machineName;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof MachineKey)) {
+        return false;
+      }
+      final MachineKey that = (MachineKey) obj;
+      return Objects.equals(runtimeId.getWorkspaceId(), that.runtimeId.getWorkspaceId())
+          && Objects.equals(machineName, that.machineName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(runtimeId.getWorkspaceId(), machineName);
+    }
+  }
+}
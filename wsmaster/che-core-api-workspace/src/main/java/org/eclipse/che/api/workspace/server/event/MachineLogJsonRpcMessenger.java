@@ -10,18 +10,18 @@
  */
 package org.eclipse.che.api.workspace.server.event;
 
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_BATCH_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
 
-import java.util.Map;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
-import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
 
 /**
- * Register subscriber on {@link MachineLogEvent machine log event} for resending this type of event
- * via JSON-RPC to clients.
+ * Register subscriber on {@link MachineLogBatchEvent machine log batch event} for resending this
+ * type of event via JSON-RPC to clients, both as batches and as separate lines.
  *
  * @author Anton Korneta
  */
@@ -37,10 +37,18 @@ public class MachineLogJsonRpcMessenger {
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(MACHINE_LOG_METHOD, MachineLogEvent.class, this::predicate);
+    subscriptionManager.register(
+        MACHINE_LOG_BATCH_METHOD, MachineLogBatchEvent.class, "workspaceId", this::workspaceId);
+    // clients which don't support batches receive the lines one by one
+    subscriptionManager.register(
+        MACHINE_LOG_METHOD,
+        MachineLogBatchEvent.class,
+        "workspaceId",
+        this::workspaceId,
+        MachineLogBatchEvent::getLogs);
   }
 
-  private boolean predicate(MachineLogEvent event, Map<String, String> scope) {
-    return event.getRuntimeId().getWorkspaceId().equals(scope.get("workspaceId"));
+  private String workspaceId(MachineLogBatchEvent event) {
+    return event.getRuntimeId().getWorkspaceId();
   }
 }
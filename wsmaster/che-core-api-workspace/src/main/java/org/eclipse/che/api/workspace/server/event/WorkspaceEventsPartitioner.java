@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.event.BootstrapperStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.InstallerStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+
+/**
+ * Partitions asynchronous deliveries of the workspace events by workspace id, so the events of a
+ * workspace are delivered in the order they are published.
+ *
+ * @see EventService#setPartitionKey(Class, java.util.function.Function)
+ */
+@Singleton
+public class WorkspaceEventsPartitioner {
+  private final EventService eventService;
+
+  @Inject
+  public WorkspaceEventsPartitioner(EventService eventService) {
+    this.eventService = eventService;
+  }
+
+  @PostConstruct
+  private void postConstruct() {
+    eventService.setPartitionKey(WorkspaceStatusEvent.class, WorkspaceStatusEvent::getWorkspaceId);
+    eventService.setPartitionKey(
+        RuntimeStatusEvent.class, event -> workspaceId(event.getIdentity()));
+    eventService.setPartitionKey(
+        MachineStatusEvent.class, event -> workspaceId(event.getIdentity()));
+    eventService.setPartitionKey(
+        ServerStatusEvent.class, event -> workspaceId(event.getIdentity()));
+    eventService.setPartitionKey(MachineLogEvent.class, event -> workspaceId(event.getRuntimeId()));
+    eventService.setPartitionKey(
+        MachineLogBatchEvent.class, event -> workspaceId(event.getRuntimeId()));
+    eventService.setPartitionKey(
+        InstallerStatusEvent.class, event -> workspaceId(event.getRuntimeId()));
+    eventService.setPartitionKey(
+        InstallerLogEvent.class, event -> workspaceId(event.getRuntimeId()));
+    eventService.setPartitionKey(
+        BootstrapperStatusEvent.class, event -> workspaceId(event.getRuntimeId()));
+  }
+
+  private static String workspaceId(RuntimeIdentity identity) {
+    return identity == null ? null : identity.getWorkspaceId();
+  }
+}
@@ -69,7 +69,6 @@ public class ServersChecker {
     this.runtimeIdentity = runtimeIdentity;
     this.machineName = machineName;
     this.servers = servers;
-    this.timer = new Timer("ServersChecker", true);
     this.machineTokenProvider = machineTokenProvider;
     this.serverPingSuccessThreshold = serverPingSuccessThreshold;
   }
@@ -113,6 +112,9 @@ public class ServersChecker {
     for (ServerChecker serverChecker : serverCheckers) {
       serverChecker.start();
     }
+    // timer thread is not needed anymore once the result is known
+    Timer checkersTimer = timer;
+    result.whenComplete((ignored, error) -> checkersTimer.cancel());
     return result;
   }
 
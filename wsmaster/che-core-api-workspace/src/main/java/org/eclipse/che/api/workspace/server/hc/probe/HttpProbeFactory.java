@@ -16,7 +16,8 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Produces {@link HttpProbe} instances
+ * Produces {@link HttpSocketProbe} instances for HTTP servers and {@link HttpProbe} instances for
+ * HTTPS servers
  *
  * @see ProbeFactory
  * @author Alexander Garagatyi
@@ -48,7 +49,10 @@ public class HttpProbeFactory extends ProbeFactory {
   }
 
   @Override
-  public HttpProbe get() {
+  public Probe get() {
+    if ("http".equals(probeConfig.getScheme())) {
+      return new HttpSocketProbe(url, timeout, headers);
+    }
     return new HttpProbe(url, timeout, headers);
   }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Probes a HTTP URL for a response with code >=200 and <400 over a plain socket. Unlike {@link
+ * HttpProbe} redirects are not followed, a redirection response is treated as a successful one.
+ */
+public class HttpSocketProbe extends SocketProbe {
+
+  private final ByteBuffer request;
+
+  /**
+   * Creates probe
+   *
+   * @param url HTTP endpoint to probe
+   * @param timeout connection and read timeouts
+   */
+  public HttpSocketProbe(URL url, int timeout, Map<String, String> headers) {
+    super(url.getHost(), url.getPort() == -1 ? url.getDefaultPort() : url.getPort(), timeout);
+    StringBuilder sb = new StringBuilder();
+    sb.append("GET ")
+        .append(url.getFile().isEmpty() ? "/" : url.getFile())
+        .append(" HTTP/1.1\r\n")
+        .append("Host: ")
+        .append(getHost())
+        .append(':')
+        .append(getPort())
+        .append("\r\n");
+    if (headers != null) {
+      headers.forEach((name, value) -> sb.append(name).append(": ").append(value).append("\r\n"));
+    }
+    sb.append("Connection: close\r\n\r\n");
+    this.request = ByteBuffer.wrap(sb.toString().getBytes(ISO_8859_1)).asReadOnlyBuffer();
+  }
+
+  @Override
+  protected ByteBuffer getRequest() {
+    return request.duplicate();
+  }
+
+  @Override
+  protected Boolean checkResponse(ByteBuffer received, boolean endOfStream) {
+    // status line looks like 'HTTP/1.1 200 OK'
+    int lineEnd = -1;
+    for (int i = received.position(); i < received.limit(); i++) {
+      if (received.get(i) == '\n') {
+        lineEnd = i;
+        break;
+      }
+    }
+    if (lineEnd == -1) {
+      return endOfStream ? false : null;
+    }
+    byte[] line = new byte[lineEnd - received.position()];
+    received.get(line);
+    String[] parts = new String(line, ISO_8859_1).trim().split(" ");
+    if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+      return false;
+    }
+    try {
+      int responseCode = Integer.parseInt(parts[1]);
+      return responseCode >= 200 && responseCode < 400;
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+}
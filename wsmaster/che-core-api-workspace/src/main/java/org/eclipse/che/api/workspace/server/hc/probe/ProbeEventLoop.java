@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.net.InetAddresses;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single thread that performs {@link SocketProbe socket probes} with non-blocking I/O and runs
+ * delayed tasks, so the number of threads used for probes doesn't depend on the number of probed
+ * servers.
+ *
+ * <p>Delayed tasks and deadlines of the probes are kept in a single queue ordered by time. Tasks
+ * run in the loop thread, so they must not block.
+ */
+class ProbeEventLoop {
+  private static final Logger LOG = LoggerFactory.getLogger(ProbeEventLoop.class);
+
+  private final Selector selector;
+  private final Thread thread;
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  /** Accessed only by the loop thread. */
+  private final PriorityQueue<Timeout> timeouts = new PriorityQueue<>();
+
+  private final AtomicLong sequence = new AtomicLong();
+
+  private volatile boolean stopped;
+
+  ProbeEventLoop(String threadName) {
+    try {
+      selector = Selector.open();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Can't open selector for servers probes", e);
+    }
+    thread =
+        new ThreadFactoryBuilder()
+            .setNameFormat(threadName)
+            .setDaemon(true)
+            .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+            .build()
+            .newThread(this::loop);
+    thread.start();
+  }
+
+  /**
+   * Runs the task in the loop thread.
+   *
+   * @throws RejectedExecutionException when the loop is stopped
+   */
+  void execute(Runnable task) {
+    if (stopped) {
+      throw new RejectedExecutionException("Probes event loop is stopped");
+    }
+    tasks.add(task);
+    if (!inEventLoop()) {
+      selector.wakeup();
+    }
+  }
+
+  /**
+   * Runs the task in the loop thread after the specified delay.
+   *
+   * @return timeout which allows to cancel the task
+   * @throws RejectedExecutionException when the loop is stopped
+   */
+  Timeout schedule(Runnable task, long delayMillis) {
+    Timeout timeout = newTimeout(task, System.nanoTime() + MILLISECONDS.toNanos(delayMillis));
+    execute(() -> timeouts.add(timeout));
+    return timeout;
+  }
+
+  /**
+   * Performs the probe with non-blocking I/O.
+   *
+   * <p>Host names which are not IP addresses are resolved with the given executor, so a slow name
+   * resolution doesn't block the loop. Cancellation of the returned future closes the connection.
+   *
+   * @param probe probe to perform
+   * @param timeoutMillis max time the probe may take, the probe fails when it is reached
+   * @param resolver executor to resolve the host name of the probe
+   * @return future completed with the result of the probe
+   * @throws RejectedExecutionException when the loop is stopped
+   */
+  CompletableFuture<Boolean> probe(SocketProbe probe, long timeoutMillis, Executor resolver) {
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMillis);
+    if (InetAddresses.isInetAddress(probe.getHost())) {
+      InetSocketAddress address = new InetSocketAddress(probe.getHost(), probe.getPort());
+      execute(() -> connect(probe, address, result, deadline));
+    } else {
+      resolver.execute(
+          () -> {
+            try {
+              InetSocketAddress address =
+                  new InetSocketAddress(InetAddress.getByName(probe.getHost()), probe.getPort());
+              execute(() -> connect(probe, address, result, deadline));
+            } catch (IOException | RejectedExecutionException e) {
+              result.complete(false);
+            }
+          });
+    }
+    return result;
+  }
+
+  /** Returns true if called from the loop thread. */
+  boolean inEventLoop() {
+    return Thread.currentThread() == thread;
+  }
+
+  /** Stops the loop, probes in progress fail and delayed tasks are not run. */
+  void stop() {
+    stopped = true;
+    selector.wakeup();
+  }
+
+  /** Waits for the loop thread to finish after {@link #stop()}. */
+  boolean awaitTermination(long timeoutMillis) throws InterruptedException {
+    thread.join(timeoutMillis);
+    return !thread.isAlive();
+  }
+
+  private Timeout newTimeout(Runnable task, long deadline) {
+    return new Timeout(task, deadline, sequence.getAndIncrement());
+  }
+
+  private void loop() {
+    while (!stopped) {
+      try {
+        runTasks();
+        long waitMillis = runExpiredTimeouts();
+        if (!tasks.isEmpty()) {
+          selector.selectNow();
+        } else {
+          selector.select(waitMillis);
+        }
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          Connection connection = (Connection) key.attachment();
+          if (key.isValid()) {
+            try {
+              connection.onReady(key);
+            } catch (IOException e) {
+              connection.complete(false);
+            }
+          }
+        }
+      } catch (Exception x) {
+        LOG.error("Error occurred in servers probes event loop. " + x.getMessage(), x);
+      }
+    }
+    for (SelectionKey key : selector.keys()) {
+      ((Connection) key.attachment()).complete(false);
+    }
+    try {
+      selector.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      run(task);
+    }
+  }
+
+  /**
+   * Runs tasks which deadlines are reached, returns time in milliseconds until the closest
+   * deadline, or 0 if there are no deadlines.
+   */
+  private long runExpiredTimeouts() {
+    long now = System.nanoTime();
+    Timeout timeout;
+    while ((timeout = timeouts.peek()) != null) {
+      if (timeout.cancelled) {
+        timeouts.poll();
+        continue;
+      }
+      long remaining = timeout.deadline - now;
+      if (remaining > 0) {
+        // round up, so the deadline is reached once selector wakes up
+        return NANOSECONDS.toMillis(remaining + MILLISECONDS.toNanos(1) - 1);
+      }
+      timeouts.poll();
+      run(timeout.task);
+    }
+    return 0;
+  }
+
+  private void run(Runnable task) {
+    try {
+      task.run();
+    } catch (RuntimeException x) {
+      LOG.error("Servers probes task failed. " + x.getMessage(), x);
+    }
+  }
+
+  private void connect(
+      SocketProbe probe,
+      InetSocketAddress address,
+      CompletableFuture<Boolean> result,
+      long deadline) {
+    if (result.isDone()) {
+      return;
+    }
+    Connection connection = new Connection(probe, result);
+    connection.deadline = newTimeout(() -> connection.complete(false), deadline);
+    timeouts.add(connection.deadline);
+    // closes the connection on the probe cancellation as well
+    result.whenComplete(
+        (success, error) -> {
+          if (inEventLoop()) {
+            connection.close();
+          } else if (!stopped) {
+            try {
+              execute(connection::close);
+            } catch (RejectedExecutionException ignored) {
+              // the loop closes all the connections on stop
+            }
+          }
+        });
+    try {
+      connection.channel = SocketChannel.open();
+      connection.channel.configureBlocking(false);
+      if (connection.channel.connect(address)) {
+        connection.writeRequest();
+      } else {
+        connection.channel.register(selector, SelectionKey.OP_CONNECT, connection);
+      }
+    } catch (IOException e) {
+      connection.complete(false);
+    }
+  }
+
+  /** Task which runs when its deadline is reached unless it is cancelled. */
+  static final class Timeout implements Comparable<Timeout> {
+    private final Runnable task;
+    private final long deadline;
+    private final long sequence;
+
+    private volatile boolean cancelled;
+
+    private Timeout(Runnable task, long deadline, long sequence) {
+      this.task = task;
+      this.deadline = deadline;
+      this.sequence = sequence;
+    }
+
+    /** Cancels the task if it is not run yet. */
+    void cancel() {
+      cancelled = true;
+    }
+
+    @Override
+    public int compareTo(Timeout that) {
+      int result = Long.compare(deadline - that.deadline, 0);
+      return result != 0 ? result : Long.compare(sequence, that.sequence);
+    }
+  }
+
+  /** State of a probe performed by the loop. Accessed only by the loop thread. */
+  private final class Connection {
+    private final SocketProbe probe;
+    private final CompletableFuture<Boolean> result;
+    private final ByteBuffer request;
+    private final ByteBuffer response = ByteBuffer.allocate(SocketProbe.RESPONSE_BUFFER_SIZE);
+
+    private SocketChannel channel;
+    private Timeout deadline;
+
+    private Connection(SocketProbe probe, CompletableFuture<Boolean> result) {
+      this.probe = probe;
+      this.result = result;
+      this.request = probe.getRequest();
+    }
+
+    void onReady(SelectionKey key) throws IOException {
+      if (key.isConnectable()) {
+        if (channel.finishConnect()) {
+          writeRequest();
+        }
+      } else if (key.isWritable()) {
+        writeRequest();
+      } else if (key.isReadable()) {
+        readResponse();
+      }
+    }
+
+    void writeRequest() throws IOException {
+      channel.write(request);
+      if (request.hasRemaining()) {
+        interest(SelectionKey.OP_WRITE);
+      } else if (!checkResponse(false)) {
+        interest(SelectionKey.OP_READ);
+      }
+    }
+
+    void readResponse() throws IOException {
+      if (channel.read(response) == -1) {
+        if (!checkResponse(true)) {
+          complete(false);
+        }
+      } else {
+        checkResponse(false);
+      }
+    }
+
+    /** Returns true if the probe is completed. */
+    boolean checkResponse(boolean endOfStream) {
+      Boolean success = probe.checkResponse(SocketProbe.received(response), endOfStream);
+      if (success != null) {
+        complete(success);
+        return true;
+      }
+      if (!response.hasRemaining()) {
+        complete(false);
+        return true;
+      }
+      return false;
+    }
+
+    void interest(int ops) throws ClosedChannelException {
+      channel.register(selector, ops, this);
+    }
+
+    void complete(boolean success) {
+      result.complete(success);
+      close();
+    }
+
+    void close() {
+      deadline.cancel();
+      if (channel != null) {
+        try {
+          channel.close();
+        } catch (IOException ignored) {
+        }
+      }
+    }
+  }
+}
@@ -10,31 +10,40 @@
  */
 package org.eclipse.che.api.workspace.server.hc.probe;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeEventLoop.Timeout;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeResult.ProbeStatus;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Schedules workspace servers probes checks asynchronously.
  *
+ * <p>All the probes are scheduled by a single {@link ProbeEventLoop event loop} which also performs
+ * {@link SocketProbe socket probes} with non-blocking I/O and times out probes in progress. Other
+ * probes, workspace status checks and delivery of probe results run in a bounded thread pool. To
+ * avoid bursts of simultaneous probes when many workspaces start at once, delays between probes are
+ * randomly prolonged by up to {@value #MAX_JITTER_PERCENT}% of the probe period.
+ *
  * @author Alexander Garagatyi
  * @author Sergii Leshchenko
  */
@@ -42,24 +51,35 @@ import org.slf4j.LoggerFactory;
 public class ProbeScheduler {
   private static final Logger LOG = LoggerFactory.getLogger(ProbeScheduler.class);
 
-  private final ScheduledThreadPoolExecutor probesExecutor;
+  private static final int MAX_JITTER_PERCENT = 10;
+  private static final long STATUS_CHECK_PERIOD_MILLIS = SECONDS.toMillis(10);
+
+  private final ThreadPoolExecutor probesExecutor;
   /**
-   * Use single thread for a scheduling of tasks interruption by timeout. Single thread can be used
-   * since it is supposed that interruption is a very quick call. Separate thread is needed to
+   * Single thread which schedules probes and performs socket probes. Separate thread is needed to
    * prevent a situation when executor is full of jobs and current ones are hanging but we need to
    * time them out.
    */
-  private final Timer timeouts;
-  /** Mapping of workspaceId to a list of futures with probes of a workspace. */
-  private final Map<String, List<ScheduledFuture>> probesFutures;
+  private final ProbeEventLoop eventLoop;
+  /** Mapping of workspaceId to a list of scheduled tasks with probes of a workspace. */
+  private final Map<String, List<ScheduledTask>> probesFutures;
 
   @Inject
   public ProbeScheduler(@Named("che.workspace.probe_pool_size") int probeSchedulerPoolSize) {
     probesExecutor =
-        new ScheduledThreadPoolExecutor(
+        new ThreadPoolExecutor(
+            probeSchedulerPoolSize,
             probeSchedulerPoolSize,
-            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ServerProbes-%s").build());
-    timeouts = new Timer("ServerProbesTimeouts", true);
+            60L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("ServerProbes-%s")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .build());
+    probesExecutor.allowCoreThreadTimeOut(true);
+    eventLoop = new ProbeEventLoop("ServerProbesEventLoop");
     probesFutures = new ConcurrentHashMap<>();
   }
 
@@ -103,23 +123,17 @@ public class ProbeScheduler {
     DelayedSchedulingTask task =
         new DelayedSchedulingTask(statusSupplier, probes, probeResultConsumer);
 
-    // scheduleWithFixedDelay is used in favor of scheduleAtFixedRate because in case of big amount
-    // of scheduled probes start time of tasks may shift and this may lead to a situation when
-    // another probeConfig is needed immediately after the previous one is finished which doesn't
-    // seem a good thing
-    ScheduledFuture scheduledFuture =
-        probesExecutor.scheduleWithFixedDelay(task, 10L, 10L, TimeUnit.SECONDS);
-
     probesFutures.compute(
         probes.getWorkspaceId(),
-        (key, scheduledFutures) -> {
-          List<ScheduledFuture> target = scheduledFutures;
+        (key, scheduledTasks) -> {
+          List<ScheduledTask> target = scheduledTasks;
           if (target == null) {
             target = new ArrayList<>();
           }
-          target.add(scheduledFuture);
+          target.add(task);
           return target;
         });
+    task.start(STATUS_CHECK_PERIOD_MILLIS);
   }
 
   /**
@@ -127,15 +141,16 @@ public class ProbeScheduler {
    * specified ID.
    */
   public void cancel(String workspaceId) {
-    List<ScheduledFuture> tasks = probesFutures.remove(workspaceId);
+    List<ScheduledTask> tasks = probesFutures.remove(workspaceId);
     if (tasks != null) {
-      tasks.forEach(task -> task.cancel(true));
+      tasks.forEach(ScheduledTask::cancel);
     }
   }
 
   /** Denies starting of new probes and terminates active one if scheduler not terminated yet. */
   public void shutdown() {
     if (!probesExecutor.isShutdown()) {
+      eventLoop.stop();
       probesExecutor.shutdown();
       try {
         LOG.info("Shutdown probe scheduler, wait 30s to stop normally");
@@ -150,6 +165,9 @@ public class ProbeScheduler {
         } else {
           LOG.info("Probe scheduler threads pool is shut down");
         }
+        if (!eventLoop.awaitTermination(TimeUnit.SECONDS.toMillis(10))) {
+          LOG.error("Couldn't stop probe scheduler event loop");
+        }
       } catch (InterruptedException x) {
         probesExecutor.shutdownNow();
         Thread.currentThread().interrupt();
@@ -161,40 +179,81 @@ public class ProbeScheduler {
       String workspaceId, ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
     ProbeConfig probeConfig = probeFactory.getProbeConfig();
     Task task = new Task(probeFactory, probeResultConsumer);
-    // scheduleWithFixedDelay is used in favor of scheduleAtFixedRate because in case of big amount
-    // of scheduled probes start time of tasks may shift and this may lead to a situation when
-    // another probeConfig is needed immediately after the previous one is finished which doesn't
-    // seem a good thing
-    ScheduledFuture scheduledFuture =
-        probesExecutor.scheduleWithFixedDelay(
-            task,
-            probeConfig.getInitialDelaySeconds(),
-            probeConfig.getPeriodSeconds(),
-            TimeUnit.SECONDS);
-
-    List<ScheduledFuture> workspaceProbes =
+
+    List<ScheduledTask> workspaceProbes =
         probesFutures.computeIfPresent(
             workspaceId,
-            (key, scheduledFutures) -> {
-              scheduledFutures.add(scheduledFuture);
-              return scheduledFutures;
+            (key, scheduledTasks) -> {
+              scheduledTasks.add(task);
+              return scheduledTasks;
             });
     // check whether workspace probes were cancelled concurrently which led to removal of the value
     // in the map
-    if (workspaceProbes == null) {
-      scheduledFuture.cancel(true);
-      task.cancel();
+    if (workspaceProbes != null) {
+      task.start(
+          TimeUnit.SECONDS.toMillis(probeConfig.getInitialDelaySeconds())
+              + jitter(TimeUnit.SECONDS.toMillis(probeConfig.getPeriodSeconds())));
+    }
+  }
+
+  /** Returns random delay which is not longer than {@value #MAX_JITTER_PERCENT}% of the period. */
+  private static long jitter(long periodMillis) {
+    return ThreadLocalRandom.current().nextLong(periodMillis * MAX_JITTER_PERCENT / 100 + 1);
+  }
+
+  /** Task which runs with delays in the event loop until it is cancelled. */
+  private abstract class ScheduledTask implements Runnable {
+    protected volatile boolean cancelled;
+
+    private volatile Timeout next;
+    private volatile Future<?> inProgress;
+
+    /**
+     * Schedules the first run of this task.
+     *
+     * @throws RejectedExecutionException when {@link ProbeScheduler} is terminated
+     */
+    void start(long delayMillis) {
+      next = eventLoop.schedule(this, delayMillis);
+    }
+
+    /** Schedules next run of this task, does nothing if the scheduler is terminated. */
+    void scheduleIn(long delayMillis) {
+      if (cancelled) {
+        return;
+      }
+      try {
+        next = eventLoop.schedule(this, delayMillis);
+      } catch (RejectedExecutionException e) {
+        // scheduler is terminated
+      }
+    }
+
+    void setInProgress(Future<?> inProgress) {
+      this.inProgress = inProgress;
+    }
+
+    void cancel() {
+      cancelled = true;
+      Timeout next = this.next;
+      if (next != null) {
+        next.cancel();
+      }
+      Future<?> inProgress = this.inProgress;
+      if (inProgress != null) {
+        inProgress.cancel(true);
+      }
     }
   }
 
-  private class Task implements Runnable {
+  private class Task extends ScheduledTask {
     private final ProbeFactory probeFactory;
     private final Consumer<ProbeResult> probeResultConsumer;
     private final ProbeConfig probeConfig;
 
+    // accessed only by the event loop thread
     private int failures = 0;
     private int successes = 0;
-    private AtomicBoolean cancelled = new AtomicBoolean(false);
 
     public Task(ProbeFactory probeFactory, Consumer<ProbeResult> probeResultConsumer) {
       this.probeFactory = probeFactory;
@@ -202,34 +261,58 @@ public class ProbeScheduler {
       this.probeResultConsumer = probeResultConsumer;
     }
 
+    /** Starts the probe, runs in the event loop. */
     @Override
     public void run() {
-      if (cancelled.get()) {
+      if (cancelled) {
         return;
       }
       Probe probe = probeFactory.get();
-      timeouts.schedule(
-          new TimeoutProbeTask(probe), TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds()));
-      boolean success = probe.probe();
+      long timeout = TimeUnit.SECONDS.toMillis(probeConfig.getTimeoutSeconds());
+      if (probe instanceof SocketProbe) {
+        setInProgress(
+            eventLoop
+                .probe((SocketProbe) probe, timeout, probesExecutor)
+                .whenComplete((success, error) -> completeInEventLoop(error == null && success)));
+      } else {
+        setInProgress(
+            probesExecutor.submit(
+                () -> {
+                  Timeout probeTimeout = eventLoop.schedule(probe::cancel, timeout);
+                  boolean success = probe.probe();
+                  probeTimeout.cancel();
+                  completeInEventLoop(success);
+                }));
+      }
+    }
+
+    /** Passes the probe result to the event loop, where the results of the task are counted. */
+    private void completeInEventLoop(boolean success) {
+      if (eventLoop.inEventLoop()) {
+        completed(success);
+        return;
+      }
+      try {
+        eventLoop.execute(() -> completed(success));
+      } catch (RejectedExecutionException e) {
+        // scheduler is terminated
+      }
+    }
+
+    /** Processes the probe result and schedules the next probe, runs in the event loop. */
+    private void completed(boolean success) {
+      if (cancelled) {
+        return;
+      }
+      ProbeStatus status = null;
       if (success) {
         // current success increases successes count and clears failures count
         successes++;
         failures = 0;
 
         if (successes >= probeConfig.getSuccessThreshold()) {
-          // TODO make them completable futures? Then we should ensure that
-          // consecutive calls won't use executors thread time but rather use common thread
-          // pool to perform processing of passed probe result
-          if (cancelled.get()) {
-            return;
-          }
           // Health check satisfies probeConfig health conditions
-          probeResultConsumer.accept(
-              new ProbeResult(
-                  probeFactory.getWorkspaceId(),
-                  probeFactory.getMachineName(),
-                  probeFactory.getServerName(),
-                  ProbeStatus.PASSED));
+          status = ProbeStatus.PASSED;
         }
       } else {
         // current failure increases failures count and clears successes count
@@ -237,26 +320,46 @@ public class ProbeScheduler {
         successes = 0;
 
         if (failures >= probeConfig.getFailureThreshold()) {
-          if (cancelled.get()) {
-            return;
-          }
           // Health check satisfies probeConfig failure conditions
-          probeResultConsumer.accept(
-              new ProbeResult(
-                  probeFactory.getWorkspaceId(),
-                  probeFactory.getMachineName(),
-                  probeFactory.getServerName(),
-                  ProbeStatus.FAILED));
+          status = ProbeStatus.FAILED;
         }
       }
+
+      if (status == null) {
+        scheduleNext();
+      } else {
+        // consumer may block, so it must not be called in the event loop
+        ProbeStatus result = status;
+        try {
+          probesExecutor.execute(() -> publish(result));
+        } catch (RejectedExecutionException e) {
+          // scheduler is terminated
+        }
+      }
+    }
+
+    private void publish(ProbeStatus status) {
+      if (cancelled) {
+        return;
+      }
+      probeResultConsumer.accept(
+          new ProbeResult(
+              probeFactory.getWorkspaceId(),
+              probeFactory.getMachineName(),
+              probeFactory.getServerName(),
+              status));
+      scheduleNext();
     }
 
-    public void cancel() {
-      cancelled.set(true);
+    // next probe is scheduled once the current one is finished, so in case of big amount of
+    // scheduled probes another probe is not needed immediately after the previous one is finished
+    private void scheduleNext() {
+      long period = TimeUnit.SECONDS.toMillis(probeConfig.getPeriodSeconds());
+      scheduleIn(period + jitter(period));
     }
   }
 
-  private class DelayedSchedulingTask implements Runnable {
+  private class DelayedSchedulingTask extends ScheduledTask {
     private final String workspaceId;
     private final Supplier<WorkspaceStatus> statusSupplier;
     private final WorkspaceProbes probes;
@@ -272,20 +375,37 @@ public class ProbeScheduler {
       this.probeResultConsumer = probeResultConsumer;
     }
 
+    /** Checks the workspace status in the executor since the status supplier may block. */
     @Override
     public void run() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        probesExecutor.execute(this::checkStatus);
+      } catch (RejectedExecutionException e) {
+        // scheduler is terminated
+      }
+    }
+
+    private void checkStatus() {
+      if (cancelled) {
+        return;
+      }
       WorkspaceStatus status;
 
       try {
         status = statusSupplier.get();
       } catch (RuntimeException e) {
         // delay
+        scheduleIn(STATUS_CHECK_PERIOD_MILLIS);
         return;
       }
 
       switch (status) {
         case STARTING:
           // delay
+          scheduleIn(STATUS_CHECK_PERIOD_MILLIS);
           return;
         case RUNNING:
           ProbeScheduler.this.cancel(workspaceId);
@@ -298,17 +418,4 @@ public class ProbeScheduler {
       }
     }
   }
-
-  private class TimeoutProbeTask extends TimerTask {
-    private final Probe probe;
-
-    public TimeoutProbeTask(Probe probe) {
-      this.probe = probe;
-    }
-
-    @Override
-    public void run() {
-      probe.cancel();
-    }
-  }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Probe that sends a request over a plain TCP connection and checks the beginning of the response.
+ * Such a probe may be performed by {@link ProbeScheduler} with non-blocking I/O, so it doesn't
+ * occupy a thread while waiting for a server. When used directly the probe is performed with
+ * blocking I/O.
+ *
+ * @see ProbeEventLoop
+ */
+public abstract class SocketProbe extends Probe {
+
+  /** Max size of a response part that is checked by a probe. */
+  static final int RESPONSE_BUFFER_SIZE = 1024;
+
+  private final String host;
+  private final int port;
+  private final int timeout;
+
+  private volatile Socket socket;
+
+  /**
+   * Creates probe
+   *
+   * @param host host of the server to probe
+   * @param port port of the server to probe
+   * @param timeout connection and read timeouts in milliseconds
+   */
+  protected SocketProbe(String host, int port, int timeout) {
+    this.host = host;
+    this.port = port;
+    this.timeout = timeout;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  public int getPort() {
+    return port;
+  }
+
+  /** Returns connection and read timeouts in milliseconds. */
+  public int getTimeout() {
+    return timeout;
+  }
+
+  /** Returns bytes to send once a connection is established, empty buffer to send nothing. */
+  protected abstract ByteBuffer getRequest();
+
+  /**
+   * Checks the response received so far.
+   *
+   * @param received bytes of the response received so far, not more than {@link
+   *     #RESPONSE_BUFFER_SIZE}
+   * @param endOfStream whether the server closed the connection so no more bytes are expected
+   * @return result of the probe or null if more bytes are needed to decide
+   */
+  protected abstract Boolean checkResponse(ByteBuffer received, boolean endOfStream);
+
+  @Override
+  protected boolean doProbe() {
+    try (Socket socket = new Socket()) {
+      this.socket = socket;
+      socket.connect(new InetSocketAddress(host, port), timeout);
+      socket.setSoTimeout(timeout);
+      Channels.newChannel(socket.getOutputStream()).write(getRequest());
+      ReadableByteChannel in = Channels.newChannel(socket.getInputStream());
+      ByteBuffer response = ByteBuffer.allocate(RESPONSE_BUFFER_SIZE);
+      boolean endOfStream = false;
+      while (true) {
+        Boolean result = checkResponse(received(response), endOfStream);
+        if (result != null) {
+          return result;
+        }
+        if (endOfStream || !response.hasRemaining()) {
+          return false;
+        }
+        endOfStream = in.read(response) == -1;
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * More effectively cancels the probe than cancellation inherited from {@link Probe}.
+   *
+   * @see Probe#cancel()
+   */
+  @Override
+  public void cancel() {
+    Socket socket = this.socket;
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  /** Returns read-only view of bytes written into the given buffer. */
+  static ByteBuffer received(ByteBuffer response) {
+    return ByteBuffer.wrap(response.array(), 0, response.position()).asReadOnlyBuffer();
+  }
+}
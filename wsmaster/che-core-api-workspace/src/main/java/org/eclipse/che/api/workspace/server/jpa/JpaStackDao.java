@@ -31,6 +31,7 @@ import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
 import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -74,6 +75,28 @@ public class JpaStackDao implements StackDao {
     }
   }
 
+  @Override
+  @Transactional
+  public String getIconDigest(String id) throws NotFoundException, ServerException {
+    requireNonNull(id, "Required non-null id");
+    try {
+      return StackIconQueries.getIconDigest(managerProvider.get(), id);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public StackIcon getIcon(String id) throws NotFoundException, ServerException {
+    requireNonNull(id, "Required non-null id");
+    try {
+      return StackIconQueries.getIcon(managerProvider.get(), id);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   public void remove(String id) throws ServerException {
     requireNonNull(id, "Required non-null id");
@@ -188,6 +188,51 @@ public class JpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getSummariesByNamespace(String namespace, int maxItems, long skipCount)
+      throws ServerException {
+    requireNonNull(namespace, "Required non-null namespace");
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<Object[]> rows =
+          manager
+              .createNamedQuery("Workspace.getSummariesByNamespace", Object[].class)
+              .setParameter("namespace", namespace)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      final long count =
+          manager
+              .createNamedQuery("Workspace.getByNamespaceCount", Long.class)
+              .setParameter("namespace", namespace)
+              .getSingleResult();
+      return new Page<>(WorkspaceSummaries.fromRows(manager, rows), skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
+  @Override
+  @Transactional
+  public Page<WorkspaceImpl> getWorkspaceSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException {
+    try {
+      final EntityManager manager = managerProvider.get();
+      final List<Object[]> rows =
+          manager
+              .createNamedQuery("Workspace.getAllSummaries", Object[].class)
+              .setMaxResults(maxItems)
+              .setFirstResult((int) skipCount)
+              .getResultList();
+      final long count =
+          manager.createNamedQuery("Workspace.getAllCount", Long.class).getSingleResult();
+      return new Page<>(WorkspaceSummaries.fromRows(manager, rows), skipCount, maxItems, count);
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Override
   @Transactional
   public Page<WorkspaceImpl> getWorkspaces(boolean isTemporary, int maxItems, long skipCount)
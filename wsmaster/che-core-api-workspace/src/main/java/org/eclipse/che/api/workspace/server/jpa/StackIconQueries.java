@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Fetches the icons of the stacks without fetching the rest of the stacks.
+ *
+ * <p>Methods must be called within a transaction, as the digests of the icons stored before the
+ * digests were introduced are stored when fetched the first time.
+ */
+public final class StackIconQueries {
+
+  /**
+   * Returns the digest of the icon of the stack.
+   *
+   * @param manager entity manager to fetch the digest with
+   * @param id the stack id
+   * @return the digest of the icon, or null if the stack doesn't have an icon
+   * @throws NotFoundException when stack doesn't exist
+   */
+  @Nullable
+  public static String getIconDigest(EntityManager manager, String id) throws NotFoundException {
+    final List<String> digests =
+        manager
+            .createNamedQuery("Stack.getIconDigest", String.class)
+            .setParameter("id", id)
+            .getResultList();
+    if (digests.isEmpty()) {
+      throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
+    }
+    String digest = digests.get(0);
+    if (digest == null) {
+      final StackIcon icon = getIcon(manager, id);
+      if (icon != null) {
+        digest = icon.getDigest();
+        manager
+            .createNamedQuery("Stack.updateIconDigest")
+            .setParameter("digest", digest)
+            .setParameter("id", id)
+            .executeUpdate();
+      }
+    }
+    return digest;
+  }
+
+  /**
+   * Returns the icon of the stack.
+   *
+   * @param manager entity manager to fetch the icon with
+   * @param id the stack id
+   * @return the icon, or null if the stack doesn't have an icon
+   * @throws NotFoundException when stack doesn't exist
+   */
+  @Nullable
+  public static StackIcon getIcon(EntityManager manager, String id) throws NotFoundException {
+    final List<Object[]> rows =
+        manager
+            .createNamedQuery("Stack.getIcon", Object[].class)
+            .setParameter("id", id)
+            .getResultList();
+    if (rows.isEmpty()) {
+      throw new NotFoundException(format("Stack with id '%s' doesn't exist", id));
+    }
+    final Object[] row = rows.get(0);
+    if (row[2] == null) {
+      return null;
+    }
+    return new StackIcon((String) row[0], (String) row[1], (byte[]) row[2]);
+  }
+
+  private StackIconQueries() {}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+
+/**
+ * Builds summaries of the workspaces from the rows of the projection queries.
+ *
+ * <p>The summary query selects the identifier, the name, the temporary flag and the account of each
+ * workspace, in this order, and the attributes of all the selected workspaces are fetched with a
+ * single additional query. So the number of queries doesn't depend on the number of the workspaces
+ * and on the size of their configurations, which are not fetched at all.
+ */
+public final class WorkspaceSummaries {
+
+  /**
+   * Creates the summaries of the workspaces selected by the projection query.
+   *
+   * @param manager entity manager to fetch the attributes of the workspaces with
+   * @param rows rows of the projection query
+   * @return summaries of the workspaces, their configurations contain only the names
+   */
+  public static List<WorkspaceImpl> fromRows(EntityManager manager, List<Object[]> rows) {
+    final Map<String, Object[]> rowsById = new LinkedHashMap<>();
+    for (Object[] row : rows) {
+      if (row[0] != null) {
+        rowsById.put((String) row[0], row);
+      }
+    }
+    final Map<String, Map<String, String>> attributes = new HashMap<>();
+    if (!rowsById.isEmpty()) {
+      for (Object[] attribute :
+          manager
+              .createNamedQuery("Workspace.getAttributesByIds", Object[].class)
+              .setParameter("ids", new ArrayList<>(rowsById.keySet()))
+              .getResultList()) {
+        attributes
+            .computeIfAbsent((String) attribute[0], id -> new HashMap<>())
+            .put((String) attribute[1], (String) attribute[2]);
+      }
+    }
+    final List<WorkspaceImpl> summaries = new ArrayList<>(rowsById.size());
+    for (Object[] row : rowsById.values()) {
+      final String id = (String) row[0];
+      summaries.add(
+          WorkspaceImpl.builder()
+              .setId(id)
+              .setConfig(WorkspaceConfigImpl.builder().setName((String) row[1]).build())
+              .setTemporary((Boolean) row[2])
+              .setAccount((AccountImpl) row[3])
+              .setAttributes(attributes.getOrDefault(id, new HashMap<>()))
+              .build());
+    }
+    return summaries;
+  }
+
+  private WorkspaceSummaries() {}
+}
@@ -70,6 +70,25 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
     name = "Workspace.getByTemporaryCount",
     query = "SELECT COUNT(w) " + "FROM Workspace w " + "WHERE w.isTemporary = :temporary "
+  ),
+  @NamedQuery(
+    name = "Workspace.getSummariesByNamespace",
+    query =
+        "SELECT w.id, w.name, w.isTemporary, w.account "
+            + "FROM Workspace w "
+            + "WHERE w.account.name = :namespace"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAllSummaries",
+    query = "SELECT w.id, w.name, w.isTemporary, w.account FROM Workspace w"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAttributesByIds",
+    query =
+        "SELECT w.id, KEY(attribute), VALUE(attribute) "
+            + "FROM Workspace w "
+            + "JOIN w.attributes attribute "
+            + "WHERE w.id IN :ids"
   )
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
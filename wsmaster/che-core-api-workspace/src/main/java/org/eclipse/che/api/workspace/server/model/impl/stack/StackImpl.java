@@ -52,7 +52,22 @@ import org.eclipse.che.commons.lang.NameGenerator;
             + "GROUP BY stack.id "
             + "HAVING COUNT(tag) = :tagsSize"
   ),
-  @NamedQuery(name = "Stack.getAll", query = "SELECT stack FROM Stack stack")
+  @NamedQuery(name = "Stack.getAll", query = "SELECT stack FROM Stack stack"),
+  @NamedQuery(
+    name = "Stack.getIconDigest",
+    query = "SELECT stack.stackIcon.digest FROM Stack stack WHERE stack.id = :id"
+  ),
+  @NamedQuery(
+    name = "Stack.getIcon",
+    query =
+        "SELECT stack.stackIcon.name, stack.stackIcon.mediaType, stack.stackIcon.data "
+            + "FROM Stack stack "
+            + "WHERE stack.id = :id"
+  ),
+  @NamedQuery(
+    name = "Stack.updateIconDigest",
+    query = "UPDATE Stack stack SET stack.stackIcon.digest = :digest WHERE stack.id = :id"
+  )
 })
 @Table(name = "stack")
 public class StackImpl implements Stack {
@@ -15,6 +15,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
 import org.eclipse.che.commons.annotation.Nullable;
 
 /**
@@ -45,6 +46,32 @@ public interface StackDao {
    */
   StackImpl getById(String id) throws NotFoundException, ServerException;
 
+  /**
+   * Returns the digest of the icon of the stack with specified {@code id}, the icon and the rest of
+   * the stack are not fetched.
+   *
+   * @param id the stack id
+   * @return the digest of the stack icon, or null when the stack doesn't have an icon
+   * @throws NullPointerException when {@code id} is null
+   * @throws NotFoundException if stack with {@code id} was not found
+   * @throws ServerException when any error occurs
+   * @see StackIcon#getDigest()
+   */
+  @Nullable
+  String getIconDigest(String id) throws NotFoundException, ServerException;
+
+  /**
+   * Returns the icon of the stack with specified {@code id}, the rest of the stack is not fetched.
+   *
+   * @param id the stack id
+   * @return the stack icon, or null when the stack doesn't have an icon
+   * @throws NullPointerException when {@code id} is null
+   * @throws NotFoundException if stack with {@code id} was not found
+   * @throws ServerException when any error occurs
+   */
+  @Nullable
+  StackIcon getIcon(String id) throws NotFoundException, ServerException;
+
   /**
    * Remove the stack by specified {@code id}.
    *
@@ -118,6 +118,34 @@ public interface WorkspaceDao {
   Page<WorkspaceImpl> getWorkspaces(String userId, int maxItems, long skipCount)
       throws ServerException;
 
+  /**
+   * Gets summaries of the workspaces in given namespace.
+   *
+   * <p>Summary contains the identifier, the namespace, the attributes and the temporary flag of the
+   * workspace, its configuration contains only the name. Fetching of the summaries doesn't depend
+   * on the size of the workspace configurations.
+   *
+   * @param namespace workspace namespace
+   * @return summaries of the workspaces in given namespace, never null
+   * @throws NullPointerException when {@code namespace} is null
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @see #getByNamespace(String, int, long)
+   */
+  Page<WorkspaceImpl> getSummariesByNamespace(String namespace, int maxItems, long skipCount)
+      throws ServerException;
+
+  /**
+   * Gets summaries of the workspaces which user can read.
+   *
+   * @param userId id of user
+   * @return summaries of the workspaces which user can read, never null
+   * @throws ServerException when any other error occurs during workspaces fetching
+   * @see #getSummariesByNamespace(String, int, long)
+   * @see #getWorkspaces(String, int, long)
+   */
+  Page<WorkspaceImpl> getWorkspaceSummaries(String userId, int maxItems, long skipCount)
+      throws ServerException;
+
   /**
    * Gets workspaces by temporary attribute.
    *
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.stack;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.stack.image.StackIcon;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Keeps the recently served stack icons in memory by the digests of their data. As the icons are
+ * addressed by their digests, the cached icons never become stale and are only evicted when the
+ * cache is full.
+ */
+@Singleton
+public class StackIconCache {
+
+  private static final long MAX_SIZE_BYTES = 16 * 1024 * 1024;
+
+  private final Cache<String, StackIcon> icons =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_SIZE_BYTES)
+          .<String, StackIcon>weigher((digest, icon) -> icon.getData().length)
+          .build();
+
+  /** Returns the icon with the given digest, or null if the icon is not cached. */
+  @Nullable
+  public StackIcon get(String digest) {
+    return icons.getIfPresent(digest);
+  }
+
+  /** Caches the icon by its digest. */
+  public void put(StackIcon icon) {
+    icons.put(icon.getDigest(), icon);
+  }
+}
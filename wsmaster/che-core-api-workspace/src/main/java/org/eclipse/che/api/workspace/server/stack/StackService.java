@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.workspace.server.stack;
 
+import static javax.ws.rs.core.HttpHeaders.CACHE_CONTROL;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.MULTIPART_FORM_DATA;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
@@ -44,6 +45,9 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import org.apache.commons.fileupload.FileItem;
@@ -72,13 +76,20 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 @Path("/stack")
 public class StackService extends Service {
 
+  /** Icons requested by their digests never change, so they are cached for a year. */
+  private static final String IMMUTABLE_CACHE_CONTROL = "private, max-age=31536000, immutable";
+  /** Icons requested without digests must be revalidated with their entity tags. */
+  private static final String REVALIDATE_CACHE_CONTROL = "private, no-cache";
+
   private final StackDao stackDao;
   private final StackValidator stackValidator;
+  private final StackIconCache iconCache;
 
   @Inject
-  public StackService(StackDao stackDao, StackValidator stackValidator) {
+  public StackService(StackDao stackDao, StackValidator stackValidator, StackIconCache iconCache) {
     this.stackDao = stackDao;
     this.stackValidator = stackValidator;
+    this.iconCache = iconCache;
   }
 
   @POST
@@ -253,20 +264,41 @@ public class StackService extends Service {
     @ApiResponse(code = 403, message = "The user does not have access to get image entity"),
     @ApiResponse(code = 500, message = "Internal server error occurred")
   })
-  public Response getIcon(@ApiParam("The stack id") @PathParam("id") final String id)
+  public Response getIcon(
+      @ApiParam("The stack id") @PathParam("id") final String id,
+      @ApiParam(
+              "The digest of the icon. The icon may be cached for a long time when the digest "
+                  + "is the digest of the current icon, see the stack 'get icon' link")
+          @QueryParam("digest")
+          final String digest,
+      @Context final Request request)
       throws NotFoundException, ServerException, BadRequestException {
-    StackImpl stack = stackDao.getById(id);
-
-    if (stack == null) {
-      throw new NotFoundException("Stack with id '" + id + "' was not found.");
+    final String currentDigest = stackDao.getIconDigest(id);
+    if (currentDigest == null) {
+      throw new NotFoundException("Image for stack with id '" + id + "' was not found.");
     }
 
-    StackIcon image = stack.getStackIcon();
+    final EntityTag entityTag = new EntityTag(currentDigest);
+    final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+    if (notModified != null) {
+      return notModified
+          .tag(entityTag)
+          .header(CACHE_CONTROL, cacheControlOf(currentDigest, digest))
+          .build();
+    }
 
+    StackIcon image = iconCache.get(currentDigest);
     if (image == null) {
-      throw new NotFoundException("Image for stack with id '" + id + "' was not found.");
+      image = stackDao.getIcon(id);
+      if (image == null) {
+        throw new NotFoundException("Image for stack with id '" + id + "' was not found.");
+      }
+      iconCache.put(image);
     }
-    return Response.ok(image.getData(), image.getMediaType()).build();
+    return Response.ok(image.getData(), image.getMediaType())
+        .tag(new EntityTag(image.getDigest()))
+        .header(CACHE_CONTROL, cacheControlOf(image.getDigest(), digest))
+        .build();
   }
 
   @POST
@@ -337,6 +369,10 @@ public class StackService extends Service {
     stackDao.update(stack);
   }
 
+  private static String cacheControlOf(String iconDigest, String requestedDigest) {
+    return iconDigest.equals(requestedDigest) ? IMMUTABLE_CACHE_CONTROL : REVALIDATE_CACHE_CONTROL;
+  }
+
   private StackDto asStackDto(StackImpl stack) {
     final UriBuilder builder = getServiceContext().getServiceUriBuilder();
 
@@ -366,7 +402,12 @@ public class StackService extends Service {
       Link getIconLink =
           LinksHelper.createLink(
               "GET",
-              builder.clone().path(getClass(), "getIcon").build(stack.getId()).toString(),
+              builder
+                  .clone()
+                  .path(getClass(), "getIcon")
+                  .queryParam("digest", stackIcon.getDigest())
+                  .build(stack.getId())
+                  .toString(),
               stackIcon.getMediaType(),
               LINK_REL_GET_ICON);
       links.add(deleteIcon);
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server.stack.image;
 
 import com.google.common.base.Objects;
+import com.google.common.hash.Hashing;
 import java.util.Arrays;
 import javax.persistence.Column;
 import javax.persistence.Embeddable;
@@ -19,6 +20,9 @@ import org.eclipse.che.commons.annotation.Nullable;
 /**
  * Class for storing {@link org.eclipse.che.api.workspace.shared.stack.Stack} icon data
  *
+ * <p>Icon is addressed by the digest of its data, so the icon data may be cached by the digest and
+ * is not changed while the digest is the same.
+ *
  * @author Alexander Andrienko
  */
 @Embeddable
@@ -33,12 +37,16 @@ public class StackIcon {
   @Column(name = "data")
   private byte[] data;
 
+  @Column(name = "icon_digest")
+  private String digest;
+
   public StackIcon() {}
 
   public StackIcon(String name, String mediaType, @Nullable byte[] data) {
     this.data = data;
     this.mediaType = mediaType;
     this.name = name;
+    this.digest = digestOf(data);
   }
 
   public StackIcon(StackIcon icon) {
@@ -57,6 +65,22 @@ public class StackIcon {
     return data;
   }
 
+  /**
+   * Returns the hex encoded SHA-256 digest of the icon data, or null when the icon has no data. The
+   * digest of the icon stored before the digests were introduced is computed from the data.
+   */
+  public String getDigest() {
+    if (digest == null) {
+      digest = digestOf(data);
+    }
+    return digest;
+  }
+
+  /** Returns the hex encoded SHA-256 digest of the given icon data, or null if data is null. */
+  public static String digestOf(@Nullable byte[] data) {
+    return data == null ? null : Hashing.sha256().hashBytes(data).toString();
+  }
+
   @Override
   public boolean equals(Object obj) {
     if (this == obj) {
@@ -89,6 +113,9 @@ public class StackIcon {
         + ", mediaType='"
         + mediaType
         + '\''
+        + ", digest='"
+        + getDigest()
+        + '\''
         + ", data=[byte array]"
         + '}';
   }
@@ -33,6 +33,7 @@ import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -48,6 +49,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.che.account.api.AccountManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
@@ -65,6 +67,7 @@ import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
@@ -109,13 +112,27 @@ public class WorkspaceManagerTest {
   @BeforeMethod
   public void setUp() throws Exception {
     workspaceManager =
-        new WorkspaceManager(workspaceDao, runtimes, eventService, accountManager, validator);
+        new WorkspaceManager(
+            workspaceDao,
+            runtimes,
+            eventService,
+            accountManager,
+            validator,
+            new WorkspaceUpdater(workspaceDao));
     when(accountManager.getByName(NAMESPACE_1))
         .thenReturn(new AccountImpl("accountId", NAMESPACE_1, "test"));
     when(accountManager.getByName(NAMESPACE_2))
         .thenReturn(new AccountImpl("accountId2", NAMESPACE_2, "test"));
+    Map<String, WorkspaceImpl> created = new HashMap<>();
     when(workspaceDao.create(any(WorkspaceImpl.class)))
-        .thenAnswer(invocation -> invocation.getArguments()[0]);
+        .thenAnswer(
+            invocation -> {
+              WorkspaceImpl workspace = (WorkspaceImpl) invocation.getArguments()[0];
+              created.put(workspace.getId(), workspace);
+              return workspace;
+            });
+    when(workspaceDao.get(anyString()))
+        .thenAnswer(invocation -> created.get((String) invocation.getArguments()[0]));
     when(workspaceDao.update(any(WorkspaceImpl.class)))
         .thenAnswer(invocation -> invocation.getArguments()[0]);
 
@@ -350,6 +367,119 @@ public class WorkspaceManagerTest {
     assertEquals(updated.getStatus(), STARTING);
   }
 
+  @Test
+  public void updatesProjectsAtOnce() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    workspace.getConfig().getProjects().add(createProject("/removed", "removed"));
+    workspace.getConfig().getProjects().add(createProject("/updated", "old"));
+    workspace.getConfig().getProjects().add(createProject("/kept", "kept"));
+    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "100");
+    when(workspaceDao.update(any())).thenAnswer(inv -> inv.getArguments()[0]);
+
+    final WorkspaceImpl updated =
+        workspaceManager.updateProjects(
+            workspace.getId(),
+            "100",
+            asList(createProject("/updated", "new"), createProject("/added", "added")),
+            singletonList("/removed"));
+
+    verify(workspaceDao).update(workspace);
+    final Map<String, String> descriptions = new HashMap<>();
+    updated
+        .getConfig()
+        .getProjects()
+        .forEach(project -> descriptions.put(project.getPath(), project.getDescription()));
+    assertEquals(descriptions.size(), 3);
+    assertEquals(descriptions.get("/kept"), "kept");
+    assertEquals(descriptions.get("/updated"), "new");
+    assertEquals(descriptions.get("/added"), "added");
+    assertTrue(Long.parseLong(updated.getAttributes().get(UPDATED_ATTRIBUTE_NAME)) > 100);
+  }
+
+  @Test(expectedExceptions = ConflictException.class)
+  public void throwsConflictExceptionWhenUpdatingProjectsOfOutdatedVersion() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, "200");
+
+    try {
+      workspaceManager.updateProjects(
+          workspace.getId(), "100", singletonList(createProject("/added", "added")), emptyList());
+    } finally {
+      verify(workspaceDao, never()).update(any());
+    }
+  }
+
+  @Test
+  public void updatesProjectsOfNeverUpdatedWorkspaceByItsCreationVersion() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, "100");
+    when(workspaceDao.update(any())).thenAnswer(inv -> inv.getArguments()[0]);
+
+    final WorkspaceImpl updated =
+        workspaceManager.updateProjects(
+            workspace.getId(), "100", singletonList(createProject("/added", "added")), emptyList());
+
+    assertEquals(updated.getConfig().getProjects().size(), 1);
+    assertTrue(Long.parseLong(updated.getAttributes().get(UPDATED_ATTRIBUTE_NAME)) > 100);
+  }
+
+  @Test(expectedExceptions = ConflictException.class)
+  public void throwsConflictExceptionWhenUpdatingProjectsOfNeverUpdatedWorkspaceByOtherVersion()
+      throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    workspace.getAttributes().put(CREATED_ATTRIBUTE_NAME, "200");
+
+    try {
+      workspaceManager.updateProjects(
+          workspace.getId(), "100", singletonList(createProject("/added", "added")), emptyList());
+    } finally {
+      verify(workspaceDao, never()).update(any());
+    }
+  }
+
+  @Test
+  public void keepsProjectsUpdatedWhileWorkspaceIsStarting() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    final AtomicReference<WorkspaceImpl> stored =
+        new AtomicReference<>(new WorkspaceImpl(workspace));
+    when(workspaceDao.get(workspace.getId())).thenAnswer(inv -> new WorkspaceImpl(stored.get()));
+    when(workspaceDao.update(any()))
+        .thenAnswer(
+            inv -> {
+              stored.set(new WorkspaceImpl((WorkspaceImpl) inv.getArguments()[0]));
+              return inv.getArguments()[0];
+            });
+    final CompletableFuture<Void> start = new CompletableFuture<>();
+    when(runtimes.startAsync(any(), anyString(), any())).thenReturn(start);
+
+    workspaceManager.startWorkspace(workspace.getId(), null, emptyMap());
+    final String startedVersion = stored.get().getAttributes().get(UPDATED_ATTRIBUTE_NAME);
+    workspaceManager.updateProjects(
+        workspace.getId(),
+        startedVersion,
+        singletonList(createProject("/added", "added")),
+        emptyList());
+    final String updatedVersion = stored.get().getAttributes().get(UPDATED_ATTRIBUTE_NAME);
+    start.complete(null);
+
+    assertEquals(stored.get().getConfig().getProjects().size(), 1);
+    assertEquals(stored.get().getConfig().getProjects().get(0).getPath(), "/added");
+    assertEquals(stored.get().getAttributes().get(UPDATED_ATTRIBUTE_NAME), updatedVersion);
+  }
+
+  @Test
+  public void changesVersionOnEveryWorkspaceUpdate() throws Exception {
+    final WorkspaceImpl workspace = createAndMockWorkspace();
+    final long future = System.currentTimeMillis() + 60_000;
+    workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(future));
+    when(workspaceDao.update(any())).thenAnswer(inv -> inv.getArguments()[0]);
+
+    final WorkspaceImpl update = new WorkspaceImpl(workspace);
+    final WorkspaceImpl updated = workspaceManager.updateWorkspace(workspace.getId(), update);
+
+    assertEquals(updated.getAttributes().get(UPDATED_ATTRIBUTE_NAME), Long.toString(future + 1));
+  }
+
   @Test
   public void removesWorkspace() throws Exception {
     final WorkspaceImpl workspace = createAndMockWorkspace();
@@ -479,7 +609,7 @@ public class WorkspaceManagerTest {
     mockAnyWorkspaceStartFailed(new ServerException("start failed"));
 
     workspaceManager.startWorkspace(workspaceConfig, workspace.getNamespace(), false, emptyMap());
-    verify(workspaceDao).update(workspaceCaptor.capture());
+    verify(workspaceDao, atLeastOnce()).update(workspaceCaptor.capture());
     Workspace ws = workspaceCaptor.getAllValues().get(workspaceCaptor.getAllValues().size() - 1);
     assertNotNull(ws.getAttributes().get(STOPPED_ATTRIBUTE_NAME));
     assertTrue(Boolean.valueOf(ws.getAttributes().get(STOPPED_ABNORMALLY_ATTRIBUTE_NAME)));
@@ -615,6 +745,15 @@ public class WorkspaceManagerTest {
         .build();
   }
 
+  private static ProjectConfigImpl createProject(String path, String description) {
+    final ProjectConfigImpl project = new ProjectConfigImpl();
+    project.setPath(path);
+    project.setName(path.substring(1));
+    project.setType("blank");
+    project.setDescription(description);
+    return project;
+  }
+
   private MachineImpl createMachine() {
     return new MachineImpl(emptyMap(), emptyMap(), MachineStatus.RUNNING);
   }
@@ -112,7 +112,8 @@ public class WorkspaceRuntimesTest {
             dbInitializer,
             probeScheduler,
             statuses,
-            lockService);
+            lockService,
+            new WorkspaceUpdater(workspaceDao));
   }
 
   @Test
@@ -201,7 +202,8 @@ public class WorkspaceRuntimesTest {
             dbInitializer,
             probeScheduler,
             statuses,
-            lockService);
+            lockService,
+            new WorkspaceUpdater(workspaceDao));
     localRuntimes.init();
     RuntimeIdentityDto identity =
         DtoFactory.newDto(RuntimeIdentityDto.class)
@@ -260,7 +262,8 @@ public class WorkspaceRuntimesTest {
             dbInitializer,
             probeScheduler,
             statuses,
-            lockService);
+            lockService,
+            new WorkspaceUpdater(workspaceDao));
 
     // when
     localRuntimes.injectRuntime(workspace);
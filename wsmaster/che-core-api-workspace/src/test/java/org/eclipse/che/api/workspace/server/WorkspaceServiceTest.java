@@ -12,12 +12,14 @@ package org.eclipse.che.api.workspace.server;
 
 import static com.jayway.restassured.RestAssured.given;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
+import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.core.model.workspace.config.MachineConfig.MEMORY_LIMIT_ATTRIBUTE;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.RUNNING;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -672,6 +674,61 @@ public class WorkspaceServiceTest {
         singletonList(workspace2));
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesWhenConfigIsNotExpanded() throws Exception {
+    final WorkspaceImpl workspace =
+        WorkspaceImpl.builder()
+            .setId("workspace123")
+            .setConfig(WorkspaceConfigImpl.builder().setName("summary").build())
+            .setAccount(TEST_ACCOUNT)
+            .setStatus(STOPPED)
+            .build();
+    when(wsManager.getWorkspaceSummaries(eq(USER_ID), eq(true), anyInt(), anyLong()))
+        .thenReturn(new Page<>(singletonList(workspace), 0, 1, 1));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?expand=runtime");
+
+    assertEquals(response.getStatusCode(), 200);
+    final List<WorkspaceDto> workspaces = unwrapDtoList(response, WorkspaceDto.class);
+    assertEquals(workspaces.size(), 1);
+    assertEquals(workspaces.get(0).getConfig().getName(), "summary");
+    verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespaceWhenConfigIsNotExpanded() throws Exception {
+    when(wsManager.getSummariesByNamespace(eq(NAMESPACE), eq(false), anyInt(), anyLong()))
+        .thenReturn(new Page<>(emptyList(), 0, 1, 0));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/namespace/" + NAMESPACE + "?expand=");
+
+    assertEquals(response.getStatusCode(), 200);
+    verify(wsManager).getSummariesByNamespace(eq(NAMESPACE), eq(false), anyInt(), anyLong());
+    verify(wsManager, never()).getByNamespace(anyString(), anyBoolean(), anyInt(), anyLong());
+  }
+
+  @Test
+  public void shouldRespond400WhenUnknownPartOfWorkspacesIsExpanded() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?expand=config,machines");
+
+    assertEquals(response.getStatusCode(), 400);
+  }
+
   @Test
   public void shouldUpdateTheWorkspace() throws Exception {
     final WorkspaceImpl workspace = createWorkspace(createConfigDto());
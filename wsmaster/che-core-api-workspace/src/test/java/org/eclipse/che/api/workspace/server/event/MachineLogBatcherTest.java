@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogBatchEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.MachineLogEvent;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link MachineLogBatcher}. */
+public class MachineLogBatcherTest {
+
+  private EventService eventService;
+  private List<MachineLogBatchEvent> batches;
+  private MachineLogBatcher batcher;
+
+  @BeforeMethod
+  public void setUp() {
+    eventService = new EventService();
+    batches = new CopyOnWriteArrayList<>();
+    eventService.subscribe(batches::add, MachineLogBatchEvent.class);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    if (batcher != null) {
+      batcher.shutdown();
+    }
+  }
+
+  @Test
+  public void shouldPublishLinesOfMachineInSingleBatchWhenWindowIsOver() throws Exception {
+    final CountDownLatch published = new CountDownLatch(1);
+    eventService.subscribe(batch -> published.countDown(), MachineLogBatchEvent.class);
+    batcher = new MachineLogBatcher(eventService, 50, 100, 0);
+
+    batcher.publish(log("ws1", "dev", "line 1"));
+    batcher.publish(log("ws1", "dev", "line 2"));
+    batcher.publish(log("ws1", "dev", "line 3"));
+
+    assertTrue(published.await(10, SECONDS));
+    assertEquals(batches.size(), 1);
+    assertEquals(texts(batches.get(0)), asList("line 1", "line 2", "line 3"));
+    assertEquals(batches.get(0).getMachineName(), "dev");
+    assertEquals(batches.get(0).getRuntimeId().getWorkspaceId(), "ws1");
+  }
+
+  @Test
+  public void shouldPublishBatchWhenItReachesMaxLines() {
+    batcher = new MachineLogBatcher(eventService, 60_000, 2, 0);
+
+    batcher.publish(log("ws1", "dev", "line 1"));
+    batcher.publish(log("ws1", "dev", "line 2"));
+    batcher.publish(log("ws1", "dev", "line 3"));
+
+    assertEquals(batches.size(), 1);
+    assertEquals(texts(batches.get(0)), asList("line 1", "line 2"));
+  }
+
+  @Test
+  public void shouldBatchLinesOfEachMachineSeparately() {
+    batcher = new MachineLogBatcher(eventService, 60_000, 100, 0);
+
+    batcher.publish(log("ws1", "dev", "dev 1"));
+    batcher.publish(log("ws1", "db", "db 1"));
+    batcher.publish(log("ws2", "dev", "other dev 1"));
+    batcher.publish(log("ws1", "dev", "dev 2"));
+    batcher.flushAll();
+
+    assertEquals(batches.size(), 3);
+    for (MachineLogBatchEvent batch : batches) {
+      if (batch.getRuntimeId().getWorkspaceId().equals("ws2")) {
+        assertEquals(texts(batch), asList("other dev 1"));
+      } else if (batch.getMachineName().equals("dev")) {
+        assertEquals(texts(batch), asList("dev 1", "dev 2"));
+      } else {
+        assertEquals(texts(batch), asList("db 1"));
+      }
+    }
+  }
+
+  @Test
+  public void shouldPublishEachLineWhenWindowIsZero() {
+    batcher = new MachineLogBatcher(eventService, 0, 100, 0);
+
+    batcher.publish(log("ws1", "dev", "line 1"));
+    batcher.publish(log("ws1", "dev", "line 2"));
+
+    assertEquals(batches.size(), 2);
+    assertEquals(texts(batches.get(0)), asList("line 1"));
+    assertEquals(texts(batches.get(1)), asList("line 2"));
+  }
+
+  @Test
+  public void shouldSkipLinesExceedingRateLimit() {
+    batcher = new MachineLogBatcher(eventService, 60_000, 100, 3);
+
+    for (int i = 1; i <= 10; i++) {
+      batcher.publish(log("ws1", "dev", "line " + i));
+    }
+    batcher.flushAll();
+
+    assertEquals(batches.size(), 1);
+    final MachineLogBatchEvent batch = batches.get(0);
+    assertEquals(batch.getSkipped(), 7);
+    final List<String> texts = texts(batch);
+    assertEquals(texts.subList(0, 3), asList("line 1", "line 2", "line 3"));
+    assertEquals(texts.size(), 4);
+    assertTrue(texts.get(3).startsWith("[7 lines skipped"));
+  }
+
+  private static List<String> texts(MachineLogBatchEvent batch) {
+    return batch.getLogs().stream().map(MachineLogEvent::getText).collect(toList());
+  }
+
+  private static MachineLogEvent log(String workspaceId, String machineName, String text) {
+    return newDto(MachineLogEvent.class)
+        .withRuntimeId(
+            newDto(RuntimeIdentityDto.class)
+                .withWorkspaceId(workspaceId)
+                .withEnvName("env")
+                .withOwnerId("owner"))
+        .withMachineName(machineName)
+        .withText(text);
+  }
+}
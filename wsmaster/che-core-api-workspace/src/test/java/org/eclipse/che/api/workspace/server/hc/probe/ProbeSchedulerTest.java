@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.hc.probe;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.api.workspace.server.hc.probe.ProbeResult.ProbeStatus;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProbeScheduler} with servers listening on local sockets. */
+public class ProbeSchedulerTest {
+  private static final int POOL_SIZE = 4;
+
+  private ProbeScheduler probeScheduler;
+  private LocalServers servers;
+  private BlockingQueue<ProbeResult> results;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    probeScheduler = new ProbeScheduler(POOL_SIZE);
+    servers = new LocalServers();
+    results = new LinkedBlockingQueue<>();
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    probeScheduler.shutdown();
+    servers.close();
+  }
+
+  @Test
+  public void shouldPassHttpProbeWhenServerRespondsWithSuccessfulCode() throws Exception {
+    int port = servers.start("HTTP/1.1 200 OK");
+
+    probeScheduler.schedule(probes("ws1", httpProbe("ws1", "server", port)), results::add);
+
+    assertResult(results.poll(5, TimeUnit.SECONDS), "ws1", "server", ProbeStatus.PASSED);
+  }
+
+  @Test
+  public void shouldFailHttpProbeWhenServerRespondsWithErrorCode() throws Exception {
+    int port = servers.start("HTTP/1.1 500 Internal Server Error");
+
+    probeScheduler.schedule(probes("ws1", httpProbe("ws1", "server", port)), results::add);
+
+    assertResult(results.poll(5, TimeUnit.SECONDS), "ws1", "server", ProbeStatus.FAILED);
+  }
+
+  @Test
+  public void shouldFailProbeWhenServerDoesNotRespondInTime() throws Exception {
+    int port = servers.start(null);
+    long start = System.nanoTime();
+
+    probeScheduler.schedule(probes("ws1", httpProbe("ws1", "server", port)), results::add);
+
+    assertResult(results.poll(5, TimeUnit.SECONDS), "ws1", "server", ProbeStatus.FAILED);
+    assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+  }
+
+  @Test
+  public void shouldCountResultsOfBlockingProbesUntilThresholdIsReached() throws Exception {
+    AtomicInteger probes = new AtomicInteger();
+    ProbeFactory probe =
+        new ProbeFactory(
+            "ws1", "machine", "server", new TcpProbeConfig(2, 1, 1, 1, 0, 1, "127.0.0.1")) {
+          @Override
+          public Probe get() {
+            return new Probe() {
+              @Override
+              protected boolean doProbe() {
+                probes.incrementAndGet();
+                return true;
+              }
+            };
+          }
+        };
+
+    probeScheduler.schedule(probes("ws1", probe), results::add);
+
+    assertResult(results.poll(5, TimeUnit.SECONDS), "ws1", "server", ProbeStatus.PASSED);
+    assertEquals(probes.get(), 2);
+  }
+
+  @Test
+  public void shouldNotReportResultsOfCancelledProbes() throws Exception {
+    int port = servers.start(null);
+
+    probeScheduler.schedule(probes("ws1", httpProbe("ws1", "server", port)), results::add);
+    probeScheduler.cancel("ws1");
+
+    assertEquals(results.poll(2, TimeUnit.SECONDS), null);
+  }
+
+  @Test
+  public void shouldProbeThousandsOfServersWithBoundedNumberOfThreads() throws Exception {
+    int workspaces = 100;
+    int serversPerWorkspace = 20;
+    List<Integer> ports = new ArrayList<>();
+    for (int i = 0; i < serversPerWorkspace; i++) {
+      ports.add(servers.start("HTTP/1.1 200 OK"));
+    }
+    Set<String> passed = ConcurrentHashMap.newKeySet();
+    CountDownLatch allPassed = new CountDownLatch(workspaces * serversPerWorkspace);
+    int maxProbesThreads = 0;
+
+    for (int w = 0; w < workspaces; w++) {
+      String workspaceId = "ws" + w;
+      List<ProbeFactory> factories = new ArrayList<>();
+      for (int s = 0; s < serversPerWorkspace; s++) {
+        factories.add(httpProbe(workspaceId, "server" + s, ports.get(s)));
+      }
+      probeScheduler.schedule(
+          new WorkspaceProbes(workspaceId, factories),
+          result -> {
+            if (passed.add(result.getWorkspaceId() + '/' + result.getServerName())) {
+              allPassed.countDown();
+            }
+          });
+      maxProbesThreads = Math.max(maxProbesThreads, countProbesThreads());
+    }
+    while (!allPassed.await(100, TimeUnit.MILLISECONDS)) {
+      maxProbesThreads = Math.max(maxProbesThreads, countProbesThreads());
+    }
+
+    for (int w = 0; w < workspaces; w++) {
+      probeScheduler.cancel("ws" + w);
+    }
+    assertEquals(passed.size(), workspaces * serversPerWorkspace);
+    // pool threads and the event loop thread
+    assertTrue(maxProbesThreads <= POOL_SIZE + 1, "Probes threads: " + maxProbesThreads);
+  }
+
+  @Test
+  public void shouldPerformHttpSocketProbeWithBlockingIo() throws Exception {
+    int okPort = servers.start("HTTP/1.1 302 Found");
+    int errorPort = servers.start("HTTP/1.1 404 Not Found");
+
+    assertTrue(
+        new HttpSocketProbe(new URL("http://127.0.0.1:" + okPort + "/path?token=t"), 1000, null)
+            .probe());
+    assertTrue(
+        !new HttpSocketProbe(new URL("http://127.0.0.1:" + errorPort + "/"), 1000, emptyMap())
+            .probe());
+  }
+
+  private static int countProbesThreads() {
+    int count = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith("ServerProbes")) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static WorkspaceProbes probes(String workspaceId, ProbeFactory probeFactory) {
+    return new WorkspaceProbes(workspaceId, singletonList(probeFactory));
+  }
+
+  private static HttpProbeFactory httpProbe(String workspaceId, String serverName, int port)
+      throws Exception {
+    return new HttpProbeFactory(
+        workspaceId,
+        "machine",
+        serverName,
+        new HttpProbeConfig(port, "127.0.0.1", "http", "/liveness", emptyMap(), 1, 1, 1, 1, 0));
+  }
+
+  private static void assertResult(
+      ProbeResult result, String workspaceId, String serverName, ProbeStatus status) {
+    assertTrue(result != null, "Probe result is not received");
+    assertEquals(result.getWorkspaceId(), workspaceId);
+    assertEquals(result.getServerName(), serverName);
+    assertEquals(result.getStatus(), status);
+  }
+
+  /**
+   * Servers which read a request and respond with a status line. Server with null status line
+   * accepts connections but never responds.
+   */
+  private static class LocalServers implements Closeable {
+    private final Selector selector;
+    private final Thread thread;
+    private final BlockingQueue<Runnable> pending = new LinkedBlockingQueue<>();
+
+    LocalServers() throws IOException {
+      selector = Selector.open();
+      thread = new Thread(this::serve, "LocalServers");
+      thread.setDaemon(true);
+      thread.start();
+    }
+
+    /** Starts a server, returns its port. */
+    int start(String statusLine) throws Exception {
+      ServerSocketChannel server = ServerSocketChannel.open();
+      server.bind(new InetSocketAddress("127.0.0.1", 0), 4096);
+      server.configureBlocking(false);
+      CountDownLatch registered = new CountDownLatch(1);
+      pending.add(
+          () -> {
+            try {
+              server.register(selector, SelectionKey.OP_ACCEPT, statusLine);
+            } catch (IOException e) {
+              throw new RuntimeException(e);
+            }
+            registered.countDown();
+          });
+      selector.wakeup();
+      assertTrue(registered.await(5, TimeUnit.SECONDS));
+      return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    private void serve() {
+      while (selector.isOpen()) {
+        try {
+          Runnable task;
+          while ((task = pending.poll()) != null) {
+            task.run();
+          }
+          selector.select();
+          Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+          while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            if (!key.isValid()) {
+              continue;
+            }
+            if (key.isAcceptable()) {
+              SocketChannel client;
+              while ((client = ((ServerSocketChannel) key.channel()).accept()) != null) {
+                client.configureBlocking(false);
+                client.register(
+                    selector, SelectionKey.OP_READ, new Exchange((String) key.attachment()));
+              }
+            } else if (key.isReadable()) {
+              ((Exchange) key.attachment()).read((SocketChannel) key.channel());
+            }
+          }
+        } catch (Exception e) {
+          // selector is closed
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      for (SelectionKey key : selector.keys()) {
+        key.channel().close();
+      }
+      selector.close();
+    }
+  }
+
+  private static class Exchange {
+    private final String statusLine;
+    private final StringBuilder request = new StringBuilder();
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    Exchange(String statusLine) {
+      this.statusLine = statusLine;
+    }
+
+    void read(SocketChannel channel) throws IOException {
+      buffer.clear();
+      int read = channel.read(buffer);
+      if (read == -1) {
+        channel.close();
+        return;
+      }
+      request.append(new String(buffer.array(), 0, read, ISO_8859_1));
+      if (statusLine != null && request.indexOf("\r\n\r\n") != -1) {
+        channel.write(
+            ByteBuffer.wrap((statusLine + "\r\nContent-Length: 0\r\n\r\n").getBytes(ISO_8859_1)));
+        channel.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.persistence.logging.DefaultSessionLog;
+import org.eclipse.persistence.logging.SessionLog;
+import org.eclipse.persistence.logging.SessionLogEntry;
+
+/**
+ * Session log which records the SQL statements executed by EclipseLink, other messages are logged
+ * as by the default session log.
+ *
+ * <p>The statements are recorded regardless of the configured logging level, but only from {@link
+ * #reset()} to {@link #getStatements()}, so the log doesn't accumulate the statements of the tests
+ * which don't count them.
+ */
+public class StatementCountingSessionLog extends DefaultSessionLog {
+
+  private static final List<String> STATEMENTS = new ArrayList<>();
+  private static volatile boolean recording;
+
+  /** Forgets the recorded statements and starts recording. */
+  public static synchronized void reset() {
+    STATEMENTS.clear();
+    recording = true;
+  }
+
+  /** Stops recording and returns the statements recorded since the last {@link #reset()}. */
+  public static synchronized List<String> getStatements() {
+    recording = false;
+    final List<String> statements = new ArrayList<>(STATEMENTS);
+    STATEMENTS.clear();
+    return statements;
+  }
+
+  @Override
+  public boolean shouldLog(int level, String category) {
+    return (recording && SessionLog.SQL.equals(category)) || super.shouldLog(level, category);
+  }
+
+  @Override
+  public void log(SessionLogEntry entry) {
+    if (SessionLog.SQL.equals(entry.getNameSpace())) {
+      synchronized (StatementCountingSessionLog.class) {
+        if (recording) {
+          STATEMENTS.add(entry.getMessage());
+        }
+      }
+    }
+    if (super.shouldLog(entry.getLevel(), entry.getNameSpace())) {
+      super.log(entry);
+    }
+  }
+}
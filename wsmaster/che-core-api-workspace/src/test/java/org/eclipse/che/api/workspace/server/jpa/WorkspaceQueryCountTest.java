@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.jpa;
+
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.asSummary;
+import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.Page;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.commons.test.tck.TckResourcesCleaner;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the number of SQL statements executed by {@link JpaWorkspaceDao} to list the workspaces.
+ */
+public class WorkspaceQueryCountTest {
+
+  private static final String NAMESPACE = "namespace";
+
+  private TckResourcesCleaner tckResourcesCleaner;
+  private EntityManager manager;
+  private JpaWorkspaceDao workspaceDao;
+  private AccountImpl account;
+  private int created;
+
+  @BeforeMethod
+  private void setUp() {
+    final Injector injector = Guice.createInjector(new WorkspaceTckModule());
+    manager = injector.getInstance(EntityManager.class);
+    workspaceDao = injector.getInstance(JpaWorkspaceDao.class);
+    tckResourcesCleaner = injector.getInstance(TckResourcesCleaner.class);
+
+    account = new AccountImpl("accountId", NAMESPACE, "test");
+    manager.getTransaction().begin();
+    manager.persist(account);
+    manager.getTransaction().commit();
+    created = 0;
+  }
+
+  @AfterMethod
+  private void cleanup() {
+    manager.getTransaction().begin();
+    final List<Object> entities = new ArrayList<>();
+    entities.addAll(manager.createQuery("SELECT w FROM Workspace w").getResultList());
+    entities.addAll(manager.createQuery("SELECT a FROM Account a").getResultList());
+    for (Object entity : entities) {
+      manager.remove(entity);
+    }
+    manager.getTransaction().commit();
+    tckResourcesCleaner.clean();
+  }
+
+  @Test
+  public void shouldFetchWorkspaceSummariesWithTheSameNumberOfStatements() throws Exception {
+    createWorkspaces(2);
+    final List<String> fewStatements = recordSummariesStatements();
+
+    createWorkspaces(30);
+    final List<String> manyStatements = recordSummariesStatements();
+
+    assertEquals(manyStatements.size(), fewStatements.size(), manyStatements.toString());
+    // summaries, their attributes and the total count
+    assertEquals(manyStatements.size(), 3, manyStatements.toString());
+    for (String statement : manyStatements) {
+      final String lowerCase = statement.toLowerCase();
+      assertFalse(lowerCase.contains("workspaceconfig"), statement);
+      assertFalse(lowerCase.contains("projectconfig"), statement);
+      assertFalse(lowerCase.contains("environment"), statement);
+      assertFalse(lowerCase.contains("command"), statement);
+    }
+  }
+
+  @Test
+  public void shouldFetchWorkspaceSummariesWithLessStatementsThanWorkspaces() throws Exception {
+    final Set<WorkspaceImpl> expected = new HashSet<>();
+    for (WorkspaceImpl workspace : createWorkspaces(10)) {
+      expected.add(asSummary(workspace));
+    }
+
+    final List<String> summariesStatements = recordSummariesStatements();
+    evictAll();
+    StatementCountingSessionLog.reset();
+    workspaceDao.getByNamespace(NAMESPACE, 30, 0);
+    final List<String> workspacesStatements = StatementCountingSessionLog.getStatements();
+
+    assertTrue(
+        summariesStatements.size() < workspacesStatements.size(),
+        summariesStatements.size() + " >= " + workspacesStatements.size());
+    evictAll();
+    assertEquals(
+        new HashSet<>(workspaceDao.getSummariesByNamespace(NAMESPACE, 30, 0).getItems()), expected);
+  }
+
+  private List<String> recordSummariesStatements() throws Exception {
+    evictAll();
+    StatementCountingSessionLog.reset();
+    final Page<WorkspaceImpl> summaries = workspaceDao.getSummariesByNamespace(NAMESPACE, 100, 0);
+    final List<String> statements = StatementCountingSessionLog.getStatements();
+    assertEquals(summaries.getItemsCount(), created);
+    return statements;
+  }
+
+  private List<WorkspaceImpl> createWorkspaces(int count) throws Exception {
+    final List<WorkspaceImpl> workspaces = new ArrayList<>(count);
+    for (int i = 0; i < count; i++, created++) {
+      workspaces.add(
+          workspaceDao.create(createWorkspace("workspace" + created, account, "name" + created)));
+    }
+    return workspaces;
+  }
+
+  /** Drops the entities cached by the persistence provider, so they are read from the DB. */
+  private void evictAll() {
+    manager.clear();
+    manager.getEntityManagerFactory().getCache().evictAll();
+  }
+}
@@ -38,6 +38,7 @@ import org.eclipse.che.core.db.DBInitializer;
 import org.eclipse.che.core.db.h2.jpa.eclipselink.H2ExceptionHandler;
 import org.eclipse.che.core.db.schema.SchemaInitializer;
 import org.eclipse.che.core.db.schema.impl.flyway.FlywaySchemaInitializer;
+import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.h2.Driver;
 
 /** @author Yevhenii Voevodin */
@@ -67,6 +68,9 @@ public class WorkspaceTckModule extends TckModule {
             .addEntityClass(
                 "org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl$Attribute")
             .setExceptionHandler(H2ExceptionHandler.class)
+            .setProperty(
+                PersistenceUnitProperties.LOGGING_LOGGER,
+                StatementCountingSessionLog.class.getName())
             .build());
     bind(DBInitializer.class).asEagerSingleton();
     bind(SchemaInitializer.class)
@@ -18,6 +18,8 @@ import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -99,6 +101,57 @@ public class StackDaoTest {
     stackDao.getById(null);
   }
 
+  @Test
+  public void shouldGetIconDigestById() throws Exception {
+    final StackImpl stack = stacks[0];
+
+    assertEquals(
+        stackDao.getIconDigest(stack.getId()), StackIcon.digestOf(stack.getStackIcon().getData()));
+  }
+
+  @Test
+  public void shouldGetIconById() throws Exception {
+    final StackImpl stack = stacks[0];
+
+    final StackIcon icon = stackDao.getIcon(stack.getId());
+
+    assertEquals(icon, stack.getStackIcon());
+    assertEquals(icon.getDigest(), stack.getStackIcon().getDigest());
+  }
+
+  @Test(dependsOnMethods = "shouldGetIconDigestById")
+  public void shouldChangeIconDigestWhenIconIsUpdated() throws Exception {
+    final StackImpl stack = stacks[0];
+    final String digest = stackDao.getIconDigest(stack.getId());
+    stack.setStackIcon(new StackIcon("new-name", "new-media", "new-data".getBytes()));
+
+    stackDao.update(stack);
+
+    assertEquals(stackDao.getIconDigest(stack.getId()), stack.getStackIcon().getDigest());
+    assertNotEquals(stackDao.getIconDigest(stack.getId()), digest);
+  }
+
+  @Test(dependsOnMethods = "shouldGetById")
+  public void shouldReturnNullIconWhenStackHasNoIcon() throws Exception {
+    final StackImpl stack = stacks[0];
+    stack.setStackIcon(null);
+    stackDao.update(stack);
+
+    assertNull(stackDao.getIconDigest(stack.getId()));
+    assertNull(stackDao.getIcon(stack.getId()));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenGettingIconDigestOfNonExistingStack()
+      throws Exception {
+    stackDao.getIconDigest("non-existing-stack");
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenGettingIconOfNonExistingStack() throws Exception {
+    stackDao.getIcon("non-existing-stack");
+  }
+
   @Test(dependsOnMethods = "shouldGetById")
   public void shouldCreateStack() throws Exception {
     final StackImpl stack = createStack("new-stack", "new-stack-name");
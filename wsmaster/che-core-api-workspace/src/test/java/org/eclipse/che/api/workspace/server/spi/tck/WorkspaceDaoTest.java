@@ -140,6 +140,44 @@ public class WorkspaceDaoTest {
     assertEquals(found.getItemsCount(), 2);
   }
 
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespace() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+
+    final Page<WorkspaceImpl> found =
+        workspaceDao.getSummariesByNamespace(workspace1.getNamespace(), 6, 0);
+
+    assertEquals(
+        new HashSet<>(found.getItems()),
+        new HashSet<>(asList(asSummary(workspace1), asSummary(workspace2))));
+    assertEquals(found.getTotalItemsCount(), 2);
+    assertEquals(found.getItemsCount(), 2);
+  }
+
+  @Test
+  public void shouldGetWorkspaceSummariesByNamespaceWithSkipCountAndMaxItems() throws Exception {
+    final Page<WorkspaceImpl> found =
+        workspaceDao.getSummariesByNamespace(workspaces[0].getNamespace(), 1, 1);
+
+    assertEquals(found.getItemsCount(), 1);
+    assertEquals(found.getTotalItemsCount(), 2);
+    final WorkspaceImpl summary = found.getItems().get(0);
+    assertTrue(
+        summary.equals(asSummary(workspaces[0])) || summary.equals(asSummary(workspaces[1])));
+  }
+
+  @Test
+  public void emptyListShouldBeReturnedWhenThereAreNoWorkspaceSummariesInGivenNamespace()
+      throws Exception {
+    assertTrue(workspaceDao.getSummariesByNamespace("non-existing-namespace", 30, 0).isEmpty());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNpeWhenGettingWorkspaceSummariesByNullNamespace() throws Exception {
+    workspaceDao.getSummariesByNamespace(null, 30, 0);
+  }
+
   @Test
   public void emptyListShouldBeReturnedWhenThereAreNoWorkspacesInGivenNamespace() throws Exception {
     assertTrue(workspaceDao.getByNamespace("non-existing-namespace", 30, 0).isEmpty());
@@ -666,6 +704,17 @@ public class WorkspaceDaoTest {
     return workspace;
   }
 
+  /** Returns the summary of the workspace as it is expected to be fetched. */
+  public static WorkspaceImpl asSummary(WorkspaceImpl workspace) {
+    return WorkspaceImpl.builder()
+        .setId(workspace.getId())
+        .setAccount(workspace.getAccount())
+        .setTemporary(workspace.isTemporary())
+        .setAttributes(workspace.getAttributes())
+        .setConfig(WorkspaceConfigImpl.builder().setName(workspace.getConfig().getName()).build())
+        .build();
+  }
+
   private <T extends CascadeEvent> CascadeEventSubscriber<T> mockCascadeEventSubscriber() {
     @SuppressWarnings("unchecked")
     CascadeEventSubscriber<T> subscriber = mock(CascadeEventSubscriber.class);
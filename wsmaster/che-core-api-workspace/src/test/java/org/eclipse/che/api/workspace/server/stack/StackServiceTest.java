@@ -28,6 +28,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -130,6 +131,8 @@ public class StackServiceTest {
 
   @Mock StackValidator validator;
 
+  @Mock StackIconCache iconCache;
+
   @InjectMocks StackService service;
 
   @BeforeMethod
@@ -453,7 +456,8 @@ public class StackServiceTest {
   /** Get icon by stack id */
   @Test
   public void shouldReturnIconByStackId() throws NotFoundException, ServerException {
-    when(stackDao.getById(stackImpl.getId())).thenReturn(stackImpl);
+    when(stackDao.getIconDigest(stackImpl.getId())).thenReturn(stackIcon.getDigest());
+    when(stackDao.getIcon(stackImpl.getId())).thenReturn(stackIcon);
 
     Response response =
         given()
@@ -462,13 +466,77 @@ public class StackServiceTest {
             .when()
             .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
     assertEquals(response.getStatusCode(), 200);
+    assertEquals(response.getBody().asByteArray(), stackIcon.getData());
+    assertEquals(response.getHeader("ETag"), '"' + stackIcon.getDigest() + '"');
+    assertEquals(response.getHeader("Cache-Control"), "private, no-cache");
 
-    verify(stackDao).getById(stackImpl.getId());
+    verify(stackDao).getIcon(stackImpl.getId());
+    verify(iconCache).put(stackIcon);
+    verify(stackDao, never()).getById(anyString());
+  }
+
+  @Test
+  public void shouldReturnIconImmutableWhenRequestedByCurrentDigest()
+      throws NotFoundException, ServerException {
+    when(stackDao.getIconDigest(stackImpl.getId())).thenReturn(stackIcon.getDigest());
+    when(stackDao.getIcon(stackImpl.getId())).thenReturn(stackIcon);
+
+    Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(
+                SECURE_PATH
+                    + "/stack/"
+                    + stackImpl.getId()
+                    + "/icon?digest="
+                    + stackIcon.getDigest());
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(response.getHeader("Cache-Control"), "private, max-age=31536000, immutable");
+  }
+
+  @Test
+  public void shouldReturnNotModifiedWhenIconMatchesEntityTag()
+      throws NotFoundException, ServerException {
+    when(stackDao.getIconDigest(stackImpl.getId())).thenReturn(stackIcon.getDigest());
+
+    Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .header("If-None-Match", '"' + stackIcon.getDigest() + '"')
+            .when()
+            .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
+
+    assertEquals(response.getStatusCode(), 304);
+    verify(stackDao, never()).getIcon(anyString());
+  }
+
+  @Test
+  public void shouldServeCachedIcon() throws NotFoundException, ServerException {
+    when(stackDao.getIconDigest(stackImpl.getId())).thenReturn(stackIcon.getDigest());
+    when(iconCache.get(stackIcon.getDigest())).thenReturn(stackIcon);
+
+    Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(response.getBody().asByteArray(), stackIcon.getData());
+    verify(stackDao, never()).getIcon(anyString());
   }
 
   @Test
   public void shouldThrowNotFoundExceptionWhenIconStackWasNotFound()
       throws NotFoundException, ServerException {
+    when(stackDao.getIconDigest(stackImpl.getId()))
+        .thenThrow(new NotFoundException(format("Stack with id '%s' doesn't exist", STACK_ID)));
+
     Response response =
         given()
             .auth()
@@ -477,18 +545,14 @@ public class StackServiceTest {
             .get(SECURE_PATH + "/stack/" + stackImpl.getId() + "/icon");
 
     assertEquals(response.getStatusCode(), 404);
-    String expectedErrorMessage = format("Stack with id '%s' was not found.", STACK_ID);
+    String expectedErrorMessage = format("Stack with id '%s' doesn't exist", STACK_ID);
     assertEquals(unwrapDto(response, ServiceError.class).getMessage(), expectedErrorMessage);
-    verify(stackDao).getById(stackImpl.getId());
+    verify(stackDao).getIconDigest(stackImpl.getId());
   }
 
   @Test
   public void shouldThrowNotFoundExceptionWhenIconWasNotFound()
       throws NotFoundException, ServerException {
-    StackImpl test = new StackImpl(stackImpl);
-    test.setStackIcon(null);
-    when(stackDao.getById(test.getId())).thenReturn(test);
-
     Response response =
         given()
             .auth()
@@ -499,7 +563,7 @@ public class StackServiceTest {
     assertEquals(response.getStatusCode(), 404);
     String expectedErrorMessage = format("Image for stack with id '%s' was not found.", STACK_ID);
     assertEquals(unwrapDto(response, ServiceError.class).getMessage(), expectedErrorMessage);
-    verify(stackDao).getById(test.getId());
+    verify(stackDao).getIconDigest(stackImpl.getId());
   }
 
   /** Delete icon by stack id */
@@ -0,0 +1,13 @@
+--
+-- Copyright (c) 2012-2018 Red Hat, Inc.
+-- All rights reserved. This program and the accompanying materials
+-- are made available under the terms of the Eclipse Public License v1.0
+-- which accompanies this distribution, and is available at
+-- http://www.eclipse.org/legal/epl-v10.html
+--
+-- Contributors:
+--   Red Hat, Inc. - initial API and implementation
+--
+
+-- digests of the existing icons are computed when the icons are requested
+ALTER TABLE stack ADD COLUMN icon_digest VARCHAR(255);